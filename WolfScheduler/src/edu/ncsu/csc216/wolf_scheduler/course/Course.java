@@ -14,7 +14,7 @@ import java.util.Objects;
  * 
  * 
  * @author Jay Shah (jsshah)
- *
+ * 
  */
 public class Course {
 
@@ -50,6 +50,22 @@ public class Course {
 	 * place
 	 */
 	static final int IS_SINGLE_DIGIT_DIVIDER = 10;
+	/** Day mask bit for Monday */
+	public static final int MONDAY = 1;
+	/** Day mask bit for Tuesday */
+	public static final int TUESDAY = 1 << 1;
+	/** Day mask bit for Wednesday */
+	public static final int WEDNESDAY = 1 << 2;
+	/** Day mask bit for Thursday */
+	public static final int THURSDAY = 1 << 3;
+	/** Day mask bit for Friday */
+	public static final int FRIDAY = 1 << 4;
+	/** Capacity of a section with no seat limit */
+	public static final int UNLIMITED_CAPACITY = 0;
+	/** Fewest seats a limited section can have */
+	private static final int MIN_CAPACITY = 1;
+	/** Most seats a limited section can have */
+	private static final int MAX_CAPACITY = 1000;
 
 	/** Course's name. */
 	private String name;
@@ -67,6 +83,22 @@ public class Course {
 	private int startTime;
 	/** Course's ending time */
 	private int endTime;
+	/** Course's seat limit, or UNLIMITED_CAPACITY */
+	private int capacity = UNLIMITED_CAPACITY;
+	/** Meeting days as a 5 bit mask of the day constants, 0 when arranged */
+	private int dayMask;
+	/** Start time as minutes since midnight */
+	private int startMinutes;
+	/** End time as minutes since midnight */
+	private int endMinutes;
+	/** Cached result of getMeetingString() */
+	private String meetingString;
+	/** Cached result of toString() */
+	private String record;
+	/** Cached result of hashCode() */
+	private int hash;
+	/** Whether the Course is shared and its setters are disabled */
+	private boolean frozen;
 
 	/**
 	 * Constructs a Course object with values for all the fields.
@@ -107,6 +139,48 @@ public class Course {
 		this(name, title, section, credits, instructorId, meetingDays, 0, 0);
 	}
 
+	/**
+	 * Creates an empty Course for fromTrustedFields to fill in.
+	 */
+	private Course() {
+		//fields are assigned by fromTrustedFields
+	}
+
+	/**
+	 * Creates a Course from fields that were checked when the Course was first
+	 * built, such as those read back from a checksummed catalog snapshot, without
+	 * checking them again. The derived fields are computed once, the same as the
+	 * constructor does. Fields that did not come from a valid Course must go
+	 * through the constructor instead, since nothing here rejects them.
+	 * 
+	 * @param name         name of the Course
+	 * @param title        title of the Course
+	 * @param section      section of the Course
+	 * @param credits      credit hours for Course
+	 * @param instructorId instructor's unity id
+	 * @param meetingDays  meeting days for Course as series of chars
+	 * @param startTime    start time for Course
+	 * @param endTime      end time for Course
+	 * @param capacity     seat limit, or UNLIMITED_CAPACITY
+	 * @return Course with the given fields
+	 */
+	public static Course fromTrustedFields(String name, String title, String section, int credits,
+			String instructorId, String meetingDays, int startTime, int endTime, int capacity) {
+		Course course = new Course();
+		course.name = name;
+		course.title = title;
+		course.section = section;
+		course.credits = credits;
+		course.instructorId = instructorId;
+		course.meetingDays = meetingDays;
+		course.startTime = startTime;
+		course.endTime = endTime;
+		course.capacity = capacity;
+		course.updateMeetingEncoding();
+		course.updateDerivedFields();
+		return course;
+	}
+
 	/**
 	 * Returns the Course's name.
 	 * 
@@ -127,12 +201,30 @@ public class Course {
 	 */
 	private void setName(String name) {
 
-		if (name == null) {
+		if (!isValidName(name)) {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
 
+		this.name = name;
+	}
+
+	/**
+	 * Returns true if the name is a valid course name: 5 to 8 characters made of
+	 * 1 to 4 letters, a space, and exactly three digits. Unlike setName this
+	 * never throws, so loaders can check a field without paying for an
+	 * exception.
+	 * 
+	 * @param name the name to check
+	 * @return true if the name is valid
+	 */
+	public static boolean isValidName(String name) {
+
+		if (name == null) {
+			return false;
+		}
+
 		if (name.length() < MIN_NAME_LENGTH || name.length() > MAX_NAME_LENGTH) {
-			throw new IllegalArgumentException("Invalid course name.");
+			return false;
 		}
 
 		int letterAmount = 0;
@@ -143,29 +235,21 @@ public class Course {
 			if (!isSpace) {
 				if (Character.isLetter(name.charAt(i))) {
 					letterAmount++;
-				} else if (" ".equals(String.valueOf(name.charAt(i)))) {
+				} else if (name.charAt(i) == ' ') {
 					isSpace = true;
 				} else {
-					throw new IllegalArgumentException("Invalid course name.");
+					return false;
 				}
-			} else if (isSpace) {
+			} else {
 				if (Character.isDigit(name.charAt(i))) {
 					digitAmount++;
 				} else {
-					throw new IllegalArgumentException("Invalid course name.");
+					return false;
 				}
 			}
 		}
 
-		if (letterAmount < MIN_LETTER_COUNT || letterAmount > MAX_LETTER_COUNT) {
-			throw new IllegalArgumentException("Invalid course name.");
-		}
-
-		if (digitAmount != DIGIT_COUNT) {
-			throw new IllegalArgumentException("Invalid course name.");
-		}
-
-		this.name = name;
+		return letterAmount >= MIN_LETTER_COUNT && letterAmount <= MAX_LETTER_COUNT && digitAmount == DIGIT_COUNT;
 	}
 
 	/**
@@ -182,14 +266,27 @@ public class Course {
 	 * 
 	 * @param title the title to set
 	 * @throws IllegalArgumentException if the parameter is null or empty
+	 *                                  or the Course is frozen
 	 */
 	public void setTitle(String title) {
+		checkNotFrozen();
 
-		if (title == null || "".equals(title)) {
+		if (!isValidTitle(title)) {
 			throw new IllegalArgumentException("Invalid title.");
 		}
 
 		this.title = title;
+		updateDerivedFields();
+	}
+
+	/**
+	 * Returns true if the title is valid, meaning it is not null or empty.
+	 * 
+	 * @param title the title to check
+	 * @return true if the title is valid
+	 */
+	public static boolean isValidTitle(String title) {
+		return title != null && !"".equals(title);
 	}
 
 	/**
@@ -206,20 +303,36 @@ public class Course {
 	 * 
 	 * @param section the section to set
 	 * @throws IllegalArgumentException if the param is null, empty, or contains a
-	 *                                  character
+	 *                                  character, or the Course is frozen
 	 */
 	public void setSection(String section) {
+		checkNotFrozen();
 
-		if (section == null || section.length() != SECTION_LENGTH) {
+		if (!isValidSection(section)) {
 			throw new IllegalArgumentException("Invalid section.");
 		}
+		this.section = section;
+		updateDerivedFields();
+	}
+
+	/**
+	 * Returns true if the section is valid, meaning it is exactly three digits.
+	 * 
+	 * @param section the section to check
+	 * @return true if the section is valid
+	 */
+	public static boolean isValidSection(String section) {
+
+		if (section == null || section.length() != SECTION_LENGTH) {
+			return false;
+		}
 
 		for (int i = 0; i < section.length(); i++) {
 			if (!Character.isDigit(section.charAt(i))) {
-				throw new IllegalArgumentException("Invalid section.");
+				return false;
 			}
 		}
-		this.section = section;
+		return true;
 	}
 
 	/**
@@ -236,15 +349,27 @@ public class Course {
 	 * 
 	 * @param credits the credits to set
 	 * @throws IllegalArgumentException if credits are greater than max or less than
-	 *                                  minimum
+	 *                                  minimum, or the Course is frozen
 	 */
 	public void setCredits(int credits) {
+		checkNotFrozen();
 
-		if (credits > MAX_CREDITS || credits < MIN_CREDITS) {
+		if (!isValidCredits(credits)) {
 			throw new IllegalArgumentException("Invalid credits.");
 		}
 
 		this.credits = credits;
+		updateDerivedFields();
+	}
+
+	/**
+	 * Returns true if the credit hours are within the allowed range.
+	 * 
+	 * @param credits the credits to check
+	 * @return true if the credits are valid
+	 */
+	public static boolean isValidCredits(int credits) {
+		return credits >= MIN_CREDITS && credits <= MAX_CREDITS;
 	}
 
 	/**
@@ -261,14 +386,67 @@ public class Course {
 	 * 
 	 * @param instructorId the instructorId to set
 	 * @throws IllegalArgumentException if param is null or empty
+	 *                                  or the Course is frozen
 	 */
 	public void setInstructorId(String instructorId) {
+		checkNotFrozen();
 
-		if (instructorId == null || "".equals(instructorId)) {
+		if (!isValidInstructorId(instructorId)) {
 			throw new IllegalArgumentException("Invalid instructor id.");
 		}
 
 		this.instructorId = instructorId;
+		updateDerivedFields();
+	}
+
+	/**
+	 * Returns true if the instructor id is valid, meaning it is not null or
+	 * empty.
+	 * 
+	 * @param instructorId the instructor id to check
+	 * @return true if the instructor id is valid
+	 */
+	public static boolean isValidInstructorId(String instructorId) {
+		return instructorId != null && !"".equals(instructorId);
+	}
+
+	/**
+	 * Returns the number of seats in the section.
+	 * 
+	 * @return the capacity, or UNLIMITED_CAPACITY if seats are not limited
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Sets the number of seats in the section. Seats are unlimited unless a
+	 * capacity is set.
+	 * 
+	 * @param capacity the capacity to set, or UNLIMITED_CAPACITY
+	 * @throws IllegalArgumentException if the capacity is out of range
+	 *                                  or the Course is frozen
+	 */
+	public void setCapacity(int capacity) {
+		checkNotFrozen();
+
+		if (!isValidCapacity(capacity)) {
+			throw new IllegalArgumentException("Invalid capacity.");
+		}
+
+		this.capacity = capacity;
+		updateDerivedFields();
+	}
+
+	/**
+	 * Returns true if the capacity is UNLIMITED_CAPACITY or within the allowed
+	 * range.
+	 * 
+	 * @param capacity the capacity to check
+	 * @return true if the capacity is valid
+	 */
+	public static boolean isValidCapacity(int capacity) {
+		return capacity == UNLIMITED_CAPACITY || (capacity >= MIN_CAPACITY && capacity <= MAX_CAPACITY);
 	}
 
 	/**
@@ -299,42 +477,97 @@ public class Course {
 	}
 
 	/**
-	 * Returns the Course's meeting days, start time, and end time
+	 * Sets the Course's meeting days, start time, and end time. Nothing is
+	 * changed if any of them is invalid.
 	 * 
 	 * @param meetingDays days the Course will meet for class
 	 * @param startTime   time the Course will start
 	 * @param endTime     time the Course will end
+	 * @throws IllegalArgumentException if the meeting days and times are invalid
+	 *                                  or the Course is frozen
 	 */
 	public void setMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
+		checkNotFrozen();
+		if (!isValidMeetingDaysAndTime(meetingDays, startTime, endTime)) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+
+		this.meetingDays = meetingDays;
+		this.startTime = startTime;
+		this.endTime = endTime;
+		updateMeetingEncoding();
+		updateDerivedFields();
+	}
+
+	/**
+	 * Disables every setter, for a Course shared by a catalog, so a caller
+	 * holding it cannot change what every other session and index sees.
+	 * Freezing cannot be undone; a caller that wants a changed Course builds a
+	 * new one. The Course must be frozen before it is shared between threads.
+	 */
+	public void freeze() {
+		this.frozen = true;
+	}
+
+	/**
+	 * Returns whether the Course has been frozen.
+	 * 
+	 * @return true if the setters are disabled
+	 */
+	public boolean isFrozen() {
+		return this.frozen;
+	}
+
+	/**
+	 * Throws if the Course has been frozen. Called first by every setter.
+	 * 
+	 * @throws IllegalArgumentException if the Course is frozen
+	 */
+	private void checkNotFrozen() {
+		if (this.frozen) {
+			throw new IllegalArgumentException("Course cannot be changed.");
+		}
+	}
+
+	/**
+	 * Precomputes the encoding used by conflict checks from the meeting days
+	 * and times, so they never parse the meeting days string or do military
+	 * time arithmetic.
+	 */
+	private void updateMeetingEncoding() {
+		this.dayMask = dayMask(this.meetingDays);
+		this.startMinutes = militaryTimeToHours(this.startTime) * UPPER_MINUTE + militaryTimeToMinutes(this.startTime);
+		this.endMinutes = militaryTimeToHours(this.endTime) * UPPER_MINUTE + militaryTimeToMinutes(this.endTime);
+	}
+
+	/**
+	 * Returns true if the meeting days and times are valid. Arranged courses
+	 * (meeting days "A") must have a start and end time of 0. Other courses must
+	 * meet on some of M, T, W, H, and F, each at most once, between valid
+	 * military times that do not end before they start.
+	 * 
+	 * @param meetingDays days the Course will meet for class
+	 * @param startTime   time the Course will start
+	 * @param endTime     time the Course will end
+	 * @return true if the meeting days and times are valid
+	 */
+	public static boolean isValidMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
 		// Check to ensure input is not null or empty string
 		if (meetingDays == null || "".equals(meetingDays)) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
+			return false;
 		}
 		// Check to ensure arranged courses do not have start and end times
 		if ("A".equals(meetingDays)) {
 			if (startTime != 0 || endTime != 0) {
-				throw new IllegalArgumentException("Invalid meeting days and times.");
+				return false;
 			}
-
-			this.meetingDays = meetingDays;
-			this.startTime = startTime;
-			this.endTime = endTime;
-		}
-
-		else {
+		} else if (meetingDaysContainsInvalidCharacters(meetingDays)) {
 			// call to helper method to make sure meeting days are appropriately entered
-			if (meetingDaysContainsInvalidCharacters(meetingDays)) {
-				throw new IllegalArgumentException("Invalid meeting days and times.");
-			}
-
-			this.meetingDays = meetingDays;
-			this.startTime = startTime;
-			this.endTime = endTime;
-
+			return false;
 		}
 
 		if (endTime < startTime) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
+			return false;
 		}
 
 		// calls helper method militaryTimeToHours and Minutes to make code easier to
@@ -347,29 +580,82 @@ public class Course {
 		int endHour = militaryTimeToHours(endTime);
 		int endMinute = militaryTimeToMinutes(endTime);
 
-		// checks to ensure start time is valid and within the upper and lower limits
-		if (startHour < 0 || startHour >= UPPER_HOUR) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
-		}
+		// checks to ensure start and end times are within the upper and lower limits
+		return startHour >= 0 && startHour < UPPER_HOUR && startMinute >= 0 && startMinute < UPPER_MINUTE
+				&& endHour >= 0 && endHour < UPPER_HOUR && endMinute >= 0 && endMinute < UPPER_MINUTE;
+	}
 
-		// checks to ensure start time is valid and within the upper and lower limits
-		if (startMinute < 0 || startMinute >= UPPER_MINUTE) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
+	/**
+	 * Converts a valid meeting days string into a mask of the day constants.
+	 * Arranged courses have no days, so their mask is 0.
+	 * 
+	 * @param meetingDays meeting days to convert
+	 * @return mask with one bit set per meeting day
+	 */
+	private static int dayMask(String meetingDays) {
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			switch (meetingDays.charAt(i)) {
+			case 'M':
+				mask |= MONDAY;
+				break;
+			case 'T':
+				mask |= TUESDAY;
+				break;
+			case 'W':
+				mask |= WEDNESDAY;
+				break;
+			case 'H':
+				mask |= THURSDAY;
+				break;
+			case 'F':
+				mask |= FRIDAY;
+				break;
+			default:
+				break;
+			}
 		}
+		return mask;
+	}
 
-		// checks to ensure end time is valid and within the upper and lower limits
-		if (endHour < 0 || endHour >= UPPER_HOUR) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
-		}
+	/**
+	 * Returns the Course's meeting days as a mask of the day constants.
+	 * 
+	 * @return the day mask, 0 for arranged courses
+	 */
+	public int getDayMask() {
+		return dayMask;
+	}
 
-		// checks to ensure end time is valid and within the upper and lower limits
-		if (endMinute < 0 || endMinute >= UPPER_MINUTE) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
-		}
+	/**
+	 * Returns the Course's start time as minutes since midnight.
+	 * 
+	 * @return the start time in minutes
+	 */
+	public int getStartMinutes() {
+		return startMinutes;
+	}
 
-		this.meetingDays = meetingDays;
-		this.startTime = startTime;
-		this.endTime = endTime;
+	/**
+	 * Returns the Course's end time as minutes since midnight.
+	 * 
+	 * @return the end time in minutes
+	 */
+	public int getEndMinutes() {
+		return endMinutes;
+	}
+
+	/**
+	 * Returns true if this Course and the given Course meet on a common day at
+	 * overlapping times. Times are inclusive, so a course ending at 1:30PM
+	 * conflicts with one starting at 1:30PM. Arranged courses never conflict.
+	 * 
+	 * @param other course to compare against
+	 * @return true if the meeting times overlap
+	 */
+	public boolean conflictsWith(Course other) {
+		return (this.dayMask & other.dayMask) != 0 && this.startMinutes <= other.endMinutes
+				&& other.startMinutes <= this.endMinutes;
 	}
 
 	/**
@@ -379,7 +665,7 @@ public class Course {
 	 * @param time time in military time
 	 * @return time hour in military time
 	 */
-	public int militaryTimeToHours(int time) {
+	public static int militaryTimeToHours(int time) {
 
 		return time / MILITARY_TIME_DIVIDE;
 
@@ -392,7 +678,7 @@ public class Course {
 	 * @param time time in military time
 	 * @return time minutes in military time
 	 */
-	public int militaryTimeToMinutes(int time) {
+	public static int militaryTimeToMinutes(int time) {
 		return time % MILITARY_TIME_DIVIDE;
 	}
 
@@ -404,7 +690,7 @@ public class Course {
 	 * @return true if meetingDays has invalid characters and false if no invalid
 	 *         characters are found.
 	 */
-	public boolean meetingDaysContainsInvalidCharacters(String meetingDays) {
+	public static boolean meetingDaysContainsInvalidCharacters(String meetingDays) {
 
 		boolean containsInvalidChar = false;
 		
@@ -446,13 +732,40 @@ public class Course {
 	}
 
 	/**
-	 * Converts military time to standard time and gives a meridian string value
-	 * 
+	 * Recomputes the cached meeting string, comma separated record, and hash
+	 * code after a field changes, so the read paths that the GUI and schedule
+	 * tables call for every row do no formatting or hashing. The constructor
+	 * sets the meeting days last, so this runs once, with every field set,
+	 * while a Course is constructed.
+	 */
+	private void updateDerivedFields() {
+		if (this.name == null || this.meetingDays == null) {
+			return;
+		}
+		this.meetingString = formatMeetingString();
+		this.record = formatRecord();
+		this.hash = Objects.hash(capacity, credits, endTime, instructorId, meetingDays, name, section, startTime,
+				title);
+	}
+
+	/**
+	 * Converts military time to standard time and gives a meridian string value.
+	 * The string is built once when the meeting days and times are set.
 	 * 
 	 * @return meetingDaysString standard time of Course start and end with meridian
 	 *         value
 	 */
 	public String getMeetingString() {
+		return this.meetingString;
+	}
+
+	/**
+	 * Builds the meeting string returned by getMeetingString().
+	 * 
+	 * @return meetingDaysString standard time of Course start and end with meridian
+	 *         value
+	 */
+	private String formatMeetingString() {
 		
 		//If meeting day is arranged than method returns arranged and stops
 		if ("A".equals(this.meetingDays)) {
@@ -565,13 +878,14 @@ public class Course {
 	}
 
 	/**
-	 * Generates a hashCode for Course using all fields.
+	 * Generates a hashCode for Course using all fields. The hash is computed
+	 * once whenever a field is set.
 	 * 
 	 * @return hashCode for Course
 	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash(credits, endTime, instructorId, meetingDays, name, section, startTime, title);
+		return this.hash;
 	}
 
 	/**
@@ -589,24 +903,44 @@ public class Course {
 		if (getClass() != obj.getClass())
 			return false;
 		Course other = (Course) obj;
-		return credits == other.credits && endTime == other.endTime && Objects.equals(instructorId, other.instructorId)
+		//unequal hashes mean unequal fields, and the hashes are already computed
+		if (hash != other.hash)
+			return false;
+		return capacity == other.capacity && credits == other.credits && endTime == other.endTime && Objects.equals(instructorId, other.instructorId)
 				&& Objects.equals(meetingDays, other.meetingDays) && Objects.equals(name, other.name)
 				&& Objects.equals(section, other.section) && startTime == other.startTime
 				&& Objects.equals(title, other.title);
 	}
 
 	/**
-	 * Returns a comma separated value String of all Course fields.
+	 * Returns a comma separated value String of all Course fields. The string is
+	 * built once whenever a field is set.
 	 * 
 	 * @return String representation of Course
 	 */
 	@Override
 	public String toString() {
+		return this.record;
+	}
+
+	/**
+	 * Builds the comma separated value String returned by toString().
+	 * 
+	 * @return String representation of Course
+	 */
+	private String formatRecord() {
+		String record;
 		if ("A".equals(meetingDays)) {
-			return name + "," + title + "," + section + "," + credits + "," + instructorId + "," + meetingDays;
+			record = name + "," + title + "," + section + "," + credits + "," + instructorId + "," + meetingDays;
+		} else {
+			record = name + "," + title + "," + section + "," + credits + "," + instructorId + "," + meetingDays
+					+ "," + startTime + "," + endTime;
+		}
+		//the capacity field is optional and only written for limited sections
+		if (capacity != UNLIMITED_CAPACITY) {
+			record += "," + capacity;
 		}
-		return name + "," + title + "," + section + "," + credits + "," + instructorId + "," + meetingDays + ","
-				+ startTime + "," + endTime;
+		return record;
 	}
 
 	/**
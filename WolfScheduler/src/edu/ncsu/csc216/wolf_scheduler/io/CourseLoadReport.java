@@ -0,0 +1,209 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of a course records load: how many lines were read, how many became
+ * Courses, which lines were invalid and why, and which lines were dropped as
+ * duplicates of an earlier name and section. Line numbers start at 1.
+ * 
+ * A report made by countsOnly keeps the numbers but not the diagnostics or
+ * duplicate line numbers, so reading a file of any size through it takes
+ * constant memory however many lines are bad.
+ * 
+ * @author Jay Shah (jsshah)
+ * 
+ */
+public class CourseLoadReport {
+
+	/** number of lines read from the file */
+	private int lineCount;
+	/** number of lines that parsed into a Course, duplicates included */
+	private int validCount;
+	/** number of lines that were not valid course records */
+	private int invalidCount;
+	/** number of lines dropped as duplicates */
+	private int duplicateCount;
+	/** true to keep each diagnostic and duplicate line number, not just counts */
+	private final boolean keepDetails;
+	/** why each invalid line was rejected, in file order */
+	private final ArrayList<CourseRecordDiagnostic> diagnostics = new ArrayList<CourseRecordDiagnostic>();
+	/** line numbers of records dropped as duplicates */
+	private final ArrayList<Integer> duplicateLines = new ArrayList<Integer>();
+	/** field values that reused an equal String instead of creating one */
+	private long deduplicatedStrings;
+	/** estimated heap saved by sharing field values, in bytes */
+	private long bytesSaved;
+
+	/**
+	 * Creates an empty report that keeps a diagnostic for each invalid line
+	 * and the number of each duplicate line.
+	 */
+	public CourseLoadReport() {
+		this(true);
+	}
+
+	/**
+	 * Creates an empty report.
+	 * 
+	 * @param keepDetails true to keep diagnostics and duplicate line numbers,
+	 *                    false to only count them
+	 */
+	private CourseLoadReport(boolean keepDetails) {
+		this.keepDetails = keepDetails;
+	}
+
+	/**
+	 * Returns an empty report that only counts lines, for reads whose report
+	 * nobody looks at line by line.
+	 * 
+	 * @return report without diagnostics or duplicate line numbers
+	 */
+	static CourseLoadReport countsOnly() {
+		return new CourseLoadReport(false);
+	}
+
+	/**
+	 * Records that a line was read.
+	 */
+	void lineRead() {
+		lineCount++;
+	}
+
+	/**
+	 * Records that a line parsed into a Course. If the Course turns out to be a
+	 * duplicate, duplicateLine is called for the same line as well.
+	 */
+	void validLine() {
+		validCount++;
+	}
+
+	/**
+	 * Records that a line was not a valid course record.
+	 * 
+	 * @param diagnostic line number, field, and reason the record was rejected
+	 */
+	void invalidLine(CourseRecordDiagnostic diagnostic) {
+		invalidCount++;
+		if (keepDetails) {
+			diagnostics.add(diagnostic);
+		}
+	}
+
+	/**
+	 * Records that a line was dropped because an earlier line had the same name
+	 * and section.
+	 * 
+	 * @param line line number of the duplicate
+	 */
+	void duplicateLine(int line) {
+		duplicateCount++;
+		if (keepDetails) {
+			duplicateLines.add(line);
+		}
+	}
+
+	/**
+	 * Records field values that shared an existing String.
+	 * 
+	 * @param count number of values shared
+	 * @param bytes estimated heap saved, in bytes
+	 */
+	void stringsDeduplicated(int count, long bytes) {
+		deduplicatedStrings += count;
+		bytesSaved += bytes;
+	}
+
+	/**
+	 * Returns the number of lines read.
+	 * 
+	 * @return number of lines read
+	 */
+	public int getLineCount() {
+		return lineCount;
+	}
+
+	/**
+	 * Returns the number of Courses loaded, which is the number of valid lines
+	 * that were not dropped as duplicates.
+	 * 
+	 * @return number of Courses loaded
+	 */
+	public int getCourseCount() {
+		return validCount - duplicateCount;
+	}
+
+	/**
+	 * Returns the number of lines that were not valid course records.
+	 * 
+	 * @return number of invalid lines
+	 */
+	public int getInvalidCount() {
+		return invalidCount;
+	}
+
+	/**
+	 * Returns why each invalid line was rejected, in file order.
+	 * 
+	 * @return unmodifiable list of diagnostics, one per invalid line, or empty
+	 *         if the report only counts
+	 */
+	public List<CourseRecordDiagnostic> getDiagnostics() {
+		return Collections.unmodifiableList(diagnostics);
+	}
+
+	/**
+	 * Returns the number of lines dropped as duplicates.
+	 * 
+	 * @return number of duplicate lines
+	 */
+	public int getDuplicateCount() {
+		return duplicateCount;
+	}
+
+	/**
+	 * Returns the line numbers dropped as duplicates, in file order.
+	 * 
+	 * @return unmodifiable list of duplicate line numbers, or empty if the
+	 *         report only counts
+	 */
+	public List<Integer> getDuplicateLines() {
+		return Collections.unmodifiableList(duplicateLines);
+	}
+
+	/**
+	 * Returns the number of field values that shared an equal String loaded
+	 * earlier instead of getting their own copy.
+	 * 
+	 * @return number of shared field values
+	 */
+	public long getDeduplicatedStringCount() {
+		return deduplicatedStrings;
+	}
+
+	/**
+	 * Returns an estimate of the heap saved by sharing equal field values,
+	 * assuming a 64 bit JVM with compressed references and compact strings.
+	 * 
+	 * @return estimated bytes saved
+	 */
+	public long getBytesSaved() {
+		return bytesSaved;
+	}
+
+	/**
+	 * Returns a one line summary of the load.
+	 * 
+	 * @return summary of the load
+	 */
+	@Override
+	public String toString() {
+		return lineCount + " lines, " + getCourseCount() + " courses, " + invalidCount + " invalid, "
+				+ duplicateCount + " duplicates";
+	}
+}
@@ -0,0 +1,94 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+/**
+ * Describes why one line of a course records file was not loaded: the line
+ * number (from 1), the field that was wrong, and the reason. For fields that
+ * Course validates the reason is the same message the Course setter would
+ * throw with. Diagnostics are created by the loaders without throwing, so a
+ * feed full of bad rows loads as fast as a clean one.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CourseRecordDiagnostic {
+
+	/** Field reported when the line does not have the shape of a record */
+	public static final String RECORD = "record";
+	/** Field reported for an invalid course name */
+	public static final String NAME = "name";
+	/** Field reported for an invalid title */
+	public static final String TITLE = "title";
+	/** Field reported for an invalid section */
+	public static final String SECTION = "section";
+	/** Field reported for invalid credits */
+	public static final String CREDITS = "credits";
+	/** Field reported for an invalid instructor id */
+	public static final String INSTRUCTOR_ID = "instructor id";
+	/** Field reported for invalid meeting days */
+	public static final String MEETING_DAYS = "meeting days";
+	/** Field reported for an invalid start time */
+	public static final String START_TIME = "start time";
+	/** Field reported for an invalid end time */
+	public static final String END_TIME = "end time";
+	/** Field reported for an invalid capacity */
+	public static final String CAPACITY = "capacity";
+
+	/** line number of the record, from 1 */
+	private final int line;
+	/** field that was wrong */
+	private final String field;
+	/** why the field was wrong */
+	private final String reason;
+
+	/**
+	 * Creates a diagnostic for the given line.
+	 * 
+	 * @param line   line number of the record, from 1
+	 * @param field  field that was wrong, one of the field constants
+	 * @param reason why the field was wrong
+	 */
+	public CourseRecordDiagnostic(int line, String field, String reason) {
+		this.line = line;
+		this.field = field;
+		this.reason = reason;
+	}
+
+	/**
+	 * Returns the line number of the record.
+	 * 
+	 * @return the line number, from 1
+	 */
+	public int getLine() {
+		return line;
+	}
+
+	/**
+	 * Returns the field that was wrong.
+	 * 
+	 * @return one of the field constants
+	 */
+	public String getField() {
+		return field;
+	}
+
+	/**
+	 * Returns why the field was wrong.
+	 * 
+	 * @return the reason
+	 */
+	public String getReason() {
+		return reason;
+	}
+
+	/**
+	 * Returns the diagnostic as "line N: field: reason".
+	 * 
+	 * @return the diagnostic as a string
+	 */
+	@Override
+	public String toString() {
+		return "line " + line + ": " + field + ": " + reason;
+	}
+}
@@ -3,18 +3,39 @@
  */
 package edu.ncsu.csc216.wolf_scheduler.io;
 
-import java.io.File;
+import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 
 /**
- * CourseRecordIO is a input output program that implements the scanner and output utility to 
+ * CourseRecordIO is a input output program that implements a hand written tokenizer and output utility to 
  * read course.txt document and write .txt documents. The functionality of this class will allow 
  * wolf scheduler to read a course catalog and store that catalog's values and create usable info 
  * to present to the user.
@@ -23,6 +44,9 @@ import edu.ncsu.csc216.wolf_scheduler.course.Course;
  */
 public class CourseRecordIO {
 
+	/** Counter that makes the temporary export file names unique */
+	private static final AtomicLong TEMP_COUNTER = new AtomicLong(System.nanoTime());
+
 	/**
 	 * Reads course records from a file and generates a list of valid Courses. Any
 	 * invalid Courses are ignored. If the file to read cannot be found or the
@@ -33,132 +57,293 @@ public class CourseRecordIO {
 	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
 	public static ArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
+		return readCourseRecords(fileName, new CourseLoadReport());
+	}
 
-		Scanner fileReader = new Scanner(new FileInputStream(fileName)); // Create a file scanner to read the file
+	/**
+	 * Reads course records from a file and generates a list of valid Courses,
+	 * recording what happened to each line in the given report. Invalid lines
+	 * are skipped and the report gets a diagnostic with the field and reason
+	 * for each; lines are checked with the non throwing Course validators, so
+	 * bad lines cost no more than good ones. When two lines share a name and
+	 * section the first one wins. Duplicates are found with a hash set, so loading takes time linear
+	 * in the size of the file.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param report   report to record the load in
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static ArrayList<Course> readCourseRecords(String fileName, CourseLoadReport report)
+			throws FileNotFoundException {
+
+		// Create a lazy reader for the file; it splits each line by hand and
+		// skips (and reports) lines that are not valid courses
+		CourseRecordReader fileReader = new CourseRecordReader(new FileInputStream(fileName), report);
 
 		ArrayList<Course> courses = new ArrayList<Course>(); // Create an empty array of Course objects
-		while (fileReader.hasNextLine()) { // While we have more lines in the file
-			try { // Attempt to do the following
-					// Read the line, process it in readCourse, and get the object
-					// If trying to construct a Course in readCourse() results in an exception, flow
-					// of control will transfer to the catch block, below
-				Course course = readCourse(fileReader.nextLine());
-
-				// Create a flag to see if the newly created Course is a duplicate of something
-				// already in the list
-				boolean duplicate = false;
-				// Look at all the courses in our list
-				for (int i = 0; i < courses.size(); i++) {
-					// Get the course at index i
-					Course current = courses.get(i);
-					// Check if the name and section are the same
-					if (course.getName().equals(current.getName())
-							&& course.getSection().equals(current.getSection())) {
-						// It's a duplicate!
-						duplicate = true;
-						break; // We can break out of the loop, no need to continue searching
-					}
+		// Name and section of every course kept so far
+		HashSet<String> seen = new HashSet<String>();
+		try {
+			while (fileReader.hasNext()) { // While we have more courses in the file
+				Course course = fileReader.next();
+
+				// The first course with a name and section wins; add returns
+				// false if the set already held the key
+				if (seen.add(key(course))) {
+					courses.add(fileReader.share(course)); // Add to the ArrayList!
+				} else {
+					// the reader stops right after the course's line, so the line
+					// count is the duplicate's line number
+					report.duplicateLine(report.getLineCount());
 				}
-				// If the course is NOT a duplicate
-				if (!duplicate) {
-					courses.add(course); // Add to the ArrayList!
-				} // Otherwise ignore
-			} catch (IllegalArgumentException e) {
-				// The line is invalid b/c we couldn't create a course, skip it!
 			}
+		} catch (UncheckedIOException e) {
+			// Stop at a read error and keep what was read, like Scanner did
+		} finally {
+			// Close the reader b/c we're responsible with our file handles
+			closeQuietly(fileReader);
 		}
-		// Close the Scanner b/c we're responsible with our file handles
-		fileReader.close();
 		// Return the ArrayList with all the courses we read!
 		return courses;
 	}
 
 	/**
-	 * Scans each line of the Course Record input file and creates an appropriate
-	 * Course object
+	 * Checks every course record in a file and returns the load report, with a
+	 * diagnostic for each invalid line, without keeping the Courses.
 	 * 
-	 * @param line the next line in the course record input file
-	 * @return constructed course object
-	 * @throws IllegalArgumentException if file is at the end or unexpected token is
-	 *                                  read
+	 * @param fileName file to check
+	 * @return report of the load
+	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
-	private static Course readCourse(String line) {
-
-		//create scanner object
-		Scanner scan = new Scanner(line);
+	public static CourseLoadReport validateCourseRecords(String fileName) throws FileNotFoundException {
+		CourseLoadReport report = new CourseLoadReport();
+		readCourseRecords(fileName, report);
+		return report;
+	}
 
-		//change delimiter to a comma ","
-		scan.useDelimiter(",");
+	/**
+	 * Reads course records from a file like
+	 * {@link #readCourseRecords(String, CourseLoadReport)}, optionally in
+	 * parallel. In parallel mode the file is memory mapped, split into chunks on
+	 * line boundaries, and the chunks are parsed on the common ForkJoinPool. The
+	 * results are merged in file order with the same first occurrence duplicate
+	 * rule, so both modes return the same list and report. Files too large to
+	 * map, or that cannot be mapped, are read sequentially.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param report   report to record the load in
+	 * @param parallel true to parse in parallel, false for the sequential reader
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static ArrayList<Course> readCourseRecords(String fileName, CourseLoadReport report, boolean parallel)
+			throws FileNotFoundException {
+		if (parallel) {
+			try {
+				return new ParallelCourseRecordReader().read(fileName, report);
+			} catch (IOException e) {
+				// The report is only filled after the whole file is parsed, so the
+				// sequential reader can start over cleanly (or report the missing file)
+			}
+		}
+		return readCourseRecords(fileName, report);
+	}
 
-		//try-catch block in case an processing error occurs
-		try {
+	/**
+	 * Returns a lazy stream of the valid Courses in a file. Lines are read and
+	 * parsed only as the stream is consumed, so a file of any size can be
+	 * processed in constant memory. Invalid lines are skipped. Unlike
+	 * readCourseRecords, duplicate name and section pairs are not dropped. The
+	 * file is closed when the stream is closed, so use try-with-resources.
+	 * Invalid lines are only counted, so they take no memory either.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @return stream of Courses in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static Stream<Course> streamCourseRecords(String fileName) throws FileNotFoundException {
+		return streamCourseRecords(fileName, CourseLoadReport.countsOnly());
+	}
 
-			//this block of code scans in the relevant data and stores it
-			//in an appropriate variable
-			String name = scan.next();
-			String title = scan.next();
-			String section = scan.next();
-			int creditHours = scan.nextInt();
-			String instructorId = scan.next();
-			String meetingDays = scan.next();
-
-			//if arranged meeting day is found, check to see if there is 
-			//a token beside it, there should not be since arranged has no
-			//meeting times
-			//throw IAE if there is a time for an arranged course
-			if ("A".equals(meetingDays)) {
-
-				if (scan.hasNext()) {
-					scan.close();
-					throw new IllegalArgumentException("Invalid meeting day.");
-				} else {
-					scan.close();
-					return new Course(name, title, section, creditHours, instructorId, meetingDays);
-				}
-			}
+	/**
+	 * Returns a lazy stream of the valid Courses in a file like
+	 * {@link #streamCourseRecords(String)}, recording each line in the given
+	 * report as the stream is consumed. The report keeps a diagnostic for every
+	 * invalid line, so memory grows with the number of bad lines.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param report   report to record each line in
+	 * @return stream of Courses in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static Stream<Course> streamCourseRecords(String fileName, CourseLoadReport report)
+			throws FileNotFoundException {
+		CourseRecordReader reader = new CourseRecordReader(new FileInputStream(fileName), report);
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.map(reader::share).onClose(() -> {
+					try {
+						reader.close();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+	}
 
-			//else create start time and end time and scan in the values
-			else {
+	/**
+	 * Returns the key used to detect duplicate courses: the name and section
+	 * separated by a comma, which can never appear inside a field.
+	 * 
+	 * @param course course to build the key for
+	 * @return duplicate detection key
+	 */
+	static String key(Course course) {
+		return course.getName() + "," + course.getSection();
+	}
 
-			int startTime = scan.nextInt();
-			int endTime = scan.nextInt();
+	/**
+	 * Tokenizes a line of the Course Record input file and creates an appropriate
+	 * Course object, with the same rules the readers use through tryCourse.
+	 * 
+	 * @param line the next line in the course record input file
+	 * @return constructed course object
+	 * @throws IllegalArgumentException with the reason tryCourse gave, if the
+	 *                                  line is not a valid course record
+	 */
+	static Course readCourse(String line) {
+		CourseRecordTokenizer tokenizer = new CourseRecordTokenizer();
+		Course course = tokenizer.tryCourse(line);
+		if (course == null) {
+			throw new IllegalArgumentException(tokenizer.getErrorReason());
+		}
+		return course;
+	}
 
-			if (scan.hasNext()) {
-				scan.close();
-				throw new IllegalArgumentException("Invalid time.");
-			}
+	/**
+	 * Moves a fully written temporary file over the target so that readers see
+	 * either the old file or the complete new one. Falls back to a plain
+	 * replacing move on file systems without atomic moves.
+	 * 
+	 * @param temp   fully written temporary file
+	 * @param target file to replace
+	 * @throws IOException if the file cannot be moved
+	 */
+	public static void moveIntoPlace(Path temp, Path target) throws IOException {
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
 
-			//return the new course object with relevant data scanned in
-			scan.close();
-			return new Course(name, title, section, creditHours, instructorId, meetingDays, startTime, endTime);
-			}
-		} catch (Exception e) {
-			scan.close();
-			throw new IllegalArgumentException();
+	/**
+	 * Closes the given reader, ignoring any error since nothing more will be
+	 * read from it.
+	 * 
+	 * @param reader reader to close
+	 */
+	private static void closeQuietly(Closeable reader) {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			// Nothing left to read, so there is nothing to recover
 		}
 	}
 
 	/**
 	 * This method will write the course object that has been populated with data
-	 * to the output file requested
+	 * to the output file requested. The records are written through a buffer to
+	 * a temporary file in the same directory, which is then moved over the
+	 * output file, so the output file is never left half written. Any write
+	 * error is thrown rather than swallowed, and the temporary file is removed.
 	 * 
 	 * @param fileName file to write schedule of Courses to
 	 * @param courses  list of Courses to write
 	 * @throws IOException if cannot write to file
 	 */
-	public static void writeCourseRecords(String fileName, ArrayList<Course> courses) throws IOException {
-		
-		//initialize print stream object which allows us to write to an output file
-		PrintStream courseWriter = new PrintStream(new File(fileName));
-		
-		//iterate through list and print one course per one line
-		for (int i = 0; i < courses.size(); i++) {
-			courseWriter.println(courses.get(i).toString());
+	public static void writeCourseRecords(String fileName, List<Course> courses) throws IOException {
+		Path target = Paths.get(fileName).toAbsolutePath();
+		//a unique sibling rather than createTempFile, so the export gets the
+		//usual permissions for a new file instead of owner only ones
+		Path temp = target.resolveSibling(target.getFileName() + "." + TEMP_COUNTER.incrementAndGet() + ".tmp");
+		boolean moved = false;
+		try {
+			//write with the same charset and line separator the PrintStream used
+			try (BufferedWriter courseWriter = Files.newBufferedWriter(temp, Charset.defaultCharset(),
+					StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+				//iterate through list and write one course per one line
+				for (int i = 0; i < courses.size(); i++) {
+					courseWriter.write(courses.get(i).toString());
+					courseWriter.newLine();
+				}
+			}
+			moveIntoPlace(temp, target);
+			moved = true;
+		} finally {
+			if (!moved) {
+				Files.deleteIfExists(temp);
+			}
 		}
+	}
 
-		//make sure you close courseWriter (could be any name depending on what 
-		//you initialized print stream object to)
-		courseWriter.close();
+	/**
+	 * Writes many schedules at once, each to its own file, on a pool of at most
+	 * the given number of writer threads. Every file is written as in
+	 * {@link #writeCourseRecords(String, List)}. A failure to write one file
+	 * does not stop the others; the failures are returned instead of thrown.
+	 * 
+	 * @param schedules Courses to write keyed by the file to write them to
+	 * @param threads   most writer threads to use
+	 * @return the error for each file that could not be written, in the
+	 *         iteration order of schedules; empty if every file was written
+	 * @throws IllegalArgumentException if schedules is null or threads is less
+	 *                                  than 1
+	 * @throws InterruptedException     if interrupted while waiting for the
+	 *                                  writers, in which case the unfinished
+	 *                                  writes are cancelled
+	 */
+	public static Map<String, IOException> writeCourseRecords(Map<String, ? extends List<Course>> schedules,
+			int threads) throws InterruptedException {
+		if (schedules == null || threads < 1) {
+			throw new IllegalArgumentException("Invalid export request.");
+		}
+		Map<String, IOException> failures = new LinkedHashMap<String, IOException>();
+		if (schedules.isEmpty()) {
+			return failures;
+		}
+
+		List<String> fileNames = new ArrayList<String>(schedules.size());
+		List<Callable<IOException>> writes = new ArrayList<Callable<IOException>>(schedules.size());
+		for (Map.Entry<String, ? extends List<Course>> entry : schedules.entrySet()) {
+			String fileName = entry.getKey();
+			List<Course> courses = entry.getValue();
+			fileNames.add(fileName);
+			writes.add(() -> {
+				try {
+					writeCourseRecords(fileName, courses);
+					return null;
+				} catch (IOException e) {
+					return e;
+				}
+			});
+		}
 
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, writes.size()));
+		try {
+			List<Future<IOException>> results = pool.invokeAll(writes);
+			for (int i = 0; i < results.size(); i++) {
+				IOException error = results.get(i).get();
+				if (error != null) {
+					failures.put(fileNames.get(i), error);
+				}
+			}
+		} catch (ExecutionException e) {
+			//the writes catch their own IOExceptions, so only a bug gets here
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		return failures;
 	}
 }
@@ -0,0 +1,207 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Lazily reads Courses from a course records stream one line at a time, so a
+ * file of any size can be processed in constant memory. Invalid lines are
+ * skipped and recorded in the load report. Repeated field values, such as a
+ * title shared by many sections, share one String through a bounded pool once
+ * the caller passes a Course it keeps to share. Duplicate name and section
+ * pairs are returned as they appear, since dropping them would mean remembering
+ * every key; CourseCatalog keeps the first one when a catalog is built.
+ * 
+ * @author Jay Shah (jsshah)
+ * 
+ */
+public class CourseRecordReader implements Iterator<Course>, Closeable {
+
+	/** stream the lines are read from, counting bytes as they are read */
+	private final CountingInputStream counter;
+	/** reader the lines are read from */
+	private final BufferedReader reader;
+	/** tokenizer reused for every line */
+	private final CourseRecordTokenizer tokenizer = new CourseRecordTokenizer();
+	/** pool that makes equal field values share one String */
+	private final StringPool pool = new StringPool();
+	/** report to record each line in */
+	private final CourseLoadReport report;
+	/** next course to return, or null if it has not been read yet */
+	private Course next;
+	/** true once the end of the input has been reached or the reader closed */
+	private boolean done;
+
+	/**
+	 * Creates a reader over the given stream.
+	 * 
+	 * @param in     stream of course records
+	 * @param report report to record each line in
+	 */
+	public CourseRecordReader(InputStream in, CourseLoadReport report) {
+		this.counter = new CountingInputStream(in);
+		this.reader = new BufferedReader(new InputStreamReader(this.counter));
+		this.report = report;
+	}
+
+	/**
+	 * Creates a reader over the given file, with a report that only counts
+	 * lines so that bad lines take no memory.
+	 * 
+	 * @param fileName file of course records
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public CourseRecordReader(String fileName) throws FileNotFoundException {
+		this(new FileInputStream(fileName), CourseLoadReport.countsOnly());
+	}
+
+	/**
+	 * Returns true if there is another valid Course, reading ahead as needed.
+	 * 
+	 * @return true if next() will return a Course
+	 * @throws UncheckedIOException if the input cannot be read
+	 */
+	@Override
+	public boolean hasNext() {
+		while (next == null && !done) {
+			String line;
+			try {
+				line = reader.readLine();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			if (line == null) {
+				done = true;
+				break;
+			}
+			report.lineRead();
+			next = tokenizer.tryCourse(line);
+			if (next != null) {
+				report.validLine();
+			} else {
+				report.invalidLine(new CourseRecordDiagnostic(report.getLineCount(), tokenizer.getErrorField(),
+						tokenizer.getErrorReason()));
+			}
+		}
+		return next != null;
+	}
+
+	/**
+	 * Returns the next valid Course.
+	 * 
+	 * @return the next Course
+	 * @throws NoSuchElementException if there are no more Courses
+	 */
+	@Override
+	public Course next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Course course = next;
+		next = null;
+		return course;
+	}
+
+	/**
+	 * Returns a Course equal to the given one whose field values are shared
+	 * with the Courses shared before it, and records the sharing in the
+	 * report. Call it only for the Courses that are kept, so invalid lines and
+	 * dropped duplicates are not counted as savings.
+	 * 
+	 * @param course Course returned by next
+	 * @return the Course with shared field values
+	 */
+	public Course share(Course course) {
+		Course shared = pool.share(course);
+		pool.flushTo(report);
+		return shared;
+	}
+
+	/**
+	 * Returns the number of bytes read from the underlying stream so far. The
+	 * reader buffers ahead, so this may run slightly ahead of the Courses
+	 * returned; it is meant for progress reporting.
+	 * 
+	 * @return bytes read
+	 */
+	public long getBytesRead() {
+		return counter.count;
+	}
+
+	/**
+	 * Returns the report the lines are recorded in.
+	 * 
+	 * @return load report
+	 */
+	public CourseLoadReport getReport() {
+		return report;
+	}
+
+	/**
+	 * Closes the underlying stream. No more Courses are returned afterward.
+	 * 
+	 * @throws IOException if the stream cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		done = true;
+		next = null;
+		reader.close();
+	}
+
+	/**
+	 * Input stream that counts the bytes read through it.
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+		/** bytes read so far; written by the reading thread only */
+		private volatile long count;
+
+		/**
+		 * Wraps the given stream.
+		 * 
+		 * @param in stream to count
+		 */
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				count++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				count += n;
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+	}
+}
@@ -0,0 +1,326 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Hand written tokenizer for a single course record line. It finds the comma
+ * separated fields of a line by recording their start and end offsets, so no
+ * regular expressions run and no strings are created until a field is actually
+ * needed. One tokenizer can be reused for every line of a file.
+ * 
+ * A record is either the 8 field timed form
+ * (name,title,section,credits,instructor,days,start,end) or the 6 field
+ * arranged form ending in the meeting days "A". Either form may end with one
+ * more field holding the section's seat capacity; without it seats are
+ * unlimited. Apart from the capacity field the tokenizer accepts and rejects
+ * lines exactly the way the previous Scanner based reader did, including its
+ * habit of skipping one leading comma and ignoring one trailing comma.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+class CourseRecordTokenizer {
+
+	/** Number of fields in an arranged course record */
+	static final int ARRANGED_FIELDS = 6;
+	/** Number of fields in a timed course record */
+	static final int TIMED_FIELDS = 8;
+	/** Most fields in any record, a timed record with a capacity; any more and the line is rejected */
+	private static final int MAX_FIELDS = TIMED_FIELDS + 1;
+	/** Radix used when parsing integer fields */
+	private static final int RADIX = 10;
+
+	/** Field index of the course name */
+	static final int NAME = 0;
+	/** Field index of the course title */
+	static final int TITLE = 1;
+	/** Field index of the course section */
+	static final int SECTION = 2;
+	/** Field index of the credit hours */
+	static final int CREDITS = 3;
+	/** Field index of the instructor id */
+	static final int INSTRUCTOR_ID = 4;
+	/** Field index of the meeting days */
+	static final int MEETING_DAYS = 5;
+	/** Field index of the start time */
+	static final int START_TIME = 6;
+	/** Field index of the end time */
+	static final int END_TIME = 7;
+	/** Field index of the capacity in an arranged record */
+	static final int ARRANGED_CAPACITY = 6;
+	/** Field index of the capacity in a timed record */
+	static final int TIMED_CAPACITY = 8;
+
+	/** line currently being tokenized */
+	private String line;
+	/** start offset of each field, with room for one trailing empty field */
+	private final int[] starts = new int[MAX_FIELDS + 1];
+	/** end offset (exclusive) of each field in the line */
+	private final int[] ends = new int[MAX_FIELDS + 1];
+	/** number of fields found */
+	private int count;
+	/** value of the field most recently read by parseInt */
+	private int parsed;
+	/** field that made the last call to tryCourse fail */
+	private String errorField;
+	/** reason the last call to tryCourse failed */
+	private String errorReason;
+
+	/**
+	 * Splits the line into fields. Returns false if the line has more fields
+	 * than any record can have.
+	 * 
+	 * @param line line to tokenize
+	 * @return true if the line has a plausible number of fields
+	 */
+	boolean tokenize(String line) {
+		this.line = line;
+		this.count = 0;
+
+		int length = line.length();
+		//Scanner skipped a single delimiter before the first token
+		int fieldStart = length > 0 && line.charAt(0) == ',' ? 1 : 0;
+		for (int i = fieldStart; i <= length; i++) {
+			if (i == length || line.charAt(i) == ',') {
+				if (count == starts.length) {
+					return false;
+				}
+				starts[count] = fieldStart;
+				ends[count] = i;
+				count++;
+				fieldStart = i + 1;
+			}
+		}
+		//and never produced an empty token after a single trailing delimiter
+		if (count > 0 && starts[count - 1] == ends[count - 1]) {
+			count--;
+		}
+		return count <= MAX_FIELDS;
+	}
+
+	/**
+	 * Returns the number of fields found by the last call to tokenize.
+	 * 
+	 * @return number of fields
+	 */
+	int fieldCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the given field as a string.
+	 * 
+	 * @param index field index
+	 * @return the field's text
+	 */
+	String field(int index) {
+		return line.substring(starts[index], ends[index]);
+	}
+
+	/**
+	 * Returns true if the given field equals the given text, without creating a
+	 * string for the field.
+	 * 
+	 * @param index field index
+	 * @param text  text to compare against
+	 * @return true if the field matches the text exactly
+	 */
+	boolean fieldEquals(int index, String text) {
+		int length = ends[index] - starts[index];
+		return length == text.length() && line.regionMatches(starts[index], text, 0, length);
+	}
+
+	/**
+	 * Returns true if the given field is an integer that fits in an int. Like
+	 * Scanner.nextInt(), an optional leading sign is allowed and any Unicode
+	 * decimal digit counts as a digit.
+	 * 
+	 * @param index field index
+	 * @return true if the field can be read with intField
+	 */
+	boolean isInt(int index) {
+		return parseInt(index);
+	}
+
+	/**
+	 * Returns the given field as an int. The field must have been checked with
+	 * isInt first.
+	 * 
+	 * @param index field index
+	 * @return the field's value
+	 * @throws IllegalArgumentException if the field is not an integer
+	 */
+	int intField(int index) {
+		if (!parseInt(index)) {
+			throw new IllegalArgumentException("Invalid integer.");
+		}
+		return parsed;
+	}
+
+	/**
+	 * Parses the given field into the parsed field without throwing or boxing.
+	 * 
+	 * @param index field index
+	 * @return true if the field is an int
+	 */
+	private boolean parseInt(int index) {
+		int i = starts[index];
+		int end = ends[index];
+		if (i == end) {
+			return false;
+		}
+		boolean negative = false;
+		char first = line.charAt(i);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			i++;
+			if (i == end) {
+				return false;
+			}
+		}
+		//accumulate as a negative number so Integer.MIN_VALUE fits
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = Character.digit(line.charAt(i), RADIX);
+			if (digit < 0) {
+				return false;
+			}
+			value = value * RADIX - digit;
+			if (value < Integer.MIN_VALUE) {
+				return false;
+			}
+		}
+		if (!negative) {
+			value = -value;
+			if (value > Integer.MAX_VALUE) {
+				return false;
+			}
+		}
+		parsed = (int) value;
+		return true;
+	}
+
+	/**
+	 * Returns the field index of the capacity in a record of the given form.
+	 * 
+	 * @param arranged true for the arranged form
+	 * @return index the capacity field has when present
+	 */
+	private static int capacityIndex(boolean arranged) {
+		return arranged ? ARRANGED_CAPACITY : TIMED_CAPACITY;
+	}
+
+	/**
+	 * Tokenizes the line and constructs a Course from it without throwing.
+	 * Every field is checked with the Course validators, in the order the
+	 * Course constructor sets them, before the Course is created. When the line
+	 * is invalid null is returned and getErrorField and getErrorReason describe
+	 * the first problem found.
+	 * 
+	 * @param line line to parse
+	 * @return the course described by the line, or null if it is invalid
+	 */
+	Course tryCourse(String line) {
+		if (!tokenize(line)) {
+			return fail(CourseRecordDiagnostic.RECORD, "More than " + MAX_FIELDS + " fields.");
+		}
+		if (count < ARRANGED_FIELDS) {
+			return fail(CourseRecordDiagnostic.RECORD, "Expected " + ARRANGED_FIELDS + " to " + MAX_FIELDS
+					+ " fields but found " + count + ".");
+		}
+		if (!isInt(CREDITS)) {
+			return fail(CourseRecordDiagnostic.CREDITS, "Not an integer.");
+		}
+		int credits = parsed;
+		boolean arranged = fieldEquals(MEETING_DAYS, "A");
+		int fields = arranged ? ARRANGED_FIELDS : TIMED_FIELDS;
+		if (count != fields && count != fields + 1) {
+			return fail(CourseRecordDiagnostic.RECORD, arranged ? "Arranged course has meeting times."
+					: "Missing meeting times.");
+		}
+		int capacity = Course.UNLIMITED_CAPACITY;
+		if (count == fields + 1) {
+			if (!isInt(capacityIndex(arranged))) {
+				return fail(CourseRecordDiagnostic.CAPACITY, "Not an integer.");
+			}
+			capacity = parsed;
+		}
+		int startTime = 0;
+		int endTime = 0;
+		if (!arranged) {
+			if (!isInt(START_TIME)) {
+				return fail(CourseRecordDiagnostic.START_TIME, "Not an integer.");
+			}
+			startTime = parsed;
+			if (!isInt(END_TIME)) {
+				return fail(CourseRecordDiagnostic.END_TIME, "Not an integer.");
+			}
+			endTime = parsed;
+		}
+
+		String name = field(NAME);
+		if (!Course.isValidName(name)) {
+			return fail(CourseRecordDiagnostic.NAME, "Invalid course name.");
+		}
+		String title = field(TITLE);
+		if (!Course.isValidTitle(title)) {
+			return fail(CourseRecordDiagnostic.TITLE, "Invalid title.");
+		}
+		String section = field(SECTION);
+		if (!Course.isValidSection(section)) {
+			return fail(CourseRecordDiagnostic.SECTION, "Invalid section.");
+		}
+		if (!Course.isValidCredits(credits)) {
+			return fail(CourseRecordDiagnostic.CREDITS, "Invalid credits.");
+		}
+		String instructorId = field(INSTRUCTOR_ID);
+		if (!Course.isValidInstructorId(instructorId)) {
+			return fail(CourseRecordDiagnostic.INSTRUCTOR_ID, "Invalid instructor id.");
+		}
+		String meetingDays = field(MEETING_DAYS);
+		if (!Course.isValidMeetingDaysAndTime(meetingDays, startTime, endTime)) {
+			return fail(CourseRecordDiagnostic.MEETING_DAYS, "Invalid meeting days and times.");
+		}
+		if (!Course.isValidCapacity(capacity)) {
+			return fail(CourseRecordDiagnostic.CAPACITY, "Invalid capacity.");
+		}
+		Course course = new Course(name, title, section, credits, instructorId, meetingDays, startTime, endTime);
+		if (capacity != Course.UNLIMITED_CAPACITY) {
+			course.setCapacity(capacity);
+		}
+		return course;
+	}
+
+	/**
+	 * Records why tryCourse failed.
+	 * 
+	 * @param field  field that was wrong
+	 * @param reason why it was wrong
+	 * @return null, so callers can return the result directly
+	 */
+	private Course fail(String field, String reason) {
+		this.errorField = field;
+		this.errorReason = reason;
+		return null;
+	}
+
+	/**
+	 * Returns the field that made the last call to tryCourse fail.
+	 * 
+	 * @return one of the CourseRecordDiagnostic field constants
+	 */
+	String getErrorField() {
+		return errorField;
+	}
+
+	/**
+	 * Returns the reason the last call to tryCourse failed.
+	 * 
+	 * @return the reason
+	 */
+	String getErrorReason() {
+		return errorReason;
+	}
+}
@@ -0,0 +1,226 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Reads and writes binary snapshots of a validated course catalog so that it
+ * can be loaded again without tokenizing the text file. A snapshot records the
+ * size and modification time of the text file it was built from and is only
+ * used while both still match.
+ * 
+ * The format is big endian: the magic number and format version, the source
+ * file's size and modification time, a table of distinct strings, the course
+ * records as nine ints each (string table indexes for the text fields, then
+ * the capacity), and a CRC32 of everything before it. Version 1 snapshots,
+ * which had no capacity, are treated as stale.
+ * 
+ * @author Jay Shah (jsshah)
+ * 
+ */
+public class CourseSnapshotIO {
+
+	/** Magic number at the start of every snapshot, "WSNP" */
+	private static final int MAGIC = 0x57534E50;
+	/** Current snapshot format version */
+	public static final int VERSION = 2;
+	/** Suffix added to a catalog file name to name its snapshot */
+	public static final String SUFFIX = ".snapshot";
+	/** Bytes in the fixed header: magic, version, source size, source time */
+	private static final int HEADER_BYTES = 4 + 4 + 8 + 8;
+	/** Bytes in the trailing checksum */
+	private static final int CHECKSUM_BYTES = 8;
+	/** Ints stored for each course record */
+	private static final int INTS_PER_COURSE = 9;
+
+	/**
+	 * Returns the snapshot file name used for the given catalog file.
+	 * 
+	 * @param sourceFile catalog text file
+	 * @return name of its snapshot file
+	 */
+	public static String snapshotFileName(String sourceFile) {
+		return sourceFile + SUFFIX;
+	}
+
+	/**
+	 * Writes a snapshot of the given courses, stamped with the current size and
+	 * modification time of the text file they were read from.
+	 * 
+	 * @param snapshotFile file to write the snapshot to
+	 * @param sourceFile   catalog text file the courses were read from
+	 * @param courses      validated courses to write
+	 * @throws IOException if the source cannot be examined or the snapshot
+	 *                     cannot be written
+	 */
+	public static void writeSnapshot(String snapshotFile, String sourceFile, List<Course> courses)
+			throws IOException {
+		Path source = Paths.get(sourceFile);
+		writeSnapshot(snapshotFile, Files.size(source), Files.getLastModifiedTime(source).toMillis(), courses);
+	}
+
+	/**
+	 * Writes a snapshot of the given courses, stamped with the given size and
+	 * modification time of the text file. Callers that read the text file
+	 * themselves should take the stamp before reading, so a file changed during
+	 * the read leaves a snapshot that is already stale. The snapshot is written
+	 * to a temporary file and moved into place, so a reader never sees a
+	 * partial snapshot.
+	 * 
+	 * @param snapshotFile   file to write the snapshot to
+	 * @param sourceSize     size of the text file in bytes
+	 * @param sourceModified modification time of the text file in milliseconds
+	 * @param courses        validated courses to write
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public static void writeSnapshot(String snapshotFile, long sourceSize, long sourceModified, List<Course> courses)
+			throws IOException {
+		Path target = Paths.get(snapshotFile);
+
+		//build the string table, giving each distinct string one index
+		HashMap<String, Integer> ids = new HashMap<String, Integer>();
+		ArrayList<String> strings = new ArrayList<String>();
+		int[] records = new int[courses.size() * INTS_PER_COURSE];
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			int r = i * INTS_PER_COURSE;
+			records[r] = id(ids, strings, c.getName());
+			records[r + 1] = id(ids, strings, c.getTitle());
+			records[r + 2] = id(ids, strings, c.getSection());
+			records[r + 3] = c.getCredits();
+			records[r + 4] = id(ids, strings, c.getInstructorId());
+			records[r + 5] = id(ids, strings, c.getMeetingDays());
+			records[r + 6] = c.getStartTime();
+			records[r + 7] = c.getEndTime();
+			records[r + 8] = c.getCapacity();
+		}
+
+		Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			CRC32 crc = new CRC32();
+			try (DataOutputStream out = new DataOutputStream(
+					new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(sourceSize);
+				out.writeLong(sourceModified);
+				out.writeInt(strings.size());
+				for (int i = 0; i < strings.size(); i++) {
+					byte[] bytes = strings.get(i).getBytes(StandardCharsets.UTF_8);
+					out.writeInt(bytes.length);
+					out.write(bytes);
+				}
+				out.writeInt(courses.size());
+				for (int i = 0; i < records.length; i++) {
+					out.writeInt(records[i]);
+				}
+				//the checksum covers everything written before it
+				out.writeLong(crc.getValue());
+			}
+			CourseRecordIO.moveIntoPlace(temp, target);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Returns the string table index of the string, adding it if needed.
+	 * 
+	 * @param ids     index of each string already in the table
+	 * @param strings string table
+	 * @param value   string to look up
+	 * @return index of the string
+	 */
+	private static int id(HashMap<String, Integer> ids, ArrayList<String> strings, String value) {
+		Integer id = ids.get(value);
+		if (id == null) {
+			id = strings.size();
+			ids.put(value, id);
+			strings.add(value);
+		}
+		return id;
+	}
+
+	/**
+	 * Reads the courses from a snapshot if it exists, has the current format
+	 * version, passes its checksum, and still matches the size and modification
+	 * time of the text file. Otherwise returns null so the caller can fall back
+	 * to the text file.
+	 * 
+	 * @param snapshotFile snapshot to read
+	 * @param sourceFile   catalog text file the snapshot was built from
+	 * @return courses in the snapshot, or null if it is missing or stale
+	 */
+	public static ArrayList<Course> readSnapshot(String snapshotFile, String sourceFile) {
+		Path snapshot = Paths.get(snapshotFile);
+		Path source = Paths.get(sourceFile);
+		try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_BYTES + CHECKSUM_BYTES || size > Integer.MAX_VALUE) {
+				return null;
+			}
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				return null;
+			}
+			if (buffer.getLong() != Files.size(source)
+					|| buffer.getLong() != Files.getLastModifiedTime(source).toMillis()) {
+				return null;
+			}
+
+			CRC32 crc = new CRC32();
+			ByteBuffer body = buffer.duplicate();
+			body.position(0).limit((int) size - CHECKSUM_BYTES);
+			crc.update(body);
+			if (buffer.getLong((int) size - CHECKSUM_BYTES) != crc.getValue()) {
+				return null;
+			}
+
+			String[] strings = new String[buffer.getInt()];
+			for (int i = 0; i < strings.length; i++) {
+				byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				strings[i] = new String(bytes, StandardCharsets.UTF_8);
+			}
+
+			int count = buffer.getInt();
+			ArrayList<Course> courses = new ArrayList<Course>(count);
+			for (int i = 0; i < count; i++) {
+				String name = strings[buffer.getInt()];
+				String title = strings[buffer.getInt()];
+				String section = strings[buffer.getInt()];
+				int credits = buffer.getInt();
+				String instructorId = strings[buffer.getInt()];
+				String meetingDays = strings[buffer.getInt()];
+				int startTime = buffer.getInt();
+				int endTime = buffer.getInt();
+				int capacity = buffer.getInt();
+				//the checksum matched, so these are the fields of valid courses
+				courses.add(Course.fromTrustedFields(name, title, section, credits, instructorId, meetingDays,
+						startTime, endTime, capacity));
+			}
+			return courses;
+		} catch (IOException | RuntimeException e) {
+			//missing, unreadable, or corrupt snapshots all mean reading the text
+			return null;
+		}
+	}
+}
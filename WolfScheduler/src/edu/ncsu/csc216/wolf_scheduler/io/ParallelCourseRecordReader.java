@@ -0,0 +1,312 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Reads a course records file by memory mapping it, splitting it into chunks
+ * on line boundaries, and parsing the chunks in parallel on a ForkJoinPool.
+ * The parsed chunks are merged in file order, and duplicates are dropped during
+ * the merge so the first occurrence of a name and section still wins. The
+ * courses kept are shared through one string pool during the merge, so equal
+ * field values across chunks end up as one String, and only the sharing among
+ * kept courses is reported. Lines
+ * end at \n, \r, or \r\n, the same as BufferedReader.readLine(), and are
+ * decoded with the default charset, which must be ASCII compatible.
+ * 
+ * @author Jay Shah (jsshah)
+ * 
+ */
+class ParallelCourseRecordReader {
+
+	/** Default smallest chunk handed to a single task, in bytes */
+	static final int DEFAULT_MIN_CHUNK = 1 << 16;
+	/** Chunks created per worker thread, so uneven chunks still balance */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	/** smallest chunk handed to a single task, in bytes */
+	private final int minChunk;
+	/** pool the chunks are parsed on */
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates a reader that splits files into chunks of at least the given size
+	 * and parses them on the given pool.
+	 * 
+	 * @param minChunk smallest chunk in bytes
+	 * @param pool     pool to parse on
+	 */
+	ParallelCourseRecordReader(int minChunk, ForkJoinPool pool) {
+		this.minChunk = minChunk;
+		this.pool = pool;
+	}
+
+	/**
+	 * Creates a reader with the default chunk size on the common pool.
+	 */
+	ParallelCourseRecordReader() {
+		this(DEFAULT_MIN_CHUNK, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Returns true if the file can be read by this reader. A single mapping is
+	 * limited to Integer.MAX_VALUE bytes.
+	 * 
+	 * @param size size of the file in bytes
+	 * @return true if the file can be mapped
+	 */
+	static boolean canMap(long size) {
+		return size <= Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Reads every course record in the file.
+	 * 
+	 * @param fileName file to read
+	 * @param report   report to record the load in
+	 * @return valid, non duplicate Courses in file order
+	 * @throws IOException if the file cannot be read
+	 */
+	ArrayList<Course> read(String fileName, CourseLoadReport report) throws IOException {
+		Path path = Paths.get(fileName);
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (!canMap(size)) {
+				throw new IOException("File is too large to map.");
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+
+		int[] bounds = chunkBounds(buffer);
+		List<ChunkTask> tasks = new ArrayList<ChunkTask>(bounds.length - 1);
+		for (int i = 0; i + 1 < bounds.length; i++) {
+			tasks.add(new ChunkTask(buffer, bounds[i], bounds[i + 1]));
+		}
+		pool.invoke(new AllChunks(tasks));
+
+		//merge in file order; only this step needs to be sequential
+		ArrayList<Course> courses = new ArrayList<Course>();
+		HashSet<String> seen = new HashSet<String>();
+		StringPool strings = new StringPool();
+		int lineOffset = 0;
+		for (int i = 0; i < tasks.size(); i++) {
+			Chunk chunk = tasks.get(i).join();
+			int next = 0;
+			int nextInvalid = 0;
+			for (int line = 1; line <= chunk.lineCount; line++) {
+				report.lineRead();
+				int lineNumber = lineOffset + line;
+				if (next < chunk.courses.size() && chunk.lines[next] == line) {
+					Course course = chunk.courses.get(next++);
+					report.validLine();
+					if (seen.add(CourseRecordIO.key(course))) {
+						courses.add(strings.share(course));
+					} else {
+						report.duplicateLine(lineNumber);
+					}
+				} else {
+					CourseRecordDiagnostic diagnostic = chunk.diagnostics.get(nextInvalid++);
+					report.invalidLine(new CourseRecordDiagnostic(lineNumber, diagnostic.getField(),
+							diagnostic.getReason()));
+				}
+			}
+			strings.flushTo(report);
+			lineOffset += chunk.lineCount;
+		}
+		return courses;
+	}
+
+	/**
+	 * Splits the buffer into chunks that each end just after a line terminator,
+	 * except for the last chunk which ends at the end of the buffer.
+	 * 
+	 * @param buffer mapped file
+	 * @return start offsets of each chunk followed by the end of the buffer
+	 */
+	private int[] chunkBounds(MappedByteBuffer buffer) {
+		int size = buffer.limit();
+		int target = Math.max(minChunk, size / (pool.getParallelism() * CHUNKS_PER_THREAD) + 1);
+		ArrayList<Integer> bounds = new ArrayList<Integer>();
+		bounds.add(0);
+		int position = target;
+		while (position < size) {
+			//advance to just past the next terminator, treating \r\n as one
+			while (position < size && buffer.get(position - 1) != '\n'
+					&& !(buffer.get(position - 1) == '\r' && buffer.get(position) != '\n')) {
+				position++;
+			}
+			if (position >= size) {
+				break;
+			}
+			bounds.add(position);
+			position += target;
+		}
+		bounds.add(size);
+
+		int[] result = new int[bounds.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = bounds.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Courses parsed from one chunk, with the chunk relative line number (from
+	 * 1) of each course, and a diagnostic for each invalid line.
+	 */
+	private static class Chunk {
+		/** number of lines in the chunk */
+		private int lineCount;
+		/** valid courses in chunk order */
+		private final ArrayList<Course> courses = new ArrayList<Course>();
+		/** chunk relative line number of each course */
+		private int[] lines = new int[16];
+		/** why each invalid line was rejected, with chunk relative line numbers */
+		private final ArrayList<CourseRecordDiagnostic> diagnostics = new ArrayList<CourseRecordDiagnostic>();
+
+		/**
+		 * Adds a course found on the given line.
+		 * 
+		 * @param course course parsed
+		 * @param line   chunk relative line number
+		 */
+		void add(Course course, int line) {
+			if (courses.size() == lines.length) {
+				int[] grown = new int[lines.length * 2];
+				System.arraycopy(lines, 0, grown, 0, lines.length);
+				lines = grown;
+			}
+			lines[courses.size()] = line;
+			courses.add(course);
+		}
+	}
+
+	/**
+	 * Task that parses every line in one chunk of the mapped file.
+	 */
+	private static class ChunkTask extends RecursiveTask<Chunk> {
+		/** ID used for object serialization */
+		private static final long serialVersionUID = 1L;
+		/** mapped file */
+		private final transient MappedByteBuffer buffer;
+		/** first byte of the chunk */
+		private final int start;
+		/** byte after the end of the chunk */
+		private final int end;
+
+		/**
+		 * Creates a task for the given chunk.
+		 * 
+		 * @param buffer mapped file
+		 * @param start  first byte of the chunk
+		 * @param end    byte after the end of the chunk
+		 */
+		ChunkTask(MappedByteBuffer buffer, int start, int end) {
+			this.buffer = buffer;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected Chunk compute() {
+			Chunk chunk = new Chunk();
+			//strings are shared once the chunks are merged, so that only kept courses count
+			CourseRecordTokenizer tokenizer = new CourseRecordTokenizer();
+			Charset charset = Charset.defaultCharset();
+			byte[] bytes = new byte[256];
+
+			int lineStart = start;
+			int i = start;
+			while (i < end) {
+				byte b = buffer.get(i);
+				if (b == '\n' || b == '\r') {
+					bytes = parseLine(chunk, tokenizer, charset, bytes, lineStart, i);
+					i++;
+					if (b == '\r' && i < end && buffer.get(i) == '\n') {
+						i++;
+					}
+					lineStart = i;
+				} else {
+					i++;
+				}
+			}
+			if (lineStart < end) {
+				parseLine(chunk, tokenizer, charset, bytes, lineStart, end);
+			}
+			return chunk;
+		}
+
+		/**
+		 * Decodes and parses one line, adding the Course to the chunk if it is
+		 * valid.
+		 * 
+		 * @param chunk     chunk being built
+		 * @param tokenizer tokenizer to reuse
+		 * @param charset   charset to decode with
+		 * @param bytes     scratch array to copy the line into
+		 * @param from      first byte of the line
+		 * @param to        byte after the end of the line
+		 * @return the scratch array, grown if the line did not fit
+		 */
+		private byte[] parseLine(Chunk chunk, CourseRecordTokenizer tokenizer, Charset charset, byte[] bytes,
+				int from, int to) {
+			chunk.lineCount++;
+			int length = to - from;
+			if (length > bytes.length) {
+				bytes = new byte[Math.max(length, bytes.length * 2)];
+			}
+			buffer.get(from, bytes, 0, length);
+			String line = new String(bytes, 0, length, charset);
+			Course course = tokenizer.tryCourse(line);
+			if (course != null) {
+				chunk.add(course, chunk.lineCount);
+			} else {
+				//reported with its file line number during the merge
+				chunk.diagnostics.add(new CourseRecordDiagnostic(chunk.lineCount, tokenizer.getErrorField(),
+						tokenizer.getErrorReason()));
+			}
+			return bytes;
+		}
+	}
+
+	/**
+	 * Task that forks every chunk task and waits for them all.
+	 */
+	private static class AllChunks extends RecursiveTask<Void> {
+		/** ID used for object serialization */
+		private static final long serialVersionUID = 1L;
+		/** chunk tasks to run */
+		private final transient List<ChunkTask> tasks;
+
+		/**
+		 * Creates a task that runs every chunk task.
+		 * 
+		 * @param tasks chunk tasks
+		 */
+		AllChunks(List<ChunkTask> tasks) {
+			this.tasks = tasks;
+		}
+
+		@Override
+		protected Void compute() {
+			invokeAll(tasks);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,199 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Load time dictionary that makes equal field values share one String. A
+ * value can be looked up by its position in a line, so a value already in the
+ * pool is returned without creating a substring at all, or a kept Course can
+ * be run through the pool as a whole. The pool also keeps an estimate of the
+ * heap that sharing saved.
+ * 
+ * The pool is an open addressing hash table of Strings holding at most
+ * MAX_SIZE values. It is not thread safe; each reader uses its own pool, and
+ * the parallel reader shares one only in its sequential merge.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+class StringPool {
+
+	/** Starting number of slots, a power of two */
+	private static final int INITIAL_CAPACITY = 256;
+	/**
+	 * Most distinct values kept, so streaming an unbounded file cannot grow
+	 * the pool without limit; later new values are simply not shared
+	 */
+	static final int MAX_SIZE = 1 << 16;
+	/** Bytes in a String object on a 64 bit JVM with compressed references */
+	private static final int STRING_OBJECT_BYTES = 24;
+	/** Bytes in an array header on a 64 bit JVM with compressed references */
+	private static final int ARRAY_HEADER_BYTES = 16;
+	/** Objects are aligned to this many bytes */
+	private static final int OBJECT_ALIGNMENT = 8;
+	/** Largest char stored in one byte by a compact String */
+	private static final char LATIN1_MAX = 0xFF;
+
+	/** slots of the hash table, null when empty */
+	private String[] table = new String[INITIAL_CAPACITY];
+	/** number of distinct values in the pool */
+	private int size;
+	/** values returned from the pool since the last flush */
+	private int hits;
+	/** estimated bytes saved since the last flush */
+	private long bytesSaved;
+
+	/**
+	 * Returns the pooled String equal to line.substring(start, end), adding it
+	 * to the pool if it is new.
+	 * 
+	 * @param line  line holding the value
+	 * @param start first character of the value
+	 * @param end   character after the end of the value
+	 * @return the shared String for the value
+	 */
+	String intern(String line, int start, int end) {
+		int length = end - start;
+		//same hash as String.hashCode so a pooled String's cached hash is reused
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + line.charAt(i);
+		}
+
+		int mask = table.length - 1;
+		int slot = spread(hash) & mask;
+		String value;
+		while ((value = table[slot]) != null) {
+			if (value.length() == length && value.hashCode() == hash && line.regionMatches(start, value, 0, length)) {
+				hits++;
+				bytesSaved += estimatedSize(value);
+				return value;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		value = line.substring(start, end);
+		if (size == MAX_SIZE) {
+			return value;
+		}
+		table[slot] = value;
+		size++;
+		//keep the table at most half full so probe runs stay short
+		if (size * 2 > table.length) {
+			grow();
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the pooled String equal to the value, adding the value itself to
+	 * the pool if it is new.
+	 * 
+	 * @param value value to share
+	 * @return the shared String for the value
+	 */
+	String intern(String value) {
+		//a substring of the whole String is the String itself, so nothing is copied
+		return intern(value, 0, value.length());
+	}
+
+	/**
+	 * Returns a Course with the same fields whose strings come from the pool.
+	 * The course is returned as it is when every field is already the pooled
+	 * String, as it is for the first course holding each value. Readers call
+	 * this only for the courses they keep, so the savings reported are those
+	 * of the loaded catalog.
+	 * 
+	 * @param course valid course to share the strings of
+	 * @return course with pooled strings
+	 */
+	Course share(Course course) {
+		String name = intern(course.getName());
+		String title = intern(course.getTitle());
+		String section = intern(course.getSection());
+		String instructorId = intern(course.getInstructorId());
+		String meetingDays = intern(course.getMeetingDays());
+		if (name == course.getName() && title == course.getTitle() && section == course.getSection()
+				&& instructorId == course.getInstructorId() && meetingDays == course.getMeetingDays()) {
+			return course;
+		}
+		//the fields were checked when the course was parsed
+		return Course.fromTrustedFields(name, title, section, course.getCredits(), instructorId, meetingDays,
+				course.getStartTime(), course.getEndTime(), course.getCapacity());
+	}
+
+	/**
+	 * Doubles the table and reinserts every value.
+	 */
+	private void grow() {
+		String[] old = table;
+		table = new String[old.length * 2];
+		int mask = table.length - 1;
+		for (int i = 0; i < old.length; i++) {
+			if (old[i] != null) {
+				int slot = spread(old[i].hashCode()) & mask;
+				while (table[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				table[slot] = old[i];
+			}
+		}
+	}
+
+	/**
+	 * Mixes the high bits of the hash into the low bits used to pick a slot.
+	 * 
+	 * @param hash String hash code
+	 * @return hash with its bits spread
+	 */
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Estimates the heap used by a String on a 64 bit JVM with compressed
+	 * references and compact strings: the String object plus its backing array,
+	 * which holds one byte per char when every char fits in Latin-1 and two
+	 * otherwise.
+	 * 
+	 * @param value String to measure
+	 * @return estimated size in bytes
+	 */
+	static long estimatedSize(String value) {
+		int bytesPerChar = 1;
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > LATIN1_MAX) {
+				bytesPerChar = 2;
+				break;
+			}
+		}
+		long array = ARRAY_HEADER_BYTES + (long) value.length() * bytesPerChar;
+		array = (array + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+		return STRING_OBJECT_BYTES + array;
+	}
+
+	/**
+	 * Returns the number of distinct values in the pool.
+	 * 
+	 * @return number of distinct values
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Adds the values shared and bytes saved since the last flush to the report
+	 * and resets them.
+	 * 
+	 * @param report report to add to
+	 */
+	void flushTo(CourseLoadReport report) {
+		if (hits > 0) {
+			report.stringsDeduplicated(hits, bytesSaved);
+			hits = 0;
+			bytesSaved = 0;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Read only catalog of the courses available to WolfScheduler. A catalog
+ * holds its courses in load order, keeps the first course when two share a
+ * name and section, and never changes once built, so it can be shared
+ * between threads and swapped in whole. Every Course a catalog returns is
+ * frozen, so a caller cannot change a course under the sessions and indexes
+ * sharing it. CourseCatalog keeps Course objects
+ * on the heap, ColumnarCourseCatalog keeps primitive columns on the heap, and
+ * MappedCourseCatalog keeps the courses in a memory mapped file.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public interface Catalog {
+
+	/**
+	 * Returns the number of courses in the catalog.
+	 * 
+	 * @return number of courses
+	 */
+	int size();
+
+	/**
+	 * Returns the course at the given position in the catalog.
+	 * 
+	 * @param index position of the course
+	 * @return course at the given position
+	 * @throws IndexOutOfBoundsException if the position is not in the catalog
+	 */
+	Course getCourse(int index);
+
+	/**
+	 * Returns the course with the given name and section.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return the matching course or null if it is not in the catalog
+	 */
+	Course getCourse(String name, String section);
+
+	/**
+	 * Returns every section of the course with the given name.
+	 * 
+	 * @param name name of the course, such as CSC 216
+	 * @return unmodifiable list of the sections in load order
+	 */
+	List<Course> getSections(String name);
+
+	/**
+	 * Returns every course taught by the given instructor.
+	 * 
+	 * @param instructorId unity id of the instructor
+	 * @return unmodifiable list of matching courses in load order
+	 */
+	List<Course> getCoursesByInstructor(String instructorId);
+
+	/**
+	 * Returns every course whose name starts with the given department prefix,
+	 * such as CSC.
+	 * 
+	 * @param department letter prefix of the course name
+	 * @return unmodifiable list of matching courses in load order
+	 */
+	List<Course> getCoursesByDepartment(String department);
+
+	/**
+	 * Returns every course that meets on the given day. Days use the same
+	 * characters as meeting days: M, T, W, H, F, or A for arranged courses.
+	 * 
+	 * @param day meeting day character
+	 * @return unmodifiable list of matching courses in load order
+	 */
+	List<Course> getCoursesByMeetingDay(char day);
+}
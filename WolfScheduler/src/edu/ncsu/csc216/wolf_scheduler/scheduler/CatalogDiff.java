@@ -0,0 +1,168 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Differences between two versions of the course catalog, keyed by course name
+ * and section. A section is added when only the new catalog has it, removed
+ * when only the old catalog has it, and changed when both have it but any
+ * other field differs. When a diff is applied to a WolfScheduler it also
+ * records which scheduled courses were dropped, because their section was
+ * removed or its new days or times conflict with another scheduled course,
+ * and which were replaced by their changed version.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CatalogDiff {
+
+	/** sections only in the new catalog, in new catalog order */
+	private final List<Course> added;
+	/** sections only in the old catalog, in old catalog order */
+	private final List<Course> removed;
+	/** new versions of sections whose fields changed, in new catalog order */
+	private final List<Course> changed;
+	/** scheduled courses dropped because their section was removed or now conflicts */
+	private final List<Course> droppedFromSchedule;
+	/** scheduled courses replaced by their changed version */
+	private final List<Course> updatedInSchedule;
+
+	/**
+	 * Creates a diff from its parts.
+	 * 
+	 * @param added               sections only in the new catalog
+	 * @param removed             sections only in the old catalog
+	 * @param changed             new versions of changed sections
+	 * @param droppedFromSchedule scheduled courses that were dropped
+	 * @param updatedInSchedule   scheduled courses that were replaced
+	 */
+	private CatalogDiff(List<Course> added, List<Course> removed, List<Course> changed,
+			List<Course> droppedFromSchedule, List<Course> updatedInSchedule) {
+		this.added = Collections.unmodifiableList(added);
+		this.removed = Collections.unmodifiableList(removed);
+		this.changed = Collections.unmodifiableList(changed);
+		this.droppedFromSchedule = Collections.unmodifiableList(droppedFromSchedule);
+		this.updatedInSchedule = Collections.unmodifiableList(updatedInSchedule);
+	}
+
+	/**
+	 * Computes the differences between two catalogs. Each catalog is walked
+	 * once and every section is looked up in the other catalog's name and
+	 * section index, so the diff is linear in the size of the catalogs.
+	 * 
+	 * @param oldCatalog catalog being replaced
+	 * @param newCatalog catalog replacing it
+	 * @return differences between the catalogs
+	 * @throws IllegalArgumentException if either catalog is null
+	 */
+	public static CatalogDiff compute(Catalog oldCatalog, Catalog newCatalog) {
+		if (oldCatalog == null || newCatalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		List<Course> added = new ArrayList<Course>();
+		List<Course> changed = new ArrayList<Course>();
+		for (int i = 0; i < newCatalog.size(); i++) {
+			Course course = newCatalog.getCourse(i);
+			Course old = oldCatalog.getCourse(course.getName(), course.getSection());
+			if (old == null) {
+				added.add(course);
+			} else if (!old.equals(course)) {
+				changed.add(course);
+			}
+		}
+		List<Course> removed = new ArrayList<Course>();
+		for (int i = 0; i < oldCatalog.size(); i++) {
+			Course course = oldCatalog.getCourse(i);
+			if (newCatalog.getCourse(course.getName(), course.getSection()) == null) {
+				removed.add(course);
+			}
+		}
+		return new CatalogDiff(added, removed, changed, new ArrayList<Course>(), new ArrayList<Course>());
+	}
+
+	/**
+	 * Returns a copy of this diff that also records its effect on a schedule.
+	 * 
+	 * @param dropped scheduled courses dropped because their section was removed
+	 *                or now conflicts
+	 * @param updated scheduled courses replaced by their changed version
+	 * @return the diff with its schedule effects
+	 */
+	CatalogDiff withScheduleChanges(List<Course> dropped, List<Course> updated) {
+		return new CatalogDiff(this.added, this.removed, this.changed, dropped, updated);
+	}
+
+	/**
+	 * Returns the sections only in the new catalog.
+	 * 
+	 * @return unmodifiable list of added sections
+	 */
+	public List<Course> getAdded() {
+		return this.added;
+	}
+
+	/**
+	 * Returns the sections only in the old catalog.
+	 * 
+	 * @return unmodifiable list of removed sections
+	 */
+	public List<Course> getRemoved() {
+		return this.removed;
+	}
+
+	/**
+	 * Returns the new versions of sections whose fields changed.
+	 * 
+	 * @return unmodifiable list of changed sections
+	 */
+	public List<Course> getChanged() {
+		return this.changed;
+	}
+
+	/**
+	 * Returns the scheduled courses that were dropped because their section no
+	 * longer exists, or because its new days or times conflict with another
+	 * scheduled course.
+	 * 
+	 * @return unmodifiable list of dropped courses, as they were scheduled
+	 */
+	public List<Course> getDroppedFromSchedule() {
+		return this.droppedFromSchedule;
+	}
+
+	/**
+	 * Returns the scheduled courses that were replaced by their changed
+	 * version.
+	 * 
+	 * @return unmodifiable list of the new versions now in the schedule
+	 */
+	public List<Course> getUpdatedInSchedule() {
+		return this.updatedInSchedule;
+	}
+
+	/**
+	 * Returns true if the catalogs hold exactly the same sections.
+	 * 
+	 * @return true if nothing was added, removed, or changed
+	 */
+	public boolean isEmpty() {
+		return this.added.isEmpty() && this.removed.isEmpty() && this.changed.isEmpty();
+	}
+
+	/**
+	 * Returns a short summary of the diff.
+	 * 
+	 * @return the number of added, removed, changed, and dropped sections
+	 */
+	@Override
+	public String toString() {
+		return "added=" + this.added.size() + ", removed=" + this.removed.size() + ", changed="
+				+ this.changed.size() + ", dropped=" + this.droppedFromSchedule.size();
+	}
+}
@@ -0,0 +1,235 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * What to look for in the catalog. Every part is optional, and a course must
+ * match every part that is given:
+ * 
+ * - the start of its name, such as "CSC" or "csc 2";
+ * - the start of a word in its title for each keyword, so "data struct"
+ *   finds "Data Structures";
+ * - the start of its instructor id;
+ * - meeting days, for courses that meet only on some of those days, so "MWF"
+ *   leaves out anything meeting on a Tuesday or Thursday;
+ * - a time range, for courses that start no earlier and end no later.
+ * 
+ * Text is matched without regard to case. Arranged courses have no days or
+ * times, so they are left out once days or a time range are given.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public final class CatalogQuery {
+
+	/** Earliest time of a query without a time range */
+	public static final int EARLIEST = 0;
+	/** Latest time of a query without a time range */
+	public static final int LATEST = 2359;
+	/** Minutes in an hour */
+	private static final int MINUTES_PER_HOUR = 60;
+
+	/** lowercase start of the course name, empty for any */
+	private final String namePrefix;
+	/** lowercase starts of title words, empty for any */
+	private final List<String> keywords;
+	/** lowercase start of the instructor id, empty for any */
+	private final String instructor;
+	/** mask of the days a course may meet on, 0 for any */
+	private final int dayMask;
+	/** earliest start in minutes since midnight */
+	private final int earliestMinutes;
+	/** latest end in minutes since midnight */
+	private final int latestMinutes;
+
+	/**
+	 * Creates a query from the text of each part. A null or blank part matches
+	 * every course.
+	 * 
+	 * @param namePrefix  start of the course name
+	 * @param keywords    starts of title words, separated by spaces
+	 * @param instructor  start of the instructor id
+	 * @param meetingDays days a course may meet on, from MTWHF
+	 * @param earliest    earliest start time in military time
+	 * @param latest      latest end time in military time
+	 * @throws IllegalArgumentException if the days hold anything but MTWHF, or
+	 *                                  the times are invalid or out of order
+	 */
+	public CatalogQuery(String namePrefix, String keywords, String instructor, String meetingDays, int earliest,
+			int latest) {
+		this.namePrefix = normalize(namePrefix);
+		this.keywords = words(keywords);
+		this.instructor = normalize(instructor);
+		this.dayMask = dayMask(meetingDays);
+		if (!isValidTime(earliest) || !isValidTime(latest) || earliest > latest) {
+			throw new IllegalArgumentException("Invalid time range.");
+		}
+		this.earliestMinutes = toMinutes(earliest);
+		this.latestMinutes = toMinutes(latest);
+	}
+
+	/**
+	 * Creates a query on the start of the course name alone.
+	 * 
+	 * @param namePrefix start of the course name
+	 */
+	public CatalogQuery(String namePrefix) {
+		this(namePrefix, null, null, null, EARLIEST, LATEST);
+	}
+
+	/**
+	 * Returns the lowercase start of the course name.
+	 * 
+	 * @return name prefix, empty for any
+	 */
+	String getNamePrefix() {
+		return this.namePrefix;
+	}
+
+	/**
+	 * Returns the lowercase starts of title words.
+	 * 
+	 * @return keywords, empty for any
+	 */
+	List<String> getKeywords() {
+		return this.keywords;
+	}
+
+	/**
+	 * Returns the lowercase start of the instructor id.
+	 * 
+	 * @return instructor prefix, empty for any
+	 */
+	String getInstructor() {
+		return this.instructor;
+	}
+
+	/**
+	 * Returns whether a course with the given days and times matches the day
+	 * and time parts of the query.
+	 * 
+	 * @param mask  day mask of the course
+	 * @param start start of the course in minutes since midnight
+	 * @param end   end of the course in minutes since midnight
+	 * @return true if the course fits the days and times
+	 */
+	boolean fits(int mask, int start, int end) {
+		if (this.dayMask != 0 && (mask == 0 || (mask & ~this.dayMask) != 0)) {
+			return false;
+		}
+		if (!hasTimeRange()) {
+			return true;
+		}
+		return mask != 0 && start >= this.earliestMinutes && end <= this.latestMinutes;
+	}
+
+	/**
+	 * Returns whether the query has a day or time part.
+	 * 
+	 * @return true if fits can reject a course
+	 */
+	boolean hasSchedulePart() {
+		return this.dayMask != 0 || hasTimeRange();
+	}
+
+	/**
+	 * Returns whether the query matches every course.
+	 * 
+	 * @return true if no part is given
+	 */
+	public boolean isEmpty() {
+		return this.namePrefix.isEmpty() && this.keywords.isEmpty() && this.instructor.isEmpty()
+				&& !hasSchedulePart();
+	}
+
+	/**
+	 * Returns whether the time range is narrower than the whole day.
+	 * 
+	 * @return true if the query has a time range
+	 */
+	private boolean hasTimeRange() {
+		return this.earliestMinutes != 0 || this.latestMinutes != toMinutes(LATEST);
+	}
+
+	/**
+	 * Trims and lowercases text for matching.
+	 * 
+	 * @param text text to normalize, may be null
+	 * @return lowercase text, empty if null or blank
+	 */
+	static String normalize(String text) {
+		return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Splits text into the lowercase words a title is indexed by: runs of
+	 * letters and digits.
+	 * 
+	 * @param text text to split, may be null
+	 * @return words in order, empty if none
+	 */
+	static List<String> words(String text) {
+		List<String> words = new ArrayList<String>();
+		if (text == null) {
+			return words;
+		}
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (inWord && start < 0) {
+				start = i;
+			} else if (!inWord && start >= 0) {
+				words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * Converts meeting days into a mask of the Course day constants.
+	 * 
+	 * @param meetingDays days from MTWHF, may be null or blank
+	 * @return day mask, 0 for any
+	 * @throws IllegalArgumentException if a day is not one of MTWHF
+	 */
+	private static int dayMask(String meetingDays) {
+		String days = meetingDays == null ? "" : meetingDays.trim().toUpperCase(Locale.ROOT);
+		int mask = 0;
+		for (int i = 0; i < days.length(); i++) {
+			int index = "MTWHF".indexOf(days.charAt(i));
+			if (index < 0) {
+				throw new IllegalArgumentException("Invalid meeting days.");
+			}
+			//MONDAY through FRIDAY are the low five bits in day order
+			mask |= Course.MONDAY << index;
+		}
+		return mask;
+	}
+
+	/**
+	 * Converts a military time to minutes since midnight.
+	 * 
+	 * @param time military time
+	 * @return minutes since midnight
+	 */
+	private static int toMinutes(int time) {
+		return Course.militaryTimeToHours(time) * MINUTES_PER_HOUR + Course.militaryTimeToMinutes(time);
+	}
+
+	/**
+	 * Returns whether a military time has valid hours and minutes.
+	 * 
+	 * @param time time to check
+	 * @return true if the time is between 0000 and 2359
+	 */
+	private static boolean isValidTime(int time) {
+		return time >= EARLIEST && time <= LATEST && time % 100 < 60;
+	}
+}
@@ -0,0 +1,301 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Indexes over one catalog for answering a CatalogQuery without looking at
+ * every course. Course names, instructor ids, and the words of titles are
+ * each kept as a sorted list of distinct keys, with the catalog rows holding
+ * each key, so the keys starting with some text are found by binary search
+ * and only their rows are read. Days and times are kept in plain int arrays
+ * indexed by row, which are cheap to check for the rows the text parts leave,
+ * or to scan when the query has no text part.
+ * 
+ * An index remembers the catalog it was built from, so its owner can reuse it
+ * until that catalog is replaced. It is never changed after it is built, so
+ * it can be searched by any thread.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+final class CatalogSearch {
+
+	/** catalog the index was built from */
+	private final Object source;
+	/** number of courses in the catalog */
+	private final int size;
+	/** rows by lowercase course name */
+	private final KeyIndex names;
+	/** rows by lowercase instructor id */
+	private final KeyIndex instructors;
+	/** rows by lowercase title word */
+	private final KeyIndex words;
+	/** day mask of each row */
+	private final int[] dayMasks;
+	/** start of each row in minutes since midnight */
+	private final int[] starts;
+	/** end of each row in minutes since midnight */
+	private final int[] ends;
+
+	/**
+	 * Builds the indexes over every course in the catalog.
+	 * 
+	 * @param catalog catalog to index
+	 */
+	CatalogSearch(Catalog catalog) {
+		this.source = catalog;
+		this.size = catalog.size();
+		this.dayMasks = new int[this.size];
+		this.starts = new int[this.size];
+		this.ends = new int[this.size];
+		Map<String, Postings> byName = new HashMap<String, Postings>();
+		Map<String, Postings> byInstructor = new HashMap<String, Postings>();
+		Map<String, Postings> byWord = new HashMap<String, Postings>();
+		for (int row = 0; row < this.size; row++) {
+			//fetch each course once, since a mapped catalog builds it on every call
+			Course course = catalog.getCourse(row);
+			add(byName, CatalogQuery.normalize(course.getName()), row);
+			add(byInstructor, CatalogQuery.normalize(course.getInstructorId()), row);
+			for (String word : CatalogQuery.words(course.getTitle())) {
+				add(byWord, word, row);
+			}
+			this.dayMasks[row] = course.getDayMask();
+			this.starts[row] = course.getStartMinutes();
+			this.ends[row] = course.getEndMinutes();
+		}
+		this.names = new KeyIndex(byName);
+		this.instructors = new KeyIndex(byInstructor);
+		this.words = new KeyIndex(byWord);
+	}
+
+	/**
+	 * Returns whether the index was built from the given catalog.
+	 * 
+	 * @param source current catalog
+	 * @return true if the index is still current
+	 */
+	boolean isFor(Object source) {
+		return this.source == source;
+	}
+
+	/**
+	 * Returns the rows of the courses matching the query. The text parts are
+	 * looked up in their indexes and the smallest result is intersected with
+	 * the others, then days and times are checked on the rows that are left.
+	 * 
+	 * @param query what to look for
+	 * @return matching rows of the catalog in ascending order
+	 */
+	int[] search(CatalogQuery query) {
+		List<int[]> parts = new ArrayList<int[]>();
+		if (!query.getNamePrefix().isEmpty()) {
+			parts.add(this.names.rowsStartingWith(query.getNamePrefix(), this.size));
+		}
+		if (!query.getInstructor().isEmpty()) {
+			parts.add(this.instructors.rowsStartingWith(query.getInstructor(), this.size));
+		}
+		for (String keyword : query.getKeywords()) {
+			parts.add(this.words.rowsStartingWith(keyword, this.size));
+		}
+		//starting from the narrowest part keeps every intersection small
+		parts.sort((a, b) -> Integer.compare(a.length, b.length));
+		int[] rows = null;
+		for (int i = 0; i < parts.size() && (rows == null || rows.length > 0); i++) {
+			rows = intersect(rows, parts.get(i));
+		}
+
+		if (!query.hasSchedulePart()) {
+			return rows != null ? rows.clone() : allRows();
+		}
+		int count = rows != null ? rows.length : this.size;
+		int[] matches = new int[count];
+		int found = 0;
+		for (int i = 0; i < count; i++) {
+			int row = rows != null ? rows[i] : i;
+			if (query.fits(this.dayMasks[row], this.starts[row], this.ends[row])) {
+				matches[found++] = row;
+			}
+		}
+		return Arrays.copyOf(matches, found);
+	}
+
+	/**
+	 * Returns every row of the catalog.
+	 * 
+	 * @return rows 0 to size - 1
+	 */
+	private int[] allRows() {
+		int[] rows = new int[this.size];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = i;
+		}
+		return rows;
+	}
+
+	/**
+	 * Returns the rows in both sorted arrays. Walks the shorter array and
+	 * gallops through the longer one, so a narrow part of a query stays cheap
+	 * however broad the other parts are.
+	 * 
+	 * @param a rows so far, or null if no part has been applied
+	 * @param b rows matching the next part
+	 * @return rows in both, ascending
+	 */
+	static int[] intersect(int[] a, int[] b) {
+		if (a == null) {
+			return b;
+		}
+		int[] small = a.length <= b.length ? a : b;
+		int[] large = small == a ? b : a;
+		int[] both = new int[small.length];
+		int found = 0;
+		int from = 0;
+		for (int i = 0; i < small.length && from < large.length; i++) {
+			int at = Arrays.binarySearch(large, from, large.length, small[i]);
+			if (at >= 0) {
+				both[found++] = small[i];
+				from = at + 1;
+			} else {
+				from = -at - 1;
+			}
+		}
+		return Arrays.copyOf(both, found);
+	}
+
+	/**
+	 * Adds a row to the postings of a key.
+	 * 
+	 * @param index postings by key
+	 * @param key   key of the row
+	 * @param row   row to add
+	 */
+	private static void add(Map<String, Postings> index, String key, int row) {
+		index.computeIfAbsent(key, k -> new Postings()).add(row);
+	}
+
+	/**
+	 * Rows holding one key, in the ascending order they were added. Used only
+	 * while building.
+	 */
+	private static class Postings {
+
+		/** rows holding the key */
+		private int[] rows = new int[2];
+		/** number of rows used */
+		private int count;
+
+		/**
+		 * Adds a row, unless it was the last one added, as it is when a
+		 * title repeats a word.
+		 * 
+		 * @param row row to add
+		 */
+		private void add(int row) {
+			if (this.count > 0 && this.rows[this.count - 1] == row) {
+				return;
+			}
+			if (this.count == this.rows.length) {
+				this.rows = Arrays.copyOf(this.rows, this.count * 2);
+			}
+			this.rows[this.count++] = row;
+		}
+
+		/**
+		 * Returns the rows added.
+		 * 
+		 * @return rows in ascending order
+		 */
+		private int[] toArray() {
+			return Arrays.copyOf(this.rows, this.count);
+		}
+	}
+
+	/**
+	 * Distinct keys in sorted order with the rows holding each.
+	 */
+	private static final class KeyIndex {
+
+		/** distinct keys in ascending order */
+		private final String[] keys;
+		/** rows holding each key, ascending */
+		private final int[][] rows;
+
+		/**
+		 * Sorts the keys of the postings built for a catalog.
+		 * 
+		 * @param postings rows by key
+		 */
+		private KeyIndex(Map<String, Postings> postings) {
+			this.keys = postings.keySet().toArray(new String[0]);
+			Arrays.sort(this.keys);
+			this.rows = new int[this.keys.length][];
+			for (int i = 0; i < this.keys.length; i++) {
+				this.rows[i] = postings.get(this.keys[i]).toArray();
+			}
+		}
+
+		/**
+		 * Returns the rows holding a key that starts with the prefix. The keys
+		 * starting with it are next to each other in sorted order, so two
+		 * binary searches find them. A single key's rows are returned as they
+		 * are; the rows of several keys are merged through a bit set over the
+		 * catalog.
+		 * 
+		 * @param prefix start of the keys to find
+		 * @param size   number of rows in the catalog
+		 * @return matching rows in ascending order, shared and not to be
+		 *         changed
+		 */
+		private int[] rowsStartingWith(String prefix, int size) {
+			int from = lowerBound(prefix);
+			//every key starting with the prefix sorts before the prefix followed by the last char
+			int to = lowerBound(prefix + Character.MAX_VALUE);
+			if (from == to) {
+				return new int[0];
+			}
+			if (to - from == 1) {
+				return this.rows[from];
+			}
+			long[] bits = new long[(size + Long.SIZE - 1) / Long.SIZE];
+			int count = 0;
+			for (int k = from; k < to; k++) {
+				for (int row : this.rows[k]) {
+					long bit = 1L << row;
+					if ((bits[row >>> 6] & bit) == 0) {
+						bits[row >>> 6] |= bit;
+						count++;
+					}
+				}
+			}
+			int[] matches = new int[count];
+			int found = 0;
+			for (int w = 0; w < bits.length; w++) {
+				long word = bits[w];
+				while (word != 0) {
+					matches[found++] = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+				}
+			}
+			return matches;
+		}
+
+		/**
+		 * Returns the index of the first key not less than the given text.
+		 * 
+		 * @param text text to find
+		 * @return index of the first key at or after the text
+		 */
+		private int lowerBound(String text) {
+			int at = Arrays.binarySearch(this.keys, text);
+			return at >= 0 ? at : -at - 1;
+		}
+	}
+}
@@ -0,0 +1,239 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordDiagnostic;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Watches a WolfScheduler's catalog file and reloads the catalog whenever the
+ * file is created, modified, or moved into place. The watch is registered on
+ * the file's directory, since a WatchService cannot watch a single file, and
+ * events for other files are ignored. A registrar usually writes the file in
+ * several steps, so the watcher waits until the directory has been quiet for
+ * a short settle delay before reloading. Reloads run on the watcher's own
+ * daemon thread and each diff is passed to the listener.
+ * 
+ * A file caught part way through a write must not replace the catalog, so a
+ * reload is skipped when the file's size or modification time changes while
+ * it is read, since the write that changed it brings another event, and is
+ * rejected when the file has no valid courses or ends in an unfinished
+ * invalid line. A rejected or failed reload, and any exception thrown by the
+ * listener, is passed to the error handler and the old catalog stays live;
+ * nothing either of them throws stops the watcher.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CatalogWatcher implements Closeable {
+
+	/** Default time the directory must be quiet before a reload, in milliseconds */
+	public static final long DEFAULT_SETTLE_MILLIS = 200;
+
+	/** scheduler whose catalog is reloaded */
+	private final WolfScheduler scheduler;
+	/** catalog file being watched */
+	private final Path file;
+	/** watch service for the file's directory */
+	private final WatchService watchService;
+	/** time the directory must be quiet before a reload */
+	private final long settleMillis;
+	/** receives the diff of each reload */
+	private final Consumer<CatalogDiff> listener;
+	/** receives reload failures */
+	private final Consumer<Exception> errorHandler;
+	/** thread waiting on the watch service */
+	private final Thread thread;
+
+	/**
+	 * Starts watching the given catalog file.
+	 * 
+	 * @param scheduler    scheduler whose catalog is reloaded
+	 * @param fileName     catalog file to watch
+	 * @param settleMillis time the directory must be quiet before a reload
+	 * @param listener     receives the diff of each reload
+	 * @param errorHandler receives reload failures
+	 * @throws IOException if the directory cannot be watched
+	 */
+	CatalogWatcher(WolfScheduler scheduler, String fileName, long settleMillis, Consumer<CatalogDiff> listener,
+			Consumer<Exception> errorHandler) throws IOException {
+		this.scheduler = scheduler;
+		this.file = Paths.get(fileName).toAbsolutePath();
+		this.settleMillis = settleMillis;
+		this.listener = listener;
+		this.errorHandler = errorHandler;
+		this.watchService = FileSystems.getDefault().newWatchService();
+		try {
+			this.file.getParent().register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			this.watchService.close();
+			throw e;
+		}
+		this.thread = new Thread(this::watch, "catalog-watcher");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Waits for changes to the catalog file until the watcher is closed.
+	 */
+	private void watch() {
+		try {
+			while (true) {
+				WatchKey key = this.watchService.take();
+				boolean touched = drain(key);
+				//keep draining until the directory has been quiet for the settle delay
+				while ((key = this.watchService.poll(this.settleMillis, TimeUnit.MILLISECONDS)) != null) {
+					touched |= drain(key);
+				}
+				if (touched) {
+					reload();
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			//closed
+		}
+	}
+
+	/**
+	 * Reads every event from the key and resets it.
+	 * 
+	 * @param key key with pending events
+	 * @return true if any event was for the catalog file
+	 */
+	private boolean drain(WatchKey key) {
+		boolean touched = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				//events were lost, so the catalog file may have changed
+				touched = true;
+			} else if (this.file.getFileName().equals(event.context())) {
+				touched = true;
+			}
+		}
+		key.reset();
+		return touched;
+	}
+
+	/**
+	 * Reloads the scheduler's catalog and reports the result. Failures of the
+	 * reload and of the listener go to the error handler, so the watcher keeps
+	 * running whatever they throw.
+	 */
+	private void reload() {
+		CatalogDiff diff;
+		try {
+			diff = load();
+		} catch (IOException | RuntimeException e) {
+			fail(e);
+			return;
+		}
+		if (diff == null) {
+			//still being written; the rest of the write brings another event
+			return;
+		}
+		try {
+			this.listener.accept(diff);
+		} catch (RuntimeException e) {
+			fail(e);
+		}
+	}
+
+	/**
+	 * Reads the catalog file and installs it, unless the file changed while
+	 * it was read.
+	 * 
+	 * @return the diff of the reload, or null if the file was still changing
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file has no valid courses or
+	 *                                  ends in an unfinished invalid line
+	 */
+	private CatalogDiff load() throws IOException {
+		long size = Files.size(this.file);
+		long modified = Files.getLastModifiedTime(this.file).toMillis();
+		CourseLoadReport report = new CourseLoadReport();
+		ArrayList<Course> courses;
+		try {
+			courses = CourseRecordIO.readCourseRecords(this.file.toString(), report);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+		if (size != Files.size(this.file) || modified != Files.getLastModifiedTime(this.file).toMillis()) {
+			return null;
+		}
+		if (courses.isEmpty()) {
+			throw new IllegalArgumentException("Catalog file has no valid courses.");
+		}
+		List<CourseRecordDiagnostic> invalid = report.getDiagnostics();
+		if (!invalid.isEmpty() && invalid.get(invalid.size() - 1).getLine() == report.getLineCount()
+				&& !endsWithNewline(size)) {
+			throw new IllegalArgumentException("Catalog file ends in an incomplete line.");
+		}
+		return this.scheduler.loadCatalog(courses, this.file.toString());
+	}
+
+	/**
+	 * Returns whether the catalog file ends with a line break, as a finished
+	 * write does.
+	 * 
+	 * @param size size of the file
+	 * @return true if the last byte is a line break
+	 * @throws IOException if the file cannot be read
+	 */
+	private boolean endsWithNewline(long size) throws IOException {
+		if (size == 0) {
+			return true;
+		}
+		try (RandomAccessFile in = new RandomAccessFile(this.file.toFile(), "r")) {
+			in.seek(size - 1);
+			int last = in.read();
+			return last == '\n' || last == '\r';
+		}
+	}
+
+	/**
+	 * Passes a failure to the error handler. A handler that throws is ignored,
+	 * since there is nobody left to tell and the watcher must keep running.
+	 * 
+	 * @param e failure to report
+	 */
+	private void fail(Exception e) {
+		try {
+			this.errorHandler.accept(e);
+		} catch (RuntimeException ignored) {
+			//nothing left to report to
+		}
+	}
+
+	/**
+	 * Stops watching the catalog file. A reload already in progress finishes.
+	 * 
+	 * @throws IOException if the watch service cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		this.watchService.close();
+		this.thread.interrupt();
+	}
+}
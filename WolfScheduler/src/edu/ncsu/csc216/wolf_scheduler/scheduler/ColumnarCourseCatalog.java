@@ -0,0 +1,542 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Catalog that stores its courses column by column instead of as Course
+ * objects. Each string field is dictionary encoded: every distinct value is
+ * stored once and each row holds an int code into the dictionary. Credits,
+ * times, and day masks are plain int arrays. Scans, filters, and sorts run
+ * over these arrays and return row numbers, and a Course is only built when a
+ * caller asks for one.
+ * 
+ * Like CourseCatalog, the catalog is immutable once built and keeps the first
+ * course when two share a name and section.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class ColumnarCourseCatalog implements Catalog {
+
+	/** number of rows */
+	private final int size;
+
+	/** distinct course names */
+	private final String[] names;
+	/** distinct titles */
+	private final String[] titles;
+	/** distinct sections */
+	private final String[] sections;
+	/** distinct instructor ids */
+	private final String[] instructors;
+	/** distinct meeting days */
+	private final String[] meetingDays;
+	/** distinct department prefixes */
+	private final String[] departments;
+
+	/** name code of each row */
+	private final int[] nameCodes;
+	/** title code of each row */
+	private final int[] titleCodes;
+	/** section code of each row */
+	private final int[] sectionCodes;
+	/** instructor code of each row */
+	private final int[] instructorCodes;
+	/** meeting days code of each row */
+	private final int[] meetingDaysCodes;
+	/** department code of each row */
+	private final int[] departmentCodes;
+	/** credits of each row */
+	private final int[] credits;
+	/** seat capacity of each row */
+	private final int[] capacities;
+	/** military start time of each row */
+	private final int[] startTimes;
+	/** military end time of each row */
+	private final int[] endTimes;
+	/** day mask of each row */
+	private final int[] dayMasks;
+	/** start time of each row in minutes since midnight */
+	private final int[] startMinutes;
+	/** end time of each row in minutes since midnight */
+	private final int[] endMinutes;
+
+	/** code of each name, used to turn a lookup name into a code */
+	private final HashMap<String, Integer> nameDictionary;
+	/** code of each section, used to turn a lookup section into a code */
+	private final HashMap<String, Integer> sectionDictionary;
+	/** code of each department, used to turn a lookup prefix into a code */
+	private final HashMap<String, Integer> departmentDictionary;
+	/** code of each instructor id, used to turn a lookup id into a code */
+	private final HashMap<String, Integer> instructorDictionary;
+	/** open addressing table of row + 1 keyed by name and section code, 0 when empty */
+	private final int[] nameSectionSlots;
+
+	/**
+	 * Creates a catalog from the given list of courses.
+	 * 
+	 * @param courses courses to place in the catalog
+	 * @throws IllegalArgumentException if the list of courses is null
+	 */
+	public ColumnarCourseCatalog(List<Course> courses) {
+		if (courses == null) {
+			throw new IllegalArgumentException("Invalid course list.");
+		}
+		int capacity = courses.size();
+		this.nameCodes = new int[capacity];
+		this.titleCodes = new int[capacity];
+		this.sectionCodes = new int[capacity];
+		this.instructorCodes = new int[capacity];
+		this.meetingDaysCodes = new int[capacity];
+		this.departmentCodes = new int[capacity];
+		this.credits = new int[capacity];
+		this.capacities = new int[capacity];
+		this.startTimes = new int[capacity];
+		this.endTimes = new int[capacity];
+		this.dayMasks = new int[capacity];
+		this.startMinutes = new int[capacity];
+		this.endMinutes = new int[capacity];
+		this.nameSectionSlots = new int[tableSize(capacity)];
+
+		this.nameDictionary = new HashMap<String, Integer>();
+		this.sectionDictionary = new HashMap<String, Integer>();
+		this.departmentDictionary = new HashMap<String, Integer>();
+		HashMap<String, Integer> titleDictionary = new HashMap<String, Integer>();
+		this.instructorDictionary = new HashMap<String, Integer>();
+		HashMap<String, Integer> meetingDaysDictionary = new HashMap<String, Integer>();
+		ArrayList<String> nameValues = new ArrayList<String>();
+		ArrayList<String> titleValues = new ArrayList<String>();
+		ArrayList<String> sectionValues = new ArrayList<String>();
+		ArrayList<String> instructorValues = new ArrayList<String>();
+		ArrayList<String> meetingDaysValues = new ArrayList<String>();
+		ArrayList<String> departmentValues = new ArrayList<String>();
+
+		int row = 0;
+		for (int i = 0; i < courses.size(); i++) {
+			Course course = courses.get(i);
+			int name = encode(this.nameDictionary, nameValues, course.getName());
+			int section = encode(this.sectionDictionary, sectionValues, course.getSection());
+			if (findRow(name, section) >= 0) {
+				//the first course with a name and section wins
+				continue;
+			}
+			insertRow(name, section, row);
+			this.nameCodes[row] = name;
+			this.sectionCodes[row] = section;
+			this.titleCodes[row] = encode(titleDictionary, titleValues, course.getTitle());
+			this.instructorCodes[row] = encode(this.instructorDictionary, instructorValues, course.getInstructorId());
+			this.meetingDaysCodes[row] = encode(meetingDaysDictionary, meetingDaysValues, course.getMeetingDays());
+			this.departmentCodes[row] = encode(this.departmentDictionary, departmentValues,
+					CourseCatalog.department(course.getName()));
+			this.credits[row] = course.getCredits();
+			this.capacities[row] = course.getCapacity();
+			this.startTimes[row] = course.getStartTime();
+			this.endTimes[row] = course.getEndTime();
+			this.dayMasks[row] = course.getDayMask();
+			this.startMinutes[row] = course.getStartMinutes();
+			this.endMinutes[row] = course.getEndMinutes();
+			row++;
+		}
+		this.size = row;
+
+		this.names = nameValues.toArray(new String[0]);
+		this.titles = titleValues.toArray(new String[0]);
+		this.sections = sectionValues.toArray(new String[0]);
+		this.instructors = instructorValues.toArray(new String[0]);
+		this.meetingDays = meetingDaysValues.toArray(new String[0]);
+		this.departments = departmentValues.toArray(new String[0]);
+	}
+
+	/**
+	 * Returns the code of the value, adding it to the dictionary if it is new.
+	 * 
+	 * @param dictionary code of each value seen so far
+	 * @param values     values in code order
+	 * @param value      value to encode
+	 * @return the value's code
+	 */
+	private static int encode(HashMap<String, Integer> dictionary, ArrayList<String> values, String value) {
+		Integer code = dictionary.get(value);
+		if (code == null) {
+			code = values.size();
+			dictionary.put(value, code);
+			values.add(value);
+		}
+		return code;
+	}
+
+	/**
+	 * Returns a power of two table size that keeps the name and section table
+	 * at most half full.
+	 * 
+	 * @param rows most rows the table will hold
+	 * @return number of slots
+	 */
+	private static int tableSize(int rows) {
+		int slots = 2;
+		while (slots < rows * 2) {
+			slots <<= 1;
+		}
+		return slots;
+	}
+
+	/**
+	 * Returns the first slot to probe for a name and section code pair.
+	 * 
+	 * @param name    name code
+	 * @param section section code
+	 * @return starting slot
+	 */
+	private int firstSlot(int name, int section) {
+		int hash = name * 31 + section;
+		hash ^= hash >>> 16;
+		return hash & (this.nameSectionSlots.length - 1);
+	}
+
+	/**
+	 * Returns the row with the given name and section codes.
+	 * 
+	 * @param name    name code
+	 * @param section section code
+	 * @return the row, or -1 if there is none
+	 */
+	private int findRow(int name, int section) {
+		int mask = this.nameSectionSlots.length - 1;
+		for (int slot = firstSlot(name, section); this.nameSectionSlots[slot] != 0; slot = (slot + 1) & mask) {
+			int row = this.nameSectionSlots[slot] - 1;
+			if (this.nameCodes[row] == name && this.sectionCodes[row] == section) {
+				return row;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Adds a row to the name and section table. The row's codes must not be in
+	 * the table yet.
+	 * 
+	 * @param name    name code
+	 * @param section section code
+	 * @param row     row to add
+	 */
+	private void insertRow(int name, int section, int row) {
+		int mask = this.nameSectionSlots.length - 1;
+		int slot = firstSlot(name, section);
+		while (this.nameSectionSlots[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		this.nameSectionSlots[slot] = row + 1;
+	}
+
+	/**
+	 * Returns the number of courses in the catalog.
+	 * 
+	 * @return number of courses
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Builds the Course stored in the given row. The Course shares its strings
+	 * with the dictionaries, so only the Course object itself is allocated.
+	 * 
+	 * @param row row of the course
+	 * @return a new Course with the row's values
+	 * @throws IndexOutOfBoundsException if the row is not in the catalog
+	 */
+	@Override
+	public Course getCourse(int row) {
+		checkRow(row);
+		Course course = new Course(this.names[this.nameCodes[row]], this.titles[this.titleCodes[row]],
+				this.sections[this.sectionCodes[row]], this.credits[row], this.instructors[this.instructorCodes[row]],
+				this.meetingDays[this.meetingDaysCodes[row]], this.startTimes[row], this.endTimes[row]);
+		if (this.capacities[row] != Course.UNLIMITED_CAPACITY) {
+			course.setCapacity(this.capacities[row]);
+		}
+		course.freeze();
+		return course;
+	}
+
+	/**
+	 * Returns the row of the course with the given name and section. The lookup
+	 * turns the strings into dictionary codes and probes an int table.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return the row, or -1 if the course is not in the catalog
+	 */
+	public int findRow(String name, String section) {
+		Integer nameCode = this.nameDictionary.get(name);
+		Integer sectionCode = this.sectionDictionary.get(section);
+		if (nameCode == null || sectionCode == null) {
+			return -1;
+		}
+		return findRow(nameCode, sectionCode);
+	}
+
+	/**
+	 * Returns the course with the given name and section.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return a new Course with the matching row's values, or null if there is
+	 *         none
+	 */
+	@Override
+	public Course getCourse(String name, String section) {
+		int row = findRow(name, section);
+		return row < 0 ? null : getCourse(row);
+	}
+
+	/**
+	 * Returns the name of the course in the given row.
+	 * 
+	 * @param row row of the course
+	 * @return the course name
+	 */
+	public String getName(int row) {
+		checkRow(row);
+		return this.names[this.nameCodes[row]];
+	}
+
+	/**
+	 * Returns the title of the course in the given row.
+	 * 
+	 * @param row row of the course
+	 * @return the course title
+	 */
+	public String getTitle(int row) {
+		checkRow(row);
+		return this.titles[this.titleCodes[row]];
+	}
+
+	/**
+	 * Returns the section of the course in the given row.
+	 * 
+	 * @param row row of the course
+	 * @return the course section
+	 */
+	public String getSection(int row) {
+		checkRow(row);
+		return this.sections[this.sectionCodes[row]];
+	}
+
+	/**
+	 * Returns the credits of the course in the given row.
+	 * 
+	 * @param row row of the course
+	 * @return the credit hours
+	 */
+	public int getCredits(int row) {
+		checkRow(row);
+		return this.credits[row];
+	}
+
+	/**
+	 * Returns the rows of every course that meets on any of the given days.
+	 * 
+	 * @param days mask of Course day constants, such as Course.MONDAY
+	 * @return matching rows in catalog order
+	 */
+	public int[] rowsMeetingOn(int days) {
+		int[] rows = new int[this.size];
+		int count = 0;
+		for (int row = 0; row < this.size; row++) {
+			if ((this.dayMasks[row] & days) != 0) {
+				rows[count++] = row;
+			}
+		}
+		return Arrays.copyOf(rows, count);
+	}
+
+	/**
+	 * Returns the rows of every course with the given department prefix.
+	 * 
+	 * @param department letter prefix of the course name, such as CSC
+	 * @return matching rows in catalog order
+	 */
+	public int[] rowsInDepartment(String department) {
+		Integer code = this.departmentDictionary.get(department);
+		if (code == null) {
+			return new int[0];
+		}
+		int[] rows = new int[this.size];
+		int count = 0;
+		for (int row = 0; row < this.size; row++) {
+			if (this.departmentCodes[row] == code) {
+				rows[count++] = row;
+			}
+		}
+		return Arrays.copyOf(rows, count);
+	}
+
+	/**
+	 * Returns the rows of every timed course that starts at or after the first
+	 * minute and ends at or before the last minute of the day.
+	 * 
+	 * @param fromMinute earliest start, in minutes since midnight
+	 * @param toMinute   latest end, in minutes since midnight
+	 * @return matching rows in catalog order
+	 */
+	public int[] rowsWithin(int fromMinute, int toMinute) {
+		int[] rows = new int[this.size];
+		int count = 0;
+		for (int row = 0; row < this.size; row++) {
+			if (this.dayMasks[row] != 0 && this.startMinutes[row] >= fromMinute && this.endMinutes[row] <= toMinute) {
+				rows[count++] = row;
+			}
+		}
+		return Arrays.copyOf(rows, count);
+	}
+
+	/**
+	 * Returns every row ordered by start time, with ties and arranged courses
+	 * (which start at 0) kept in catalog order. The sort runs over packed
+	 * primitive keys, so no Course or boxed value is created.
+	 * 
+	 * @return rows sorted by start time
+	 */
+	public int[] rowsByStartTime() {
+		long[] keys = new long[this.size];
+		for (int row = 0; row < this.size; row++) {
+			keys[row] = ((long) this.startMinutes[row] << Integer.SIZE) | row;
+		}
+		Arrays.sort(keys);
+		int[] rows = new int[this.size];
+		for (int i = 0; i < this.size; i++) {
+			rows[i] = (int) keys[i];
+		}
+		return rows;
+	}
+
+	/**
+	 * Returns every section of the course with the given name.
+	 * 
+	 * @param name name of the course, such as CSC 216
+	 * @return unmodifiable list of the sections in catalog order
+	 */
+	@Override
+	public List<Course> getSections(String name) {
+		return coursesWithCode(this.nameCodes, this.nameDictionary.get(name));
+	}
+
+	/**
+	 * Returns every course taught by the given instructor.
+	 * 
+	 * @param instructorId unity id of the instructor
+	 * @return unmodifiable list of matching courses in catalog order
+	 */
+	@Override
+	public List<Course> getCoursesByInstructor(String instructorId) {
+		return coursesWithCode(this.instructorCodes, this.instructorDictionary.get(instructorId));
+	}
+
+	/**
+	 * Returns every course whose name starts with the given department prefix.
+	 * 
+	 * @param department letter prefix of the course name
+	 * @return unmodifiable list of matching courses in catalog order
+	 */
+	@Override
+	public List<Course> getCoursesByDepartment(String department) {
+		return toCourses(rowsInDepartment(department));
+	}
+
+	/**
+	 * Returns every course that meets on the given day, or every arranged
+	 * course for A.
+	 * 
+	 * @param day meeting day character
+	 * @return unmodifiable list of matching courses in catalog order
+	 */
+	@Override
+	public List<Course> getCoursesByMeetingDay(char day) {
+		if (day == 'A') {
+			List<Course> arranged = new ArrayList<Course>();
+			for (int row = 0; row < this.size; row++) {
+				if (this.dayMasks[row] == 0) {
+					arranged.add(getCourse(row));
+				}
+			}
+			return Collections.unmodifiableList(arranged);
+		}
+		int bit = CourseCatalog.dayBit(day);
+		if (bit == 0) {
+			return Collections.emptyList();
+		}
+		return toCourses(rowsMeetingOn(bit));
+	}
+
+	/**
+	 * Builds the courses in every row whose code in the column matches.
+	 * 
+	 * @param column code column to scan
+	 * @param code   code to match, or null when the value is not in the catalog
+	 * @return unmodifiable list of matching courses in catalog order
+	 */
+	private List<Course> coursesWithCode(int[] column, Integer code) {
+		if (code == null) {
+			return Collections.emptyList();
+		}
+		int value = code;
+		List<Course> courses = new ArrayList<Course>();
+		for (int row = 0; row < this.size; row++) {
+			if (column[row] == value) {
+				courses.add(getCourse(row));
+			}
+		}
+		return Collections.unmodifiableList(courses);
+	}
+
+	/**
+	 * Builds the course in each of the given rows.
+	 * 
+	 * @param rows rows to build
+	 * @return unmodifiable list of the courses in the order of the rows
+	 */
+	private List<Course> toCourses(int[] rows) {
+		List<Course> courses = new ArrayList<Course>(rows.length);
+		for (int row : rows) {
+			courses.add(getCourse(row));
+		}
+		return Collections.unmodifiableList(courses);
+	}
+
+	/**
+	 * Returns the name, section, and title of every course, in the same form
+	 * as WolfScheduler.getCourseCatalog(), read straight from the columns.
+	 * 
+	 * @return one row of name, section, and title per course
+	 */
+	public String[][] getCatalogArray() {
+		String[][] catalog = new String[this.size][3];
+		for (int row = 0; row < this.size; row++) {
+			catalog[row][0] = this.names[this.nameCodes[row]];
+			catalog[row][1] = this.sections[this.sectionCodes[row]];
+			catalog[row][2] = this.titles[this.titleCodes[row]];
+		}
+		return catalog;
+	}
+
+	/**
+	 * Throws if the row is not in the catalog.
+	 * 
+	 * @param row row to check
+	 * @throws IndexOutOfBoundsException if the row is not in the catalog
+	 */
+	private void checkRow(int row) {
+		if (row < 0 || row >= this.size) {
+			throw new IndexOutOfBoundsException("Invalid row: " + row);
+		}
+	}
+}
@@ -0,0 +1,293 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Holds the courses available to WolfScheduler in the order they were read,
+ * along with a hash index keyed by course name and section. Secondary indexes
+ * on course name, instructor id, department prefix, and meeting day answer the
+ * common advising queries. Every index is built once when the catalog is created so
+ * that no query needs to walk the whole list.
+ * 
+ * @author Jay Shah (jsshah)
+ * 
+ */
+public class CourseCatalog implements Catalog {
+
+	/** courses in the catalog, in the order they were loaded */
+	private final ArrayList<Course> courses;
+
+	/** index of the courses keyed by name and section */
+	private final HashMap<String, Course> nameSectionIndex;
+
+	/** sections of each course keyed by course name */
+	private final HashMap<String, List<Course>> nameIndex;
+
+	/** courses keyed by instructor id */
+	private final HashMap<String, List<Course>> instructorIndex;
+
+	/** courses keyed by the letter prefix of their name, such as CSC */
+	private final HashMap<String, List<Course>> departmentIndex;
+
+	/** courses keyed by each meeting day character, such as H for Thursday */
+	private final HashMap<Character, List<Course>> meetingDayIndex;
+
+	/**
+	 * Creates a catalog from the given list of courses and builds the name and
+	 * section index along with the secondary indexes. If two courses share a name and section the first one wins,
+	 * matching the rule used when reading course records. Every session and
+	 * index shares the courses kept from then on, so the catalog keeps frozen
+	 * copies of them and the caller's own courses can still be changed. Courses
+	 * that are already frozen are kept as they are.
+	 * 
+	 * @param courses courses to place in the catalog
+	 * @throws IllegalArgumentException if the list of courses is null
+	 */
+	public CourseCatalog(List<Course> courses) {
+		if (courses == null) {
+			throw new IllegalArgumentException("Invalid course list.");
+		}
+
+		this.courses = new ArrayList<Course>(courses.size());
+		//size the map so it never needs to rehash while loading
+		this.nameSectionIndex = new HashMap<String, Course>(courses.size() * 4 / 3 + 1);
+		this.nameIndex = new HashMap<String, List<Course>>();
+		this.instructorIndex = new HashMap<String, List<Course>>();
+		this.departmentIndex = new HashMap<String, List<Course>>();
+		this.meetingDayIndex = new HashMap<Character, List<Course>>();
+
+		for (int i = 0; i < courses.size(); i++) {
+			Course course = courses.get(i);
+			String key = key(course.getName(), course.getSection());
+			if (!this.nameSectionIndex.containsKey(key)) {
+				course = frozenCopy(course);
+				this.nameSectionIndex.put(key, course);
+				this.courses.add(course);
+				addToIndexes(course);
+			}
+		}
+	}
+
+	/**
+	 * Returns a frozen course equal to the given one, which is the course
+	 * itself if it is already frozen.
+	 * 
+	 * @param course course to keep
+	 * @return frozen course with the same fields
+	 */
+	private static Course frozenCopy(Course course) {
+		if (course.isFrozen()) {
+			return course;
+		}
+		//the fields were checked when the caller's course was built
+		Course copy = Course.fromTrustedFields(course.getName(), course.getTitle(), course.getSection(),
+				course.getCredits(), course.getInstructorId(), course.getMeetingDays(), course.getStartTime(),
+				course.getEndTime(), course.getCapacity());
+		copy.freeze();
+		return copy;
+	}
+
+	/**
+	 * Adds the course to each of the secondary indexes.
+	 * 
+	 * @param course course to index
+	 */
+	private void addToIndexes(Course course) {
+		addToIndex(this.nameIndex, course.getName(), course);
+		addToIndex(this.instructorIndex, course.getInstructorId(), course);
+		addToIndex(this.departmentIndex, department(course.getName()), course);
+
+		String days = course.getMeetingDays();
+		for (int i = 0; i < days.length(); i++) {
+			addToIndex(this.meetingDayIndex, days.charAt(i), course);
+		}
+	}
+
+	/**
+	 * Appends the course to the list stored under the given key, creating the
+	 * list if needed.
+	 * 
+	 * @param <K>    type of the index key
+	 * @param index  index to update
+	 * @param key    key to store the course under
+	 * @param course course to add
+	 */
+	private static <K> void addToIndex(HashMap<K, List<Course>> index, K key, Course course) {
+		List<Course> list = index.get(key);
+		if (list == null) {
+			list = new ArrayList<Course>();
+			index.put(key, list);
+		}
+		list.add(course);
+	}
+
+	/**
+	 * Returns the letter prefix of a course name, which is everything before the
+	 * space. Course names are validated to always contain the space.
+	 * 
+	 * @param name name of the course
+	 * @return the department prefix of the name
+	 */
+	static String department(String name) {
+		int space = name.indexOf(' ');
+		return space < 0 ? name : name.substring(0, space);
+	}
+
+	/**
+	 * Returns the list stored under the key as a read only view, or an empty
+	 * list when nothing is indexed under it.
+	 * 
+	 * @param <K>   type of the index key
+	 * @param index index to read
+	 * @param key   key to look up
+	 * @return unmodifiable list of matching courses in load order
+	 */
+	private static <K> List<Course> lookup(HashMap<K, List<Course>> index, K key) {
+		List<Course> list = index.get(key);
+		if (list == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Creates an empty catalog.
+	 */
+	public CourseCatalog() {
+		this(new ArrayList<Course>());
+	}
+
+	/**
+	 * Builds the index key for the given name and section. A comma can never
+	 * appear in a course record field, so it safely separates the two parts.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return key used for the name and section index
+	 */
+	static String key(String name, String section) {
+		return name + "," + section;
+	}
+
+	/**
+	 * Returns the meeting day bit for a meeting day character.
+	 * 
+	 * @param day meeting day character
+	 * @return the Course day constant for M, T, W, H, or F, and 0 otherwise
+	 */
+	static int dayBit(char day) {
+		switch (day) {
+		case 'M':
+			return Course.MONDAY;
+		case 'T':
+			return Course.TUESDAY;
+		case 'W':
+			return Course.WEDNESDAY;
+		case 'H':
+			return Course.THURSDAY;
+		case 'F':
+			return Course.FRIDAY;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the course with the given name and section in constant time.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return the matching course or null if it is not in the catalog
+	 */
+	@Override
+	public Course getCourse(String name, String section) {
+		if (name == null || section == null) {
+			return null;
+		}
+		return this.nameSectionIndex.get(key(name, section));
+	}
+
+	/**
+	 * Returns the course at the given position in the catalog.
+	 * 
+	 * @param index position of the course
+	 * @return course at the given position
+	 */
+	@Override
+	public Course getCourse(int index) {
+		return this.courses.get(index);
+	}
+
+	/**
+	 * Returns the number of courses in the catalog.
+	 * 
+	 * @return number of courses
+	 */
+	@Override
+	public int size() {
+		return this.courses.size();
+	}
+
+	/**
+	 * Returns a read only view of every course in the catalog in load order.
+	 * 
+	 * @return unmodifiable list of the courses
+	 */
+	public List<Course> getCourses() {
+		return Collections.unmodifiableList(this.courses);
+	}
+
+	/**
+	 * Returns every section of the course with the given name.
+	 * 
+	 * @param name name of the course, such as CSC 216
+	 * @return unmodifiable list of the sections in load order
+	 */
+	@Override
+	public List<Course> getSections(String name) {
+		return lookup(this.nameIndex, name);
+	}
+
+	/**
+	 * Returns every course taught by the given instructor.
+	 * 
+	 * @param instructorId unity id of the instructor
+	 * @return unmodifiable list of matching courses in load order
+	 */
+	@Override
+	public List<Course> getCoursesByInstructor(String instructorId) {
+		return lookup(this.instructorIndex, instructorId);
+	}
+
+	/**
+	 * Returns every course whose name starts with the given department prefix,
+	 * such as CSC.
+	 * 
+	 * @param department letter prefix of the course name
+	 * @return unmodifiable list of matching courses in load order
+	 */
+	@Override
+	public List<Course> getCoursesByDepartment(String department) {
+		return lookup(this.departmentIndex, department);
+	}
+
+	/**
+	 * Returns every course that meets on the given day. Days use the same
+	 * characters as meeting days: M, T, W, H, F, or A for arranged courses.
+	 * 
+	 * @param day meeting day character
+	 * @return unmodifiable list of matching courses in load order
+	 */
+	@Override
+	public List<Course> getCoursesByMeetingDay(char day) {
+		return lookup(this.meetingDayIndex, day);
+	}
+}
@@ -0,0 +1,105 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Courses laid out as rows of strings in the columns the GUI shows: name,
+ * section, title, credits, instructor id, and meeting string. A table
+ * remembers the catalog or schedule array it was built from, so its owner can
+ * hand out the same rows until that source is replaced. Tables are never
+ * changed after they are built, so a cached table can be read by any thread.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+final class CourseTable {
+
+	/** Columns in the catalog and short schedule tables */
+	static final int SHORT_COLUMNS = 3;
+	/** Columns in the full schedule table */
+	static final int FULL_COLUMNS = 6;
+
+	/** catalog or schedule array the rows were built from */
+	private final Object source;
+	/** rows of the table */
+	private final String[][] rows;
+
+	/**
+	 * Creates a table built from the given source.
+	 * 
+	 * @param source catalog or schedule array the rows were built from
+	 * @param rows   rows of the table
+	 */
+	CourseTable(Object source, String[][] rows) {
+		this.source = source;
+		this.rows = rows;
+	}
+
+	/**
+	 * Returns whether the table was built from the given source.
+	 * 
+	 * @param source current catalog or schedule array
+	 * @return true if the table is still current
+	 */
+	boolean isFor(Object source) {
+		return this.source == source;
+	}
+
+	/**
+	 * Returns the rows of the table.
+	 * 
+	 * @return rows shared by every caller until the source changes
+	 */
+	String[][] getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * Builds the rows for the given courses.
+	 * 
+	 * @param courses courses in row order
+	 * @param columns number of columns, SHORT_COLUMNS or FULL_COLUMNS
+	 * @return one row per course
+	 */
+	static String[][] rows(Course[] courses, int columns) {
+		if (courses.length == 0) {
+			return new String[0][0];
+		}
+		String[][] rows = new String[courses.length][columns];
+		for (int i = 0; i < courses.length; i++) {
+			for (int j = 0; j < columns; j++) {
+				rows[i][j] = cell(courses[i], j);
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Returns one column of a course.
+	 * 
+	 * @param course course in the row
+	 * @param column column index
+	 * @return text of the cell
+	 * @throws IllegalArgumentException if the column is out of range
+	 */
+	static String cell(Course course, int column) {
+		switch (column) {
+		case 0:
+			return course.getName();
+		case 1:
+			return course.getSection();
+		case 2:
+			return course.getTitle();
+		case 3:
+			return "" + course.getCredits();
+		case 4:
+			return course.getInstructorId();
+		case 5:
+			return course.getMeetingString();
+		default:
+			throw new IllegalArgumentException("Invalid cell.");
+		}
+	}
+}
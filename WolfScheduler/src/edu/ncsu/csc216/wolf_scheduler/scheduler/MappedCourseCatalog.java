@@ -0,0 +1,543 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Catalog that keeps its courses in a memory mapped file instead of on the
+ * heap. Each course is a fixed width row of ints, and every string field is an
+ * id into a string table of UTF-8 bytes found through an offset table. The
+ * only thing kept on the heap is an int table from name and section to row,
+ * so the catalog adds no objects for the garbage collector to trace however
+ * many courses the file holds. A Course is built from its row only when a
+ * caller asks for one.
+ * 
+ * The file is big endian: a header of magic number, version, course count,
+ * and string count; the rows as ROW_INTS ints each; the string count + 1
+ * byte offsets of the strings; and the string bytes. Strings are stored once
+ * each, sorted by their UTF-8 bytes, so a lookup value is turned into an id
+ * by binary search. The whole file is one mapping, which limits it to 2 GB.
+ * 
+ * Like CourseCatalog, the catalog is immutable and keeps the first course
+ * when two share a name and section.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class MappedCourseCatalog implements Catalog {
+
+	/** Magic number at the start of every mapped catalog, "WSMC" */
+	private static final int MAGIC = 0x57534D43;
+	/** Current mapped catalog format version */
+	public static final int VERSION = 2;
+	/** Bytes in the header: magic, version, course count, string count */
+	private static final int HEADER_BYTES = 4 * 4;
+	/** Ints stored for each course row */
+	private static final int ROW_INTS = 11;
+	/** Bytes in each course row */
+	private static final int ROW_BYTES = ROW_INTS * 4;
+
+	/** Row column of the name string id */
+	private static final int NAME = 0;
+	/** Row column of the title string id */
+	private static final int TITLE = 1;
+	/** Row column of the section string id */
+	private static final int SECTION = 2;
+	/** Row column of the credits */
+	private static final int CREDITS = 3;
+	/** Row column of the instructor id string id */
+	private static final int INSTRUCTOR = 4;
+	/** Row column of the meeting days string id */
+	private static final int MEETING_DAYS = 5;
+	/** Row column of the military start time */
+	private static final int START_TIME = 6;
+	/** Row column of the military end time */
+	private static final int END_TIME = 7;
+	/** Row column of the day mask */
+	private static final int DAY_MASK = 8;
+	/** Row column of the department prefix string id */
+	private static final int DEPARTMENT = 9;
+	/** Row column of the seat capacity */
+	private static final int CAPACITY = 10;
+
+	/** the mapped file; only absolute reads are used, so readers can share it */
+	private final ByteBuffer buffer;
+	/** number of rows */
+	private final int size;
+	/** number of strings in the string table */
+	private final int stringCount;
+	/** byte position of the string offset table */
+	private final int offsetsStart;
+	/** byte position of the string bytes */
+	private final int stringsStart;
+	/** open addressing table of row + 1 keyed by name and section id, 0 when empty */
+	private final int[] nameSectionSlots;
+
+	/**
+	 * Creates a catalog over a mapped file that open has checked.
+	 * 
+	 * @param buffer      the mapped file
+	 * @param size        number of rows
+	 * @param stringCount number of strings in the string table
+	 */
+	private MappedCourseCatalog(ByteBuffer buffer, int size, int stringCount) {
+		this.buffer = buffer;
+		this.size = size;
+		this.stringCount = stringCount;
+		this.offsetsStart = HEADER_BYTES + size * ROW_BYTES;
+		this.stringsStart = this.offsetsStart + (stringCount + 1) * 4;
+		this.nameSectionSlots = new int[tableSize(size)];
+	}
+
+	/**
+	 * Writes the given courses as a mapped catalog file. If two courses share a
+	 * name and section only the first is written. The file is written to a
+	 * temporary file and moved into place, so an open catalog of the old file
+	 * keeps its own mapping and a new open never sees a partial file.
+	 * 
+	 * @param fileName file to write
+	 * @param courses  validated courses to write
+	 * @throws IOException if the file cannot be written or is too large to map
+	 */
+	public static void write(String fileName, List<Course> courses) throws IOException {
+		//keep the first course with each name and section
+		HashSet<String> keys = new HashSet<String>(courses.size() * 4 / 3 + 1);
+		ArrayList<Course> rows = new ArrayList<Course>(courses.size());
+		HashMap<String, byte[]> bytes = new HashMap<String, byte[]>();
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			if (keys.add(c.getName() + " " + c.getSection())) {
+				rows.add(c);
+				for (String value : new String[] {c.getName(), c.getTitle(), c.getSection(), c.getInstructorId(),
+						c.getMeetingDays(), CourseCatalog.department(c.getName())}) {
+					if (!bytes.containsKey(value)) {
+						bytes.put(value, value.getBytes(StandardCharsets.UTF_8));
+					}
+				}
+			}
+		}
+
+		//sort the string table by unsigned bytes so lookups can binary search it
+		ArrayList<String> strings = new ArrayList<String>(bytes.keySet());
+		strings.sort((a, b) -> Arrays.compareUnsigned(bytes.get(a), bytes.get(b)));
+		HashMap<String, Integer> ids = new HashMap<String, Integer>(strings.size() * 4 / 3 + 1);
+		long stringBytes = 0;
+		for (int i = 0; i < strings.size(); i++) {
+			ids.put(strings.get(i), i);
+			stringBytes += bytes.get(strings.get(i)).length;
+		}
+		long fileBytes = HEADER_BYTES + (long) rows.size() * ROW_BYTES + (strings.size() + 1L) * 4 + stringBytes;
+		if (fileBytes > Integer.MAX_VALUE) {
+			throw new IOException("Catalog is too large to map.");
+		}
+
+		Path target = Paths.get(fileName);
+		Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(rows.size());
+				out.writeInt(strings.size());
+				for (int i = 0; i < rows.size(); i++) {
+					Course c = rows.get(i);
+					out.writeInt(ids.get(c.getName()));
+					out.writeInt(ids.get(c.getTitle()));
+					out.writeInt(ids.get(c.getSection()));
+					out.writeInt(c.getCredits());
+					out.writeInt(ids.get(c.getInstructorId()));
+					out.writeInt(ids.get(c.getMeetingDays()));
+					out.writeInt(c.getStartTime());
+					out.writeInt(c.getEndTime());
+					out.writeInt(c.getDayMask());
+					out.writeInt(ids.get(CourseCatalog.department(c.getName())));
+					out.writeInt(c.getCapacity());
+				}
+				int offset = 0;
+				out.writeInt(offset);
+				for (int i = 0; i < strings.size(); i++) {
+					offset += bytes.get(strings.get(i)).length;
+					out.writeInt(offset);
+				}
+				for (int i = 0; i < strings.size(); i++) {
+					out.write(bytes.get(strings.get(i)));
+				}
+			}
+			CourseRecordIO.moveIntoPlace(temp, target);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Maps the given catalog file and builds the name and section index. The
+	 * header, offset table, and every row's string ids are checked before the
+	 * catalog is returned, so later reads cannot run off the mapping. The file
+	 * must not be changed in place while it is mapped; write replaces it with
+	 * a new file instead.
+	 * 
+	 * @param fileName file written by write
+	 * @return the mapped catalog
+	 * @throws IOException if the file cannot be read or is not a valid mapped
+	 *                     catalog
+	 */
+	public static MappedCourseCatalog open(String fileName) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			long length = channel.size();
+			if (length > Integer.MAX_VALUE) {
+				throw new IOException("Catalog is too large to map.");
+			}
+			if (length < HEADER_BYTES) {
+				throw new IOException("Not a mapped catalog.");
+			}
+			//the mapping stays valid after the channel is closed
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+		}
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("Not a mapped catalog.");
+		}
+		int size = buffer.getInt(8);
+		int stringCount = buffer.getInt(12);
+		long stringsStart = HEADER_BYTES + (long) size * ROW_BYTES + (stringCount + 1L) * 4;
+		if (size < 0 || stringCount < 0 || stringsStart > buffer.capacity()) {
+			throw new IOException("Mapped catalog is truncated.");
+		}
+
+		MappedCourseCatalog catalog = new MappedCourseCatalog(buffer, size, stringCount);
+		catalog.checkStrings();
+		for (int row = 0; row < size; row++) {
+			catalog.checkRowIds(row);
+			int name = catalog.column(row, NAME);
+			int section = catalog.column(row, SECTION);
+			if (catalog.findRow(name, section) < 0) {
+				catalog.insertRow(name, section, row);
+			}
+		}
+		return catalog;
+	}
+
+	/**
+	 * Checks that the string offsets start at zero, never decrease, and end at
+	 * the end of the file.
+	 * 
+	 * @throws IOException if the offset table is invalid
+	 */
+	private void checkStrings() throws IOException {
+		int previous = 0;
+		for (int i = 0; i <= this.stringCount; i++) {
+			int offset = this.buffer.getInt(this.offsetsStart + i * 4);
+			if (offset < previous || (i == 0 && offset != 0)) {
+				throw new IOException("Mapped catalog has an invalid string table.");
+			}
+			previous = offset;
+		}
+		if (this.stringsStart + (long) previous != this.buffer.capacity()) {
+			throw new IOException("Mapped catalog has an invalid string table.");
+		}
+	}
+
+	/**
+	 * Checks that every string id in the row is in the string table.
+	 * 
+	 * @param row row to check
+	 * @throws IOException if an id is out of range
+	 */
+	private void checkRowIds(int row) throws IOException {
+		for (int column : new int[] {NAME, TITLE, SECTION, INSTRUCTOR, MEETING_DAYS, DEPARTMENT}) {
+			int id = column(row, column);
+			if (id < 0 || id >= this.stringCount) {
+				throw new IOException("Mapped catalog row " + row + " has an invalid string id.");
+			}
+		}
+	}
+
+	/**
+	 * Returns one int of a row.
+	 * 
+	 * @param row    row to read
+	 * @param column column of the int within the row
+	 * @return the stored int
+	 */
+	private int column(int row, int column) {
+		return this.buffer.getInt(HEADER_BYTES + row * ROW_BYTES + column * 4);
+	}
+
+	/**
+	 * Decodes a string from the string table.
+	 * 
+	 * @param id id of the string
+	 * @return the string
+	 */
+	private String string(int id) {
+		int start = this.buffer.getInt(this.offsetsStart + id * 4);
+		int end = this.buffer.getInt(this.offsetsStart + (id + 1) * 4);
+		byte[] bytes = new byte[end - start];
+		this.buffer.get(this.stringsStart + start, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the id of a string by binary search of the sorted string table.
+	 * 
+	 * @param value string to find
+	 * @return the string's id, or -1 if it is not in the table
+	 */
+	private int stringId(String value) {
+		if (value == null) {
+			return -1;
+		}
+		byte[] key = value.getBytes(StandardCharsets.UTF_8);
+		int low = 0;
+		int high = this.stringCount - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = compareString(mid, key);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Compares a stored string with a key by unsigned bytes, without copying the
+	 * stored string out of the mapping.
+	 * 
+	 * @param id  id of the stored string
+	 * @param key UTF-8 bytes of the key
+	 * @return negative, zero, or positive as the stored string sorts before,
+	 *         equal to, or after the key
+	 */
+	private int compareString(int id, byte[] key) {
+		int start = this.stringsStart + this.buffer.getInt(this.offsetsStart + id * 4);
+		int length = this.stringsStart + this.buffer.getInt(this.offsetsStart + (id + 1) * 4) - start;
+		int common = Math.min(length, key.length);
+		for (int i = 0; i < common; i++) {
+			int cmp = Byte.compareUnsigned(this.buffer.get(start + i), key[i]);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+		return length - key.length;
+	}
+
+	/**
+	 * Returns a power of two table size that keeps the name and section table
+	 * at most half full.
+	 * 
+	 * @param rows most rows the table will hold
+	 * @return number of slots
+	 */
+	private static int tableSize(int rows) {
+		int slots = 2;
+		while (slots < rows * 2) {
+			slots <<= 1;
+		}
+		return slots;
+	}
+
+	/**
+	 * Returns the first slot to probe for a name and section id pair.
+	 * 
+	 * @param name    name id
+	 * @param section section id
+	 * @return starting slot
+	 */
+	private int firstSlot(int name, int section) {
+		int hash = name * 0x9E3779B9 + section;
+		hash ^= hash >>> 16;
+		hash *= 0x85EBCA6B;
+		hash ^= hash >>> 13;
+		return hash & (this.nameSectionSlots.length - 1);
+	}
+
+	/**
+	 * Returns the row with the given name and section ids.
+	 * 
+	 * @param name    name id
+	 * @param section section id
+	 * @return the row, or -1 if there is none
+	 */
+	private int findRow(int name, int section) {
+		int mask = this.nameSectionSlots.length - 1;
+		for (int slot = firstSlot(name, section); this.nameSectionSlots[slot] != 0; slot = (slot + 1) & mask) {
+			int row = this.nameSectionSlots[slot] - 1;
+			if (column(row, NAME) == name && column(row, SECTION) == section) {
+				return row;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Adds a row to the name and section table. The row's ids must not be in
+	 * the table yet.
+	 * 
+	 * @param name    name id
+	 * @param section section id
+	 * @param row     row to add
+	 */
+	private void insertRow(int name, int section, int row) {
+		int mask = this.nameSectionSlots.length - 1;
+		int slot = firstSlot(name, section);
+		while (this.nameSectionSlots[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		this.nameSectionSlots[slot] = row + 1;
+	}
+
+	/**
+	 * Returns the number of courses in the catalog.
+	 * 
+	 * @return number of courses
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Builds the Course stored in the given row, decoding its strings from the
+	 * mapping.
+	 * 
+	 * @param row row of the course
+	 * @return a new Course with the row's values
+	 * @throws IndexOutOfBoundsException if the row is not in the catalog
+	 */
+	@Override
+	public Course getCourse(int row) {
+		if (row < 0 || row >= this.size) {
+			throw new IndexOutOfBoundsException("Row " + row + " is not in the catalog.");
+		}
+		Course course = new Course(string(column(row, NAME)), string(column(row, TITLE)),
+				string(column(row, SECTION)), column(row, CREDITS), string(column(row, INSTRUCTOR)),
+				string(column(row, MEETING_DAYS)), column(row, START_TIME), column(row, END_TIME));
+		int capacity = column(row, CAPACITY);
+		if (capacity != Course.UNLIMITED_CAPACITY) {
+			course.setCapacity(capacity);
+		}
+		course.freeze();
+		return course;
+	}
+
+	/**
+	 * Returns the course with the given name and section, using the on heap
+	 * name and section index.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return the matching course or null if it is not in the catalog
+	 */
+	@Override
+	public Course getCourse(String name, String section) {
+		int nameId = stringId(name);
+		int sectionId = stringId(section);
+		if (nameId < 0 || sectionId < 0) {
+			return null;
+		}
+		int row = findRow(nameId, sectionId);
+		return row < 0 ? null : getCourse(row);
+	}
+
+	/**
+	 * Returns every section of the course with the given name.
+	 * 
+	 * @param name name of the course, such as CSC 216
+	 * @return unmodifiable list of the sections in catalog order
+	 */
+	@Override
+	public List<Course> getSections(String name) {
+		return coursesWithId(NAME, stringId(name));
+	}
+
+	/**
+	 * Returns every course taught by the given instructor.
+	 * 
+	 * @param instructorId unity id of the instructor
+	 * @return unmodifiable list of matching courses in catalog order
+	 */
+	@Override
+	public List<Course> getCoursesByInstructor(String instructorId) {
+		return coursesWithId(INSTRUCTOR, stringId(instructorId));
+	}
+
+	/**
+	 * Returns every course whose name starts with the given department prefix.
+	 * 
+	 * @param department letter prefix of the course name
+	 * @return unmodifiable list of matching courses in catalog order
+	 */
+	@Override
+	public List<Course> getCoursesByDepartment(String department) {
+		return coursesWithId(DEPARTMENT, stringId(department));
+	}
+
+	/**
+	 * Returns every course that meets on the given day, or every arranged
+	 * course for A.
+	 * 
+	 * @param day meeting day character
+	 * @return unmodifiable list of matching courses in catalog order
+	 */
+	@Override
+	public List<Course> getCoursesByMeetingDay(char day) {
+		int bit = CourseCatalog.dayBit(day);
+		if (bit == 0 && day != 'A') {
+			return Collections.emptyList();
+		}
+		List<Course> courses = new ArrayList<Course>();
+		for (int row = 0; row < this.size; row++) {
+			int mask = column(row, DAY_MASK);
+			//arranged courses are the ones that meet on no day
+			if (bit == 0 ? mask == 0 : (mask & bit) != 0) {
+				courses.add(getCourse(row));
+			}
+		}
+		return Collections.unmodifiableList(courses);
+	}
+
+	/**
+	 * Builds the courses in every row whose string id in the column matches.
+	 * 
+	 * @param column column of the string id within the row
+	 * @param id     id to match, or -1 when the value is not in the catalog
+	 * @return unmodifiable list of matching courses in catalog order
+	 */
+	private List<Course> coursesWithId(int column, int id) {
+		if (id < 0) {
+			return Collections.emptyList();
+		}
+		List<Course> courses = new ArrayList<Course>();
+		for (int row = 0; row < this.size; row++) {
+			if (column(row, column) == id) {
+				courses.add(getCourse(row));
+			}
+		}
+		return Collections.unmodifiableList(courses);
+	}
+}
@@ -0,0 +1,165 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * A change to a schedule session, published to the session's subscribers.
+ * Each event carries the version the schedule had right after the change, so
+ * a subscriber that has fallen behind and lost events can tell from a gap in
+ * versions that it should read the schedule again.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public final class ScheduleEvent {
+
+	/** Kinds of change */
+	public enum Type {
+		/** a course was added, directly or from a waitlist */
+		COURSE_ADDED,
+		/** a course was removed */
+		COURSE_REMOVED,
+		/** every course was removed */
+		SCHEDULE_RESET,
+		/** the schedule title changed */
+		TITLE_CHANGED,
+		/** the catalog was reloaded and the schedule rebuilt against it */
+		CATALOG_RELOADED,
+		/** a reload removed a section the session was waiting for */
+		WAITLIST_DROPPED
+	}
+
+	/** kind of change */
+	private final Type type;
+	/** course added, removed, or no longer waited for, or null */
+	private final Course course;
+	/** new schedule title, or null */
+	private final String title;
+	/** differences from the catalog reload, or null */
+	private final CatalogDiff diff;
+	/** version of the schedule right after the change */
+	private final long version;
+
+	/**
+	 * Creates an event from its parts.
+	 * 
+	 * @param type    kind of change
+	 * @param course  course added or removed, or null
+	 * @param title   new schedule title, or null
+	 * @param diff    differences from the catalog reload, or null
+	 * @param version version of the schedule right after the change
+	 */
+	private ScheduleEvent(Type type, Course course, String title, CatalogDiff diff, long version) {
+		this.type = type;
+		this.course = course;
+		this.title = title;
+		this.diff = diff;
+		this.version = version;
+	}
+
+	/**
+	 * Creates an event for a course added to or removed from the schedule, or
+	 * a waitlist the session was taken off.
+	 * 
+	 * @param type    COURSE_ADDED, COURSE_REMOVED, or WAITLIST_DROPPED
+	 * @param course  course added, removed, or no longer waited for
+	 * @param version version of the schedule after the change
+	 * @return the event
+	 */
+	static ScheduleEvent course(Type type, Course course, long version) {
+		return new ScheduleEvent(type, course, null, null, version);
+	}
+
+	/**
+	 * Creates an event for a schedule that was emptied.
+	 * 
+	 * @param version version of the schedule after the change
+	 * @return the event
+	 */
+	static ScheduleEvent reset(long version) {
+		return new ScheduleEvent(Type.SCHEDULE_RESET, null, null, null, version);
+	}
+
+	/**
+	 * Creates an event for a new schedule title.
+	 * 
+	 * @param title   new title
+	 * @param version version of the schedule
+	 * @return the event
+	 */
+	static ScheduleEvent titleChanged(String title, long version) {
+		return new ScheduleEvent(Type.TITLE_CHANGED, null, title, null, version);
+	}
+
+	/**
+	 * Creates an event for a catalog reload.
+	 * 
+	 * @param diff    differences between the catalogs and their effect on the
+	 *                schedule
+	 * @param version version of the schedule after it was rebuilt
+	 * @return the event
+	 */
+	static ScheduleEvent catalogReloaded(CatalogDiff diff, long version) {
+		return new ScheduleEvent(Type.CATALOG_RELOADED, null, null, diff, version);
+	}
+
+	/**
+	 * Returns the kind of change.
+	 * 
+	 * @return the event type
+	 */
+	public Type getType() {
+		return this.type;
+	}
+
+	/**
+	 * Returns the course added or removed.
+	 * 
+	 * @return the course, or null for other events
+	 */
+	public Course getCourse() {
+		return this.course;
+	}
+
+	/**
+	 * Returns the new schedule title.
+	 * 
+	 * @return the title, or null for other events
+	 */
+	public String getTitle() {
+		return this.title;
+	}
+
+	/**
+	 * Returns the differences from a catalog reload, including the scheduled
+	 * courses it dropped or replaced.
+	 * 
+	 * @return the diff, or null for other events
+	 */
+	public CatalogDiff getDiff() {
+		return this.diff;
+	}
+
+	/**
+	 * Returns the version the schedule had right after the change.
+	 * 
+	 * @return schedule version
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Returns the type and version of the event, with its course or title.
+	 * 
+	 * @return description of the event
+	 */
+	@Override
+	public String toString() {
+		String detail = this.course != null ? " " + this.course.getName() + " " + this.course.getSection()
+				: this.title != null ? " " + this.title : "";
+		return this.type + detail + " @" + this.version;
+	}
+}
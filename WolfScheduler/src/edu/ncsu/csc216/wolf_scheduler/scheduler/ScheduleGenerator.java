@@ -0,0 +1,413 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Generates every conflict free combination of sections for a list of wanted
+ * course names. The search picks one section per course name, prunes any
+ * partial schedule as soon as two sections overlap, and splits the upper
+ * levels of the search tree into tasks on a ForkJoinPool so that it scales
+ * across cores. Schedules are handed to a consumer as soon as they are found,
+ * so callers never need to hold every combination in memory.
+ * 
+ * @author Jay Shah (jsshah)
+ * 
+ */
+public class ScheduleGenerator {
+
+	/** Number of search levels that are split into parallel tasks */
+	private static final int PARALLEL_DEPTH = 2;
+	/** Number of leaf visits between checks of the time budget */
+	private static final int DEADLINE_CHECK_INTERVAL = 1024;
+	/** Number of minutes in a day, used when ranking schedules */
+	private static final int MINUTES_PER_DAY = 24 * 60;
+
+	/**
+	 * Orders schedules from best to worst: fewer days on campus first, then less
+	 * total time on campus, which favors compact schedules with small gaps.
+	 */
+	public static final Comparator<List<Course>> RANKING = new Comparator<List<Course>>() {
+		@Override
+		public int compare(List<Course> a, List<Course> b) {
+			return Long.compare(score(a), score(b));
+		}
+	};
+
+	/** catalog the sections are taken from */
+	private final Catalog catalog;
+	/** pool the search runs on */
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates a generator over the given catalog that runs on the common
+	 * ForkJoinPool.
+	 * 
+	 * @param catalog catalog to take sections from
+	 */
+	public ScheduleGenerator(Catalog catalog) {
+		this(catalog, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a generator over the given catalog that runs on the given pool.
+	 * 
+	 * @param catalog catalog to take sections from
+	 * @param pool    pool to run the search on
+	 * @throws IllegalArgumentException if either parameter is null
+	 */
+	public ScheduleGenerator(Catalog catalog, ForkJoinPool pool) {
+		if (catalog == null || pool == null) {
+			throw new IllegalArgumentException("Invalid schedule generator.");
+		}
+		this.catalog = catalog;
+		this.pool = pool;
+	}
+
+	/**
+	 * Searches for conflict free schedules containing one section of each named
+	 * course and passes each one to the consumer as it is found. The consumer is
+	 * never called by two threads at once, so it does not need to be thread
+	 * safe. Each schedule lists its sections in the same order as the names.
+	 * The search stops once maxResults schedules have been produced or the time
+	 * budget runs out, whichever comes first.
+	 * 
+	 * @param courseNames       names of the wanted courses
+	 * @param maxResults        most schedules to produce
+	 * @param timeBudgetMillis  most time to spend searching, in milliseconds
+	 * @param consumer          receives each schedule as it is found
+	 * @return number of schedules produced
+	 * @throws IllegalArgumentException if the names are null, empty, or contain
+	 *                                  a duplicate, or a limit is not positive
+	 */
+	public int generate(List<String> courseNames, int maxResults, long timeBudgetMillis,
+			Consumer<List<Course>> consumer) {
+		if (courseNames == null || courseNames.isEmpty() || consumer == null) {
+			throw new IllegalArgumentException("Invalid course names.");
+		}
+		if (new HashSet<String>(courseNames).size() != courseNames.size()) {
+			throw new IllegalArgumentException("Course names must be unique.");
+		}
+		if (maxResults <= 0 || timeBudgetMillis <= 0) {
+			throw new IllegalArgumentException("Invalid search limits.");
+		}
+
+		//look up each name's sections, giving up early if any name is missing
+		Integer[] order = new Integer[courseNames.size()];
+		Course[][] sections = new Course[courseNames.size()][];
+		for (int i = 0; i < courseNames.size(); i++) {
+			List<Course> list = this.catalog.getSections(courseNames.get(i));
+			if (list.isEmpty()) {
+				return 0;
+			}
+			sections[i] = list.toArray(new Course[list.size()]);
+			order[i] = i;
+		}
+
+		//search the names with the fewest sections first so conflicts prune
+		//the tree as close to the root as possible
+		Arrays.sort(order, Comparator.comparingInt(i -> sections[i].length));
+		Course[][] levels = new Course[order.length][];
+		int[] positions = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			levels[i] = sections[order[i]];
+			positions[i] = order[i];
+		}
+
+		Search search = new Search(levels, positions, maxResults,
+				System.nanoTime() + timeBudgetMillis * 1_000_000L, consumer);
+		this.pool.invoke(new SearchTask(search, 0, new Course[levels.length]));
+		return search.getProduced();
+	}
+
+	/**
+	 * Searches like {@link #generate(List, int, long, Consumer)} and returns the
+	 * best maxResults schedules, ordered best first by {@link #RANKING}. Every
+	 * combination is searched until the time budget runs out, rather than
+	 * stopping at the first maxResults found, which would only rank whichever
+	 * schedules the search happened to reach first. Only the best maxResults
+	 * are held at any time, in a heap with the worst of them on top, so memory
+	 * stays bounded however many schedules there are.
+	 * 
+	 * @param courseNames       names of the wanted courses
+	 * @param maxResults        most schedules to return
+	 * @param timeBudgetMillis  most time to spend searching, in milliseconds
+	 * @return ranked list of schedules
+	 * @throws IllegalArgumentException if the names are null, empty, or contain
+	 *                                  a duplicate, or a limit is not positive
+	 */
+	public List<List<Course>> generateRanked(List<String> courseNames, int maxResults, long timeBudgetMillis) {
+		if (maxResults <= 0) {
+			throw new IllegalArgumentException("Invalid search limits.");
+		}
+		//the consumer is never called by two threads at once, so a plain heap will do
+		PriorityQueue<Ranked> best = new PriorityQueue<Ranked>();
+		generate(courseNames, Integer.MAX_VALUE, timeBudgetMillis, schedule -> {
+			long score = score(schedule);
+			if (best.size() < maxResults) {
+				best.add(new Ranked(schedule, score));
+			} else if (score < best.peek().score) {
+				best.poll();
+				best.add(new Ranked(schedule, score));
+			}
+		});
+
+		Ranked[] ranked = best.toArray(new Ranked[best.size()]);
+		Arrays.sort(ranked, Collections.reverseOrder());
+		List<List<Course>> results = new ArrayList<List<Course>>(ranked.length);
+		for (Ranked r : ranked) {
+			results.add(r.schedule);
+		}
+		return results;
+	}
+
+	/**
+	 * A schedule with its score, computed once. Ordered worst first, so the
+	 * head of a PriorityQueue of them is the schedule to drop next.
+	 */
+	private static final class Ranked implements Comparable<Ranked> {
+		/** the schedule */
+		private final List<Course> schedule;
+		/** score of the schedule, lower is better */
+		private final long score;
+
+		/**
+		 * Pairs a schedule with its score.
+		 * 
+		 * @param schedule the schedule
+		 * @param score    its score
+		 */
+		Ranked(List<Course> schedule, long score) {
+			this.schedule = schedule;
+			this.score = score;
+		}
+
+		/**
+		 * Orders the worse schedule first.
+		 * 
+		 * @param other schedule to compare to
+		 * @return negative if this schedule is worse
+		 */
+		@Override
+		public int compareTo(Ranked other) {
+			return Long.compare(other.score, this.score);
+		}
+	}
+
+	/**
+	 * Scores a schedule for ranking, where a lower score is better. The number
+	 * of days on campus dominates, followed by the total minutes between the
+	 * first start and last end of each day. Arranged courses add nothing.
+	 * 
+	 * @param schedule schedule to score
+	 * @return score of the schedule
+	 */
+	static long score(List<Course> schedule) {
+		long days = 0;
+		long minutes = 0;
+		for (int day = Course.MONDAY; day <= Course.FRIDAY; day <<= 1) {
+			int first = Integer.MAX_VALUE;
+			int last = Integer.MIN_VALUE;
+			for (int i = 0; i < schedule.size(); i++) {
+				Course c = schedule.get(i);
+				if ((c.getDayMask() & day) != 0) {
+					first = Math.min(first, c.getStartMinutes());
+					last = Math.max(last, c.getEndMinutes());
+				}
+			}
+			if (first != Integer.MAX_VALUE) {
+				days++;
+				minutes += last - first;
+			}
+		}
+		return days * MINUTES_PER_DAY * 5 + minutes;
+	}
+
+	/**
+	 * State shared by every task of one search.
+	 */
+	private static class Search {
+		/** candidate sections for each level of the search */
+		private final Course[][] levels;
+		/** position of each level's course in the caller's list of names */
+		private final int[] positions;
+		/** most schedules to produce */
+		private final int maxResults;
+		/** System.nanoTime() value at which the search gives up */
+		private final long deadline;
+		/** receives each schedule */
+		private final Consumer<List<Course>> consumer;
+		/** schedules produced so far, guarded by this */
+		private int produced;
+		/** set once the search should stop */
+		private volatile boolean stopped;
+		/** leaves visited since the deadline was last checked, updated racily */
+		private int sinceDeadlineCheck;
+
+		/**
+		 * Creates the shared state for a search.
+		 * 
+		 * @param levels     candidate sections for each level
+		 * @param positions  position of each level's course in the output
+		 * @param maxResults most schedules to produce
+		 * @param deadline   System.nanoTime() value to stop at
+		 * @param consumer   receives each schedule
+		 */
+		Search(Course[][] levels, int[] positions, int maxResults, long deadline, Consumer<List<Course>> consumer) {
+			this.levels = levels;
+			this.positions = positions;
+			this.maxResults = maxResults;
+			this.deadline = deadline;
+			this.consumer = consumer;
+		}
+
+		/**
+		 * Returns true if the search should stop, checking the clock only every
+		 * few calls since System.nanoTime() is not free.
+		 * 
+		 * @return true if the search is over
+		 */
+		boolean isStopped() {
+			if (stopped) {
+				return true;
+			}
+			if (++sinceDeadlineCheck >= DEADLINE_CHECK_INTERVAL) {
+				sinceDeadlineCheck = 0;
+				if (System.nanoTime() - deadline > 0) {
+					stopped = true;
+				}
+			}
+			return stopped;
+		}
+
+		/**
+		 * Returns the number of schedules produced so far.
+		 * 
+		 * @return schedules produced
+		 */
+		synchronized int getProduced() {
+			return produced;
+		}
+
+		/**
+		 * Hands a complete schedule to the consumer unless the result cap has
+		 * been reached.
+		 * 
+		 * @param chosen one section per level
+		 */
+		synchronized void emit(Course[] chosen) {
+			if (stopped) {
+				return;
+			}
+			Course[] ordered = new Course[chosen.length];
+			for (int i = 0; i < chosen.length; i++) {
+				ordered[positions[i]] = chosen[i];
+			}
+			consumer.accept(Collections.unmodifiableList(Arrays.asList(ordered)));
+			produced++;
+			if (produced >= maxResults) {
+				stopped = true;
+			}
+		}
+	}
+
+	/**
+	 * Task that extends a partial schedule by one level. Levels above
+	 * PARALLEL_DEPTH fork one task per section; deeper levels search
+	 * sequentially to keep task overhead low.
+	 */
+	private static class SearchTask extends RecursiveAction {
+		/** ID used for object serialization */
+		private static final long serialVersionUID = 1L;
+		/** shared search state */
+		private final transient Search search;
+		/** level this task chooses a section for */
+		private final int depth;
+		/** sections chosen for the levels above depth */
+		private final transient Course[] chosen;
+
+		/**
+		 * Creates a task for the given level.
+		 * 
+		 * @param search shared search state
+		 * @param depth  level to choose a section for
+		 * @param chosen sections chosen so far, owned by this task
+		 */
+		SearchTask(Search search, int depth, Course[] chosen) {
+			this.search = search;
+			this.depth = depth;
+			this.chosen = chosen;
+		}
+
+		@Override
+		protected void compute() {
+			if (depth >= PARALLEL_DEPTH || depth == search.levels.length) {
+				extend(depth);
+				return;
+			}
+			Course[] candidates = search.levels[depth];
+			List<SearchTask> tasks = new ArrayList<SearchTask>(candidates.length);
+			for (int i = 0; i < candidates.length; i++) {
+				if (!conflicts(candidates[i], depth)) {
+					Course[] next = chosen.clone();
+					next[depth] = candidates[i];
+					tasks.add(new SearchTask(search, depth + 1, next));
+				}
+			}
+			invokeAll(tasks);
+		}
+
+		/**
+		 * Sequential depth first search from the given level.
+		 * 
+		 * @param level level to choose a section for
+		 */
+		private void extend(int level) {
+			if (search.isStopped()) {
+				return;
+			}
+			if (level == search.levels.length) {
+				search.emit(chosen);
+				return;
+			}
+			Course[] candidates = search.levels[level];
+			for (int i = 0; i < candidates.length && !search.stopped; i++) {
+				if (!conflicts(candidates[i], level)) {
+					chosen[level] = candidates[i];
+					extend(level + 1);
+				}
+			}
+			chosen[level] = null;
+		}
+
+		/**
+		 * Returns true if the course conflicts with any section chosen above the
+		 * given level.
+		 * 
+		 * @param course course to check
+		 * @param level  number of sections chosen so far
+		 * @return true if there is a meeting time conflict
+		 */
+		private boolean conflicts(Course course, int level) {
+			for (int i = 0; i < level; i++) {
+				if (course.conflictsWith(chosen[i])) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
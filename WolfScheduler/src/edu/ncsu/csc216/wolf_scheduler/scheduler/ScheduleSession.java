@@ -0,0 +1,624 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * One user's schedule over the catalog shared by a WolfScheduler. A session
+ * holds only its title and an array of the scheduled courses; the courses
+ * themselves are the catalog's, so thousands of sessions can share one loaded
+ * catalog.
+ * 
+ * Sessions are thread safe without any lock shared between them. Changes to a
+ * session are serialized on the session itself and publish a new array, so
+ * reading a schedule never blocks and always sees a whole schedule. Courses
+ * are looked up in the catalog the session's schedule was last rebuilt
+ * against. A catalog reload rebuilds every open session, one at a time under
+ * each session's own lock, so a session never checks a course from the new
+ * catalog against scheduled courses from the old one. A session that is no
+ * longer needed should be closed, which gives back its seats and stops the
+ * scheduler from rebuilding it.
+ * 
+ * A session can wait for a seat in a full section. When a seat is dropped,
+ * the SeatTracker hands it to the first waiting session, which takes the
+ * course if it still fits its schedule. Seats are given back only after a
+ * session's own lock is released, so promoting another session never nests
+ * one session's lock inside another's.
+ * 
+ * Every change to the schedule's courses bumps its version. The tables
+ * returned by getScheduledCourses and getFullScheduledCourses are built once
+ * per version and shared until the next change, and single cells can be read
+ * without building a table at all.
+ * 
+ * A session is also a Flow.Publisher of ScheduleEvents. Events are offered
+ * while the change still holds the session's lock, so every subscriber sees
+ * them in the order they happened, but offering never waits: a subscriber
+ * whose buffer is full loses the event instead of stalling the change. Each
+ * event carries the schedule version, so a subscriber that finds a gap can
+ * read the schedule again. The publisher and its delivery threads are only
+ * created when the first subscriber arrives.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class ScheduleSession implements Flow.Publisher<ScheduleEvent> {
+
+	/** Schedule with no courses, shared by every empty session */
+	private static final Course[] EMPTY = new Course[0];
+
+	/** scheduler holding the shared catalog */
+	private final WolfScheduler scheduler;
+
+	/** catalog the schedule was last rebuilt against, where courses are looked up */
+	private volatile Catalog catalog;
+
+	/** whether the session has been closed */
+	private volatile boolean closed;
+
+	/** seats taken in each section, shared with the scheduler's other sessions */
+	private final SeatTracker seats;
+
+	/** courses in the schedule; replaced, never changed, so readers need no lock */
+	private volatile Course[] schedule = EMPTY;
+
+	/** number of times the schedule's courses have changed */
+	private volatile long version;
+
+	/** short table of the schedule, rebuilt on first use after a change */
+	private volatile CourseTable shortTable;
+
+	/** full table of the schedule, rebuilt on first use after a change */
+	private volatile CourseTable fullTable;
+
+	/** title of the schedule */
+	private volatile String title = WolfScheduler.DEFAULT_SCHEDULE_NAME;
+
+	/** publisher of the session's events, created for the first subscriber */
+	private volatile SubmissionPublisher<ScheduleEvent> events;
+
+	/** events lost because a subscriber's buffer was full */
+	private final AtomicLong droppedEvents = new AtomicLong();
+
+	/**
+	 * Creates an empty session over the scheduler's catalog.
+	 * 
+	 * @param scheduler scheduler holding the shared catalog
+	 * @param seats     seat counts shared with the scheduler's other sessions
+	 * @param catalog   catalog the scheduler holds now
+	 */
+	ScheduleSession(WolfScheduler scheduler, SeatTracker seats, Catalog catalog) {
+		this.scheduler = scheduler;
+		this.seats = seats;
+		this.catalog = catalog;
+	}
+
+	/**
+	 * Looks up a course to add, checking that the session is still open.
+	 * Callers hold the session's lock.
+	 * 
+	 * @param name    name of course
+	 * @param section section of course
+	 * @return the course, or null if it is not in the catalog
+	 * @throws IllegalArgumentException if the session has been closed
+	 */
+	private Course lookup(String name, String section) {
+		if (this.closed) {
+			throw new IllegalArgumentException("The session is closed.");
+		}
+		return this.catalog.getCourse(name, section);
+	}
+
+	/**
+	 * Adds the course with the given name and section to the schedule. A course
+	 * cannot be added if another section of the same course is scheduled, if
+	 * its meeting times overlap a scheduled course, or if every seat in the
+	 * section is taken. The seat is taken last, so a rejected add never holds
+	 * one.
+	 * 
+	 * @param name    name of course
+	 * @param section section of course
+	 * @return true if the course was added, false if it is not in the catalog
+	 * @throws IllegalArgumentException if the course is already scheduled,
+	 *                                  conflicts with a scheduled course, is
+	 *                                  full, or the session has been closed
+	 */
+	public synchronized boolean addCourse(String name, String section) {
+		Course course = lookup(name, section);
+		if (course == null) {
+			return false;
+		}
+
+		checkFits(this.schedule, course);
+		if (!this.seats.tryEnroll(course)) {
+			throw new IllegalArgumentException("The course is full.");
+		}
+		append(course);
+		return true;
+	}
+
+	/**
+	 * Adds the course with the given name and section to the schedule if a
+	 * seat is open, or joins the section's waitlist if it is full. A waiting
+	 * session is given the course when a seat is dropped, if the course still
+	 * fits its schedule then.
+	 * 
+	 * @param name    name of course
+	 * @param section section of course
+	 * @return true if the course was added or the waitlist joined, false if it
+	 *         is not in the catalog
+	 * @throws IllegalArgumentException if the course is already scheduled,
+	 *                                  conflicts with a scheduled course, the
+	 *                                  session is already waiting for it, or
+	 *                                  the session has been closed
+	 */
+	public synchronized boolean joinWaitlist(String name, String section) {
+		Course course = lookup(name, section);
+		if (course == null) {
+			return false;
+		}
+
+		checkFits(this.schedule, course);
+		if (this.seats.enrollOrWait(course, this)) {
+			append(course);
+		}
+		return true;
+	}
+
+	/**
+	 * Leaves the waitlist of the course with the given name and section.
+	 * 
+	 * @param name    name of course
+	 * @param section section of course
+	 * @return true if the session was waiting, false if not
+	 */
+	public boolean leaveWaitlist(String name, String section) {
+		return this.seats.leaveWaitlist(name, section, this);
+	}
+
+	/**
+	 * Takes a seat already handed to this session from a waitlist. Called by
+	 * the SeatTracker when a seat is dropped.
+	 * 
+	 * @param course course the session was waiting for
+	 * @return true if the course was added, false if it no longer fits the
+	 *         schedule or the session has been closed, and the seat should go
+	 *         to the next session
+	 */
+	synchronized boolean promote(Course course) {
+		if (this.closed) {
+			return false;
+		}
+		//a reload may have changed or removed the section since the session
+		//joined its waitlist, so take the version in the current catalog
+		Course current = this.catalog.getCourse(course.getName(), course.getSection());
+		if (current == null) {
+			return false;
+		}
+		try {
+			checkFits(this.schedule, current);
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+		append(current);
+		return true;
+	}
+
+	/**
+	 * Tells subscribers that a reload removed a section the session was
+	 * waiting for. Called by the SeatTracker, which has already taken the
+	 * session off the waitlist.
+	 * 
+	 * @param course removed course the session was waiting for
+	 */
+	synchronized void waitlistDropped(Course course) {
+		if (!this.closed) {
+			emit(ScheduleEvent.course(ScheduleEvent.Type.WAITLIST_DROPPED, course, this.version));
+		}
+	}
+
+	/**
+	 * Checks that the course can join the schedule.
+	 * 
+	 * @param current schedule to check against
+	 * @param course  course to add
+	 * @throws IllegalArgumentException if another section of the course is
+	 *                                  scheduled or the course conflicts with a
+	 *                                  scheduled course
+	 */
+	private static void checkFits(Course[] current, Course course) {
+		//schedules hold a handful of courses, so a scan is cheaper than an index
+		if (indexOf(current, course.getName()) >= 0) {
+			throw new IllegalArgumentException("You are already enrolled in " + course.getName());
+		}
+		for (int i = 0; i < current.length; i++) {
+			//the mask check never builds an exception just to catch it
+			if (course.conflictsWith(current[i])) {
+				throw new IllegalArgumentException("The course cannot be added due to a conflict.");
+			}
+		}
+	}
+
+	/**
+	 * Publishes a new schedule with the course at the end. Callers hold the
+	 * session's lock.
+	 * 
+	 * @param course course to add
+	 */
+	private void append(Course course) {
+		Course[] current = this.schedule;
+		Course[] next = Arrays.copyOf(current, current.length + 1);
+		next[current.length] = course;
+		publish(next);
+		emit(ScheduleEvent.course(ScheduleEvent.Type.COURSE_ADDED, course, this.version));
+	}
+
+	/**
+	 * Replaces the schedule and bumps its version. Callers hold the session's
+	 * lock.
+	 * 
+	 * @param next new schedule
+	 */
+	private void publish(Course[] next) {
+		this.schedule = next;
+		this.version++;
+	}
+
+	/**
+	 * Removes the course with the given name and section from the schedule.
+	 * Its seat goes to the first session waiting for the section, if any.
+	 * 
+	 * @param name    name of course
+	 * @param section section of course
+	 * @return true if the course was removed, false if it was not scheduled
+	 */
+	public boolean removeCourse(String name, String section) {
+		Course removed;
+		synchronized (this) {
+			Course[] current = this.schedule;
+			//only one section of a name can be scheduled, so check that one
+			int index = indexOf(current, name);
+			if (index < 0 || !current[index].getSection().equals(section)) {
+				return false;
+			}
+
+			removed = current[index];
+			Course[] next = new Course[current.length - 1];
+			System.arraycopy(current, 0, next, 0, index);
+			System.arraycopy(current, index + 1, next, index, next.length - index);
+			publish(next.length == 0 ? EMPTY : next);
+			emit(ScheduleEvent.course(ScheduleEvent.Type.COURSE_REMOVED, removed, this.version));
+		}
+		//promoting a waiting session takes its lock, so give the seat back outside ours
+		this.seats.drop(removed);
+		return true;
+	}
+
+	/**
+	 * Removes every course from the schedule and gives back its seats. The
+	 * session's waitlists are kept.
+	 */
+	public void resetSchedule() {
+		Course[] current;
+		synchronized (this) {
+			current = this.schedule;
+			publish(EMPTY);
+			emit(ScheduleEvent.reset(this.version));
+		}
+		for (int i = 0; i < current.length; i++) {
+			this.seats.drop(current[i]);
+		}
+	}
+
+	/**
+	 * Returns the position of the scheduled course with the given name.
+	 * 
+	 * @param courses schedule to search
+	 * @param name    name of course
+	 * @return position of the course, or -1 if no section of it is scheduled
+	 */
+	private static int indexOf(Course[] courses, String name) {
+		for (int i = 0; i < courses.length; i++) {
+			if (courses[i].getName().equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Replaces each scheduled course with its version in the new catalog,
+	 * then looks up courses in the new catalog from here on and tells
+	 * subscribers about the reload. Courses the new catalog does not have are
+	 * dropped. So is a changed course that now conflicts with another course
+	 * in the schedule, since addCourse would have refused it; courses that did
+	 * not change are kept first, then changed ones in schedule order. Dropped
+	 * courses give back their seats. Called by the scheduler for every open
+	 * session after it swaps in a new catalog.
+	 * 
+	 * @param newCatalog catalog swapped in
+	 * @param diff       differences between the old and new catalog
+	 * @return the diff with the courses dropped from and updated in this schedule
+	 */
+	CatalogDiff rebuild(Catalog newCatalog, CatalogDiff diff) {
+		List<Course> conflicting = new ArrayList<Course>();
+		CatalogDiff applied;
+		synchronized (this) {
+			Course[] current = this.schedule;
+			Course[] next = new Course[current.length];
+			Course[] changed = new Course[current.length];
+			List<Course> dropped = new ArrayList<Course>();
+			List<Course> updated = new ArrayList<Course>();
+			List<Course> kept = new ArrayList<Course>(current.length);
+			for (int i = 0; i < current.length; i++) {
+				Course scheduled = current[i];
+				Course replacement = newCatalog.getCourse(scheduled.getName(), scheduled.getSection());
+				if (replacement == null) {
+					//the section is gone, so nobody can be promoted into it
+					this.seats.release(scheduled);
+					dropped.add(scheduled);
+				} else if (replacement.equals(scheduled)) {
+					next[i] = replacement;
+					kept.add(replacement);
+				} else {
+					changed[i] = replacement;
+				}
+			}
+			for (int i = 0; i < current.length; i++) {
+				if (changed[i] == null) {
+					continue;
+				}
+				if (conflictsWithAny(changed[i], kept)) {
+					conflicting.add(current[i]);
+					dropped.add(current[i]);
+				} else {
+					next[i] = changed[i];
+					kept.add(changed[i]);
+					updated.add(changed[i]);
+				}
+			}
+			List<Course> ordered = new ArrayList<Course>(kept.size());
+			for (Course course : next) {
+				if (course != null) {
+					ordered.add(course);
+				}
+			}
+			publish(ordered.isEmpty() ? EMPTY : ordered.toArray(EMPTY));
+			this.catalog = newCatalog;
+			applied = diff.withScheduleChanges(dropped, updated);
+			emit(ScheduleEvent.catalogReloaded(applied, this.version));
+		}
+		//the section still exists, so its seat goes to the waitlist, which
+		//takes the waiting sessions' locks and so must not hold this one
+		for (Course course : conflicting) {
+			this.seats.drop(course);
+		}
+		return applied;
+	}
+
+	/**
+	 * Returns whether a course conflicts with any of the given courses.
+	 * 
+	 * @param course  course to check
+	 * @param courses courses to check against
+	 * @return true if the course overlaps one of them
+	 */
+	private static boolean conflictsWithAny(Course course, List<Course> courses) {
+		for (Course other : courses) {
+			if (course.conflictsWith(other)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Closes the session: takes it off every waitlist, gives back the seats of
+	 * its courses, and stops the scheduler from rebuilding it on a reload.
+	 * Subscribers are told of the reset and then completed. Adding to a closed
+	 * session throws; reading it and closing it again do nothing harmful.
+	 */
+	public void close() {
+		synchronized (this) {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+		}
+		this.scheduler.closeSession(this);
+		this.seats.leaveAllWaitlists(this);
+		resetSchedule();
+		SubmissionPublisher<ScheduleEvent> publisher = this.events;
+		if (publisher != null) {
+			publisher.close();
+		}
+	}
+
+	/**
+	 * Returns whether the session has been closed.
+	 * 
+	 * @return true once close has been called
+	 */
+	public boolean isClosed() {
+		return this.closed;
+	}
+
+	/**
+	 * Returns the courses in the schedule, in the order they were added.
+	 * 
+	 * @return unmodifiable snapshot of the schedule
+	 */
+	public List<Course> getCourses() {
+		return Collections.unmodifiableList(Arrays.asList(this.schedule));
+	}
+
+	/**
+	 * Returns the version of the schedule, which changes every time a course is
+	 * added, removed, or replaced.
+	 * 
+	 * @return version of the schedule
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Returns the number of courses in the schedule.
+	 * 
+	 * @return number of scheduled courses
+	 */
+	public int getScheduleSize() {
+		return this.schedule.length;
+	}
+
+	/**
+	 * Returns one cell of the full schedule table without building the table.
+	 * 
+	 * @param row    index of the scheduled course
+	 * @param column 0 to 5 for name, section, title, credits, instructor id,
+	 *               and meeting string
+	 * @return text of the cell
+	 * @throws IllegalArgumentException if the row or column is out of range
+	 */
+	public String getScheduledCell(int row, int column) {
+		Course[] current = this.schedule;
+		if (row < 0 || row >= current.length) {
+			throw new IllegalArgumentException("Invalid cell.");
+		}
+		return CourseTable.cell(current[row], column);
+	}
+
+	/**
+	 * Returns the name, section, and title of each scheduled course. The
+	 * array is shared by every caller until the schedule changes and must not
+	 * be modified.
+	 * 
+	 * @return 2D string array of the schedule
+	 */
+	public String[][] getScheduledCourses() {
+		//read the schedule once so every row comes from the same snapshot
+		Course[] current = this.schedule;
+		CourseTable table = this.shortTable;
+		if (table == null || !table.isFor(current)) {
+			//two readers may both rebuild after a change; either table is correct
+			table = new CourseTable(current, CourseTable.rows(current, CourseTable.SHORT_COLUMNS));
+			this.shortTable = table;
+		}
+		return table.getRows();
+	}
+
+	/**
+	 * Returns the name, section, title, credits, instructor id, and meeting
+	 * string of each scheduled course. The array is shared by every caller
+	 * until the schedule changes and must not be modified.
+	 * 
+	 * @return 2D string array of the schedule
+	 */
+	public String[][] getFullScheduledCourses() {
+		Course[] current = this.schedule;
+		CourseTable table = this.fullTable;
+		if (table == null || !table.isFor(current)) {
+			table = new CourseTable(current, CourseTable.rows(current, CourseTable.FULL_COLUMNS));
+			this.fullTable = table;
+		}
+		return table.getRows();
+	}
+
+	/**
+	 * Returns the title of the schedule.
+	 * 
+	 * @return schedule title
+	 */
+	public String getScheduleTitle() {
+		return this.title;
+	}
+
+	/**
+	 * Sets the title of the schedule.
+	 * 
+	 * @param title title of schedule
+	 * @throws IllegalArgumentException if title is null
+	 */
+	public synchronized void setScheduleTitle(String title) {
+		if (title == null) {
+			throw new IllegalArgumentException("Title cannot be null.");
+		}
+		this.title = title;
+		emit(ScheduleEvent.titleChanged(title, this.version));
+	}
+
+	/**
+	 * Subscribes to the session's events, starting with the next change.
+	 * Delivery runs on the publisher's own threads and follows the
+	 * subscriber's requests; events that would overflow the subscriber's
+	 * buffer are dropped.
+	 * 
+	 * @param subscriber subscriber to add
+	 * @throws NullPointerException if the subscriber is null
+	 */
+	@Override
+	public void subscribe(Flow.Subscriber<? super ScheduleEvent> subscriber) {
+		SubmissionPublisher<ScheduleEvent> publisher = this.events;
+		if (publisher == null) {
+			synchronized (this) {
+				publisher = this.events;
+				if (publisher == null) {
+					publisher = new SubmissionPublisher<ScheduleEvent>();
+					this.events = publisher;
+				}
+			}
+		}
+		publisher.subscribe(subscriber);
+	}
+
+	/**
+	 * Returns the number of events lost so far because a subscriber's buffer
+	 * was full, counted once per subscriber that lost it.
+	 * 
+	 * @return dropped event count
+	 */
+	public long getDroppedEventCount() {
+		return this.droppedEvents.get();
+	}
+
+	/**
+	 * Offers an event to every subscriber without waiting. Callers hold the
+	 * session's lock, so events are offered in the order of the changes.
+	 * 
+	 * @param event event to offer
+	 */
+	void emit(ScheduleEvent event) {
+		SubmissionPublisher<ScheduleEvent> publisher = this.events;
+		if (publisher != null) {
+			publisher.offer(event, (subscriber, dropped) -> {
+				this.droppedEvents.incrementAndGet();
+				//never retry, so a slow subscriber cannot hold up the change
+				return false;
+			});
+		}
+	}
+
+	/**
+	 * Exports the schedule to a file.
+	 * 
+	 * @param fileName the name of the file to export to
+	 * @throws IllegalArgumentException if file cannot be written to
+	 */
+	public void exportSchedule(String fileName) {
+		try {
+			CourseRecordIO.writeCourseRecords(fileName, Arrays.asList(this.schedule));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("The file cannot be saved.");
+		}
+	}
+}
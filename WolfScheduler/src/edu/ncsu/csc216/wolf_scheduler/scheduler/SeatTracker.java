@@ -0,0 +1,284 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Counts the seats taken in each section across every session of a
+ * WolfScheduler and keeps each section's waitlist. Every section has its own
+ * lock, found through a ConcurrentHashMap, so enrolling in or dropping one
+ * section never waits on another and a popular section only contends with
+ * its own enrollments. The seat count and the waitlist change together under
+ * that lock, so a section can never be oversold and a freed seat can never be
+ * taken by a new enrollment ahead of the students already waiting.
+ * 
+ * When a seat is dropped from a section with a waitlist, the seat passes
+ * straight to the student at the head of the queue without ever becoming
+ * free. The waiting session is then asked to take the course, outside the
+ * section's lock; if it now holds another section of the course or a
+ * conflicting course, it is skipped and the seat goes to the next student.
+ * The section's lock is never held while a session's lock is taken, so
+ * sessions can add courses and promote students at the same time without
+ * deadlock.
+ * 
+ * Counts are keyed by name and section rather than by Course, so they carry
+ * over when a catalog reload replaces the Course objects. A reload that
+ * lowers a capacity below the seats already taken keeps those enrollments
+ * and only blocks new ones. A reload that removes a section forgets its
+ * count and waitlist, and tells each waiting session it was taken off.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class SeatTracker {
+
+	/** seat count and waitlist of each section, keyed by name and section */
+	private final ConcurrentHashMap<String, Section> sections = new ConcurrentHashMap<String, Section>();
+
+	/**
+	 * Seats taken in one section and the sessions waiting for one. Guarded by
+	 * the section's own lock.
+	 */
+	private static class Section {
+
+		/** seats taken, including seats passed to a waiting session */
+		private int taken;
+
+		/** waiting sessions in the order they joined, with the course each wants */
+		private final LinkedHashMap<ScheduleSession, Course> waitlist = new LinkedHashMap<ScheduleSession, Course>();
+
+		/**
+		 * Returns whether every seat is taken under the given capacity.
+		 * 
+		 * @param capacity capacity of the section
+		 * @return true if no seat is open
+		 */
+		private boolean isFull(int capacity) {
+			return capacity != Course.UNLIMITED_CAPACITY && this.taken >= capacity;
+		}
+	}
+
+	/**
+	 * Returns the seat count and waitlist of the course's section, creating
+	 * them on first use.
+	 * 
+	 * @param course course in the section
+	 * @return the section
+	 */
+	private Section sectionOf(Course course) {
+		return this.sections.computeIfAbsent(CourseCatalog.key(course.getName(), course.getSection()),
+				k -> new Section());
+	}
+
+	/**
+	 * Takes a seat in the course's section if one is open and nobody is
+	 * waiting for it.
+	 * 
+	 * @param course section to enroll in
+	 * @return true if a seat was taken, false if the section is full
+	 */
+	boolean tryEnroll(Course course) {
+		Section section = sectionOf(course);
+		synchronized (section) {
+			//an open seat with students waiting is theirs, not a newcomer's
+			if (section.isFull(course.getCapacity()) || !section.waitlist.isEmpty()) {
+				return false;
+			}
+			section.taken++;
+			return true;
+		}
+	}
+
+	/**
+	 * Takes a seat in the course's section if one is open, or puts the session
+	 * at the back of the section's waitlist.
+	 * 
+	 * @param course  section to enroll in
+	 * @param session session wanting the seat
+	 * @return true if a seat was taken, false if the session is now waiting
+	 * @throws IllegalArgumentException if the session is already waiting for
+	 *                                  the section
+	 */
+	boolean enrollOrWait(Course course, ScheduleSession session) {
+		Section section = sectionOf(course);
+		synchronized (section) {
+			if (section.waitlist.containsKey(session)) {
+				throw new IllegalArgumentException("You are already on the waitlist for " + course.getName());
+			}
+			if (!section.isFull(course.getCapacity()) && section.waitlist.isEmpty()) {
+				section.taken++;
+				return true;
+			}
+			section.waitlist.put(session, course);
+			return false;
+		}
+	}
+
+	/**
+	 * Takes the session off the waitlist of a section.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @param session session to take off
+	 * @return true if the session was waiting, false if not
+	 */
+	boolean leaveWaitlist(String name, String section, ScheduleSession session) {
+		Section waiting = find(name, section);
+		if (waiting == null) {
+			return false;
+		}
+		synchronized (waiting) {
+			return waiting.waitlist.remove(session) != null;
+		}
+	}
+
+	/**
+	 * Takes the session off the waitlist of every section, for a session that
+	 * is being closed.
+	 * 
+	 * @param session session to take off
+	 */
+	void leaveAllWaitlists(ScheduleSession session) {
+		for (Section section : this.sections.values()) {
+			synchronized (section) {
+				section.waitlist.remove(session);
+			}
+		}
+	}
+
+	/**
+	 * Gives back a seat in the course's section. If students are waiting, the
+	 * seat goes to the first of them that can still take the course, and only
+	 * becomes free if none can. Must not be called while holding a session's
+	 * lock, since the waiting session's lock is taken to promote it.
+	 * 
+	 * @param course section to drop
+	 */
+	void drop(Course course) {
+		Section section = this.sections.get(CourseCatalog.key(course.getName(), course.getSection()));
+		if (section == null) {
+			return;
+		}
+		while (true) {
+			ScheduleSession next;
+			Course wanted;
+			synchronized (section) {
+				//a section over a lowered capacity shrinks before anyone is promoted
+				if (section.waitlist.isEmpty() || (section.taken > course.getCapacity()
+						&& course.getCapacity() != Course.UNLIMITED_CAPACITY)) {
+					//never below zero, even if a drop is repeated
+					section.taken = Math.max(0, section.taken - 1);
+					return;
+				}
+				Iterator<Map.Entry<ScheduleSession, Course>> head = section.waitlist.entrySet().iterator();
+				Map.Entry<ScheduleSession, Course> entry = head.next();
+				head.remove();
+				next = entry.getKey();
+				wanted = entry.getValue();
+			}
+			//the seat stays taken while it passes to the head of the queue
+			if (next.promote(wanted)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Gives back a seat without offering it to the waitlist, for a section
+	 * that is no longer in the catalog.
+	 * 
+	 * @param course section to drop
+	 */
+	void release(Course course) {
+		Section section = this.sections.get(CourseCatalog.key(course.getName(), course.getSection()));
+		if (section != null) {
+			synchronized (section) {
+				section.taken = Math.max(0, section.taken - 1);
+			}
+		}
+	}
+
+	/**
+	 * Forgets the seat counts and waitlists of sections a reload removed, and
+	 * tells each session that was waiting for one of them. Called after every
+	 * session has been rebuilt against the new catalog, so no session can
+	 * enroll in or wait for a removed section again.
+	 * 
+	 * @param removed courses of the removed sections
+	 */
+	void removeSections(List<Course> removed) {
+		for (Course course : removed) {
+			Section section = this.sections.remove(CourseCatalog.key(course.getName(), course.getSection()));
+			if (section == null) {
+				continue;
+			}
+			List<ScheduleSession> waiting;
+			synchronized (section) {
+				waiting = new ArrayList<ScheduleSession>(section.waitlist.keySet());
+				section.waitlist.clear();
+				section.taken = 0;
+			}
+			//outside the section's lock, since telling a session takes its lock
+			for (ScheduleSession session : waiting) {
+				session.waitlistDropped(course);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of seats taken in a section.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return seats taken, 0 if nobody has enrolled
+	 */
+	public int getEnrolled(String name, String section) {
+		Section counted = find(name, section);
+		if (counted == null) {
+			return 0;
+		}
+		synchronized (counted) {
+			return counted.taken;
+		}
+	}
+
+	/**
+	 * Returns the number of sessions waiting for a seat in a section.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return length of the waitlist, 0 if nobody is waiting
+	 */
+	public int getWaitlistLength(String name, String section) {
+		Section counted = find(name, section);
+		if (counted == null) {
+			return 0;
+		}
+		synchronized (counted) {
+			return counted.waitlist.size();
+		}
+	}
+
+	/**
+	 * Returns the section with the given name and section, if anyone has used
+	 * it.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return the section, or null if it has no count yet
+	 */
+	private Section find(String name, String section) {
+		if (name == null || section == null) {
+			return null;
+		}
+		return this.sections.get(CourseCatalog.key(name, section));
+	}
+}
@@ -4,11 +4,21 @@
 package edu.ncsu.csc216.wolf_scheduler.scheduler;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseSnapshotIO;
 
 /**
  * Class used for scheduling courses, adding events to schedule, getting courses from catalog, exporting schedules,
@@ -16,18 +26,42 @@ import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
  * presenting activities, and adding events.
  * 
  * @author Jay Shah (jsshah)
- *
+ * 
  */
 public class WolfScheduler {
 	
-	/** courses available for use with scheduler and registration */
-	private ArrayList<Course> courseCatalog;
+	/**
+	 * courses available for use with scheduler and registration; the catalog is
+	 * immutable and a reload swaps in a whole new one, so readers never see a
+	 * half applied update
+	 */
+	private volatile Catalog courseCatalog;
+	
+	/** number of times the catalog has been replaced */
+	private volatile long catalogVersion;
+	
+	/** catalog table, rebuilt on first use after the catalog is replaced */
+	private volatile CourseTable catalogTable;
+	
+	/** catalog search indexes, rebuilt on first search after the catalog is replaced */
+	private volatile CatalogSearch catalogSearch;
+	
+	/** file the catalog was loaded from, or null for a mapped catalog */
+	private String catalogFile;
+	
+	/** seats taken in each section, shared by every session */
+	private final SeatTracker seats = new SeatTracker();
 	
-	/** courses actively added to a user's schedule */
-	ArrayList<Course> schedule;
+	/** schedule of the scheduler's own user, kept for the single user API */
+	private final ScheduleSession session;
 	
-	/** title for schedule */
-	String title;
+	/**
+	 * sessions opened with openSession and not yet closed, rebuilt on every
+	 * reload; held weakly so a session dropped without closing it is not kept
+	 * alive only to be rebuilt
+	 */
+	private final Set<ScheduleSession> openSessions = Collections.newSetFromMap(
+			new WeakHashMap<ScheduleSession, Boolean>());
 	
 	/** Schedule name */
 	public static final String DEFAULT_SCHEDULE_NAME = "My Schedule";
@@ -41,69 +75,278 @@ public class WolfScheduler {
 	 */
 	public WolfScheduler(String validTestFile) {
 		
-		//Create course catalog
-		ArrayList<Course> c = new ArrayList<Course>();
-		this.courseCatalog = c;
-		
-		//creating schedule
-		ArrayList<Course> s = new ArrayList<Course>();
-		this.schedule = s;
-		
-		//set title to My Schedule as a deafault
-		this.title = DEFAULT_SCHEDULE_NAME;
-		
 		//set up a try catch block in case file is not found
 		try {
-			this.courseCatalog = CourseRecordIO.readCourseRecords(validTestFile);
+			//the catalog builds its name and section index once here
+			initialize(new CourseCatalog(CourseRecordIO.readCourseRecords(validTestFile)), validTestFile);
 		} catch (FileNotFoundException e){
 			throw new IllegalArgumentException("Cannot find file.");
 		}
+		this.session = new ScheduleSession(this, this.seats, this.courseCatalog);
 	}
-
+	
 	/**
-	 * Main method not used
+	 * Creates a WolfScheduler with an empty catalog, for a caller that loads
+	 * the catalog itself and installs it with loadCatalog.
+	 */
+	public WolfScheduler() {
+		this(new CourseCatalog(), null);
+	}
+	
+	/**
+	 * Creates a WolfScheduler over an already loaded catalog.
 	 * 
-	 * @param args command line arguments not used
+	 * @param catalog catalog of courses to schedule from
+	 * @param catalogFile file the catalog was loaded from
 	 */
-	public static void main(String[] args) {
-		// TODO Auto-generated method stub
-
+	private WolfScheduler(Catalog catalog, String catalogFile) {
+		initialize(catalog, catalogFile);
+		this.session = new ScheduleSession(this, this.seats, catalog);
 	}
 	
 	/**
-	 * Creates and returns 2D array of the schedule containing info about 
-	 * the course name, section, and title.
+	 * Sets up the catalog. The scheduler's own session starts with an empty
+	 * schedule and the default title.
 	 * 
-	 * @return 2D string array of the schedule
+	 * @param catalog catalog of courses to schedule from
+	 * @param catalogFile file the catalog was loaded from
 	 */
-	public String[][] getScheduledCourses() {
+	private void initialize(Catalog catalog, String catalogFile) {
 		
-		//number of rows will be set by amount of courses
-		int numRow = this.schedule.size();
-		
-		//if the amount of rows is 0 then there are no courses in catalog
-		//ensures that catalog is empty
-		if (numRow == 0) {
-			return new String[0][0];
+		//Create course catalog
+		this.courseCatalog = catalog;
+		this.catalogFile = catalogFile;
+	}
+	
+	/**
+	 * Opens a new schedule session over this scheduler's catalog. Sessions
+	 * share the catalog instead of loading their own, hold only their own
+	 * schedule and title, and never lock each other, so one scheduler can
+	 * serve many users at once. Seats in limited sections are counted across
+	 * every session of the scheduler. Every reload rebuilds the session's
+	 * schedule against the new catalog until the session is closed.
+	 * 
+	 * @return a new session with an empty schedule and the default title
+	 */
+	public ScheduleSession openSession() {
+		//under the reload lock, so a session is either rebuilt by a reload or
+		//opened over the catalog that reload swapped in
+		synchronized (this) {
+			ScheduleSession opened = new ScheduleSession(this, this.seats, this.courseCatalog);
+			this.openSessions.add(opened);
+			return opened;
+		}
+	}
+	
+	/**
+	 * Stops rebuilding a closed session on reloads. Called by
+	 * ScheduleSession.close.
+	 * 
+	 * @param closed session that was closed
+	 */
+	synchronized void closeSession(ScheduleSession closed) {
+		this.openSessions.remove(closed);
+	}
+	
+	/**
+	 * Returns the number of sessions opened with openSession and not yet
+	 * closed or dropped.
+	 * 
+	 * @return open sessions
+	 */
+	public synchronized int getOpenSessionCount() {
+		return this.openSessions.size();
+	}
+	
+	/**
+	 * Subscribes to changes of this scheduler's own schedule: courses added,
+	 * removed, or promoted from a waitlist, resets, title changes, and catalog
+	 * reloads, in the order they happen. Events are delivered on the
+	 * publisher's threads as the subscriber requests them, and a subscriber
+	 * that falls too far behind loses events rather than slowing down the
+	 * scheduler; each event's schedule version shows such gaps. Sessions
+	 * opened with openSession publish their own events.
+	 * 
+	 * @param subscriber subscriber to add
+	 * @throws NullPointerException if the subscriber is null
+	 */
+	public void subscribe(Flow.Subscriber<? super ScheduleEvent> subscriber) {
+		this.session.subscribe(subscriber);
+	}
+	
+	/**
+	 * Returns the number of seats taken in a section across every session.
+	 * 
+	 * @param name name of course
+	 * @param section section of course
+	 * @return seats taken, 0 if nobody has enrolled
+	 */
+	public int getEnrolledCount(String name, String section) {
+		return this.seats.getEnrolled(name, section);
+	}
+	
+	/**
+	 * Returns the number of sessions waiting for a seat in a section.
+	 * 
+	 * @param name name of course
+	 * @param section section of course
+	 * @return length of the waitlist, 0 if nobody is waiting
+	 */
+	public int getWaitlistLength(String name, String section) {
+		return this.seats.getWaitlistLength(name, section);
+	}
+	
+	/**
+	 * Creates a WolfScheduler for the given catalog file, loading the catalog
+	 * from its binary snapshot when the snapshot is fresh. A snapshot is fresh
+	 * while the text file's size and modification time match the ones recorded
+	 * in it. Otherwise the text file is read and a new snapshot is written next
+	 * to it for the next start; failing to write the snapshot is not an error.
+	 * 
+	 * @param fileName catalog text file
+	 * @return a WolfScheduler over the catalog
+	 * @throws IllegalArgumentException when file is not present or found
+	 */
+	public static WolfScheduler fromSnapshotOrFile(String fileName) {
+		String snapshotFile = CourseSnapshotIO.snapshotFileName(fileName);
+		ArrayList<Course> courses = CourseSnapshotIO.readSnapshot(snapshotFile, fileName);
+		if (courses != null) {
+			return new WolfScheduler(new CourseCatalog(courses), fileName);
 		}
 		
-		//three columns for name, section, and title
-		int numCol = 3;
-		
-		//create a string array with one row per course and three columns
-		String[][] scheduleString = new String[numRow][numCol];
-		
-		//iterate through schedule and fill each column with relevant data!
-		for (int i = 0; i < numRow; i++) {
-			
-			scheduleString[i][0] = this.schedule.get(i).getName();
-			
-			scheduleString[i][1] = this.schedule.get(i).getSection();
+		try {
+			//take the stamp before reading so a change during the read leaves
+			//the new snapshot already stale
+			Path path = Paths.get(fileName);
+			long size = Files.size(path);
+			long modified = Files.getLastModifiedTime(path).toMillis();
+			courses = CourseRecordIO.readCourseRecords(fileName);
+			try {
+				CourseSnapshotIO.writeSnapshot(snapshotFile, size, modified, courses);
+			} catch (IOException e) {
+				//the snapshot is only an optimization
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+		return new WolfScheduler(new CourseCatalog(courses), fileName);
+	}
+	
+	/**
+	 * Creates a WolfScheduler over a memory mapped catalog written by
+	 * MappedCourseCatalog.write. The courses stay in the mapped file and only
+	 * the name and section index is kept on the heap, so very large catalogs
+	 * add little garbage collection work. The scheduler has no text catalog
+	 * file, so it cannot watch for changes until reloadCatalog is called.
+	 * 
+	 * @param mappedFile mapped catalog file
+	 * @return a WolfScheduler over the mapped catalog
+	 * @throws IllegalArgumentException when file is not present or is not a
+	 *                                  mapped catalog
+	 */
+	public static WolfScheduler fromMappedCatalog(String mappedFile) {
+		try {
+			return new WolfScheduler(MappedCourseCatalog.open(mappedFile), null);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+	}
+
+	/**
+	 * Reloads the catalog from the given file and applies the differences to
+	 * the live catalog and to the schedule. The file is parsed before anything
+	 * changes, and the new catalog then replaces the old one in a single step,
+	 * so a reader sees either the whole old catalog or the whole new one.
+	 * Scheduled courses whose section was removed are dropped, and scheduled
+	 * courses whose section changed are replaced by the new version, in the
+	 * scheduler's own schedule and in every open session; each session's
+	 * subscribers get a reload event with its own changes, and the returned
+	 * diff reports the changes to the scheduler's own schedule. Waitlists of
+	 * removed sections are cleared, and each session taken off one gets a
+	 * WAITLIST_DROPPED event.
+	 * 
+	 * @param fileName file to load the new catalog from
+	 * @return differences between the old and new catalog and their effect on the schedule
+	 * @throws IllegalArgumentException when file is not present or found
+	 */
+	public CatalogDiff reloadCatalog(String fileName) {
+		try {
+			return loadCatalog(CourseRecordIO.readCourseRecords(fileName), fileName);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+	}
+	
+	/**
+	 * Replaces the catalog with the given courses, read by the caller from the
+	 * given file, exactly as reloadCatalog would. When two courses share a name
+	 * and section the first one is kept.
+	 * 
+	 * @param courses courses of the new catalog
+	 * @param fileName file the courses were read from, or null if none
+	 * @return differences between the old and new catalog and their effect on the schedule
+	 * @throws IllegalArgumentException if the list of courses is null
+	 */
+	public CatalogDiff loadCatalog(List<Course> courses, String fileName) {
+		CourseCatalog newCatalog = new CourseCatalog(courses);
+		
+		synchronized (this) {
+			CatalogDiff diff = CatalogDiff.compute(this.courseCatalog, newCatalog);
+			this.courseCatalog = newCatalog;
+			this.catalogVersion++;
+			this.catalogFile = fileName;
 			
-			scheduleString[i][2] = this.schedule.get(i).getTitle();
+			//each session keeps adding from the old catalog until its own
+			//rebuild, which takes only that session's lock, so no add checks a
+			//new course against old ones and sessions are never locked together
+			CatalogDiff applied = this.session.rebuild(newCatalog, diff);
+			for (ScheduleSession open : this.openSessions.toArray(new ScheduleSession[0])) {
+				open.rebuild(newCatalog, diff);
+			}
+			//only now can no session reach a removed section to wait for it
+			this.seats.removeSections(diff.getRemoved());
+			return applied;
 		}
-		
-		return scheduleString;
+	}
+	
+	/**
+	 * Starts watching the catalog file and reloads the catalog each time the
+	 * file changes. Each reload's diff is passed to the listener and each
+	 * failed or rejected reload, such as a file with no valid courses, to the
+	 * error handler, both on the watcher's thread; so is anything the listener
+	 * throws. Close the returned watcher to stop watching.
+	 * 
+	 * @param listener receives the diff of each reload
+	 * @param errorHandler receives reload failures
+	 * @return the running watcher
+	 * @throws IllegalArgumentException if the listener or error handler is null,
+	 *                                  the catalog was not loaded from a text
+	 *                                  file, or the file cannot be watched
+	 */
+	public CatalogWatcher watchCatalog(Consumer<CatalogDiff> listener, Consumer<Exception> errorHandler) {
+		if (listener == null || errorHandler == null) {
+			throw new IllegalArgumentException("Invalid listener.");
+		}
+		if (this.catalogFile == null) {
+			throw new IllegalArgumentException("Cannot watch file.");
+		}
+		try {
+			return new CatalogWatcher(this, this.catalogFile, CatalogWatcher.DEFAULT_SETTLE_MILLIS, listener,
+					errorHandler);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Cannot watch file.");
+		}
+	}
+
+	/**
+	 * Creates and returns 2D array of the schedule containing info about 
+	 * the course name, section, and title. The array is shared by every
+	 * caller until the schedule changes and must not be modified.
+	 * 
+	 * @return 2D string array of the schedule
+	 */
+	public String[][] getScheduledCourses() {
+		return this.session.getScheduledCourses();
 	}
 	
 	/**
@@ -112,12 +355,35 @@ public class WolfScheduler {
 	 * Code is commented well but essentially this is performing the same
 	 * tasks other methods with slight tweaks.
 	 * 
+	 * The array is built once per catalog version and shared by every caller
+	 * until the catalog is reloaded, so it must not be modified.
+	 * 
 	 * @return catalog catalog of courses in a 2D array
 	 */
 	public String[][] getCourseCatalog() {
 		
+		//read the catalog once so a reload cannot swap it mid copy
+		Catalog catalog = this.courseCatalog;
+		
+		//reuse the table until a reload replaces the catalog it came from
+		CourseTable table = this.catalogTable;
+		if (table == null || !table.isFor(catalog)) {
+			table = new CourseTable(catalog, buildCatalogTable(catalog));
+			this.catalogTable = table;
+		}
+		return table.getRows();
+	}
+	
+	/**
+	 * Builds the name, section, and title of every course in the catalog.
+	 * 
+	 * @param catalog catalog to lay out
+	 * @return catalog of courses in a 2D array
+	 */
+	private static String[][] buildCatalogTable(Catalog catalog) {
+		
 		//number of rows is set by the number of courses in the catalog
-		int numRow = this.courseCatalog.size();
+		int numRow = catalog.size();
 		
 		//no courses in the catalog means empty array
 		if (numRow == 0) {
@@ -134,64 +400,146 @@ public class WolfScheduler {
 		//iterate through the catalog, find the relevant and pertinent data for each course
 		//then add the data to the 2D array
 		for (int i = 0; i < numRow; i++) {
+			//fetch each course once, since a mapped catalog builds it on every call
+			Course course = catalog.getCourse(i);
 			//adding course name
-			catalogString[i][0] = this.courseCatalog.get(i).getName();
+			catalogString[i][0] = course.getName();
 			//adding the course section to the array
-			catalogString[i][1] = this.courseCatalog.get(i).getSection();
+			catalogString[i][1] = course.getSection();
 			//adding the course title to array
-			catalogString[i][2] = this.courseCatalog.get(i).getTitle();
+			catalogString[i][2] = course.getTitle();
 			//for loop will continue to add data for the next courses in the catalog
 		}
 		
 		return catalogString;
 	}
 	
+	/**
+	 * Returns the version of the catalog, which changes every time the catalog
+	 * is reloaded.
+	 * 
+	 * @return version of the catalog
+	 */
+	public long getCatalogVersion() {
+		return this.catalogVersion;
+	}
+	
+	/**
+	 * Returns the number of courses in the catalog.
+	 * 
+	 * @return number of courses
+	 */
+	public int getCatalogSize() {
+		return this.courseCatalog.size();
+	}
+	
+	/**
+	 * Returns one cell of the catalog table without building the table.
+	 * 
+	 * @param row index of the course in the catalog
+	 * @param column 0 to 2 for name, section, and title
+	 * @return text of the cell
+	 * @throws IllegalArgumentException if the row or column is out of range
+	 */
+	public String getCatalogCell(int row, int column) {
+		Catalog catalog = this.courseCatalog;
+		if (row < 0 || row >= catalog.size() || column < 0 || column >= CourseTable.SHORT_COLUMNS) {
+			throw new IllegalArgumentException("Invalid cell.");
+		}
+		return CourseTable.cell(catalog.getCourse(row), column);
+	}
+	
+	/**
+	 * Returns the course in a row of the catalog, such as a row found by
+	 * searchCatalog.
+	 * 
+	 * @param row index of the course in the catalog
+	 * @return the course
+	 * @throws IllegalArgumentException if the row is out of range
+	 */
+	public Course getCatalogCourse(int row) {
+		Catalog catalog = this.courseCatalog;
+		if (row < 0 || row >= catalog.size()) {
+			throw new IllegalArgumentException("Invalid row.");
+		}
+		return catalog.getCourse(row);
+	}
+	
+	/**
+	 * Returns the catalog rows of the courses matching the query, in catalog
+	 * order, for use with getCatalogCell. The indexes the search runs on are
+	 * built by the first search after each reload and shared by every search
+	 * until the next one, so a caller that wants the first search to be quick
+	 * can make an empty one ahead of time. A reload during the search can
+	 * leave the rows pointing into the old catalog, which the caller can tell
+	 * from a change in getCatalogVersion.
+	 * 
+	 * @param query what to look for
+	 * @return matching rows in ascending order
+	 * @throws IllegalArgumentException if the query is null
+	 */
+	public int[] searchCatalog(CatalogQuery query) {
+		if (query == null) {
+			throw new IllegalArgumentException("Invalid query.");
+		}
+		
+		//read the catalog once so a reload cannot swap it mid search
+		Catalog catalog = this.courseCatalog;
+		
+		//reuse the indexes until a reload replaces the catalog they came from
+		CatalogSearch search = this.catalogSearch;
+		if (search == null || !search.isFor(catalog)) {
+			search = new CatalogSearch(catalog);
+			this.catalogSearch = search;
+		}
+		return search.search(query);
+	}
+	
+	/**
+	 * Returns the version of the schedule, which changes every time a course
+	 * is added to, removed from, or replaced in it.
+	 * 
+	 * @return version of the schedule
+	 */
+	public long getScheduleVersion() {
+		return this.session.getVersion();
+	}
+	
+	/**
+	 * Returns the number of courses in the schedule.
+	 * 
+	 * @return number of scheduled courses
+	 */
+	public int getScheduleSize() {
+		return this.session.getScheduleSize();
+	}
+	
+	/**
+	 * Returns one cell of the full schedule table without building the table.
+	 * 
+	 * @param row index of the scheduled course
+	 * @param column 0 to 5 for name, section, title, credits, instructor id,
+	 *        and meeting string
+	 * @return text of the cell
+	 * @throws IllegalArgumentException if the row or column is out of range
+	 */
+	public String getScheduledCell(int row, int column) {
+		return this.session.getScheduledCell(row, column);
+	}
+	
 	/**
 	 * Creates a 2D array that is supposed to represent a schedule.
 	 * Schedule will contain a lot of information such as course name, 
 	 * course section, title, credits, instructorId, and meeting days.
 	 * 
 	 * 
+	 * The array is shared by every caller until the schedule changes and must
+	 * not be modified.
+	 * 
 	 * @return 2D array of the schedule
 	 */
 	public String[][] getFullScheduledCourses() {
-		
-		int numRow = this.schedule.size();
-		
-		if (numRow == 0) {
-			return new String[0][0];
-		}
-		
-		//six columns for all the different data about to be added 
-		//to scheduler (name, section, title, credit hours, instructor id,
-		//and meeting times)
-		int numCol = 6;
-		
-		String[][] fullScheduleString = new String[numRow][numCol];
-		
-		//iterate through array and add to schedule
-		for (int i = 0; i < numRow; i++) {
-			
-			//adds course name to schedule
-			fullScheduleString[i][0] = this.schedule.get(i).getName();
-			
-			//adds section to schedule
-			fullScheduleString[i][1] = this.schedule.get(i).getSection();
-			
-			//adds title to schedule
-			fullScheduleString[i][2] = this.schedule.get(i).getTitle();
-			
-			//adds credit hours to schedule
-			fullScheduleString[i][3] = "" + this.schedule.get(i).getCredits();
-			
-			
-			//adds instructor id to schedule
-			fullScheduleString[i][4] = this.schedule.get(i).getInstructorId();
-			
-			//adds meeting times to schedule
-			fullScheduleString[i][5] = this.schedule.get(i).getMeetingString();
-		}
-		return fullScheduleString;
+		return this.session.getFullScheduledCourses();
 	}
 	
 	/**
@@ -200,7 +548,7 @@ public class WolfScheduler {
 	 */
 	public String getScheduleTitle() {
 		
-		return this.title;
+		return this.session.getScheduleTitle();
 	}
 	
 	/**
@@ -210,16 +558,12 @@ public class WolfScheduler {
 	 * @throws IllegalArgumentException if file cannot be written to
 	 */
 	public void exportSchedule(String fileName) {
-		try {
-			CourseRecordIO.writeCourseRecords(fileName, this.schedule);
-		} catch (IOException e) {
-			throw new IllegalArgumentException("The file cannot be saved.");
-		}
-		
+		this.session.exportSchedule(fileName);
 	}
 	
 	/**
-	 * Gets course from catalog using name and section number
+	 * Gets course from catalog using name and section number. The lookup
+	 * uses the catalog's name and section index and runs in constant time.
 	 * 
 	 * @param name name of course
 	 * @param section section of course
@@ -227,80 +571,120 @@ public class WolfScheduler {
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
 		
-		//iterate through course catalog
-		for (int i = 0; i < this.courseCatalog.size(); i++) {
-			
-			//check to see if current course has the same name and section
-			//as input name and section
-			if (this.courseCatalog.get(i).getName().equals(name) && 
-					this.courseCatalog.get(i).getSection().equals(section)) {
-				
-				return this.courseCatalog.get(i);
-			}
-		}
-		
-		return null;
+		return this.courseCatalog.getCourse(name, section);
+	}
+
+	/**
+	 * Returns every course in the catalog taught by the given instructor,
+	 * using the catalog's instructor index when it keeps one.
+	 * 
+	 * @param instructorId unity id of the instructor
+	 * @return unmodifiable list of matching courses
+	 */
+	public List<Course> getCoursesByInstructor(String instructorId) {
+		return this.courseCatalog.getCoursesByInstructor(instructorId);
+	}
+	
+	/**
+	 * Returns every course in the catalog with the given department prefix,
+	 * such as CSC, using the catalog's department index when it keeps one.
+	 * 
+	 * @param department letter prefix of the course name
+	 * @return unmodifiable list of matching courses
+	 */
+	public List<Course> getCoursesByDepartment(String department) {
+		return this.courseCatalog.getCoursesByDepartment(department);
+	}
+	
+	/**
+	 * Returns every course in the catalog that meets on the given day,
+	 * using the catalog's meeting day index when it keeps one.
+	 * 
+	 * @param day meeting day character (M, T, W, H, F, or A)
+	 * @return unmodifiable list of matching courses
+	 */
+	public List<Course> getCoursesByMeetingDay(char day) {
+		return this.courseCatalog.getCoursesByMeetingDay(day);
+	}
+
+	/**
+	 * Generates conflict free schedules containing one section of each of the
+	 * named courses and returns the best of them, ranked best first. The
+	 * search runs in parallel on the common ForkJoinPool and covers every
+	 * combination it reaches within the time budget.
+	 * 
+	 * @param courseNames names of the wanted courses
+	 * @param maxResults most schedules to return
+	 * @param timeBudgetMillis most time to spend searching, in milliseconds
+	 * @return ranked list of schedules
+	 * @throws IllegalArgumentException if the names or limits are invalid
+	 */
+	public List<List<Course>> generateSchedules(List<String> courseNames, int maxResults, long timeBudgetMillis) {
+		return new ScheduleGenerator(this.courseCatalog).generateRanked(courseNames, maxResults, timeBudgetMillis);
 	}
 
 	/**
 	 * Adds course to schedule if course passes a couple of parameters set 
-	 * in the method.
+	 * in the method. A course cannot be added if another section of the same
+	 * course is scheduled, if its meeting times overlap a scheduled course, or
+	 * if every seat in the section is taken.
 	 * 
 	 * @param name name of course
 	 * @param section section of course
 	 * @return true or false depending on if course exists or not already
+	 * @throws IllegalArgumentException if the course is already scheduled,
+	 *                                  conflicts with a scheduled course, or is
+	 *                                  full
 	 */
 	public boolean addCourseToSchedule(String name, String section) {
-		
-		//check if course exists in catalog
-		if (this.getCourseFromCatalog(name, section) == null) {
-			return false;
-		}
-		
-		//check for course with same name in catalog
-		for (int i = 0; i < this.schedule.size(); i++) {
-			if (this.schedule.get(i).getName().equals(name)) {
-				throw new IllegalArgumentException("You are already enrolled in " + name);
-			}
-		}
-		//if tests above pass then added to schedule
-		this.schedule.add(this.schedule.size(), this.getCourseFromCatalog(name, section));
-		return true;
-		
+		return this.session.addCourse(name, section);
+	}
+	
+	/**
+	 * Adds course to schedule if a seat is open, or joins the section's
+	 * waitlist if it is full. The course is added when a seat is dropped and
+	 * this schedule is first in line, if it still fits the schedule then.
+	 * 
+	 * @param name name of course
+	 * @param section section of course
+	 * @return true if the course was added or the waitlist joined, false if it
+	 *         is not in the catalog
+	 * @throws IllegalArgumentException if the course is already scheduled,
+	 *                                  conflicts with a scheduled course, or
+	 *                                  is already waited for
+	 */
+	public boolean joinWaitlist(String name, String section) {
+		return this.session.joinWaitlist(name, section);
 	}
 	
 	/**
-	 * Removes course from schedule
+	 * Leaves the waitlist of a section.
+	 * 
+	 * @param name name of course
+	 * @param section section of course
+	 * @return true if the schedule was waiting for the section, false if not
+	 */
+	public boolean leaveWaitlist(String name, String section) {
+		return this.session.leaveWaitlist(name, section);
+	}
+	
+	/**
+	 * Removes course from schedule. Its seat goes to the first schedule
+	 * waiting for the section, if any.
 	 * 
 	 * @param name name of course
 	 * @param section section of course
 	 * @return true or false depending on if course exists or does not exist in schedule
 	 */
 	public boolean removeCourseFromSchedule(String name, String section) {
-		
-		//iterates through schedule
-		for (int i = 0; i < this.schedule.size(); i++) {
-			if (this.schedule.get(i).getName().equals(name) && 
-					//if found then remove the course and return true
-					this.schedule.get(i).getSection().equals(section)) {
-				this.schedule.remove(this.getCourseFromCatalog(name, section));
-				return true;
-			}
-		}
-		
-		return false;
-		
+		return this.session.removeCourse(name, section);
 	}
 
 	/**
 	 * Creates new empty schedule
 	 */
 	public void resetSchedule() {
-		//create new array that is empty
-		ArrayList<Course> newEmptySchedule = new ArrayList<Course>();
-		//set the schedule field to the new empty schedule objects
-		this.schedule = newEmptySchedule;
-		
+		this.session.resetSchedule();
 	}
 	
 	/**
@@ -310,12 +694,7 @@ public class WolfScheduler {
 	 * @throws IllegalArgumentException if input is null
 	 */
 	public void setScheduleTitle(String title) {
-		if (title == null) {
-			throw new IllegalArgumentException("Title cannot be null.");
-		} else {
-			this.title = title;
-		}
-		
+		this.session.setScheduleTitle(title);
 	}
 
 }
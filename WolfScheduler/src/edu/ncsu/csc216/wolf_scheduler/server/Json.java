@@ -0,0 +1,159 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Writes the JSON the server responds with. Responses are small and their
+ * shape is fixed, so they are written straight into a StringBuilder rather
+ * than built as a tree first.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+final class Json {
+
+	/**
+	 * Not used; every method is static.
+	 */
+	private Json() {
+	}
+
+	/**
+	 * Appends a string as a quoted JSON string, escaping quotes, backslashes,
+	 * and control characters.
+	 * 
+	 * @param out  builder to append to
+	 * @param text text to write, or null for JSON null
+	 * @return the builder
+	 */
+	static StringBuilder string(StringBuilder out, String text) {
+		if (text == null) {
+			return out.append("null");
+		}
+		out.append('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '"':
+				out.append("\\\"");
+				break;
+			case '\\':
+				out.append("\\\\");
+				break;
+			case '\n':
+				out.append("\\n");
+				break;
+			case '\r':
+				out.append("\\r");
+				break;
+			case '\t':
+				out.append("\\t");
+				break;
+			default:
+				if (c < ' ') {
+					out.append(String.format("\\u%04x", (int) c));
+				} else {
+					out.append(c);
+				}
+			}
+		}
+		return out.append('"');
+	}
+
+	/**
+	 * Appends a field name and its string value, with a comma before it
+	 * unless it is the first field of an object.
+	 * 
+	 * @param out   builder to append to
+	 * @param name  field name
+	 * @param value field value
+	 * @return the builder
+	 */
+	static StringBuilder field(StringBuilder out, String name, String value) {
+		return string(name(out, name), value);
+	}
+
+	/**
+	 * Appends a field name and its number value, with a comma before it
+	 * unless it is the first field of an object.
+	 * 
+	 * @param out   builder to append to
+	 * @param name  field name
+	 * @param value field value
+	 * @return the builder
+	 */
+	static StringBuilder field(StringBuilder out, String name, long value) {
+		return name(out, name).append(value);
+	}
+
+	/**
+	 * Appends a field name and its boolean value, with a comma before it
+	 * unless it is the first field of an object.
+	 * 
+	 * @param out   builder to append to
+	 * @param name  field name
+	 * @param value field value
+	 * @return the builder
+	 */
+	static StringBuilder field(StringBuilder out, String name, boolean value) {
+		return name(out, name).append(value);
+	}
+
+	/**
+	 * Appends a field name and colon, with a comma before it unless it is the
+	 * first field of an object or array.
+	 * 
+	 * @param out  builder to append to
+	 * @param name field name
+	 * @return the builder
+	 */
+	static StringBuilder name(StringBuilder out, String name) {
+		comma(out);
+		return string(out, name).append(':');
+	}
+
+	/**
+	 * Appends a comma unless the builder is at the start of an object or
+	 * array.
+	 * 
+	 * @param out builder to append to
+	 * @return the builder
+	 */
+	static StringBuilder comma(StringBuilder out) {
+		char last = out.length() == 0 ? '{' : out.charAt(out.length() - 1);
+		if (last != '{' && last != '[') {
+			out.append(',');
+		}
+		return out;
+	}
+
+	/**
+	 * Appends the fields of a course with every column the GUI shows, for
+	 * the caller to wrap in an object with any fields of its own.
+	 * 
+	 * @param out    builder to append to, inside an object
+	 * @param course course to write
+	 * @return the builder
+	 */
+	static StringBuilder courseFields(StringBuilder out, Course course) {
+		field(out, "name", course.getName());
+		field(out, "section", course.getSection());
+		field(out, "title", course.getTitle());
+		field(out, "credits", course.getCredits());
+		field(out, "instructor", course.getInstructorId());
+		field(out, "meeting", course.getMeetingString());
+		return field(out, "capacity", course.getCapacity());
+	}
+
+	/**
+	 * Returns an object with a single error message.
+	 * 
+	 * @param message error message
+	 * @return JSON text of the error
+	 */
+	static String error(String message) {
+		return field(new StringBuilder("{"), "error", message).append('}').toString();
+	}
+}
@@ -0,0 +1,686 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CatalogQuery;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleSession;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Serves a WolfScheduler over HTTP, for running it headless as the backend of
+ * a registration portal. Every client works in its own schedule session over
+ * the one shared catalog, so seats and waitlists are shared the same way as
+ * between sessions in one process. Requests and responses are JSON; request
+ * parameters may be sent in the query string or as a form body.
+ * 
+ * GET /catalog searches the catalog with the optional parameters name,
+ * title, instructor, days, from, and to, as in CatalogQuery, and returns one
+ * page of matches chosen by offset and limit, with their seats taken and
+ * waitlist lengths. POST /sessions opens a session and returns its id, which
+ * the session's other endpoints take in their path:
+ * 
+ * - GET /sessions/{id} returns the title and the courses in the schedule;
+ * - POST /sessions/{id}/courses adds the course given by name and section;
+ * - DELETE /sessions/{id}/courses removes the course given by name and section;
+ * - POST /sessions/{id}/reset removes every course;
+ * - POST or PUT /sessions/{id}/title sets the title given by title;
+ * - GET /sessions/{id}/export returns every column of every scheduled course;
+ * - DELETE /sessions/{id} gives back the session's seats and closes it.
+ * 
+ * Changes return the schedule as it is afterward. Errors return an object
+ * with an error message: 400 for invalid parameters, 404 for an unknown
+ * session or a course not in the catalog or schedule, 409 for a course that
+ * conflicts, is already scheduled, or is full, 503 when every session slot is
+ * taken, and 500 for anything unexpected.
+ * 
+ * Clients that go away without deleting their session would otherwise hold
+ * its seats forever, so a session unused for the idle timeout is closed as if
+ * it had been deleted, giving its seats to the sections' waitlists, and no
+ * more than the session limit are open at once.
+ * 
+ * Each request runs on its own virtual thread where the JDK has them (Java 21
+ * and later), found by reflection so the server still builds for Java 17,
+ * and otherwise on a fixed pool of platform threads. Handlers only wait on
+ * the session and seat locks, which are held briefly, so the fixed pool is
+ * sized by processors rather than by clients.
+ * 
+ * Small replies wait on the client's delayed acknowledgement, about 40 ms,
+ * unless TCP_NODELAY is on. The JDK's server only takes it from the
+ * sun.net.httpserver.nodelay system property, read once for the whole
+ * process when its first server is created, so main turns it on unless it is
+ * already set, and a program embedding the server should pass
+ * -Dsun.net.httpserver.nodelay=true at startup instead.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class SchedulerServer {
+
+	/** Port used when none is given */
+	public static final int DEFAULT_PORT = 8080;
+	/** Courses returned by a catalog search when no limit is given */
+	private static final int DEFAULT_LIMIT = 50;
+	/** Most courses returned by one catalog search */
+	private static final int MAX_LIMIT = 500;
+	/** Largest request body read, in bytes */
+	private static final int MAX_BODY = 64 * 1024;
+	/** Times a catalog search is retried when a reload happens during it */
+	private static final int SEARCH_ATTEMPTS = 3;
+	/** Most sessions open at once when no limit is given */
+	public static final int DEFAULT_MAX_SESSIONS = 10_000;
+	/** Time a session may go unused before it is closed, when none is given */
+	public static final long DEFAULT_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+	/** Longest time between sweeps for idle sessions, in milliseconds */
+	private static final long MAX_SWEEP_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	/** System property that turns on TCP_NODELAY for the JDK's HTTP server */
+	private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+	/** Log of requests that failed unexpectedly */
+	private static final Logger LOG = Logger.getLogger(SchedulerServer.class.getName());
+
+	/** scheduler every session shares */
+	private final WolfScheduler scheduler;
+	/** the HTTP server */
+	private final HttpServer server;
+	/** threads requests are handled on */
+	private final ExecutorService executor;
+	/** whether requests run on virtual threads */
+	private final boolean virtualThreads;
+	/** open sessions by id */
+	private final ConcurrentHashMap<String, OpenSession> sessions = new ConcurrentHashMap<String, OpenSession>();
+	/** sessions open or being opened, never above maxSessions */
+	private final AtomicInteger sessionSlots = new AtomicInteger();
+	/** most sessions open at once */
+	private final int maxSessions;
+	/** time a session may go unused before it is closed, in nanoseconds */
+	private final long idleNanos;
+	/** thread closing idle sessions */
+	private final ScheduledExecutorService sweeper;
+
+	/**
+	 * A session the server holds open and when a request last used it.
+	 */
+	private static final class OpenSession {
+
+		/** the session */
+		private final ScheduleSession session;
+		/** System.nanoTime of the last request for the session */
+		private volatile long lastUsed = System.nanoTime();
+
+		/**
+		 * Holds a newly opened session.
+		 * 
+		 * @param session the session
+		 */
+		private OpenSession(ScheduleSession session) {
+			this.session = session;
+		}
+	}
+
+	/**
+	 * Reply to a request: a status code and JSON body.
+	 */
+	private static final class Reply {
+
+		/** HTTP status code */
+		private final int status;
+		/** JSON body */
+		private final String body;
+
+		/**
+		 * Creates a reply.
+		 * 
+		 * @param status HTTP status code
+		 * @param body   JSON body
+		 */
+		private Reply(int status, String body) {
+			this.status = status;
+			this.body = body;
+		}
+	}
+
+	/**
+	 * Creates a server for the scheduler, bound to the given port but not yet
+	 * started, with the default session limit and idle timeout.
+	 * 
+	 * @param scheduler scheduler to serve
+	 * @param port      port to listen on, or 0 for any free port
+	 * @throws IOException if the port cannot be bound
+	 */
+	public SchedulerServer(WolfScheduler scheduler, int port) throws IOException {
+		this(scheduler, port, DEFAULT_MAX_SESSIONS, DEFAULT_IDLE_MILLIS);
+	}
+
+	/**
+	 * Creates a server for the scheduler, bound to the given port but not yet
+	 * started.
+	 * 
+	 * @param scheduler   scheduler to serve
+	 * @param port        port to listen on, or 0 for any free port
+	 * @param maxSessions most sessions open at once
+	 * @param idleMillis  time a session may go unused before it is closed
+	 * @throws IOException              if the port cannot be bound
+	 * @throws IllegalArgumentException if the limit or timeout is not positive
+	 */
+	public SchedulerServer(WolfScheduler scheduler, int port, int maxSessions, long idleMillis) throws IOException {
+		if (maxSessions <= 0 || idleMillis <= 0) {
+			throw new IllegalArgumentException("Invalid session limits.");
+		}
+		this.scheduler = scheduler;
+		this.maxSessions = maxSessions;
+		this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+		this.server = HttpServer.create(new InetSocketAddress(port), 0);
+		ExecutorService virtual = newVirtualThreadExecutor();
+		this.virtualThreads = virtual != null;
+		this.executor = virtual != null ? virtual
+				: Executors.newFixedThreadPool(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+		this.server.setExecutor(this.executor);
+		this.server.createContext("/catalog", exchange -> handle(exchange, this::catalog));
+		this.server.createContext("/sessions", exchange -> handle(exchange, this::sessions));
+		this.sweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "session-sweeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Starts accepting requests and sweeping for idle sessions. A session is
+	 * closed within a quarter of the idle timeout, or a minute, after it
+	 * times out.
+	 */
+	public void start() {
+		this.server.start();
+		long every = Math.max(1, Math.min(MAX_SWEEP_MILLIS, TimeUnit.NANOSECONDS.toMillis(this.idleNanos) / 4));
+		this.sweeper.scheduleWithFixedDelay(this::closeIdleSessions, every, every, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops accepting requests, waits up to the given time for requests in
+	 * progress, then stops the request threads.
+	 * 
+	 * @param delaySeconds seconds to wait for requests in progress
+	 */
+	public void stop(int delaySeconds) {
+		this.server.stop(delaySeconds);
+		this.executor.shutdown();
+		this.sweeper.shutdown();
+	}
+
+	/**
+	 * Returns the port the server listens on.
+	 * 
+	 * @return bound port
+	 */
+	public int getPort() {
+		return this.server.getAddress().getPort();
+	}
+
+	/**
+	 * Returns whether requests run on virtual threads.
+	 * 
+	 * @return true on a JDK with virtual threads
+	 */
+	public boolean usesVirtualThreads() {
+		return this.virtualThreads;
+	}
+
+	/**
+	 * Returns the number of open sessions.
+	 * 
+	 * @return open sessions
+	 */
+	public int getSessionCount() {
+		return this.sessions.size();
+	}
+
+	/**
+	 * Closes every session no request has used for the idle timeout, giving
+	 * its seats to the sections' waitlists.
+	 * 
+	 * @return number of sessions closed
+	 */
+	int closeIdleSessions() {
+		long now = System.nanoTime();
+		int closed = 0;
+		for (Map.Entry<String, OpenSession> entry : this.sessions.entrySet()) {
+			if (now - entry.getValue().lastUsed >= this.idleNanos && close(entry.getKey(), entry.getValue())) {
+				closed++;
+			}
+		}
+		return closed;
+	}
+
+	/**
+	 * Removes a session and closes it, unless another request already has.
+	 * 
+	 * @param id   session id
+	 * @param open session to close
+	 * @return true if this call closed it
+	 */
+	private boolean close(String id, OpenSession open) {
+		if (!this.sessions.remove(id, open)) {
+			return false;
+		}
+		this.sessionSlots.decrementAndGet();
+		//give the seats back to the sections' waitlists and stop rebuilding
+		//the session on reloads
+		open.session.close();
+		return true;
+	}
+
+	/**
+	 * Takes a slot for a new session if fewer than the limit are open.
+	 * 
+	 * @return true if a slot was taken
+	 */
+	private boolean takeSessionSlot() {
+		while (true) {
+			int open = this.sessionSlots.get();
+			if (open >= this.maxSessions) {
+				return false;
+			}
+			if (this.sessionSlots.compareAndSet(open, open + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Returns an executor that runs each task on a new virtual thread, if the
+	 * JDK has one.
+	 * 
+	 * @return the executor, or null before Java 21
+	 */
+	static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads a request's parameters, runs its route, and sends the reply.
+	 * Invalid parameters are answered with 400, and any other failure with
+	 * 500, rather than dropping the connection. The message of an unexpected
+	 * failure stays in the server's log instead of the reply.
+	 * 
+	 * @param exchange request and response
+	 * @param route    handler for the request's path
+	 * @throws IOException if the reply cannot be sent
+	 */
+	private void handle(HttpExchange exchange, Route route) throws IOException {
+		Reply reply;
+		try {
+			Map<String, String> params = parameters(exchange);
+			reply = params == null ? new Reply(413, Json.error("Request too large."))
+					: route.respond(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), params);
+		} catch (IllegalArgumentException e) {
+			reply = new Reply(400, Json.error(e.getMessage()));
+		} catch (RuntimeException e) {
+			//the client only learns that it failed, so keep the stack trace here
+			LOG.log(Level.SEVERE, "Request " + exchange.getRequestMethod() + " " + exchange.getRequestURI()
+					+ " failed", e);
+			reply = new Reply(500, Json.error("Internal server error."));
+		}
+		byte[] body = reply.body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(reply.status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	/**
+	 * Handler for the requests under one path.
+	 */
+	private interface Route {
+
+		/**
+		 * Answers a request.
+		 * 
+		 * @param method HTTP method
+		 * @param path   path of the request
+		 * @param params query and form parameters
+		 * @return the reply
+		 */
+		Reply respond(String method, String path, Map<String, String> params);
+	}
+
+	/**
+	 * Answers GET /catalog with one page of the courses matching the query
+	 * parameters.
+	 * 
+	 * @param method HTTP method
+	 * @param path   path of the request
+	 * @param params query parameters
+	 * @return matching courses, or an error
+	 */
+	private Reply catalog(String method, String path, Map<String, String> params) {
+		if (!"/catalog".equals(path)) {
+			return new Reply(404, Json.error("Not found."));
+		}
+		if (!"GET".equals(method)) {
+			return new Reply(405, Json.error("Method not allowed."));
+		}
+		CatalogQuery query = new CatalogQuery(params.get("name"), params.get("title"), params.get("instructor"),
+				params.get("days"), number(params, "from", CatalogQuery.EARLIEST),
+				number(params, "to", CatalogQuery.LATEST));
+		int offset = number(params, "offset", 0);
+		int limit = number(params, "limit", DEFAULT_LIMIT);
+		if (offset < 0 || limit < 0 || limit > MAX_LIMIT) {
+			throw new IllegalArgumentException("Invalid page.");
+		}
+
+		for (int attempt = 0; attempt < SEARCH_ATTEMPTS; attempt++) {
+			long version = this.scheduler.getCatalogVersion();
+			try {
+				int[] rows = this.scheduler.searchCatalog(query);
+				StringBuilder out = new StringBuilder("{");
+				Json.field(out, "version", version);
+				Json.field(out, "total", rows.length);
+				Json.field(out, "offset", offset);
+				Json.name(out, "courses").append('[');
+				for (int i = offset; i < rows.length && i < offset + limit; i++) {
+					Course course = this.scheduler.getCatalogCourse(rows[i]);
+					Json.courseFields(Json.comma(out).append('{'), course);
+					Json.field(out, "enrolled",
+							this.scheduler.getEnrolledCount(course.getName(), course.getSection()));
+					Json.field(out, "waitlist",
+							this.scheduler.getWaitlistLength(course.getName(), course.getSection()));
+					out.append('}');
+				}
+				out.append("]}");
+				//rows read across a reload may be from either catalog
+				if (version == this.scheduler.getCatalogVersion()) {
+					return new Reply(200, out.toString());
+				}
+			} catch (IllegalArgumentException e) {
+				//the catalog shrank under the search; try again
+			}
+		}
+		return new Reply(503, Json.error("The catalog is being reloaded."));
+	}
+
+	/**
+	 * Answers requests under /sessions.
+	 * 
+	 * @param method HTTP method
+	 * @param path   path of the request
+	 * @param params query and form parameters
+	 * @return the session's schedule, or an error
+	 */
+	private Reply sessions(String method, String path, Map<String, String> params) {
+		if (!"/sessions".equals(path) && !path.startsWith("/sessions/")) {
+			return new Reply(404, Json.error("Not found."));
+		}
+		String[] parts = path.substring("/sessions".length()).split("/");
+		//parts[0] is the empty string before the first slash
+		if (parts.length <= 1) {
+			if (!"POST".equals(method)) {
+				return new Reply(405, Json.error("Method not allowed."));
+			}
+			//sessions past their timeout may not have been swept yet
+			if (!takeSessionSlot() && (closeIdleSessions() == 0 || !takeSessionSlot())) {
+				return new Reply(503, Json.error("Too many open sessions."));
+			}
+			String id = UUID.randomUUID().toString();
+			ScheduleSession session = this.scheduler.openSession();
+			this.sessions.put(id, new OpenSession(session));
+			return new Reply(201, schedule(id, session));
+		}
+		if (parts.length > 3) {
+			return new Reply(404, Json.error("Not found."));
+		}
+		String id = parts[1];
+		OpenSession open = this.sessions.get(id);
+		if (open == null) {
+			return new Reply(404, Json.error("No such session."));
+		}
+		open.lastUsed = System.nanoTime();
+		ScheduleSession session = open.session;
+		String action = parts.length == 3 ? parts[2] : "";
+
+		switch (method + " " + action) {
+		case "GET ":
+			return new Reply(200, schedule(id, session));
+		case "DELETE ":
+			close(id, open);
+			return new Reply(200, "{}");
+		case "POST courses":
+			return addCourse(id, session, required(params, "name"), required(params, "section"));
+		case "DELETE courses":
+			if (!session.removeCourse(required(params, "name"), required(params, "section"))) {
+				return new Reply(404, Json.error("The course is not in the schedule."));
+			}
+			return new Reply(200, schedule(id, session));
+		case "POST reset":
+			session.resetSchedule();
+			return new Reply(200, schedule(id, session));
+		case "POST title":
+		case "PUT title":
+			try {
+				session.setScheduleTitle(params.get("title"));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Invalid title.");
+			}
+			return new Reply(200, schedule(id, session));
+		case "GET export":
+			return new Reply(200, export(session));
+		default:
+			return new Reply(action.matches("|courses|reset|title|export") ? 405 : 404,
+					Json.error("Not found or method not allowed."));
+		}
+	}
+
+	/**
+	 * Adds a course to a session's schedule.
+	 * 
+	 * @param id      session id
+	 * @param session session to add to
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return the schedule, 404 if the course is not in the catalog, or 409
+	 *         if it cannot be added
+	 */
+	private Reply addCourse(String id, ScheduleSession session, String name, String section) {
+		try {
+			if (!session.addCourse(name, section)) {
+				return new Reply(404, Json.error("The course is not in the catalog."));
+			}
+		} catch (IllegalArgumentException e) {
+			//an idle session can be closed while its request is running
+			if (session.isClosed()) {
+				return new Reply(404, Json.error("No such session."));
+			}
+			return new Reply(409, Json.error(e.getMessage()));
+		}
+		return new Reply(200, schedule(id, session));
+	}
+
+	/**
+	 * Writes a session's title, version, and scheduled courses.
+	 * 
+	 * @param id      session id
+	 * @param session session to write
+	 * @return JSON text of the schedule
+	 */
+	private static String schedule(String id, ScheduleSession session) {
+		StringBuilder out = new StringBuilder("{");
+		Json.field(out, "session", id);
+		Json.field(out, "title", session.getScheduleTitle());
+		Json.field(out, "version", session.getVersion());
+		Json.name(out, "courses").append('[');
+		for (String[] row : session.getScheduledCourses()) {
+			Json.comma(out).append('{');
+			Json.field(out, "name", row[0]);
+			Json.field(out, "section", row[1]);
+			Json.field(out, "title", row[2]);
+			out.append('}');
+		}
+		return out.append("]}").toString();
+	}
+
+	/**
+	 * Writes a session's title and every column of every scheduled course,
+	 * as exportSchedule would save them.
+	 * 
+	 * @param session session to write
+	 * @return JSON text of the export
+	 */
+	private static String export(ScheduleSession session) {
+		StringBuilder out = new StringBuilder("{");
+		Json.field(out, "title", session.getScheduleTitle());
+		Json.name(out, "courses").append('[');
+		List<Course> courses = session.getCourses();
+		for (Course course : courses) {
+			Json.courseFields(Json.comma(out).append('{'), course).append('}');
+		}
+		return out.append("]}").toString();
+	}
+
+	/**
+	 * Reads the parameters from the query string and, for a form body, the
+	 * body. A body parameter replaces a query parameter of the same name.
+	 * 
+	 * @param exchange request
+	 * @return parameters by name, or null if the body is too large
+	 * @throws IOException if the body cannot be read
+	 */
+	private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+		Map<String, String> params = new HashMap<String, String>();
+		parse(exchange.getRequestURI().getRawQuery(), params);
+		try (InputStream in = exchange.getRequestBody()) {
+			byte[] body = in.readNBytes(MAX_BODY + 1);
+			if (body.length > MAX_BODY) {
+				return null;
+			}
+			parse(new String(body, StandardCharsets.UTF_8), params);
+		}
+		return params;
+	}
+
+	/**
+	 * Adds the name=value pairs of a URL encoded string to the parameters.
+	 * 
+	 * @param encoded query string or form body, may be null
+	 * @param params  parameters to add to
+	 * @throws IllegalArgumentException if the encoding is invalid
+	 */
+	static void parse(String encoded, Map<String, String> params) {
+		if (encoded == null || encoded.isEmpty()) {
+			return;
+		}
+		for (String pair : encoded.split("&")) {
+			if (pair.isEmpty()) {
+				continue;
+			}
+			int equals = pair.indexOf('=');
+			String name = equals < 0 ? pair : pair.substring(0, equals);
+			String value = equals < 0 ? "" : pair.substring(equals + 1);
+			params.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+					URLDecoder.decode(value, StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Returns a parameter that must be given.
+	 * 
+	 * @param params parameters
+	 * @param name   name of the parameter
+	 * @return its value
+	 * @throws IllegalArgumentException if the parameter is missing
+	 */
+	private static String required(Map<String, String> params, String name) {
+		String value = params.get(name);
+		if (value == null) {
+			throw new IllegalArgumentException("Missing " + name + ".");
+		}
+		return value;
+	}
+
+	/**
+	 * Returns a number parameter, or a default if it is missing or blank.
+	 * 
+	 * @param params       parameters
+	 * @param name         name of the parameter
+	 * @param defaultValue value if the parameter is missing
+	 * @return its value
+	 * @throws IllegalArgumentException if the parameter is not a number
+	 */
+	private static int number(Map<String, String> params, String name, int defaultValue) {
+		String value = params.get(name);
+		if (value == null || value.trim().isEmpty()) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid " + name + ".");
+		}
+	}
+
+	/**
+	 * Turns on TCP_NODELAY for every JDK HTTP server in the process, unless the
+	 * property was set on the command line. Only takes effect before the first
+	 * server is created, so it is called at startup by the programs that own
+	 * the process.
+	 */
+	static void preferNoDelay() {
+		//the server writes the headers and body of a reply separately, and
+		//without this the body waits on the client's delayed ACK
+		if (System.getProperty(NODELAY_PROPERTY) == null) {
+			System.setProperty(NODELAY_PROPERTY, "true");
+		}
+	}
+
+	/**
+	 * Starts a server over the catalog in the given file and runs until the
+	 * process is stopped.
+	 * 
+	 * @param args catalog file, then an optional port
+	 */
+	public static void main(String[] args) {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("Usage: SchedulerServer <catalog file> [port]");
+			return;
+		}
+		preferNoDelay();
+		try {
+			int port = args.length == 2 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+			WolfScheduler scheduler = WolfScheduler.fromSnapshotOrFile(args[0]);
+			SchedulerServer server = new SchedulerServer(scheduler, port);
+			server.start();
+			System.out.println("Serving " + scheduler.getCatalogSize() + " courses on port " + server.getPort()
+					+ (server.usesVirtualThreads() ? " on virtual threads" : " on platform threads"));
+		} catch (IllegalArgumentException | IOException e) {
+			System.err.println("Cannot start server: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,288 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.ui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Table model that reads a WolfScheduler's catalog or schedule through to the
+ * scheduler instead of copying it. Catalog cells are fetched one at a time as
+ * the table paints them, so a large catalog is never laid out in full. The
+ * schedule is read from the scheduler's shared table, which is only rebuilt
+ * when the schedule changes.
+ * 
+ * Calling refresh after a change fires events only for what changed: nothing
+ * when the catalog or schedule version is the same as last time, the rows
+ * added or removed when a course is added or removed, and a full redraw only
+ * when the catalog itself is reloaded.
+ * 
+ * While a catalog is loading in the background, the catalog view can show the
+ * courses read so far, appended in batches as they arrive, until the loaded
+ * catalog is installed in the scheduler.
+ * 
+ * The catalog view can also be narrowed to the rows of a catalog search.
+ * The rows are mapped through to the catalog, so a filter costs one int per
+ * match and showing it redraws only the rows on screen.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+class SchedulerTableModel extends AbstractTableModel {
+
+	/** ID number used for object serialization. */
+	private static final long serialVersionUID = 1L;
+
+	/** What a table shows */
+	enum View {
+		/** name, section, and title of every course in the catalog */
+		CATALOG,
+		/** name, section, and title of every scheduled course */
+		SCHEDULE,
+		/** every column of every scheduled course */
+		FULL_SCHEDULE
+	}
+
+	/** Column names for the table; the short views show the first three */
+	private static final String[] COLUMN_NAMES = {"Name", "Section", "Title", "Credits", "Instructor",
+			"Meeting Time"};
+
+	/** scheduler the rows are read from */
+	private final WolfScheduler scheduler;
+	/** what the table shows */
+	private final View view;
+	/** number of columns shown */
+	private final int columns;
+	/** version of the catalog or schedule last shown, -1 before the first refresh */
+	private long version = -1;
+	/** number of rows last announced to listeners */
+	private int rowCount;
+	/** schedule rows last shown; shared with the scheduler and never changed */
+	private String[][] scheduleRows = new String[0][0];
+	/** courses read so far by a catalog load in progress, shown instead of the catalog */
+	private final ArrayList<Course> loading = new ArrayList<Course>();
+	/** catalog rows shown by a search, or null to show the whole catalog */
+	private int[] filter;
+
+	/**
+	 * Creates a model of the given view and loads its rows.
+	 * 
+	 * @param scheduler scheduler to read from
+	 * @param view      what the table shows
+	 */
+	SchedulerTableModel(WolfScheduler scheduler, View view) {
+		this.scheduler = scheduler;
+		this.view = view;
+		this.columns = view == View.FULL_SCHEDULE ? COLUMN_NAMES.length : 3;
+		refresh();
+	}
+
+	/**
+	 * Returns the number of columns in the table.
+	 * 
+	 * @return the number of columns in the table.
+	 */
+	@Override
+	public int getColumnCount() {
+		return this.columns;
+	}
+
+	/**
+	 * Returns the number of rows in the table.
+	 * 
+	 * @return the number of rows in the table.
+	 */
+	@Override
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Returns the column name at the given index.
+	 * 
+	 * @param col column index
+	 * @return the column name at the given column.
+	 */
+	@Override
+	public String getColumnName(int col) {
+		return COLUMN_NAMES[col];
+	}
+
+	/**
+	 * Returns the data at the given {row, col} index.
+	 * 
+	 * @param row row index
+	 * @param col column index
+	 * @return the data at the given location, or null if there is none
+	 */
+	@Override
+	public Object getValueAt(int row, int col) {
+		if (this.view != View.CATALOG) {
+			if (row < 0 || row >= this.scheduleRows.length) {
+				return null;
+			}
+			return this.scheduleRows[row][col];
+		}
+		if (!this.loading.isEmpty()) {
+			if (row < 0 || row >= this.loading.size()) {
+				return null;
+			}
+			Course course = this.loading.get(row);
+			return col == 0 ? course.getName() : col == 1 ? course.getSection() : course.getTitle();
+		}
+		if (this.filter != null) {
+			if (row < 0 || row >= this.filter.length) {
+				return null;
+			}
+			row = this.filter[row];
+		}
+		try {
+			return this.scheduler.getCatalogCell(row, col);
+		} catch (IllegalArgumentException e) {
+			//the catalog shrank since the last refresh, which will redraw it
+			return null;
+		}
+	}
+
+	/**
+	 * Catches up with the scheduler and fires events for what changed since
+	 * the last refresh.
+	 */
+	void refresh() {
+		if (this.view == View.CATALOG) {
+			if (!this.loading.isEmpty()) {
+				//endLoading catches up once the load finishes
+				return;
+			}
+			long current = this.scheduler.getCatalogVersion();
+			if (current != this.version) {
+				this.version = current;
+				//the rows of a search point into the old catalog
+				this.filter = null;
+				this.rowCount = this.scheduler.getCatalogSize();
+				fireTableDataChanged();
+			}
+			return;
+		}
+
+		//read the version first so a change made while reading is caught next time
+		long current = this.scheduler.getScheduleVersion();
+		if (current == this.version) {
+			return;
+		}
+		this.version = current;
+		String[][] before = this.scheduleRows;
+		fireScheduleChanges(before, this.scheduler.getFullScheduledCourses());
+	}
+
+	/**
+	 * Shows only the given rows of the catalog, or the whole catalog again.
+	 * Ignored while a catalog is loading, since the rows are of the catalog
+	 * in the scheduler rather than the one being shown.
+	 * 
+	 * @param rows catalog rows from searchCatalog, or null for every row
+	 */
+	void setFilter(int[] rows) {
+		if (this.view != View.CATALOG || !this.loading.isEmpty()) {
+			return;
+		}
+		this.filter = rows;
+		this.rowCount = rows != null ? rows.length : this.scheduler.getCatalogSize();
+		fireTableDataChanged();
+	}
+	
+	/**
+	 * Returns whether the catalog view is narrowed to the rows of a search.
+	 * 
+	 * @return true if a filter is shown
+	 */
+	boolean isFiltered() {
+		return this.filter != null;
+	}
+
+	/**
+	 * Shows more courses from a catalog that is still loading, below the ones
+	 * already shown. The first batch replaces the catalog on display.
+	 * 
+	 * @param courses courses read since the last batch
+	 */
+	void appendLoading(List<Course> courses) {
+		if (courses.isEmpty()) {
+			return;
+		}
+		boolean first = this.loading.isEmpty();
+		int start = this.loading.size();
+		this.loading.addAll(courses);
+		this.rowCount = this.loading.size();
+		if (first) {
+			fireTableDataChanged();
+		} else {
+			fireTableRowsInserted(start, this.rowCount - 1);
+		}
+	}
+
+	/**
+	 * Stops showing loaded courses and shows the scheduler's catalog again,
+	 * whether the load installed a new catalog or was cancelled.
+	 */
+	void endLoading() {
+		this.loading.clear();
+		this.loading.trimToSize();
+		//force a redraw, since a cancelled load leaves the catalog version alone
+		this.version = -1;
+		refresh();
+	}
+
+	/**
+	 * Fires the smallest events that turn the old rows into the new ones. The
+	 * rows the two share at the start and end are left alone; the rows between
+	 * are reported as updated if their count is the same, and otherwise as
+	 * deleted and then inserted. The rows shown are replaced as the events go,
+	 * so a listener reading the model during an event sees the rows that event
+	 * describes: the old rows without the deleted ones during a delete, and
+	 * the new rows during an insert or update.
+	 * 
+	 * @param before rows shown until now
+	 * @param after  rows to show
+	 */
+	private void fireScheduleChanges(String[][] before, String[][] after) {
+		int prefix = 0;
+		while (prefix < before.length && prefix < after.length && Arrays.equals(before[prefix], after[prefix])) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < before.length - prefix && suffix < after.length - prefix
+				&& Arrays.equals(before[before.length - 1 - suffix], after[after.length - 1 - suffix])) {
+			suffix++;
+		}
+		int removed = before.length - prefix - suffix;
+		int added = after.length - prefix - suffix;
+
+		if (removed > 0 && removed == added) {
+			this.scheduleRows = after;
+			this.rowCount = after.length;
+			fireTableRowsUpdated(prefix, prefix + added - 1);
+			return;
+		}
+		if (removed > 0) {
+			//the old rows around the deleted ones, which are also the shared rows of the new ones
+			String[][] kept = new String[before.length - removed][];
+			System.arraycopy(before, 0, kept, 0, prefix);
+			System.arraycopy(before, before.length - suffix, kept, prefix, suffix);
+			this.scheduleRows = kept;
+			this.rowCount = kept.length;
+			fireTableRowsDeleted(prefix, prefix + removed - 1);
+		}
+		this.scheduleRows = after;
+		this.rowCount = after.length;
+		if (added > 0) {
+			fireTableRowsInserted(prefix, prefix + added - 1);
+		}
+	}
+}
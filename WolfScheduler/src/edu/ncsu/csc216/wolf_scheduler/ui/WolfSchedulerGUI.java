@@ -4,11 +4,26 @@ import java.awt.BorderLayout;
 import java.awt.CardLayout;
 import java.awt.Container;
 import java.awt.Dimension;
+import java.awt.FlowLayout;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -17,18 +32,25 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordReader;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CatalogQuery;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleEvent;
 import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
 
 /**
@@ -57,6 +79,16 @@ public class WolfSchedulerGUI extends JFrame  {
 	private CardLayout cardLayout;
 	/** Reference to the WolfScheduler */
 	private WolfScheduler scheduler;
+	/** Panel showing the progress of a catalog load */
+	private JPanel pnlLoading;
+	/** Progress of a catalog load, by bytes read */
+	private JProgressBar barLoading;
+	/** Label for the number of courses loaded so far */
+	private JLabel lblLoading;
+	/** Button for cancelling a catalog load */
+	private JButton btnCancelLoad;
+	/** Catalog load in progress, or null */
+	private CatalogLoader loader;
 
 	/**
 	 * Constructs the WolfSchedulerGUI and sets up the GUI 
@@ -71,17 +103,24 @@ public class WolfSchedulerGUI extends JFrame  {
 		setTitle(APP_TITLE);
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
 		
-		//Construct the underlying model object
+		//Construct the underlying model object with an empty catalog, so the
+		//window shows right away; the catalog loads in the background
+		String catalogFile = null;
 		try {
-			scheduler = new WolfScheduler(getFileName(true));
+			catalogFile = getFileName(true);
 		} catch (IllegalStateException e) {
 			System.exit(1);
 		}
+		scheduler = new WolfScheduler();
 		
 		//Construct panels
 		pnlScheduler = new SchedulerPanel();
 		pnlSchedule = new SchedulePanel();
 		
+		//Keep the tables current when the schedule changes outside a click,
+		//such as a course promoted from a waitlist
+		scheduler.subscribe(new ScheduleEventSubscriber());
+		
 		//Create JPanel that will hold the rest of the GUI information.
 		//The JPanel utilizes a CardLayout, which stacks several different
 		//JPanels.  User actions lead to switching which "Card" is visible.
@@ -92,12 +131,153 @@ public class WolfSchedulerGUI extends JFrame  {
 		panel.add(pnlSchedule, SCHEDULE_PANEL);
 		cardLayout.show(panel, SCHEDULER_PANEL);
 		
+		//Set up the panel that shows catalog load progress
+		barLoading = new JProgressBar(0, 100);
+		barLoading.setStringPainted(true);
+		lblLoading = new JLabel("");
+		btnCancelLoad = new JButton("Cancel");
+		btnCancelLoad.addActionListener(e -> {
+			if (loader != null) {
+				loader.cancel(false);
+			}
+		});
+		pnlLoading = new JPanel(new BorderLayout());
+		pnlLoading.add(lblLoading, BorderLayout.WEST);
+		pnlLoading.add(barLoading, BorderLayout.CENTER);
+		pnlLoading.add(btnCancelLoad, BorderLayout.EAST);
+		pnlLoading.setVisible(false);
+		
 		//Add panel to the container
 		Container c = getContentPane();
 		c.add(panel, BorderLayout.CENTER);
+		c.add(pnlLoading, BorderLayout.SOUTH);
 		
 		//Set the GUI visible
 		setVisible(true);
+		
+		loadCatalog(catalogFile);
+	}
+	
+	/**
+	 * Starts loading the catalog from the given file in the background. The
+	 * catalog table fills in as courses are read, and the catalog is installed
+	 * in the scheduler once the whole file has been read.
+	 * @param fileName file to load the catalog from
+	 */
+	private void loadCatalog(String fileName) {
+		loader = new CatalogLoader(fileName);
+		loader.addPropertyChangeListener(e -> {
+			if ("progress".equals(e.getPropertyName())) {
+				barLoading.setValue((Integer) e.getNewValue());
+			}
+		});
+		barLoading.setValue(0);
+		lblLoading.setText("Loading catalog ");
+		pnlLoading.setVisible(true);
+		pnlScheduler.btnAddCourse.setEnabled(false);
+		loader.execute();
+	}
+	
+	/**
+	 * Reads the catalog on a background thread. Courses are handed to the
+	 * event dispatch thread as they are read, where SwingWorker delivers them
+	 * in batches to the catalog table, so the first rows show long before the
+	 * file is read. Progress is the share of the file's bytes read so far.
+	 * Cancelling stops the read and keeps the catalog the scheduler already
+	 * had.
+	 * 
+	 * @author Jay Shah (jsshah)
+	 */
+	private class CatalogLoader extends SwingWorker<List<Course>, Course> {
+		/** File the catalog is read from */
+		private final String fileName;
+		
+		/**
+		 * Creates a loader for the given file.
+		 * @param fileName file the catalog is read from
+		 */
+		CatalogLoader(String fileName) {
+			this.fileName = fileName;
+		}
+		
+		/**
+		 * Reads every valid course in the file until done or cancelled.
+		 * @return courses read, in file order
+		 * @throws IOException if the file cannot be read
+		 */
+		@Override
+		protected List<Course> doInBackground() throws IOException {
+			long total = Math.max(1, Files.size(Paths.get(fileName)));
+			List<Course> courses = new ArrayList<Course>();
+			try (CourseRecordReader reader = new CourseRecordReader(fileName)) {
+				while (!isCancelled() && reader.hasNext()) {
+					Course course = reader.share(reader.next());
+					courses.add(course);
+					publish(course);
+					setProgress((int) Math.min(100, reader.getBytesRead() * 100 / total));
+				}
+			}
+			return courses;
+		}
+		
+		/**
+		 * Shows a batch of courses in the catalog table.
+		 * @param chunk courses read since the last batch
+		 */
+		@Override
+		protected void process(List<Course> chunk) {
+			//a batch that arrives after the load ended is already in the catalog
+			if (loader != this || isDone()) {
+				return;
+			}
+			pnlScheduler.catalogTableModel.appendLoading(chunk);
+			lblLoading.setText("Loaded " + pnlScheduler.catalogTableModel.getRowCount() + " courses ");
+		}
+		
+		/**
+		 * Installs the loaded catalog, unless the load was cancelled or failed.
+		 */
+		@Override
+		protected void done() {
+			try {
+				if (!isCancelled()) {
+					scheduler.loadCatalog(get(), fileName);
+				}
+			} catch (ExecutionException e) {
+				JOptionPane.showMessageDialog(WolfSchedulerGUI.this, failureMessage(e.getCause()));
+			} catch (IllegalArgumentException e) {
+				JOptionPane.showMessageDialog(WolfSchedulerGUI.this, e.getMessage());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			loader = null;
+			pnlScheduler.catalogTableModel.endLoading();
+			pnlScheduler.updateTables();
+			pnlScheduler.prepareSearch();
+			pnlScheduler.btnAddCourse.setEnabled(true);
+			pnlLoading.setVisible(false);
+		}
+
+		/**
+		 * Returns the message to show for a load that failed: "Cannot find
+		 * file." if the file is missing, and otherwise what went wrong, such as
+		 * an error partway through reading it.
+		 * @param cause exception the load failed with
+		 * @return message for the user
+		 */
+		private String failureMessage(Throwable cause) {
+			if (cause instanceof FileNotFoundException || cause instanceof NoSuchFileException) {
+				return "Cannot find file.";
+			}
+			if (cause instanceof IllegalArgumentException) {
+				return cause.getMessage();
+			}
+			//a read error in the middle of the file arrives wrapped by the reader
+			if (cause instanceof UncheckedIOException && cause.getCause() != null) {
+				cause = cause.getCause();
+			}
+			return "Cannot load file: " + (cause.getMessage() != null ? cause.getMessage() : cause.toString());
+		}
 	}
 	
 	/**
@@ -133,6 +313,60 @@ public class WolfSchedulerGUI extends JFrame  {
 		new WolfSchedulerGUI();
 	}
 	
+	/**
+	 * Refreshes the tables on the event dispatch thread each time the
+	 * scheduler reports a change. The next event is only requested once the
+	 * tables have caught up, so a busy scheduler never floods the event
+	 * dispatch thread; the table models catch up by version, so an event lost
+	 * in between costs nothing.
+	 * 
+	 * @author Jay Shah (jsshah)
+	 */
+	private class ScheduleEventSubscriber implements Flow.Subscriber<ScheduleEvent> {
+		/** Subscription to the scheduler's events */
+		private Flow.Subscription subscription;
+		
+		/**
+		 * Requests the first event.
+		 * @param subscription subscription to the scheduler's events
+		 */
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request(1);
+		}
+		
+		/**
+		 * Refreshes the tables and then requests the next event.
+		 * @param event change to the schedule
+		 */
+		@Override
+		public void onNext(ScheduleEvent event) {
+			SwingUtilities.invokeLater(() -> {
+				pnlScheduler.updateTables();
+				pnlSchedule.updateFinalizedTable();
+				subscription.request(1);
+			});
+		}
+		
+		/**
+		 * Stops refreshing; the tables still refresh after each click.
+		 * @param throwable failure of the subscription
+		 */
+		@Override
+		public void onError(Throwable throwable) {
+			//nothing to clean up
+		}
+		
+		/**
+		 * Stops refreshing; the tables still refresh after each click.
+		 */
+		@Override
+		public void onComplete() {
+			//nothing to clean up
+		}
+	}
+	
 	/**
 	 * Inner class that creates the look and behavior for the {@link JPanel} that 
 	 * shows the list of requirements.
@@ -142,6 +376,8 @@ public class WolfSchedulerGUI extends JFrame  {
 	private class SchedulerPanel extends JPanel implements ActionListener {
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
+		/** Milliseconds to wait after a keystroke in the search bar before searching */
+		private static final long SEARCH_DELAY = 150;
 		/** Button for adding the selected course in the catalog to the schedule */
 		private JButton btnAddCourse;
 		/** Button for removing the selected Course from the schedule */
@@ -155,9 +391,9 @@ public class WolfSchedulerGUI extends JFrame  {
 		/** JTable for displaying the schdule of Courses */
 		private JTable tableSchedule;
 		/** TableModel for catalog */
-		private CourseTableModel catalogTableModel;
+		private SchedulerTableModel catalogTableModel;
 		/** TableModel for schedule */
-		private CourseTableModel scheduleTableModel;
+		private SchedulerTableModel scheduleTableModel;
 		/** Student's Schedule title label */
 		private JLabel lblScheduleTitle;
 		/** Student's Schedule text field */
@@ -192,6 +428,30 @@ public class WolfSchedulerGUI extends JFrame  {
 		private JLabel lblCredits = new JLabel("");
 		/** Label for Course Details meeting */
 		private JLabel lblMeeting = new JLabel("");
+		/** Search field for the start of the course name */
+		private JTextField txtSearchName = new JTextField(6);
+		/** Search field for words in the course title */
+		private JTextField txtSearchTitle = new JTextField(10);
+		/** Search field for the start of the instructor id */
+		private JTextField txtSearchInstructor = new JTextField(6);
+		/** Search field for the days a course may meet on */
+		private JTextField txtSearchDays = new JTextField(4);
+		/** Search field for the earliest start time */
+		private JTextField txtSearchFrom = new JTextField(4);
+		/** Search field for the latest end time */
+		private JTextField txtSearchTo = new JTextField(4);
+		/** Label with the number of courses found, or why the search is invalid */
+		private JLabel lblSearchCount = new JLabel("");
+		/** Thread the catalog is searched on, so typing never waits on a search */
+		private final ScheduledExecutorService searchExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "catalog-search");
+			thread.setDaemon(true);
+			return thread;
+		});
+		/** Search waiting out the typing delay, or null */
+		private ScheduledFuture<?> pendingSearch;
+		/** Number of searches started; a result is only shown if it is from the latest */
+		private long searchCount;
 		
 		/**
 		 * Creates the requirements list.
@@ -238,7 +498,7 @@ public class WolfSchedulerGUI extends JFrame  {
 			pnlActions.setToolTipText("Scheduler Actions");
 						
 			//Set up Catalog table
-			catalogTableModel = new CourseTableModel(true);
+			catalogTableModel = new SchedulerTableModel(scheduler, SchedulerTableModel.View.CATALOG);
 			tableCatalog = new JTable(catalogTableModel) {
 				private static final long serialVersionUID = 1L;
 				
@@ -263,6 +523,10 @@ public class WolfSchedulerGUI extends JFrame  {
 
 				@Override
 				public void valueChanged(ListSelectionEvent e) {
+					//a new search or catalog clears the selection
+					if (tableCatalog.getSelectedRow() == -1) {
+						return;
+					}
 					String name = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 0).toString();
 					String section = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 1).toString();
 					Course c = scheduler.getCourseFromCatalog(name, section);
@@ -277,8 +541,52 @@ public class WolfSchedulerGUI extends JFrame  {
 			scrollCatalog.setBorder(borderCatalog);
 			scrollCatalog.setToolTipText("Course Catalog");
 			
+			//Set up the search bar above the catalog; each keystroke restarts
+			//a short delay, and the search runs once typing pauses
+			JPanel pnlSearch = new JPanel(new FlowLayout(FlowLayout.LEFT));
+			pnlSearch.add(new JLabel("Course: "));
+			pnlSearch.add(txtSearchName);
+			pnlSearch.add(new JLabel("Title: "));
+			pnlSearch.add(txtSearchTitle);
+			pnlSearch.add(new JLabel("Instructor: "));
+			pnlSearch.add(txtSearchInstructor);
+			pnlSearch.add(new JLabel("Days: "));
+			pnlSearch.add(txtSearchDays);
+			pnlSearch.add(new JLabel("From: "));
+			pnlSearch.add(txtSearchFrom);
+			pnlSearch.add(new JLabel("To: "));
+			pnlSearch.add(txtSearchTo);
+			pnlSearch.add(lblSearchCount);
+			DocumentListener searchListener = new DocumentListener() {
+				
+				@Override
+				public void insertUpdate(DocumentEvent e) {
+					scheduleSearch(SEARCH_DELAY);
+				}
+				
+				@Override
+				public void removeUpdate(DocumentEvent e) {
+					scheduleSearch(SEARCH_DELAY);
+				}
+				
+				@Override
+				public void changedUpdate(DocumentEvent e) {
+					scheduleSearch(SEARCH_DELAY);
+				}
+			};
+			JTextField[] searchFields = {txtSearchName, txtSearchTitle, txtSearchInstructor, txtSearchDays,
+					txtSearchFrom, txtSearchTo};
+			for (JTextField field : searchFields) {
+				field.getDocument().addDocumentListener(searchListener);
+			}
+			pnlSearch.setToolTipText("Search the catalog; days from MTWHF, times as 0830");
+			
+			JPanel pnlCatalog = new JPanel(new BorderLayout());
+			pnlCatalog.add(pnlSearch, BorderLayout.NORTH);
+			pnlCatalog.add(scrollCatalog, BorderLayout.CENTER);
+			
 			//Set up Schedule table
-			scheduleTableModel = new CourseTableModel(false);
+			scheduleTableModel = new SchedulerTableModel(scheduler, SchedulerTableModel.View.SCHEDULE);
 			tableSchedule = new JTable(scheduleTableModel);
 			tableSchedule.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 			tableSchedule.setPreferredScrollableViewportSize(new Dimension(500, 500));
@@ -324,7 +632,7 @@ public class WolfSchedulerGUI extends JFrame  {
 			pnlCourseDetails.setBorder(borderCourseDetails);
 			pnlCourseDetails.setToolTipText("Course Details");
 			
-			add(scrollCatalog);
+			add(pnlCatalog);
 			add(pnlActions);
 			add(scrollSchedule);
 			add(pnlCourseDetails);
@@ -377,11 +685,93 @@ public class WolfSchedulerGUI extends JFrame  {
 		}
 		
 		/**
-		 * Updates the catalog and schedule tables.
+		 * Updates the catalog and schedule tables. Each table only redraws the
+		 * rows that changed, and the catalog not at all unless it was reloaded.
 		 */
 		private void updateTables() {
-			catalogTableModel.updateData();
-			scheduleTableModel.updateData();
+			boolean filtered = catalogTableModel.isFiltered();
+			catalogTableModel.refresh();
+			scheduleTableModel.refresh();
+			//a reload drops the search's rows, so search the new catalog
+			if (filtered && !catalogTableModel.isFiltered()) {
+				scheduleSearch(0);
+			}
+		}
+		
+		/**
+		 * Builds the catalog's search indexes in the background, so the first
+		 * search after a load is as quick as the rest, then runs any search
+		 * typed while the catalog was loading.
+		 */
+		private void prepareSearch() {
+			searchExecutor.execute(() -> scheduler.searchCatalog(new CatalogQuery(null)));
+			scheduleSearch(0);
+		}
+		
+		/**
+		 * Searches the catalog for what is in the search fields after the given
+		 * delay, replacing any search still waiting. The search runs on the
+		 * search thread, and its rows are handed to the catalog table on the
+		 * event dispatch thread unless a newer search has started by then.
+		 * Fields that do not make a valid query are reported next to the
+		 * search bar and leave the table as it is.
+		 * @param delay milliseconds to wait for more typing
+		 */
+		private void scheduleSearch(long delay) {
+			if (pendingSearch != null) {
+				pendingSearch.cancel(false);
+			}
+			long search = ++searchCount;
+			CatalogQuery query;
+			try {
+				query = new CatalogQuery(txtSearchName.getText(), txtSearchTitle.getText(),
+						txtSearchInstructor.getText(), txtSearchDays.getText(),
+						parseTime(txtSearchFrom.getText(), CatalogQuery.EARLIEST),
+						parseTime(txtSearchTo.getText(), CatalogQuery.LATEST));
+			} catch (IllegalArgumentException iae) {
+				lblSearchCount.setText(iae.getMessage());
+				return;
+			}
+			if (query.isEmpty()) {
+				catalogTableModel.setFilter(null);
+				lblSearchCount.setText("");
+				return;
+			}
+			pendingSearch = searchExecutor.schedule(() -> {
+				long version = scheduler.getCatalogVersion();
+				int[] rows = scheduler.searchCatalog(query);
+				SwingUtilities.invokeLater(() -> {
+					//a newer search replaces this one
+					if (search != searchCount) {
+						return;
+					}
+					//rows from a catalog that has since been reloaded are stale
+					if (version != scheduler.getCatalogVersion()) {
+						scheduleSearch(0);
+						return;
+					}
+					catalogTableModel.setFilter(rows);
+					lblSearchCount.setText(rows.length + " of " + scheduler.getCatalogSize() + " courses");
+				});
+			}, delay, TimeUnit.MILLISECONDS);
+		}
+		
+		/**
+		 * Reads a time from a search field.
+		 * @param text text of the field
+		 * @param blank time to use if the field is blank
+		 * @return time in military time
+		 * @throws IllegalArgumentException if the text is not a number
+		 */
+		private int parseTime(String text, int blank) {
+			if (text.trim().isEmpty()) {
+				return blank;
+			}
+			try {
+				return Integer.parseInt(text.trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid time range.");
+			}
 		}
 		
 		/**
@@ -399,94 +789,6 @@ public class WolfSchedulerGUI extends JFrame  {
 				lblMeeting.setText(c.getMeetingString());
 			}
 		}
-		
-		/**
-		 * {@link CourseTableModel} is the object underlying the {@link JTable} object that displays
-		 * the list of {@link Course}s to the user.
-		 * @author Sarah Heckman
-		 */
-		private class CourseTableModel extends AbstractTableModel {
-			
-			/** ID number used for object serialization. */
-			private static final long serialVersionUID = 1L;
-			/** Column names for the table */
-			private String [] columnNames = {"Name", "Section", "Title"};
-			/** Data stored in the table */
-			private Object [][] data;
-			/** Boolean flag if the model applies to the catalog or schedule */
-			private boolean catalog;
-			
-			/**
-			 * Constructs the {@link CourseTableModel} by requesting the latest information
-			 * from the {@link RequirementTrackerModel}.
-			 * @param catalog flag to determine if updating the catalog (true) or schedule (false)
-			 */
-			public CourseTableModel(boolean catalog) {
-				this.catalog = catalog;
-				updateData();
-			}
-
-			/**
-			 * Returns the number of columns in the table.
-			 * @return the number of columns in the table.
-			 */
-			public int getColumnCount() {
-				return columnNames.length;
-			}
-
-			/**
-			 * Returns the number of rows in the table.
-			 * @return the number of rows in the table.
-			 */
-			public int getRowCount() {
-				if (data == null) 
-					return 0;
-				return data.length;
-			}
-			
-			/**
-			 * Returns the column name at the given index.
-			 * @param col column index
-			 * @return the column name at the given column.
-			 */
-			public String getColumnName(int col) {
-				return columnNames[col];
-			}
-
-			/**
-			 * Returns the data at the given {row, col} index.
-			 * @param row row index
-			 * @param col column index
-			 * @return the data at the given location.
-			 */
-			public Object getValueAt(int row, int col) {
-				if (data == null)
-					return null;
-				return data[row][col];
-			}
-			
-			/**
-			 * Sets the given value to the given {row, col} location.
-			 * @param value Object to modify in the data.
-			 * @param row location to modify the data.
-			 * @param col location to modify the data.
-			 */
-			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
-				fireTableCellUpdated(row, col);
-			}
-			
-			/**
-			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
-			 */
-			private void updateData() {
-				if (catalog) {
-					data = scheduler.getCourseCatalog();
-				} else {
-					data = scheduler.getScheduledCourses();
-				}
-			}
-		}
 	}
 	
 	/**
@@ -505,7 +807,7 @@ public class WolfSchedulerGUI extends JFrame  {
 		/** JTable for displaying the schedule of Courses */
 		private JTable tableSchedule;
 		/** TableModel for schedule */
-		private FullCourseTableModel scheduleTableModel;
+		private SchedulerTableModel scheduleTableModel;
 		/** Scroll pane for setting table title */
 		private JScrollPane scrollSchedule;
 		/** Border for schedule */
@@ -533,7 +835,7 @@ public class WolfSchedulerGUI extends JFrame  {
 			pnlActions.setToolTipText("Schedule Actions");
 			
 			//Set up Schedule table
-			scheduleTableModel = new FullCourseTableModel();
+			scheduleTableModel = new SchedulerTableModel(scheduler, SchedulerTableModel.View.FULL_SCHEDULE);
 			tableSchedule = new JTable(scheduleTableModel);
 			tableSchedule.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 			tableSchedule.setPreferredScrollableViewportSize(new Dimension(500, 500));
@@ -583,90 +885,9 @@ public class WolfSchedulerGUI extends JFrame  {
 		 * Updates the finalized schedule table
 		 */
 		public void updateFinalizedTable() {
-			scheduleTableModel.updateData();
+			scheduleTableModel.refresh();
 			borderSchedule.setTitle(scheduler.getScheduleTitle());
 			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
 		}
-		
-		/**
-		 * {@link FullCourseTableModel} is the object underlying the {@link JTable} object that displays
-		 * the list of {@link Course}s, and all their data, to the user.
-		 * @author Sarah Heckman
-		 */
-		private class FullCourseTableModel extends AbstractTableModel {
-			
-			/** ID number used for object serialization. */
-			private static final long serialVersionUID = 1L;
-			/** Column names for the table */
-			private String [] columnNames = {"Name", "Section", "Title", "Credits", "Instructor", "Meeting Time"};
-			/** Data stored in the table */
-			private Object [][] data;
-			
-			/**
-			 * Constructs the {@link CourseTableModel} by requesting the latest information
-			 * from the {@link RequirementTrackerModel}.
-			 */
-			public FullCourseTableModel() {
-				updateData();
-			}
-
-			/**
-			 * Returns the number of columns in the table.
-			 * @return the number of columns in the table.
-			 */
-			public int getColumnCount() {
-				return columnNames.length;
-			}
-
-			/**
-			 * Returns the number of rows in the table.
-			 * @return the number of rows in the table.
-			 */
-			public int getRowCount() {
-				if (data == null) 
-					return 0;
-				return data.length;
-			}
-			
-			/**
-			 * Returns the column name at the given index.
-			 * @param col column index
-			 * @return the column name at the given column.
-			 */
-			public String getColumnName(int col) {
-				return columnNames[col];
-			}
-
-			/**
-			 * Returns the data at the given {row, col} index.
-			 * @param row row index
-			 * @param col column index
-			 * @return the data at the given location.
-			 */
-			public Object getValueAt(int row, int col) {
-				if (data == null)
-					return null;
-				return data[row][col];
-			}
-			
-			/**
-			 * Sets the given value to the given {row, col} location.
-			 * @param value Object to modify in the data.
-			 * @param row location to modify the data.
-			 * @param col location to modify the data.
-			 */
-			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
-				fireTableCellUpdated(row, col);
-			}
-			
-			/**
-			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
-			 */
-			private void updateData() {
-				data = scheduler.getFullScheduledCourses();
-			}
-		}
-		
 	}
 }
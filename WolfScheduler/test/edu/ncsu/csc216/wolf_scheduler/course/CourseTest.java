@@ -492,4 +492,185 @@ public class CourseTest {
 		assertEquals(s2, c2.toString());
 	}
 
+	/**
+	 * Tests the static validators and that a rejected meeting time leaves the
+	 * Course unchanged.
+	 */
+	@Test
+	public void testValidators() {
+		assertTrue(Course.isValidName(NAME));
+		assertFalse(Course.isValidName("CSC216"));
+		assertFalse(Course.isValidName(null));
+		assertTrue(Course.isValidTitle(TITLE));
+		assertFalse(Course.isValidTitle(""));
+		assertTrue(Course.isValidSection(SECTION));
+		assertFalse(Course.isValidSection("01a"));
+		assertTrue(Course.isValidCredits(CREDITS));
+		assertFalse(Course.isValidCredits(6));
+		assertTrue(Course.isValidInstructorId(INSTRUCTOR_ID));
+		assertFalse(Course.isValidInstructorId(null));
+		assertTrue(Course.isValidMeetingDaysAndTime("MW", START_TIME, END_TIME));
+		assertTrue(Course.isValidMeetingDaysAndTime("A", 0, 0));
+		assertFalse(Course.isValidMeetingDaysAndTime("MM", START_TIME, END_TIME));
+		assertFalse(Course.isValidMeetingDaysAndTime("MW", 1360, 1445));
+
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MW", START_TIME, END_TIME);
+		assertThrows(IllegalArgumentException.class, () -> c.setMeetingDaysAndTime("TH", 1300, 2460));
+		assertEquals("MW", c.getMeetingDays());
+		assertEquals(START_TIME, c.getStartTime());
+		assertEquals(END_TIME, c.getEndTime());
+	}
+
+	/**
+	 * Tests that the meeting string, record, and hash code are built once and
+	 * kept up to date by the setters.
+	 */
+	@Test
+	public void testCachedDerivedFields() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MW", START_TIME, END_TIME);
+		assertSame(c.getMeetingString(), c.getMeetingString());
+		assertSame(c.toString(), c.toString());
+		int hash = c.hashCode();
+
+		c.setMeetingDaysAndTime("TH", 910, 1100);
+		assertEquals("TH 9:10AM-11:00AM", c.getMeetingString());
+		assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,910,1100", c.toString());
+		assertNotEquals(hash, c.hashCode());
+
+		c.setTitle("Software Development");
+		c.setSection("002");
+		c.setCredits(4);
+		c.setInstructorId("jtking");
+		assertEquals("CSC 216,Software Development,002,4,jtking,TH,910,1100", c.toString());
+		assertEquals(new Course(NAME, "Software Development", "002", 4, "jtking", "TH", 910, 1100).hashCode(),
+				c.hashCode());
+	}
+
+	/**
+	 * Tests the optional seat capacity and its effect on the record, equality,
+	 * and hash code.
+	 */
+	@Test
+	public void testCapacity() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MW", START_TIME, END_TIME);
+		Course unlimited = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MW", START_TIME, END_TIME);
+		assertEquals(Course.UNLIMITED_CAPACITY, c.getCapacity());
+
+		c.setCapacity(30);
+		assertEquals(30, c.getCapacity());
+		assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,30", c.toString());
+		assertNotEquals(unlimited, c);
+		assertNotEquals(unlimited.hashCode(), c.hashCode());
+
+		Course arranged = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "A");
+		arranged.setCapacity(1000);
+		assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,A,1000", arranged.toString());
+
+		Exception e = assertThrows(IllegalArgumentException.class, () -> c.setCapacity(-1));
+		assertEquals("Invalid capacity.", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> c.setCapacity(1001));
+		assertEquals(30, c.getCapacity());
+
+		c.setCapacity(Course.UNLIMITED_CAPACITY);
+		assertEquals(unlimited, c);
+		assertEquals(unlimited.toString(), c.toString());
+		assertTrue(Course.isValidCapacity(1));
+		assertFalse(Course.isValidCapacity(-5));
+	}
+
+	/**
+	 * Tests that a Course built from trusted fields matches one built through
+	 * the constructor, derived fields included.
+	 */
+	@Test
+	public void testFromTrustedFields() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MWF", 910, 1445);
+		c.setCapacity(30);
+		Course trusted = Course.fromTrustedFields(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MWF", 910, 1445, 30);
+		assertEquals(c, trusted);
+		assertEquals(c.hashCode(), trusted.hashCode());
+		assertEquals(c.toString(), trusted.toString());
+		assertEquals(c.getMeetingString(), trusted.getMeetingString());
+		assertEquals(c.getDayMask(), trusted.getDayMask());
+		assertEquals(c.getStartMinutes(), trusted.getStartMinutes());
+		assertEquals(c.getEndMinutes(), trusted.getEndMinutes());
+		assertTrue(trusted.conflictsWith(c));
+
+		Course arranged = Course.fromTrustedFields(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "A", 0, 0,
+				Course.UNLIMITED_CAPACITY);
+		assertEquals(new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "A"), arranged);
+		assertEquals("Arranged", arranged.getMeetingString());
+		assertFalse(arranged.conflictsWith(c));
+
+		//setters still check what they are given
+		assertThrows(IllegalArgumentException.class, () -> trusted.setCredits(0));
+		assertEquals(CREDITS, trusted.getCredits());
+	}
+
+	/**
+	 * Tests that a frozen Course rejects every setter and keeps its fields.
+	 */
+	@Test
+	public void testFreeze() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MW", START_TIME, END_TIME);
+		String record = c.toString();
+		assertFalse(c.isFrozen());
+		c.freeze();
+		assertTrue(c.isFrozen());
+
+		Exception e = assertThrows(IllegalArgumentException.class, () -> c.setTitle("New title"));
+		assertEquals("Course cannot be changed.", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> c.setSection("002"));
+		assertThrows(IllegalArgumentException.class, () -> c.setCredits(4));
+		assertThrows(IllegalArgumentException.class, () -> c.setInstructorId("jtking"));
+		assertThrows(IllegalArgumentException.class, () -> c.setCapacity(30));
+		assertThrows(IllegalArgumentException.class, () -> c.setMeetingDaysAndTime("TH", 910, 1100));
+		assertEquals(record, c.toString());
+		assertEquals(new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MW", START_TIME, END_TIME), c);
+	}
+
+	/**
+	 * Tests the day mask and minute encoding of meeting times.
+	 */
+	@Test
+	public void testMeetingTimeEncoding() {
+		Course c1 = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MWF", 910, 1445);
+		assertEquals(Course.MONDAY | Course.WEDNESDAY | Course.FRIDAY, c1.getDayMask());
+		assertEquals(9 * 60 + 10, c1.getStartMinutes());
+		assertEquals(14 * 60 + 45, c1.getEndMinutes());
+
+		Course c2 = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "A");
+		assertEquals(0, c2.getDayMask());
+
+		c2.setMeetingDaysAndTime("TH", 800, 850);
+		assertEquals(Course.TUESDAY | Course.THURSDAY, c2.getDayMask());
+		assertEquals(8 * 60, c2.getStartMinutes());
+	}
+
+	/**
+	 * Tests conflictsWith().
+	 */
+	@Test
+	public void testConflictsWith() {
+		Course c1 = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MW", START_TIME, END_TIME);
+		Course c2 = new Course("CSC 226", TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "TH", START_TIME, END_TIME);
+		Course c3 = new Course("CSC 230", TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "W", 1445, 1530);
+		Course c4 = new Course("CSC 316", TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MWF", 1200, 1329);
+		Course c5 = new Course("CSC 326", TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "A");
+
+		// Different days do not conflict
+		assertFalse(c1.conflictsWith(c2));
+
+		// Ending and starting at the same minute is a conflict, in both directions
+		assertTrue(c1.conflictsWith(c3));
+		assertTrue(c3.conflictsWith(c1));
+
+		// Back to back by one minute is not a conflict
+		assertFalse(c1.conflictsWith(c4));
+
+		// Arranged courses never conflict, even with themselves
+		assertFalse(c1.conflictsWith(c5));
+		assertFalse(c5.conflictsWith(c5));
+	}
+
 }
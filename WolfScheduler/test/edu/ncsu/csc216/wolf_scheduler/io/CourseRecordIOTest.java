@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -12,7 +13,11 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
@@ -107,6 +112,57 @@ public class CourseRecordIOTest {
 		}
 	}
 	
+	/**
+	 * Tests that validateCourseRecords() explains every invalid line.
+	 */
+	@Test
+	public void testValidateCourseRecords() {
+		try {
+			CourseLoadReport report = CourseRecordIO.validateCourseRecords(invalidTestFile);
+			List<CourseRecordDiagnostic> diagnostics = report.getDiagnostics();
+			assertEquals(report.getLineCount(), diagnostics.size());
+			for (int i = 0; i < diagnostics.size(); i++) {
+				assertEquals(i + 1, diagnostics.get(i).getLine());
+			}
+			assertEquals("line 1: name: Invalid course name.", diagnostics.get(0).toString());
+			//seven fields is a legal count, so the shifted credits field is what fails
+			assertEquals(CourseRecordDiagnostic.CREDITS, diagnostics.get(7).getField());
+			assertEquals("Invalid section.", diagnostics.get(9).getReason());
+			assertEquals("Invalid credits.", diagnostics.get(11).getReason());
+			assertEquals(CourseRecordDiagnostic.MEETING_DAYS, diagnostics.get(21).getField());
+			//the ninth field is read as a capacity
+			assertEquals("line 25: capacity: Not an integer.", diagnostics.get(24).toString());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + invalidTestFile);
+		}
+		assertThrows(FileNotFoundException.class, () -> CourseRecordIO.validateCourseRecords("test-files/missing.txt"));
+	}
+	
+	/**
+	 * Tests that readCourseRecords() reports duplicate and invalid lines.
+	 */
+	@Test
+	public void testReadCourseRecordsReport() {
+		try {
+			CourseLoadReport report = new CourseLoadReport();
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, report);
+			assertEquals(14, report.getLineCount());
+			assertEquals(courses.size(), report.getCourseCount());
+			//line 4 repeats CSC 116-002 from line 2
+			assertEquals(1, report.getDuplicateCount());
+			assertEquals(Integer.valueOf(4), report.getDuplicateLines().get(0));
+			assertEquals(14 - courses.size() - 1, report.getInvalidCount());
+			
+			report = new CourseLoadReport();
+			courses = CourseRecordIO.readCourseRecords(invalidTestFile, report);
+			assertEquals(0, courses.size());
+			assertEquals(report.getLineCount(), report.getInvalidCount());
+			assertEquals(0, report.getDuplicateCount());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+	
 	/**
 	 * Tests writeCourseRecords()
 	 */
@@ -126,6 +182,61 @@ public class CourseRecordIOTest {
 		checkFiles("test-files/expected_course_records.txt", "test-files/actual_course_records.txt");
 	}
 
+	/**
+	 * Tests that writeCourseRecords() surfaces write errors and leaves no
+	 * temporary file behind.
+	 * 
+	 * @param dir temporary directory to write in
+	 * @throws IOException if the directory cannot be listed
+	 */
+	@Test
+	public void testWriteCourseRecordsErrors(@TempDir Path dir) throws IOException {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		
+		assertThrows(IOException.class,
+				() -> CourseRecordIO.writeCourseRecords(dir.resolve("missing/export.txt").toString(), courses));
+		
+		//a directory cannot be replaced by the export
+		Files.createDirectory(dir.resolve("taken"));
+		Files.createFile(dir.resolve("taken/file"));
+		assertThrows(IOException.class, () -> CourseRecordIO.writeCourseRecords(dir.resolve("taken").toString(), courses));
+		try (Stream<Path> files = Files.list(dir)) {
+			assertEquals(1, files.count());
+		}
+	}
+	
+	/**
+	 * Tests writing many schedules at once on a pool of writer threads.
+	 * 
+	 * @param dir temporary directory to write in
+	 * @throws IOException if an export cannot be read back
+	 * @throws InterruptedException if interrupted while exporting
+	 */
+	@Test
+	public void testWriteCourseRecordsBatch(@TempDir Path dir) throws IOException, InterruptedException {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		
+		Map<String, List<Course>> schedules = new LinkedHashMap<String, List<Course>>();
+		for (int i = 0; i < 200; i++) {
+			schedules.put(dir.resolve("student" + i + ".txt").toString(), courses.subList(0, i % 3 == 0 ? 1 : 2));
+		}
+		String bad = dir.resolve("missing/student.txt").toString();
+		schedules.put(bad, courses);
+		
+		Map<String, IOException> failures = CourseRecordIO.writeCourseRecords(schedules, 4);
+		assertEquals(1, failures.size());
+		assertTrue(failures.containsKey(bad));
+		assertEquals(List.of(courses.get(0).toString()), Files.readAllLines(dir.resolve("student0.txt")));
+		assertEquals(List.of(courses.get(0).toString(), courses.get(1).toString()),
+				Files.readAllLines(dir.resolve("student199.txt")));
+		
+		assertTrue(CourseRecordIO.writeCourseRecords(new LinkedHashMap<String, List<Course>>(), 4).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> CourseRecordIO.writeCourseRecords(schedules, 0));
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
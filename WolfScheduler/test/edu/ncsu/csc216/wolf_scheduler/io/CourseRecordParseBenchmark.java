@@ -0,0 +1,73 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SyntheticCatalog;
+
+/**
+ * Compares the throughput of the old Scanner based line parser against
+ * CourseRecordTokenizer. Run with main; not a unit test.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CourseRecordParseBenchmark {
+
+	/** Number of lines parsed per round */
+	private static final int LINES = 200000;
+	/** Number of timed rounds for each parser */
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark and prints lines per second for each parser.
+	 * 
+	 * @param args command line arguments not used
+	 */
+	public static void main(String[] args) {
+		ArrayList<String> lines = new ArrayList<String>(LINES);
+		for (Course c : SyntheticCatalog.generate(LINES)) {
+			lines.add(c.toString());
+		}
+		//mix in some invalid lines so the reject path is measured too
+		for (int i = 0; i < lines.size(); i += 5) {
+			lines.set(i, lines.get(i).replace(",3,", ",x,"));
+		}
+
+		for (int round = 0; round < ROUNDS; round++) {
+			long scanner = time(lines, true);
+			long tokenizer = time(lines, false);
+			System.out.printf("round %d: Scanner %,12.0f lines/s, tokenizer %,12.0f lines/s%n", round,
+					LINES / (scanner / 1e9), LINES / (tokenizer / 1e9));
+		}
+	}
+
+	/**
+	 * Parses every line and returns the elapsed time.
+	 * 
+	 * @param lines   lines to parse
+	 * @param scanner true to use the Scanner reader, false for the tokenizer
+	 * @return elapsed nanoseconds
+	 */
+	private static long time(ArrayList<String> lines, boolean scanner) {
+		CourseRecordTokenizer tokenizer = new CourseRecordTokenizer();
+		int valid = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < lines.size(); i++) {
+			try {
+				if (scanner) {
+					ScannerCourseReader.readCourse(lines.get(i));
+				} else if (tokenizer.tryCourse(lines.get(i)) == null) {
+					continue;
+				}
+				valid++;
+			} catch (IllegalArgumentException e) {
+				//invalid line, same as the reader
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		if (valid != lines.size() * 4 / 5) {
+			throw new IllegalStateException("Parsers disagree: " + valid);
+		}
+		return elapsed;
+	}
+}
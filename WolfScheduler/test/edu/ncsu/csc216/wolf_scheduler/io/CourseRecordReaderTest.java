@@ -0,0 +1,104 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CourseRecordReader and CourseRecordIO.streamCourseRecords().
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CourseRecordReaderTest {
+
+	/**
+	 * Tests that the reader returns valid courses lazily and counts lines.
+	 * 
+	 * @throws IOException if the reader cannot be closed
+	 */
+	@Test
+	public void testReader() throws IOException {
+		String text = "CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445\n" + "not a course\n"
+				+ "CSC 216,Software Development Fundamentals,601,3,jctetter,A\n";
+		AtomicBoolean closed = new AtomicBoolean();
+		InputStream in = new ByteArrayInputStream(text.getBytes()) {
+			@Override
+			public void close() {
+				closed.set(true);
+			}
+		};
+		CourseLoadReport report = new CourseLoadReport();
+		CourseRecordReader reader = new CourseRecordReader(in, report);
+
+		assertTrue(reader.hasNext());
+		assertEquals("001", reader.next().getSection());
+		assertEquals(1, report.getLineCount());
+		assertEquals("601", reader.next().getSection());
+		assertEquals(3, report.getLineCount());
+		assertEquals(1, report.getInvalidCount());
+		assertFalse(reader.hasNext());
+		assertThrows(NoSuchElementException.class, () -> reader.next());
+		assertEquals(text.length(), reader.getBytesRead());
+
+		reader.close();
+		assertTrue(closed.get());
+	}
+
+	/**
+	 * Tests that the stream matches readCourseRecords on the test files apart
+	 * from duplicates.
+	 * 
+	 * @throws FileNotFoundException if a test file is missing
+	 */
+	@Test
+	public void testStreamCourseRecords() throws FileNotFoundException {
+		ArrayList<Course> expected = CourseRecordIO.readCourseRecords("test-files/starter_course_records.txt");
+		try (Stream<Course> stream = CourseRecordIO.streamCourseRecords("test-files/starter_course_records.txt")) {
+			ArrayList<Course> actual = stream.filter(c -> !"jtking".equals(c.getInstructorId())
+					|| !"CSC 116".equals(c.getName())).collect(Collectors.toCollection(ArrayList::new));
+			assertEquals(expected, actual);
+		}
+
+		try (Stream<Course> stream = CourseRecordIO.streamCourseRecords("test-files/invalid_course_records.txt")) {
+			assertEquals(0, stream.count());
+		}
+
+		assertThrows(FileNotFoundException.class, () -> CourseRecordIO.streamCourseRecords("test-files/missing.txt"));
+	}
+
+	/**
+	 * Tests that a reader over a file only counts bad lines, and that a stream
+	 * fills a report passed in by the caller.
+	 * 
+	 * @throws IOException if a test file cannot be read or closed
+	 */
+	@Test
+	public void testStreamReport() throws IOException {
+		try (CourseRecordReader reader = new CourseRecordReader("test-files/invalid_course_records.txt")) {
+			assertFalse(reader.hasNext());
+			assertTrue(reader.getReport().getInvalidCount() > 0);
+			assertTrue(reader.getReport().getDiagnostics().isEmpty());
+		}
+
+		CourseLoadReport expected = CourseRecordIO.validateCourseRecords("test-files/starter_course_records.txt");
+		CourseLoadReport report = new CourseLoadReport();
+		try (Stream<Course> stream = CourseRecordIO.streamCourseRecords("test-files/starter_course_records.txt",
+				report)) {
+			assertEquals(expected.getCourseCount() + expected.getDuplicateCount(), stream.count());
+		}
+		assertEquals(expected.getLineCount(), report.getLineCount());
+		assertEquals(expected.getInvalidCount(), report.getDiagnostics().size());
+	}
+}
@@ -0,0 +1,190 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CourseRecordTokenizer against the Scanner based reader it replaced.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CourseRecordTokenizerTest {
+
+	/**
+	 * Tests field splitting and integer parsing.
+	 */
+	@Test
+	public void testTokenize() {
+		CourseRecordTokenizer t = new CourseRecordTokenizer();
+		assertTrue(t.tokenize("CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445"));
+		assertEquals(8, t.fieldCount());
+		assertEquals("CSC 216", t.field(CourseRecordTokenizer.NAME));
+		assertEquals("Software Development Fundamentals", t.field(CourseRecordTokenizer.TITLE));
+		assertTrue(t.fieldEquals(CourseRecordTokenizer.MEETING_DAYS, "MW"));
+		assertFalse(t.fieldEquals(CourseRecordTokenizer.MEETING_DAYS, "M"));
+		assertEquals(1330, t.intField(CourseRecordTokenizer.START_TIME));
+		assertFalse(t.isInt(CourseRecordTokenizer.NAME));
+
+		assertTrue(t.tokenize("a,,b"));
+		assertEquals(3, t.fieldCount());
+		assertEquals("", t.field(1));
+
+		assertTrue(t.tokenize(",a,b,"));
+		assertEquals(2, t.fieldCount());
+		assertEquals("a", t.field(0));
+
+		assertTrue(t.tokenize(""));
+		assertEquals(0, t.fieldCount());
+
+		assertTrue(t.tokenize("+7,-2147483648,2147483648,-,09"));
+		assertEquals(7, t.intField(0));
+		assertEquals(Integer.MIN_VALUE, t.intField(1));
+		assertFalse(t.isInt(2));
+		assertFalse(t.isInt(3));
+		assertEquals(9, t.intField(4));
+
+		assertTrue(t.tokenize("1,2,3,4,5,6,7,8,9"));
+		assertFalse(t.tokenize("1,2,3,4,5,6,7,8,9,10"));
+	}
+
+	/**
+	 * Tests that every line of the course record test files, including the
+	 * edge case file of stray commas, blank lines, and arranged sections, is
+	 * accepted or rejected exactly as the Scanner reader did, with equal
+	 * Courses.
+	 * 
+	 * @throws IOException if a test file cannot be read
+	 */
+	@Test
+	public void testTestFilesMatchScanner() throws IOException {
+		List<String> lines = Files.readAllLines(Paths.get("test-files/starter_course_records.txt"));
+		lines.addAll(Files.readAllLines(Paths.get("test-files/invalid_course_records.txt")));
+		lines.addAll(Files.readAllLines(Paths.get("test-files/course_records.txt")));
+		lines.addAll(Files.readAllLines(Paths.get("test-files/edge_course_records.txt")));
+		for (String line : lines) {
+			assertSameResult(line);
+		}
+	}
+
+	/**
+	 * Tests edge case lines against the Scanner reader.
+	 * 
+	 * @param line line to compare
+	 */
+	@ParameterizedTest
+	@ValueSource(strings = { "CSC 216,Software Development Fundamentals,601,3,jctetter,A,",
+			"CSC 216,Software Development Fundamentals,601,3,jctetter,A,,",
+			",CSC 216,Software Development Fundamentals,601,3,jctetter,A",
+			"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,",
+			"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,,",
+			"CSC 216,Software Development Fundamentals,001,+3,sesmith5,MW,+1330,1445",
+			"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330, 1445",
+			"CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,",
+			"CSC 216,,001,3,sesmith5,MW,1330,1445", ",", ",,", "", "A,A,A,A,A,A" })
+	public void testEdgeCasesMatchScanner(String line) {
+		assertSameResult(line);
+	}
+
+	/**
+	 * Tests the field and reason tryCourse reports for invalid lines.
+	 */
+	@Test
+	public void testTryCourseDiagnostics() {
+		CourseRecordTokenizer t = new CourseRecordTokenizer();
+		assertNull(t.tryCourse("CSC 216,Software Development Fundamentals,001,6,sesmith5,MW,1330,1445"));
+		assertEquals(CourseRecordDiagnostic.CREDITS, t.getErrorField());
+		assertEquals("Invalid credits.", t.getErrorReason());
+
+		assertNull(t.tryCourse("CSC 216,Software Development Fundamentals,001,x,sesmith5,MW,1330,1445"));
+		assertEquals(CourseRecordDiagnostic.CREDITS, t.getErrorField());
+		assertEquals("Not an integer.", t.getErrorReason());
+
+		assertNull(t.tryCourse("CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,14:45"));
+		assertEquals(CourseRecordDiagnostic.END_TIME, t.getErrorField());
+
+		assertNull(t.tryCourse("CSC 216,Software Development Fundamentals,001,3,sesmith5,A,1330,1445"));
+		assertEquals(CourseRecordDiagnostic.RECORD, t.getErrorField());
+		assertEquals("Arranged course has meeting times.", t.getErrorReason());
+
+		assertNull(t.tryCourse("a,b,c,d,e,f,g,h,i,j"));
+		assertEquals(CourseRecordDiagnostic.RECORD, t.getErrorField());
+		assertEquals("More than 9 fields.", t.getErrorReason());
+
+		assertNull(t.tryCourse("CSC 216,Software Development Fundamentals,001,3"));
+		assertEquals("Expected 6 to 9 fields but found 4.", t.getErrorReason());
+
+		assertNull(t.tryCourse("CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,many"));
+		assertEquals(CourseRecordDiagnostic.CAPACITY, t.getErrorField());
+		assertEquals("Not an integer.", t.getErrorReason());
+
+		assertNull(t.tryCourse("CSC 216,Software Development Fundamentals,601,3,jctetter,A,1330,1445,30"));
+		assertEquals("Arranged course has meeting times.", t.getErrorReason());
+
+		assertNull(t.tryCourse("CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330"));
+		assertEquals("Missing meeting times.", t.getErrorReason());
+
+		assertNull(t.tryCourse("CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,-4"));
+		assertEquals(CourseRecordDiagnostic.CAPACITY, t.getErrorField());
+		assertEquals("Invalid capacity.", t.getErrorReason());
+
+		assertNotNull(t.tryCourse("CSC 216,Software Development Fundamentals,601,3,jctetter,A"));
+
+		//readCourse throws with the same reason
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> CourseRecordIO.readCourse("CSC 216,Software Development Fundamentals,001,6,sesmith5,MW,1330,1445"));
+		assertEquals("Invalid credits.", e.getMessage());
+	}
+
+	/**
+	 * Tests the optional capacity field on timed and arranged records, through
+	 * both tryCourse and the throwing reader.
+	 */
+	@Test
+	public void testCapacityField() {
+		CourseRecordTokenizer t = new CourseRecordTokenizer();
+		Course timed = t.tryCourse("CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,30");
+		assertEquals(30, timed.getCapacity());
+		assertEquals(1445, timed.getEndTime());
+		Course arranged = t.tryCourse("CSC 216,Software Development Fundamentals,601,3,jctetter,A,25");
+		assertEquals(25, arranged.getCapacity());
+		assertEquals("A", arranged.getMeetingDays());
+		assertEquals(Course.UNLIMITED_CAPACITY,
+				t.tryCourse("CSC 216,Software Development Fundamentals,601,3,jctetter,A").getCapacity());
+
+		assertEquals(timed, CourseRecordIO.readCourse(timed.toString()));
+		assertEquals(arranged, CourseRecordIO.readCourse(arranged.toString()));
+		assertThrows(IllegalArgumentException.class,
+				() -> CourseRecordIO.readCourse("CSC 216,Software Development Fundamentals,601,3,jctetter,A,x"));
+	}
+
+	/**
+	 * Asserts that the tokenizer and Scanner readers agree on a line.
+	 * 
+	 * @param line line to compare
+	 */
+	private void assertSameResult(String line) {
+		Course expected = null;
+		try {
+			expected = ScannerCourseReader.readCourse(line);
+		} catch (IllegalArgumentException e) {
+			expected = null;
+		}
+		CourseRecordTokenizer t = new CourseRecordTokenizer();
+		Course tried = t.tryCourse(line);
+		assertEquals(expected, tried, line);
+		if (tried == null) {
+			assertNotNull(t.getErrorField(), line);
+			assertNotNull(t.getErrorReason(), line);
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SyntheticCatalog;
+
+/**
+ * Compares loading a catalog by parsing its text file against loading the
+ * snapshot written for it. Run with main; not a unit test.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CourseSnapshotBenchmark {
+
+	/** Number of courses in the catalog */
+	private static final int COURSES = 200000;
+	/** Number of timed rounds for each loader */
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark and prints courses per second for each loader.
+	 * 
+	 * @param args command line arguments not used
+	 * @throws IOException if the temporary files cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		Path dir = Files.createTempDirectory("snapshot-benchmark");
+		Path source = dir.resolve("course_records.txt");
+		String snapshot = CourseSnapshotIO.snapshotFileName(source.toString());
+		try {
+			ArrayList<Course> courses = SyntheticCatalog.generate(COURSES);
+			CourseRecordIO.writeCourseRecords(source.toString(), courses);
+			CourseSnapshotIO.writeSnapshot(snapshot, source.toString(), courses);
+
+			for (int round = 0; round < ROUNDS; round++) {
+				long text = time(source.toString(), null);
+				long binary = time(source.toString(), snapshot);
+				System.out.printf("round %d: text %,12.0f courses/s, snapshot %,12.0f courses/s%n", round,
+						COURSES / (text / 1e9), COURSES / (binary / 1e9));
+			}
+		} finally {
+			Files.deleteIfExists(Path.of(snapshot));
+			Files.deleteIfExists(source);
+			Files.deleteIfExists(dir);
+		}
+	}
+
+	/**
+	 * Loads the catalog once and returns the elapsed time.
+	 * 
+	 * @param source   catalog text file
+	 * @param snapshot snapshot to read, or null to parse the text file
+	 * @return elapsed nanoseconds
+	 * @throws IOException if the text file cannot be read
+	 */
+	private static long time(String source, String snapshot) throws IOException {
+		long start = System.nanoTime();
+		ArrayList<Course> courses = snapshot == null ? CourseRecordIO.readCourseRecords(source)
+				: CourseSnapshotIO.readSnapshot(snapshot, source);
+		long elapsed = System.nanoTime() - start;
+		if (courses == null || courses.size() != COURSES) {
+			throw new IllegalStateException("Loaders disagree: " + (courses == null ? "no snapshot" : courses.size()));
+		}
+		return elapsed;
+	}
+}
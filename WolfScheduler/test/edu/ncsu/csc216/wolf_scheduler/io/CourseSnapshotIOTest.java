@@ -0,0 +1,77 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CourseSnapshotIO.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CourseSnapshotIOTest {
+
+	/** Directory for copies of the test files and snapshots */
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Tests that a snapshot round trips the catalog and goes stale when the
+	 * text file changes.
+	 * 
+	 * @throws IOException if a file cannot be copied or written
+	 */
+	@Test
+	public void testSnapshotRoundTrip() throws IOException {
+		Path source = tempDir.resolve("course_records.txt");
+		Files.copy(Path.of("test-files/starter_course_records.txt"), source);
+		String snapshot = CourseSnapshotIO.snapshotFileName(source.toString());
+
+		//no snapshot yet
+		assertNull(CourseSnapshotIO.readSnapshot(snapshot, source.toString()));
+
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(source.toString());
+		courses.get(0).setCapacity(30);
+		CourseSnapshotIO.writeSnapshot(snapshot, source.toString(), courses);
+		ArrayList<Course> loaded = CourseSnapshotIO.readSnapshot(snapshot, source.toString());
+		assertEquals(courses, loaded);
+		for (int i = 0; i < courses.size(); i++) {
+			assertEquals(courses.get(i).toString(), loaded.get(i).toString());
+		}
+
+		//touching the text file makes the snapshot stale
+		Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 5000));
+		assertNull(CourseSnapshotIO.readSnapshot(snapshot, source.toString()));
+	}
+
+	/**
+	 * Tests that a corrupted snapshot is rejected by its checksum.
+	 * 
+	 * @throws IOException if a file cannot be copied or written
+	 */
+	@Test
+	public void testCorruptSnapshot() throws IOException {
+		Path source = tempDir.resolve("course_records.txt");
+		Files.copy(Path.of("test-files/starter_course_records.txt"), source, StandardCopyOption.REPLACE_EXISTING);
+		String snapshot = CourseSnapshotIO.snapshotFileName(source.toString());
+		CourseSnapshotIO.writeSnapshot(snapshot, source.toString(), CourseRecordIO.readCourseRecords(source.toString()));
+
+		byte[] bytes = Files.readAllBytes(Path.of(snapshot));
+		bytes[bytes.length / 2] ^= 0x5A;
+		Files.write(Path.of(snapshot), bytes);
+		assertNull(CourseSnapshotIO.readSnapshot(snapshot, source.toString()));
+
+		Files.write(Path.of(snapshot), new byte[] {1, 2, 3});
+		assertNull(CourseSnapshotIO.readSnapshot(snapshot, source.toString()));
+	}
+}
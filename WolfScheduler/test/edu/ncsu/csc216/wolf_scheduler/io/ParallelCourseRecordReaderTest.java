@@ -0,0 +1,146 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SyntheticCatalog;
+
+/**
+ * Tests ParallelCourseRecordReader against the sequential reader.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class ParallelCourseRecordReaderTest {
+
+	/** Directory for generated files */
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Tests the test files with tiny chunks so every line boundary is exercised.
+	 * 
+	 * @throws IOException if a file cannot be read
+	 */
+	@Test
+	public void testTestFiles() throws IOException {
+		assertSameAsSequential("test-files/starter_course_records.txt", 1);
+		assertSameAsSequential("test-files/invalid_course_records.txt", 1);
+		assertSameAsSequential("test-files/starter_course_records.txt", 100);
+	}
+
+	/**
+	 * Tests a generated file with duplicates across chunks, blank lines, and
+	 * mixed line endings.
+	 * 
+	 * @throws IOException if a file cannot be written or read
+	 */
+	@Test
+	public void testGeneratedFile() throws IOException {
+		ArrayList<Course> generated = SyntheticCatalog.generate(5000);
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < generated.size(); i++) {
+			text.append(generated.get(i)).append(i % 3 == 0 ? "\r\n" : i % 7 == 0 ? "\r" : "\n");
+			if (i % 100 == 0) {
+				//repeat an earlier course so the first one must win across chunks
+				text.append(generated.get(i / 2).toString().replace("Generated", "Repeated")).append('\n');
+				text.append('\n');
+			}
+		}
+		text.append("CSC 116,No terminator,001,3,jdyoung2,MW,910,1100");
+		Path file = tempDir.resolve("generated.txt");
+		Files.write(file, text.toString().getBytes(Charset.defaultCharset()));
+
+		assertSameAsSequential(file.toString(), 512);
+		assertSameAsSequential(file.toString(), ParallelCourseRecordReader.DEFAULT_MIN_CHUNK);
+	}
+
+	/**
+	 * Tests that equal fields in different chunks share one String, and that
+	 * only the sharing among kept courses is reported.
+	 * 
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testSharedStrings() throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (int i = 1; i <= 3; i++) {
+			text.append("CSC 316,Data Structures,00").append(i).append(",3,jtking,MW,830,945\n");
+		}
+		//a duplicate is dropped and a bad line rejected, so neither counts as shared
+		text.append("CSC 316,Other Title,001,3,jtking,MW,830,945\n");
+		text.append("CSC 316,Data Structures,004,9,jtking,MW,830,945\n");
+		Path file = tempDir.resolve("shared.txt");
+		Files.write(file, text.toString().getBytes(Charset.defaultCharset()));
+
+		CourseLoadReport report = new CourseLoadReport();
+		ArrayList<Course> courses = new ParallelCourseRecordReader(1, new ForkJoinPool(4)).read(file.toString(),
+				report);
+		assertEquals(3, courses.size());
+		assertSame(courses.get(0).getInstructorId(), courses.get(2).getInstructorId());
+		assertSame(courses.get(0).getTitle(), courses.get(1).getTitle());
+		assertEquals(1, report.getDuplicateCount());
+
+		//the second and third course share their name, title, instructor, and days
+		assertEquals(8, report.getDeduplicatedStringCount());
+		long perCourse = StringPool.estimatedSize("CSC 316") + StringPool.estimatedSize("Data Structures")
+				+ StringPool.estimatedSize("jtking") + StringPool.estimatedSize("MW");
+		assertEquals(2 * perCourse, report.getBytesSaved());
+
+		//the sequential reader shares and reports the same
+		assertSameAsSequential(file.toString(), 1);
+		CourseLoadReport sequential = new CourseLoadReport();
+		ArrayList<Course> read = CourseRecordIO.readCourseRecords(file.toString(), sequential);
+		assertSame(read.get(0).getInstructorId(), read.get(2).getInstructorId());
+		assertEquals(8, sequential.getDeduplicatedStringCount());
+	}
+
+	/**
+	 * Tests the parallel switch on CourseRecordIO, including a missing file.
+	 * 
+	 * @throws IOException if a file cannot be read
+	 */
+	@Test
+	public void testParallelSwitch() throws IOException {
+		CourseLoadReport report = new CourseLoadReport();
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords("test-files/starter_course_records.txt", report,
+				true);
+		assertEquals(CourseRecordIO.readCourseRecords("test-files/starter_course_records.txt"), courses);
+		assertEquals(1, report.getDuplicateCount());
+
+		assertThrows(java.io.FileNotFoundException.class,
+				() -> CourseRecordIO.readCourseRecords("test-files/missing.txt", new CourseLoadReport(), true));
+	}
+
+	/**
+	 * Asserts that the parallel reader returns the same courses and report as
+	 * the sequential reader.
+	 * 
+	 * @param fileName file to read
+	 * @param minChunk smallest chunk size for the parallel reader
+	 * @throws IOException if the file cannot be read
+	 */
+	private void assertSameAsSequential(String fileName, int minChunk) throws IOException {
+		CourseLoadReport expectedReport = new CourseLoadReport();
+		ArrayList<Course> expected = CourseRecordIO.readCourseRecords(fileName, expectedReport);
+		CourseLoadReport actualReport = new CourseLoadReport();
+		ArrayList<Course> actual = new ParallelCourseRecordReader(minChunk, new ForkJoinPool(4)).read(fileName,
+				actualReport);
+
+		assertEquals(expected, actual);
+		assertEquals(expectedReport.getLineCount(), actualReport.getLineCount());
+		assertEquals(expectedReport.getInvalidCount(), actualReport.getInvalidCount());
+		assertEquals(expectedReport.getDuplicateLines(), actualReport.getDuplicateLines());
+		assertEquals(expectedReport.getDeduplicatedStringCount(), actualReport.getDeduplicatedStringCount());
+		assertEquals(expectedReport.getBytesSaved(), actualReport.getBytesSaved());
+	}
+}
@@ -0,0 +1,54 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.Scanner;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * The Scanner based line reader CourseRecordIO used before it switched to
+ * CourseRecordTokenizer. Kept as a reference for equivalence tests and the
+ * parsing benchmark.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class ScannerCourseReader {
+
+	/**
+	 * Reads a course from a line the way the old readCourse did.
+	 * 
+	 * @param line course record line
+	 * @return constructed course
+	 * @throws IllegalArgumentException if the line is invalid
+	 */
+	public static Course readCourse(String line) {
+		Scanner scan = new Scanner(line);
+		scan.useDelimiter(",");
+		try {
+			String name = scan.next();
+			String title = scan.next();
+			String section = scan.next();
+			int creditHours = scan.nextInt();
+			String instructorId = scan.next();
+			String meetingDays = scan.next();
+			if ("A".equals(meetingDays)) {
+				if (scan.hasNext()) {
+					scan.close();
+					throw new IllegalArgumentException("Invalid meeting day.");
+				}
+				scan.close();
+				return new Course(name, title, section, creditHours, instructorId, meetingDays);
+			}
+			int startTime = scan.nextInt();
+			int endTime = scan.nextInt();
+			if (scan.hasNext()) {
+				scan.close();
+				throw new IllegalArgumentException("Invalid time.");
+			}
+			scan.close();
+			return new Course(name, title, section, creditHours, instructorId, meetingDays, startTime, endTime);
+		} catch (Exception e) {
+			scan.close();
+			throw new IllegalArgumentException();
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests StringPool.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class StringPoolTest {
+
+	/**
+	 * Tests that equal values share one String and the savings are counted.
+	 */
+	@Test
+	public void testIntern() {
+		StringPool pool = new StringPool();
+		String first = pool.intern("CSC 216,jtking", 8, 14);
+		assertEquals("jtking", first);
+		assertSame(first, pool.intern("CSC 116,jtking,MW", 8, 14));
+		assertEquals("CSC 116", pool.intern("CSC 116,jtking,MW", 0, 7));
+		assertEquals("", pool.intern("a,,b", 2, 2));
+		assertEquals(3, pool.size());
+
+		CourseLoadReport report = new CourseLoadReport();
+		pool.flushTo(report);
+		assertEquals(1, report.getDeduplicatedStringCount());
+		assertEquals(StringPool.estimatedSize("jtking"), report.getBytesSaved());
+		pool.flushTo(report);
+		assertEquals(1, report.getDeduplicatedStringCount());
+
+		//24 byte String plus a 16 byte header and 6 bytes rounded up to 24
+		assertEquals(48, StringPool.estimatedSize("jtking"));
+		//a char outside Latin-1 makes every char take two bytes: 16 + 18 rounds to 40
+		assertEquals(24 + 40, StringPool.estimatedSize("\u0101bcdefghi"));
+	}
+
+	/**
+	 * Tests that the pool keeps working as it grows, including past its cap.
+	 */
+	@Test
+	public void testGrowth() {
+		StringPool pool = new StringPool();
+		for (int i = 0; i < StringPool.MAX_SIZE + 100; i++) {
+			String line = "id" + i;
+			assertEquals(line, pool.intern(line, 0, line.length()));
+		}
+		assertEquals(StringPool.MAX_SIZE, pool.size());
+		String early = pool.intern("id17", 0, 4);
+		assertSame(early, pool.intern("xid17", 1, 5));
+	}
+
+	/**
+	 * Tests that loading a catalog shares repeated titles and instructors.
+	 * 
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@Test
+	public void testCatalogLoad() throws FileNotFoundException {
+		CourseLoadReport report = new CourseLoadReport();
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords("test-files/course_records.txt", report);
+		assertSame(courses.get(0).getTitle(), courses.get(1).getTitle());
+		assertSame(courses.get(0).getName(), courses.get(1).getName());
+		assertTrue(report.getDeduplicatedStringCount() > 0);
+		assertTrue(report.getBytesSaved() > 0);
+	}
+}
@@ -0,0 +1,50 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CatalogDiff.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CatalogDiffTest {
+
+	/**
+	 * Tests the added, removed, and changed sections between two catalogs.
+	 */
+	@Test
+	public void testCompute() {
+		Course c116 = new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100);
+		Course c216 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445);
+		Course c226 = new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025);
+		Course c216Moved = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+
+		ArrayList<Course> oldCourses = new ArrayList<Course>();
+		oldCourses.add(c116);
+		oldCourses.add(c216);
+		ArrayList<Course> newCourses = new ArrayList<Course>();
+		newCourses.add(c216Moved);
+		newCourses.add(c226);
+
+		CatalogDiff diff = CatalogDiff.compute(new CourseCatalog(oldCourses), new CourseCatalog(newCourses));
+		assertEquals(1, diff.getAdded().size());
+		assertEquals(c226, diff.getAdded().get(0));
+		assertEquals(1, diff.getRemoved().size());
+		assertEquals(c116, diff.getRemoved().get(0));
+		assertEquals(1, diff.getChanged().size());
+		assertEquals(c216Moved, diff.getChanged().get(0));
+		assertTrue(diff.getDroppedFromSchedule().isEmpty());
+		assertFalse(diff.isEmpty());
+		assertEquals("added=1, removed=1, changed=1, dropped=0", diff.toString());
+
+		assertTrue(CatalogDiff.compute(new CourseCatalog(oldCourses), new CourseCatalog(oldCourses)).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> CatalogDiff.compute(null, new CourseCatalog()));
+		assertThrows(UnsupportedOperationException.class, () -> diff.getAdded().clear());
+	}
+}
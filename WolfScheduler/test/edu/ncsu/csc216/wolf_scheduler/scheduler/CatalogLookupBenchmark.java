@@ -0,0 +1,84 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Compares the old linear catalog scan against the CourseCatalog hash index
+ * for catalogs of 1k, 10k, and 100k sections. Run with main; not a unit test.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CatalogLookupBenchmark {
+
+	/** Catalog sizes to measure */
+	private static final int[] SIZES = {1000, 10000, 100000};
+	/** Number of lookups timed for each size */
+	private static final int LOOKUPS = 20000;
+
+	/**
+	 * Runs the benchmark and prints the average time per lookup.
+	 * 
+	 * @param args command line arguments not used
+	 */
+	public static void main(String[] args) {
+		for (int size : SIZES) {
+			ArrayList<Course> courses = SyntheticCatalog.generate(size);
+			CourseCatalog catalog = new CourseCatalog(courses);
+
+			//warm up both paths before timing
+			run(courses, catalog, LOOKUPS, true);
+			run(courses, catalog, LOOKUPS, false);
+
+			long scanNanos = run(courses, catalog, LOOKUPS, true);
+			long indexNanos = run(courses, catalog, LOOKUPS, false);
+			System.out.printf("%7d sections: scan %10.1f ns/lookup, index %6.1f ns/lookup%n", size,
+					(double) scanNanos / LOOKUPS, (double) indexNanos / LOOKUPS);
+		}
+	}
+
+	/**
+	 * Looks up courses spread across the catalog and returns the elapsed time.
+	 * 
+	 * @param courses list to scan
+	 * @param catalog indexed catalog
+	 * @param lookups number of lookups
+	 * @param scan    true to use the linear scan, false to use the index
+	 * @return elapsed nanoseconds
+	 */
+	private static long run(ArrayList<Course> courses, CourseCatalog catalog, int lookups, boolean scan) {
+		int found = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < lookups; i++) {
+			Course target = courses.get((int) ((long) i * 7919 % courses.size()));
+			Course result = scan ? scan(courses, target.getName(), target.getSection())
+					: catalog.getCourse(target.getName(), target.getSection());
+			if (result != null) {
+				found++;
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		if (found != lookups) {
+			throw new IllegalStateException("Lookup missed a course.");
+		}
+		return elapsed;
+	}
+
+	/**
+	 * The lookup WolfScheduler used before the catalog was indexed.
+	 * 
+	 * @param courses list to scan
+	 * @param name    name of course
+	 * @param section section of course
+	 * @return matching course or null
+	 */
+	private static Course scan(ArrayList<Course> courses, String name, String section) {
+		for (int i = 0; i < courses.size(); i++) {
+			if (courses.get(i).getName().equals(name) && courses.get(i).getSection().equals(section)) {
+				return courses.get(i);
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,84 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Measures catalog search latency at 100,000 courses: the one-time cost of
+ * building the indexes, and then the median, 99th percentile, and worst time
+ * of each kind of query against a 16 ms frame. The search bar runs the same
+ * searchCatalog call off the event dispatch thread, so its result reaches the
+ * table within a frame of typing pausing as long as these stay under 16 ms.
+ * For comparison, also times a regular expression matched against the title
+ * of every row, which is what a RowFilter over the table would do.
+ * Run with main; not a unit test.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CatalogSearchBenchmark {
+
+	/** Courses in the catalog */
+	private static final int COURSES = 100_000;
+	/** Times each query is run */
+	private static final int RUNS = 200;
+
+	/**
+	 * Runs the benchmark and prints search latencies.
+	 * 
+	 * @param args command line arguments not used
+	 */
+	public static void main(String[] args) {
+		WolfScheduler ws = new WolfScheduler();
+		ws.loadCatalog(SyntheticCatalog.generate(COURSES), null);
+
+		long start = System.nanoTime();
+		ws.searchCatalog(new CatalogQuery(null));
+		System.out.printf("index build: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+		CatalogQuery[] queries = {
+				new CatalogQuery("CSC 1"),
+				new CatalogQuery("E"),
+				new CatalogQuery(null, "generated course 4", null, null, CatalogQuery.EARLIEST, CatalogQuery.LATEST),
+				new CatalogQuery(null, null, "sesmith5", null, CatalogQuery.EARLIEST, CatalogQuery.LATEST),
+				new CatalogQuery(null, null, null, "MWF", CatalogQuery.EARLIEST, CatalogQuery.LATEST),
+				new CatalogQuery(null, null, null, null, 900, 1300),
+				new CatalogQuery("c", "course", "s", "MW", 800, 1700)};
+		String[] labels = {"name prefix", "broad name prefix", "title keywords", "instructor", "days", "time range",
+				"every part"};
+		//warm up once before measuring
+		for (CatalogQuery query : queries) {
+			for (int i = 0; i < RUNS; i++) {
+				ws.searchCatalog(query);
+			}
+		}
+		for (int q = 0; q < queries.length; q++) {
+			long[] times = new long[RUNS];
+			int found = 0;
+			for (int i = 0; i < RUNS; i++) {
+				long begin = System.nanoTime();
+				found = ws.searchCatalog(queries[q]).length;
+				times[i] = System.nanoTime() - begin;
+			}
+			Arrays.sort(times);
+			System.out.printf("%-18s %6d rows: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n", labels[q], found,
+					times[RUNS / 2] / 1e6, times[(int) (RUNS * 0.99)] / 1e6, times[RUNS - 1] / 1e6);
+		}
+
+		Pattern pattern = Pattern.compile("(?i)\\bgenerated\\b.*\\bcourse\\b.*\\b4");
+		long[] times = new long[RUNS / 10];
+		int found = 0;
+		for (int i = 0; i < times.length; i++) {
+			long begin = System.nanoTime();
+			found = 0;
+			for (int row = 0; row < COURSES; row++) {
+				if (pattern.matcher(ws.getCatalogCell(row, 2)).find()) {
+					found++;
+				}
+			}
+			times[i] = System.nanoTime() - begin;
+		}
+		Arrays.sort(times);
+		System.out.printf("%-18s %6d rows: p50 %.2f ms, max %.2f ms%n", "regex every row", found,
+				times[times.length / 2] / 1e6, times[times.length - 1] / 1e6);
+	}
+}
@@ -0,0 +1,124 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CatalogSearch.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CatalogSearchTest {
+
+	/** Catalog searched by every test */
+	private final CourseCatalog catalog = new CourseCatalog(List.of(
+			new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100),
+			new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445),
+			new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"),
+			new Course("CSC 217", "Software Development Fundamentals Lab", "202", 3, "sesmith5", "M", 1040, 1230),
+			new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935,
+					1025),
+			new Course("CSC 316", "Data Structures and Algorithms", "001", 3, "jtking", "MW", 830, 945),
+			new Course("MA 141", "Calculus I", "001", 4, "sesmith5", "F", 1500, 1650)));
+
+	/** Index over the catalog */
+	private final CatalogSearch search = new CatalogSearch(this.catalog);
+
+	/**
+	 * Tests each part of a query on its own.
+	 */
+	@Test
+	public void testParts() {
+		assertEquals(List.of("CSC 216 001", "CSC 216 601", "CSC 217 202"), find(new CatalogQuery("csc 21")));
+		assertEquals(List.of("MA 141 001"), find(new CatalogQuery("MA")));
+		assertEquals(List.of(), find(new CatalogQuery("CSC 9")));
+		assertEquals(7, find(new CatalogQuery("  ")).size());
+
+		assertEquals(List.of("CSC 216 001", "CSC 216 601", "CSC 217 202"),
+				find(new CatalogQuery(null, "Fund", null, null, CatalogQuery.EARLIEST, CatalogQuery.LATEST)));
+		assertEquals(List.of("CSC 316 001"),
+				find(new CatalogQuery(null, "data struct", null, null, CatalogQuery.EARLIEST, CatalogQuery.LATEST)));
+		//words must start a title word
+		assertEquals(List.of(),
+				find(new CatalogQuery(null, "ructures", null, null, CatalogQuery.EARLIEST, CatalogQuery.LATEST)));
+
+		assertEquals(List.of("CSC 216 001", "CSC 217 202", "MA 141 001"),
+				find(new CatalogQuery(null, null, "SESMITH", null, CatalogQuery.EARLIEST, CatalogQuery.LATEST)));
+
+		//only courses meeting on no other days, never arranged ones
+		assertEquals(List.of("CSC 116 001", "CSC 217 202", "CSC 316 001"),
+				find(new CatalogQuery(null, null, null, "mw", CatalogQuery.EARLIEST, CatalogQuery.LATEST)));
+
+		assertEquals(List.of("CSC 116 001", "CSC 217 202", "CSC 226 001"),
+				find(new CatalogQuery(null, null, null, null, 900, 1300)));
+	}
+
+	/**
+	 * Tests that every part given must match.
+	 */
+	@Test
+	public void testCombined() {
+		assertEquals(List.of("CSC 217 202"),
+				find(new CatalogQuery("CSC", "fundamentals", "ses", "MWF", CatalogQuery.EARLIEST, CatalogQuery.LATEST)));
+		assertEquals(List.of("CSC 216 001"), find(new CatalogQuery("CSC 216", null, null, null, 1300, 1500)));
+		assertEquals(List.of(), find(new CatalogQuery("MA", "software", null, null, CatalogQuery.EARLIEST,
+				CatalogQuery.LATEST)));
+
+		//a search over an empty catalog finds nothing
+		CatalogSearch empty = new CatalogSearch(new CourseCatalog());
+		assertEquals(0, empty.search(new CatalogQuery("CSC")).length);
+		assertEquals(0, empty.search(new CatalogQuery(null)).length);
+	}
+
+	/**
+	 * Tests invalid queries.
+	 */
+	@Test
+	public void testInvalidQuery() {
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> new CatalogQuery(null, null, null, "MX", CatalogQuery.EARLIEST, CatalogQuery.LATEST));
+		assertEquals("Invalid meeting days.", e.getMessage());
+		e = assertThrows(IllegalArgumentException.class, () -> new CatalogQuery(null, null, null, null, 1300, 1200));
+		assertEquals("Invalid time range.", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> new CatalogQuery(null, null, null, null, 960, 1200));
+		assertThrows(IllegalArgumentException.class, () -> new CatalogQuery(null, null, null, null, 0, 2400));
+		assertTrue(new CatalogQuery(" ", "", null, " ", CatalogQuery.EARLIEST, CatalogQuery.LATEST).isEmpty());
+	}
+
+	/**
+	 * Tests intersecting sorted rows.
+	 */
+	@Test
+	public void testIntersect() {
+		int[] rows = {1, 4, 5, 9};
+		assertSame(rows, CatalogSearch.intersect(null, rows));
+		assertArrayEquals(new int[] {4, 9}, CatalogSearch.intersect(rows, new int[] {0, 2, 4, 6, 8, 9, 10}));
+		assertArrayEquals(new int[0], CatalogSearch.intersect(rows, new int[] {2, 3}));
+		assertTrue(this.search.isFor(this.catalog));
+		assertFalse(this.search.isFor(new CourseCatalog()));
+	}
+
+	/**
+	 * Returns the name and section of each course found, in catalog order.
+	 * 
+	 * @param query what to look for
+	 * @return name and section of each match
+	 */
+	private List<String> find(CatalogQuery query) {
+		List<String> found = new ArrayList<String>();
+		int last = -1;
+		for (int row : this.search.search(query)) {
+			assertTrue(row > last);
+			last = row;
+			Course course = this.catalog.getCourse(row);
+			found.add(course.getName() + " " + course.getSection());
+		}
+		return found;
+	}
+}
@@ -0,0 +1,145 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests CatalogWatcher.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CatalogWatcherTest {
+
+	/** Directory holding the watched catalog file */
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Tests that replacing the catalog file reloads the catalog and reports the
+	 * dropped scheduled course.
+	 * 
+	 * @throws IOException if a file cannot be written
+	 * @throws InterruptedException if interrupted while waiting for the reload
+	 */
+	@Test
+	public void testReloadOnChange() throws IOException, InterruptedException {
+		Path catalogFile = tempDir.resolve("course_records.txt");
+		Files.copy(Path.of("test-files/course_records.txt"), catalogFile);
+		WolfScheduler ws = new WolfScheduler(catalogFile.toString());
+		assertTrue(ws.addCourseToSchedule("CSC 216", "001"));
+		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
+
+		LinkedBlockingQueue<CatalogDiff> diffs = new LinkedBlockingQueue<CatalogDiff>();
+		CatalogWatcher watcher = ws.watchCatalog(diffs::add, e -> fail(e));
+		try {
+			//write the new catalog beside the old one and move it into place
+			List<String> lines = Files.readAllLines(catalogFile);
+			lines.removeIf(line -> line.startsWith("CSC 226,"));
+			Path temp = tempDir.resolve("course_records.tmp");
+			Files.write(temp, lines);
+			Files.move(temp, catalogFile, StandardCopyOption.REPLACE_EXISTING);
+
+			CatalogDiff diff = diffs.poll(10, TimeUnit.SECONDS);
+			assertNotNull(diff, "Catalog was not reloaded");
+			assertEquals(1, diff.getRemoved().size());
+			assertEquals("CSC 226", diff.getDroppedFromSchedule().get(0).getName());
+		} finally {
+			watcher.close();
+		}
+		assertNull(ws.getCourseFromCatalog("CSC 226", "001"));
+		assertEquals(1, ws.getScheduledCourses().length);
+	}
+
+	/**
+	 * Tests that an empty file and a file cut off part way through a line are
+	 * rejected without replacing the catalog, and that a listener that throws
+	 * is reported without stopping the watcher.
+	 * 
+	 * @throws IOException if a file cannot be written
+	 * @throws InterruptedException if interrupted while waiting for a reload
+	 */
+	@Test
+	public void testRejectsPartialFiles() throws IOException, InterruptedException {
+		Path catalogFile = tempDir.resolve("course_records.txt");
+		Files.copy(Path.of("test-files/course_records.txt"), catalogFile);
+		WolfScheduler ws = new WolfScheduler(catalogFile.toString());
+		int size = ws.getCatalogSize();
+		List<String> lines = Files.readAllLines(catalogFile);
+
+		LinkedBlockingQueue<CatalogDiff> diffs = new LinkedBlockingQueue<CatalogDiff>();
+		LinkedBlockingQueue<Exception> errors = new LinkedBlockingQueue<Exception>();
+		CatalogWatcher watcher = ws.watchCatalog(diff -> {
+			diffs.add(diff);
+			throw new IllegalStateException("Listener failed.");
+		}, errors::add);
+		try {
+			replace(catalogFile, "");
+			awaitError(errors, "Catalog file has no valid courses.");
+
+			//the last record stops part way through its meeting days
+			String cut = String.join("\n", lines.subList(0, 2)) + "\n" + lines.get(2).substring(0, 40);
+			replace(catalogFile, cut);
+			awaitError(errors, "Catalog file ends in an incomplete line.");
+			assertTrue(diffs.isEmpty());
+			assertEquals(size, ws.getCatalogSize());
+
+			replace(catalogFile, String.join("\n", lines.subList(0, 2)) + "\n");
+			assertNotNull(diffs.poll(10, TimeUnit.SECONDS), "Catalog was not reloaded");
+			awaitError(errors, "Listener failed.");
+			assertEquals(2, ws.getCatalogSize());
+
+			//the watcher is still running after the listener threw; one move
+			//can bring more than one reload, so wait for the one adding courses
+			replace(catalogFile, String.join("\n", lines) + "\n");
+			CatalogDiff diff;
+			do {
+				diff = diffs.poll(10, TimeUnit.SECONDS);
+				assertNotNull(diff, "Watcher stopped after a listener failure");
+			} while (diff.getAdded().isEmpty());
+			assertEquals(size, ws.getCatalogSize());
+		} finally {
+			watcher.close();
+		}
+	}
+
+	/**
+	 * Waits for an error with the given message, skipping repeats of earlier
+	 * ones from a change that brought more than one reload.
+	 * 
+	 * @param errors  errors passed to the error handler
+	 * @param message message to wait for
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private static void awaitError(LinkedBlockingQueue<Exception> errors, String message)
+			throws InterruptedException {
+		Exception e;
+		do {
+			e = errors.poll(10, TimeUnit.SECONDS);
+			assertNotNull(e, "No error: " + message);
+		} while (!message.equals(e.getMessage()));
+	}
+
+	/**
+	 * Writes the text beside the catalog file and moves it into place, as a
+	 * registrar's export would.
+	 * 
+	 * @param catalogFile catalog file to replace
+	 * @param text        new contents
+	 * @throws IOException if the file cannot be written
+	 */
+	private void replace(Path catalogFile, String text) throws IOException {
+		Path temp = tempDir.resolve("course_records.tmp");
+		Files.writeString(temp, text);
+		Files.move(temp, catalogFile, StandardCopyOption.REPLACE_EXISTING);
+	}
+}
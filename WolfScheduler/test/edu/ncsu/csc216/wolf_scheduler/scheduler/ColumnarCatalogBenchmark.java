@@ -0,0 +1,129 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Compares the heap used by, and scan times over, a CourseCatalog of Course
+ * objects and a ColumnarCourseCatalog of the same sections, for catalogs of
+ * 100k and 400k sections. Heap is measured as the change in used memory after
+ * garbage collection, so run with a fixed heap (for example -Xms1g -Xmx1g) for
+ * stable numbers. Run with main; not a unit test.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class ColumnarCatalogBenchmark {
+
+	/** Catalog sizes to measure */
+	private static final int[] SIZES = {100000, 400000};
+	/** Times each scan is repeated; the best time is reported */
+	private static final int REPEATS = 10;
+
+	/**
+	 * Runs the benchmark and prints memory and scan times.
+	 * 
+	 * @param args command line arguments not used
+	 */
+	public static void main(String[] args) {
+		for (int size : SIZES) {
+			long before = usedMemory();
+			ArrayList<Course> courses = SyntheticCatalog.generate(size);
+			CourseCatalog objects = new CourseCatalog(courses);
+			courses = null;
+			long objectBytes = usedMemory() - before;
+
+			before = usedMemory();
+			ColumnarCourseCatalog columns = new ColumnarCourseCatalog(objects.getCourses());
+			long columnBytes = usedMemory() - before;
+
+			System.out.printf("%7d sections: heap %6.1f MB objects (with indexes), %6.1f MB columns%n", size,
+					objectBytes / 1e6, columnBytes / 1e6);
+			System.out.printf("         catalog array: %7.2f ms objects, %7.2f ms columns%n",
+					best(() -> catalogArray(objects)), best(() -> columns.getCatalogArray()));
+			System.out.printf("         Monday filter: %7.2f ms objects, %7.2f ms columns%n",
+					best(() -> mondayFilter(objects)), best(() -> columns.rowsMeetingOn(Course.MONDAY)));
+			System.out.printf("         sort by start: %7.2f ms objects, %7.2f ms columns%n",
+					best(() -> sortByStart(objects)), best(() -> columns.rowsByStartTime()));
+		}
+	}
+
+	/**
+	 * Builds the catalog array the way WolfScheduler.getCourseCatalog() does.
+	 * 
+	 * @param catalog catalog to scan
+	 * @return name, section, and title of each course
+	 */
+	private static String[][] catalogArray(CourseCatalog catalog) {
+		String[][] rows = new String[catalog.size()][3];
+		for (int i = 0; i < catalog.size(); i++) {
+			Course course = catalog.getCourse(i);
+			rows[i][0] = course.getName();
+			rows[i][1] = course.getSection();
+			rows[i][2] = course.getTitle();
+		}
+		return rows;
+	}
+
+	/**
+	 * Collects every course that meets on Monday.
+	 * 
+	 * @param catalog catalog to scan
+	 * @return matching courses
+	 */
+	private static List<Course> mondayFilter(CourseCatalog catalog) {
+		List<Course> result = new ArrayList<Course>();
+		for (int i = 0; i < catalog.size(); i++) {
+			Course course = catalog.getCourse(i);
+			if ((course.getDayMask() & Course.MONDAY) != 0) {
+				result.add(course);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Sorts a copy of the catalog by start time.
+	 * 
+	 * @param catalog catalog to sort
+	 * @return sorted courses
+	 */
+	private static List<Course> sortByStart(CourseCatalog catalog) {
+		List<Course> sorted = new ArrayList<Course>(catalog.getCourses());
+		sorted.sort(Comparator.comparingInt(Course::getStartMinutes));
+		return sorted;
+	}
+
+	/**
+	 * Runs a scan several times and returns the best time.
+	 * 
+	 * @param scan scan to time
+	 * @return best time in milliseconds
+	 */
+	private static double best(Runnable scan) {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < REPEATS; i++) {
+			long start = System.nanoTime();
+			scan.run();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best / 1e6;
+	}
+
+	/**
+	 * Returns the heap in use after garbage collection settles.
+	 * 
+	 * @return used bytes
+	 */
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
+}
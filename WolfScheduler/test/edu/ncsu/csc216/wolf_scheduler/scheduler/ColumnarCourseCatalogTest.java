@@ -0,0 +1,87 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests ColumnarCourseCatalog.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class ColumnarCourseCatalogTest {
+
+	/**
+	 * Tests that the columns rebuild the same courses in the same order, with
+	 * the first duplicate winning.
+	 */
+	@Test
+	public void testMatchesCourseCatalog() {
+		ArrayList<Course> courses = SyntheticCatalog.generate(5000);
+		courses.get(42).setCapacity(30);
+		courses.add(new Course("CSC 100", "Duplicate", "000", 4, "jtking", "F", 800, 850));
+		CourseCatalog expected = new CourseCatalog(courses);
+		ColumnarCourseCatalog catalog = new ColumnarCourseCatalog(courses);
+
+		assertEquals(expected.size(), catalog.size());
+		for (int row = 0; row < catalog.size(); row++) {
+			assertEquals(expected.getCourse(row), catalog.getCourse(row));
+		}
+		Course c = courses.get(1234);
+		assertEquals(c, catalog.getCourse(c.getName(), c.getSection()));
+		assertEquals(1234, catalog.findRow(c.getName(), c.getSection()));
+		assertEquals(c.getTitle(), catalog.getTitle(1234));
+		assertEquals("Generated Course 0", catalog.getCourse("CSC 100", "000").getTitle());
+		assertNull(catalog.getCourse("CSC 999", "001"));
+		assertNull(catalog.getCourse(null, null));
+		assertThrows(IndexOutOfBoundsException.class, () -> catalog.getCourse(catalog.size()));
+		assertThrows(IllegalArgumentException.class, () -> new ColumnarCourseCatalog(null));
+
+		String[][] array = catalog.getCatalogArray();
+		assertEquals(c.getName(), array[1234][0]);
+		assertEquals(c.getSection(), array[1234][1]);
+		assertEquals(c.getTitle(), array[1234][2]);
+	}
+
+	/**
+	 * Tests the primitive scans and sort against the Course objects.
+	 */
+	@Test
+	public void testScans() {
+		ArrayList<Course> courses = SyntheticCatalog.generate(3000);
+		ColumnarCourseCatalog catalog = new ColumnarCourseCatalog(courses);
+
+		int[] monday = catalog.rowsMeetingOn(Course.MONDAY);
+		int expected = 0;
+		for (Course course : courses) {
+			if ((course.getDayMask() & Course.MONDAY) != 0) {
+				expected++;
+			}
+		}
+		assertEquals(expected, monday.length);
+		for (int row : monday) {
+			assertTrue(catalog.getCourse(row).getMeetingDays().contains("M"));
+		}
+
+		assertEquals(1000, catalog.rowsInDepartment("MA").length);
+		assertEquals(0, catalog.rowsInDepartment("XYZ").length);
+
+		for (int row : catalog.rowsWithin(8 * 60, 12 * 60)) {
+			Course course = catalog.getCourse(row);
+			assertTrue(course.getStartTime() >= 800 && course.getEndTime() <= 1200);
+		}
+
+		int[] sorted = catalog.rowsByStartTime();
+		assertEquals(catalog.size(), sorted.length);
+		for (int i = 1; i < sorted.length; i++) {
+			Course previous = catalog.getCourse(sorted[i - 1]);
+			Course current = catalog.getCourse(sorted[i]);
+			assertTrue(previous.getStartMinutes() < current.getStartMinutes()
+					|| previous.getStartMinutes() == current.getStartMinutes() && sorted[i - 1] < sorted[i]);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CourseCatalog.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CourseCatalogTest {
+
+	/**
+	 * Tests that lookups by name and section use the first matching course.
+	 */
+	@Test
+	public void testGetCourse() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445));
+		courses.add(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jtking", "TH", 910, 1100));
+
+		CourseCatalog catalog = new CourseCatalog(courses);
+		assertEquals(2, catalog.size());
+		assertEquals("jdyoung2", catalog.getCourse("CSC 116", "001").getInstructorId());
+		assertEquals(courses.get(1), catalog.getCourse("CSC 216", "001"));
+		assertEquals(courses.get(1), catalog.getCourse(1));
+		assertNull(catalog.getCourse("CSC 216", "002"));
+		assertNull(catalog.getCourse(null, "001"));
+		assertThrows(UnsupportedOperationException.class, () -> catalog.getCourses().clear());
+
+		//shared courses cannot be changed under the catalog's indexes
+		Course shared = catalog.getCourse("CSC 216", "001");
+		assertTrue(shared.isFrozen());
+		assertThrows(IllegalArgumentException.class, () -> shared.setSection("002"));
+		assertSame(shared, catalog.getCourse("CSC 216", "001"));
+
+		//the catalog froze a copy, so the caller's course can still change
+		assertFalse(courses.get(1).isFrozen());
+		courses.get(1).setSection("002");
+		assertEquals("001", catalog.getCourse("CSC 216", "001").getSection());
+		assertSame(shared, new CourseCatalog(catalog.getCourses()).getCourse(1));
+	}
+
+	/**
+	 * Tests lookups against a large generated catalog.
+	 */
+	@Test
+	public void testLargeCatalog() {
+		ArrayList<Course> courses = SyntheticCatalog.generate(10000);
+		CourseCatalog catalog = new CourseCatalog(courses);
+		assertEquals(10000, catalog.size());
+		for (int i = 0; i < courses.size(); i += 97) {
+			Course c = courses.get(i);
+			assertEquals(c, catalog.getCourse(c.getName(), c.getSection()));
+		}
+		assertThrows(IllegalArgumentException.class, () -> new CourseCatalog(null));
+	}
+
+	/**
+	 * Tests the instructor, department, and meeting day indexes.
+	 */
+	@Test
+	public void testSecondaryIndexes() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445));
+		courses.add(new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025));
+		courses.add(new Course("MA 305", "Linear Algebra", "001", 3, "sesmith5", "A"));
+
+		CourseCatalog catalog = new CourseCatalog(courses);
+		assertEquals(2, catalog.getCoursesByInstructor("sesmith5").size());
+		assertEquals("MA 305", catalog.getCoursesByInstructor("sesmith5").get(1).getName());
+		assertEquals(0, catalog.getCoursesByInstructor("jdyoung2").size());
+
+		assertEquals(2, catalog.getCoursesByDepartment("CSC").size());
+		assertEquals(1, catalog.getCoursesByDepartment("MA").size());
+		assertEquals(0, catalog.getCoursesByDepartment("CS").size());
+
+		assertEquals(courses.get(0), catalog.getCoursesByMeetingDay('H').get(0));
+		assertEquals(1, catalog.getCoursesByMeetingDay('F').size());
+		assertEquals(1, catalog.getCoursesByMeetingDay('A').size());
+		assertThrows(UnsupportedOperationException.class, () -> catalog.getCoursesByMeetingDay('M').clear());
+	}
+}
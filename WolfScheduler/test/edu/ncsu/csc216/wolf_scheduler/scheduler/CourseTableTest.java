@@ -0,0 +1,41 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CourseTable.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class CourseTableTest {
+
+	/**
+	 * Tests laying out courses as short and full rows.
+	 */
+	@Test
+	public void testRows() {
+		Course[] courses = {
+				new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445),
+				new Course("CSC 316", "Data Structures and Algorithms", "001", 3, "jtking", "A")};
+
+		String[][] full = CourseTable.rows(courses, CourseTable.FULL_COLUMNS);
+		assertArrayEquals(new String[] {"CSC 216", "001", "Software Development Fundamentals", "3", "sesmith5",
+				"TH 1:30PM-2:45PM"}, full[0]);
+		assertEquals("Arranged", full[1][5]);
+		String[][] shortRows = CourseTable.rows(courses, CourseTable.SHORT_COLUMNS);
+		assertArrayEquals(new String[] {"CSC 316", "001", "Data Structures and Algorithms"}, shortRows[1]);
+		assertEquals(0, CourseTable.rows(new Course[0], CourseTable.SHORT_COLUMNS).length);
+
+		assertThrows(IllegalArgumentException.class, () -> CourseTable.cell(courses[0], 6));
+		assertThrows(IllegalArgumentException.class, () -> CourseTable.cell(courses[0], -1));
+
+		CourseTable table = new CourseTable(courses, full);
+		assertTrue(table.isFor(courses));
+		assertFalse(table.isFor(courses.clone()));
+		assertSame(full, table.getRows());
+	}
+}
@@ -0,0 +1,134 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Compares a CourseCatalog with a MappedCourseCatalog of the same sections,
+ * for catalogs of 100k and 400k sections: the heap each keeps live, and the
+ * garbage collections and collection time spent while a batch of lookups runs
+ * against it. Run with a fixed heap (for example -Xms1g -Xmx1g) for stable
+ * numbers. Run with main; not a unit test.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class MappedCatalogBenchmark {
+
+	/** Catalog sizes to measure */
+	private static final int[] SIZES = {100000, 400000};
+	/** Lookups run against each catalog */
+	private static final int LOOKUPS = 1000000;
+
+	/**
+	 * Runs the benchmark and prints memory and collection counts.
+	 * 
+	 * @param args command line arguments not used
+	 * @throws IOException if the mapped catalog cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		Path file = Files.createTempFile("catalog", ".mapped");
+		try {
+			for (int size : SIZES) {
+				ArrayList<Course> courses = SyntheticCatalog.generate(size);
+				MappedCourseCatalog.write(file.toString(), courses);
+				String[][] keys = new String[size][];
+				for (int i = 0; i < size; i++) {
+					keys[i] = new String[] {courses.get(i).getName(), courses.get(i).getSection()};
+				}
+
+				long before = usedMemory();
+				CourseCatalog objects = new CourseCatalog(courses);
+				courses = null;
+				long objectBytes = usedMemory() - before;
+				String objectGc = lookups(objects, keys);
+				objects = null;
+
+				before = usedMemory();
+				MappedCourseCatalog mapped = MappedCourseCatalog.open(file.toString());
+				long mappedBytes = usedMemory() - before;
+				String mappedGc = lookups(mapped, keys);
+
+				System.out.printf("%7d sections: heap %6.1f MB objects, %6.1f MB mapped (%6.1f MB file)%n", size,
+						objectBytes / 1e6, mappedBytes / 1e6, Files.size(file) / 1e6);
+				System.out.printf("         %d lookups: objects %s; mapped %s%n", LOOKUPS, objectGc, mappedGc);
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Runs the lookups after a full collection and reports the collections
+	 * that happened while they ran.
+	 * 
+	 * @param catalog catalog to look up in
+	 * @param keys    name and section of each course
+	 * @return collection count, collection time, and elapsed time
+	 */
+	private static String lookups(Catalog catalog, String[][] keys) {
+		System.gc();
+		long collections = collections();
+		long collectionMillis = collectionMillis();
+		long start = System.nanoTime();
+		int found = 0;
+		for (int i = 0; i < LOOKUPS; i++) {
+			String[] key = keys[(int) ((i * 2654435761L) % keys.length)];
+			if (catalog.getCourse(key[0], key[1]) != null) {
+				found++;
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		if (found != LOOKUPS) {
+			throw new IllegalStateException("Lookup failed.");
+		}
+		return String.format("%d GCs, %d ms GC, %.0f ms total", collections() - collections,
+				collectionMillis() - collectionMillis, elapsed / 1e6);
+	}
+
+	/**
+	 * Returns the number of collections so far across every collector.
+	 * 
+	 * @return collection count
+	 */
+	private static long collections() {
+		long count = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, bean.getCollectionCount());
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the time spent collecting so far across every collector.
+	 * 
+	 * @return collection time in milliseconds
+	 */
+	private static long collectionMillis() {
+		long millis = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			millis += Math.max(0, bean.getCollectionTime());
+		}
+		return millis;
+	}
+
+	/**
+	 * Returns the heap in use after garbage collection settles.
+	 * 
+	 * @return used bytes
+	 */
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
+}
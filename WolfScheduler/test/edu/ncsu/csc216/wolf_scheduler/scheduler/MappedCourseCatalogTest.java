@@ -0,0 +1,113 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests MappedCourseCatalog.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class MappedCourseCatalogTest {
+
+	/** Directory for the catalog files written by each test */
+	@TempDir
+	Path dir;
+
+	/**
+	 * Tests that a written and mapped catalog matches a CourseCatalog of the
+	 * same courses, with the first duplicate winning.
+	 * 
+	 * @throws IOException if the catalog cannot be written or mapped
+	 */
+	@Test
+	public void testMatchesCourseCatalog() throws IOException {
+		ArrayList<Course> courses = SyntheticCatalog.generate(5000);
+		courses.get(42).setCapacity(30);
+		courses.add(new Course("CSC 100", "Duplicate", "000", 4, "jtking", "F", 800, 850));
+		courses.add(new Course("HI 233", "Caf\u00e9 Culture", "001", 3, "jdoe", "A"));
+		CourseCatalog expected = new CourseCatalog(courses);
+		String file = dir.resolve("catalog.mapped").toString();
+		MappedCourseCatalog.write(file, courses);
+		MappedCourseCatalog catalog = MappedCourseCatalog.open(file);
+
+		assertEquals(expected.size(), catalog.size());
+		for (int row = 0; row < catalog.size(); row++) {
+			assertEquals(expected.getCourse(row), catalog.getCourse(row));
+		}
+		Course c = courses.get(1234);
+		assertEquals(c, catalog.getCourse(c.getName(), c.getSection()));
+		assertEquals("Generated Course 0", catalog.getCourse("CSC 100", "000").getTitle());
+		assertEquals("Caf\u00e9 Culture", catalog.getCourse("HI 233", "001").getTitle());
+		assertNull(catalog.getCourse("CSC 999", "001"));
+		assertNull(catalog.getCourse(c.getName(), "X01"));
+		assertNull(catalog.getCourse(null, null));
+		assertThrows(IndexOutOfBoundsException.class, () -> catalog.getCourse(catalog.size()));
+		assertThrows(IndexOutOfBoundsException.class, () -> catalog.getCourse(-1));
+
+		assertEquals(expected.getSections(c.getName()), catalog.getSections(c.getName()));
+		assertEquals(expected.getCoursesByInstructor(c.getInstructorId()),
+				catalog.getCoursesByInstructor(c.getInstructorId()));
+		assertEquals(expected.getCoursesByDepartment("HI"), catalog.getCoursesByDepartment("HI"));
+		for (char day : "MTWHFAX".toCharArray()) {
+			assertEquals(expected.getCoursesByMeetingDay(day), catalog.getCoursesByMeetingDay(day));
+		}
+		assertTrue(catalog.getSections("CSC 999").isEmpty());
+		assertTrue(catalog.getCoursesByInstructor("nobody").isEmpty());
+		assertTrue(catalog.getCoursesByDepartment("ZZZ").isEmpty());
+	}
+
+	/**
+	 * Tests mapping an empty catalog.
+	 * 
+	 * @throws IOException if the catalog cannot be written or mapped
+	 */
+	@Test
+	public void testEmpty() throws IOException {
+		String file = dir.resolve("empty.mapped").toString();
+		MappedCourseCatalog.write(file, new ArrayList<Course>());
+		MappedCourseCatalog catalog = MappedCourseCatalog.open(file);
+		assertEquals(0, catalog.size());
+		assertNull(catalog.getCourse("CSC 216", "001"));
+		assertTrue(catalog.getCoursesByMeetingDay('M').isEmpty());
+	}
+
+	/**
+	 * Tests that files which are not valid mapped catalogs are rejected.
+	 * 
+	 * @throws IOException if the test files cannot be written
+	 */
+	@Test
+	public void testInvalidFiles() throws IOException {
+		assertThrows(IOException.class, () -> MappedCourseCatalog.open(dir.resolve("missing").toString()));
+
+		Path text = dir.resolve("text.mapped");
+		Files.writeString(text, "CSC116,Intro to Programming - Java,001,3,jdyoung2,MW,910,1100\n");
+		assertThrows(IOException.class, () -> MappedCourseCatalog.open(text.toString()));
+
+		Path valid = dir.resolve("valid.mapped");
+		MappedCourseCatalog.write(valid.toString(), SyntheticCatalog.generate(100));
+		byte[] bytes = Files.readAllBytes(valid);
+
+		Path truncated = dir.resolve("truncated.mapped");
+		Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+		assertThrows(IOException.class, () -> MappedCourseCatalog.open(truncated.toString()));
+
+		//point the first row's name at a string that does not exist
+		Path badId = dir.resolve("bad.mapped");
+		byte[] corrupt = bytes.clone();
+		corrupt[16] = 0x7F;
+		Files.write(badId, corrupt);
+		assertThrows(IOException.class, () -> MappedCourseCatalog.open(badId.toString()));
+	}
+}
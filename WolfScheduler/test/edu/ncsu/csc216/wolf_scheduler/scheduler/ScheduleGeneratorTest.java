@@ -0,0 +1,119 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests ScheduleGenerator.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class ScheduleGeneratorTest {
+
+	/**
+	 * Builds a small catalog with a few sections of three courses.
+	 * 
+	 * @return catalog for the tests
+	 */
+	private CourseCatalog catalog() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100));
+		courses.add(new Course("CSC 116", "Intro to Programming - Java", "002", 3, "spbalik", "MW", 1120, 1310));
+		courses.add(new Course("CSC 116", "Intro to Programming - Java", "003", 3, "tbdimitr", "TH", 1120, 1310));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "002", 3, "ixdoming", "MW", 1300, 1415));
+		courses.add(new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025));
+		courses.add(new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "601", 3, "tmbarnes", "A"));
+		return new CourseCatalog(courses);
+	}
+
+	/**
+	 * Tests that every conflict free combination is produced.
+	 */
+	@Test
+	public void testGenerate() {
+		ScheduleGenerator generator = new ScheduleGenerator(catalog());
+		List<List<Course>> results = generator.generateRanked(Arrays.asList("CSC 116", "CSC 216", "CSC 226"), 100, 5000);
+
+		// 3 * 2 * 2 = 12 combinations, minus the two with 116-001 and 226-001
+		// and the two with 116-002 and 216-002 (1300 < 1310)
+		assertEquals(8, results.size());
+		for (List<Course> schedule : results) {
+			assertEquals(3, schedule.size());
+			assertEquals("CSC 116", schedule.get(0).getName());
+			assertEquals("CSC 216", schedule.get(1).getName());
+			assertEquals("CSC 226", schedule.get(2).getName());
+			for (int i = 0; i < schedule.size(); i++) {
+				for (int j = i + 1; j < schedule.size(); j++) {
+					assertFalse(schedule.get(i).conflictsWith(schedule.get(j)));
+				}
+			}
+		}
+
+		// best ranked schedule meets on the fewest days: TH for 116-003 and 216-001, 226 arranged
+		assertEquals("003", results.get(0).get(0).getSection());
+		assertEquals("001", results.get(0).get(1).getSection());
+		assertEquals("601", results.get(0).get(2).getSection());
+		for (int i = 1; i < results.size(); i++) {
+			assertTrue(ScheduleGenerator.score(results.get(i - 1)) <= ScheduleGenerator.score(results.get(i)));
+		}
+
+		// a smaller cap keeps the best schedules, not the first ones found
+		for (int cap = 1; cap <= results.size(); cap++) {
+			List<List<Course>> top = generator.generateRanked(Arrays.asList("CSC 116", "CSC 216", "CSC 226"), cap,
+					5000);
+			assertEquals(cap, top.size());
+			for (int i = 0; i < cap; i++) {
+				assertEquals(ScheduleGenerator.score(results.get(i)), ScheduleGenerator.score(top.get(i)));
+			}
+		}
+		assertEquals(results.get(0), generator.generateRanked(Arrays.asList("CSC 116", "CSC 216", "CSC 226"), 1,
+				5000).get(0));
+		assertThrows(IllegalArgumentException.class,
+				() -> generator.generateRanked(Arrays.asList("CSC 116"), 0, 5000));
+	}
+
+	/**
+	 * Tests the result cap, missing courses, and invalid input.
+	 */
+	@Test
+	public void testLimits() {
+		ScheduleGenerator generator = new ScheduleGenerator(catalog(), new ForkJoinPool(4));
+		AtomicInteger count = new AtomicInteger();
+		assertEquals(3, generator.generate(Arrays.asList("CSC 116", "CSC 216", "CSC 226"), 3, 5000,
+				s -> count.incrementAndGet()));
+		assertEquals(3, count.get());
+
+		assertEquals(0, generator.generate(Arrays.asList("CSC 116", "CSC 492"), 10, 5000, s -> fail()));
+
+		assertThrows(IllegalArgumentException.class,
+				() -> generator.generate(Arrays.asList("CSC 116", "CSC 116"), 10, 5000, s -> { }));
+		assertThrows(IllegalArgumentException.class,
+				() -> generator.generate(new ArrayList<String>(), 10, 5000, s -> { }));
+		assertThrows(IllegalArgumentException.class,
+				() -> generator.generate(Arrays.asList("CSC 116"), 0, 5000, s -> { }));
+	}
+
+	/**
+	 * Tests a search large enough to be split across the pool.
+	 */
+	@Test
+	public void testLargeSearch() {
+		CourseCatalog catalog = new CourseCatalog(SyntheticCatalog.generate(6000));
+		ScheduleGenerator generator = new ScheduleGenerator(catalog);
+		List<String> names = Arrays.asList("CSC 100", "MA 100", "E 100", "ECE 100", "PY 100", "ST 100");
+		AtomicInteger count = new AtomicInteger();
+		int produced = generator.generate(names, 5000, 10000, s -> count.incrementAndGet());
+		assertEquals(5000, produced);
+		assertEquals(5000, count.get());
+	}
+}
@@ -0,0 +1,165 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Measures the heap cost of a ScheduleSession holding a small schedule
+ * against a WolfScheduler per user, each loading its own catalog, and the
+ * throughput of schedule changes as threads are added. Run with a fixed heap
+ * (for example -Xms1g -Xmx1g) for stable numbers. Run with main; not a unit
+ * test.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class ScheduleSessionBenchmark {
+
+	/** Sections in the catalog */
+	private static final int CATALOG_SIZE = 10000;
+	/** Sessions opened to measure memory */
+	private static final int SESSIONS = 100000;
+	/** Schedulers opened to measure memory */
+	private static final int SCHEDULERS = 20;
+	/** Courses added to each session */
+	private static final int COURSES_PER_SESSION = 4;
+	/** Thread counts to measure throughput with */
+	private static final int[] THREADS = {1, 2, 4, 8};
+	/** Sessions used by each thread in the throughput run */
+	private static final int SESSIONS_PER_THREAD = 1000;
+	/** Schedule changes made by each thread in the throughput run */
+	private static final int OPERATIONS = 500000;
+
+	/**
+	 * Runs the benchmark and prints memory per user and throughput.
+	 * 
+	 * @param args command line arguments not used
+	 * @throws Exception if the catalog cannot be written or a thread fails
+	 */
+	public static void main(String[] args) throws Exception {
+		Path file = Files.createTempFile("catalog", ".txt");
+		try {
+			ArrayList<Course> courses = SyntheticCatalog.generate(CATALOG_SIZE);
+			CourseRecordIO.writeCourseRecords(file.toString(), courses);
+			WolfScheduler ws = new WolfScheduler(file.toString());
+
+			long before = usedMemory();
+			ScheduleSession[] sessions = new ScheduleSession[SESSIONS];
+			Random random = new Random(0);
+			for (int i = 0; i < SESSIONS; i++) {
+				sessions[i] = ws.openSession();
+				fill(sessions[i], courses, random);
+			}
+			long sessionBytes = usedMemory() - before;
+			//keep the sessions live until they have been measured
+			Reference.reachabilityFence(sessions);
+			sessions = null;
+
+			before = usedMemory();
+			WolfScheduler[] schedulers = new WolfScheduler[SCHEDULERS];
+			for (int i = 0; i < SCHEDULERS; i++) {
+				schedulers[i] = new WolfScheduler(file.toString());
+			}
+			long schedulerBytes = usedMemory() - before;
+			Reference.reachabilityFence(schedulers);
+			schedulers = null;
+
+			System.out.printf("per user: %.0f bytes as a session, %.0f bytes as a WolfScheduler of %d sections%n",
+					(double) sessionBytes / SESSIONS, (double) schedulerBytes / SCHEDULERS, CATALOG_SIZE);
+			for (int threads : THREADS) {
+				System.out.printf("%d threads: %.2f million changes/s%n", threads, throughput(ws, courses, threads));
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Adds random courses to the session until it holds COURSES_PER_SESSION.
+	 * 
+	 * @param session session to fill
+	 * @param courses catalog courses to pick from
+	 * @param random  source of randomness
+	 */
+	private static void fill(ScheduleSession session, List<Course> courses, Random random) {
+		while (session.getCourses().size() < COURSES_PER_SESSION) {
+			Course course = courses.get(random.nextInt(courses.size()));
+			try {
+				session.addCourse(course.getName(), course.getSection());
+			} catch (IllegalArgumentException e) {
+				//already enrolled or a conflict
+			}
+		}
+	}
+
+	/**
+	 * Runs random adds and removes on per thread sessions and returns the rate.
+	 * 
+	 * @param ws      scheduler holding the catalog
+	 * @param courses catalog courses to pick from
+	 * @param threads number of threads
+	 * @return millions of changes per second across all threads
+	 * @throws Exception if a thread fails
+	 */
+	private static double throughput(WolfScheduler ws, List<Course> courses, int threads) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			long start = System.nanoTime();
+			for (int t = 0; t < threads; t++) {
+				long seed = t;
+				futures.add(pool.submit(() -> {
+					Random random = new Random(seed);
+					ScheduleSession[] sessions = new ScheduleSession[SESSIONS_PER_THREAD];
+					for (int i = 0; i < sessions.length; i++) {
+						sessions[i] = ws.openSession();
+					}
+					for (int i = 0; i < OPERATIONS; i++) {
+						ScheduleSession session = sessions[random.nextInt(sessions.length)];
+						Course course = courses.get(random.nextInt(courses.size()));
+						if (random.nextBoolean()) {
+							try {
+								session.addCourse(course.getName(), course.getSection());
+							} catch (IllegalArgumentException e) {
+								//already enrolled or a conflict
+							}
+						} else {
+							session.removeCourse(course.getName(), course.getSection());
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			return (double) threads * OPERATIONS / ((System.nanoTime() - start) / 1e3);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Returns the heap in use after garbage collection settles.
+	 * 
+	 * @return used bytes
+	 */
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
+}
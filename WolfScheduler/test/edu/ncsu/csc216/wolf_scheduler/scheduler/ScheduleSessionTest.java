@@ -0,0 +1,549 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests ScheduleSession.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class ScheduleSessionTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/** Threads used by the stress test */
+	private static final int THREADS = 8;
+	/** Private sessions used by each stress test thread */
+	private static final int SESSIONS_PER_THREAD = 50;
+	/** Operations run by each stress test thread */
+	private static final int OPERATIONS = 20000;
+	/** Course names the stress test draws from */
+	private static final int NAMES = 20;
+	/** Sections of each name the stress test draws from */
+	private static final int SECTIONS = 20;
+
+	/** Directory for the stress test catalog */
+	@TempDir
+	Path dir;
+
+	/**
+	 * Tests that sessions share the scheduler's catalog but keep their own
+	 * schedules and titles.
+	 */
+	@Test
+	public void testSessionsAreIndependent() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ScheduleSession first = ws.openSession();
+		ScheduleSession second = ws.openSession();
+
+		assertTrue(first.addCourse("CSC 216", "001"));
+		assertTrue(second.addCourse("CSC 216", "002"));
+		assertFalse(first.addCourse("CSC 492", "001"));
+		assertSame(ws.getCourseFromCatalog("CSC 216", "001"), first.getCourses().get(0));
+		assertEquals(0, ws.getScheduledCourses().length);
+
+		Exception e = assertThrows(IllegalArgumentException.class, () -> first.addCourse("CSC 216", "002"));
+		assertEquals("You are already enrolled in CSC 216", e.getMessage());
+		assertTrue(second.addCourse("CSC 116", "001"));
+		e = assertThrows(IllegalArgumentException.class, () -> second.addCourse("CSC 226", "001"));
+		assertEquals("The course cannot be added due to a conflict.", e.getMessage());
+
+		first.setScheduleTitle("Fall");
+		assertEquals("Fall", first.getScheduleTitle());
+		assertEquals(WolfScheduler.DEFAULT_SCHEDULE_NAME, second.getScheduleTitle());
+		assertThrows(IllegalArgumentException.class, () -> first.setScheduleTitle(null));
+
+		//a snapshot does not change when the session does
+		List<Course> snapshot = first.getCourses();
+		assertTrue(first.addCourse("CSC 226", "001"));
+		assertEquals(1, snapshot.size());
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.clear());
+
+		String[][] full = first.getFullScheduledCourses();
+		assertEquals(2, full.length);
+		assertEquals("CSC 226", full[1][0]);
+		assertEquals("3", full[1][3]);
+		assertEquals("MWF 9:35AM-10:25AM", full[1][5]);
+
+		assertFalse(first.removeCourse("CSC 216", "002"));
+		assertTrue(first.removeCourse("CSC 216", "001"));
+		assertEquals("CSC 226", first.getScheduledCourses()[0][0]);
+		first.resetSchedule();
+		assertEquals(0, first.getScheduledCourses().length);
+		assertEquals(2, second.getScheduledCourses().length);
+	}
+
+	/**
+	 * Tests that a session's version changes with its courses and that its
+	 * tables are shared until then.
+	 */
+	@Test
+	public void testVersion() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ScheduleSession session = ws.openSession();
+		long version = session.getVersion();
+		String[][] empty = session.getScheduledCourses();
+		assertSame(empty, session.getScheduledCourses());
+
+		assertTrue(session.addCourse("CSC 216", "001"));
+		assertEquals(version + 1, session.getVersion());
+		String[][] one = session.getScheduledCourses();
+		assertNotSame(empty, one);
+		assertSame(one, session.getScheduledCourses());
+		assertEquals(1, session.getScheduleSize());
+		assertEquals("Software Development Fundamentals", session.getScheduledCell(0, 2));
+
+		//the title is not part of the tables
+		session.setScheduleTitle("Fall");
+		assertEquals(version + 1, session.getVersion());
+		assertFalse(session.removeCourse("CSC 216", "002"));
+		assertEquals(version + 1, session.getVersion());
+
+		assertTrue(session.removeCourse("CSC 216", "001"));
+		assertEquals(version + 2, session.getVersion());
+		assertEquals(0, session.getScheduledCourses().length);
+		assertThrows(IllegalArgumentException.class, () -> session.getScheduledCell(0, 0));
+	}
+
+	/**
+	 * Tests that every change is published in order with the schedule version
+	 * after it.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for an event
+	 */
+	@Test
+	public void testEvents() throws InterruptedException {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ScheduleSession session = ws.openSession();
+		Collector collector = new Collector(Long.MAX_VALUE);
+		session.subscribe(collector);
+
+		assertTrue(session.addCourse("CSC 216", "001"));
+		assertFalse(session.addCourse("CSC 492", "001"));
+		assertThrows(IllegalArgumentException.class, () -> session.addCourse("CSC 216", "002"));
+		assertTrue(session.addCourse("CSC 226", "001"));
+		assertTrue(session.removeCourse("CSC 216", "001"));
+		session.setScheduleTitle("Fall");
+		session.resetSchedule();
+
+		ScheduleEvent event = collector.next();
+		assertEquals(ScheduleEvent.Type.COURSE_ADDED, event.getType());
+		assertEquals("CSC 216", event.getCourse().getName());
+		assertEquals(1, event.getVersion());
+		event = collector.next();
+		assertEquals(ScheduleEvent.Type.COURSE_ADDED, event.getType());
+		assertEquals("CSC 226", event.getCourse().getName());
+		assertEquals(2, event.getVersion());
+		event = collector.next();
+		assertEquals(ScheduleEvent.Type.COURSE_REMOVED, event.getType());
+		assertEquals("CSC 216", event.getCourse().getName());
+		assertEquals(3, event.getVersion());
+		event = collector.next();
+		assertEquals(ScheduleEvent.Type.TITLE_CHANGED, event.getType());
+		assertEquals("Fall", event.getTitle());
+		assertEquals(3, event.getVersion());
+		event = collector.next();
+		assertEquals(ScheduleEvent.Type.SCHEDULE_RESET, event.getType());
+		assertEquals(4, event.getVersion());
+		assertEquals(0, session.getDroppedEventCount());
+	}
+
+	/**
+	 * Tests that a subscriber that requests nothing loses events instead of
+	 * holding up changes, and can see the gap from the versions.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for an event
+	 */
+	@Test
+	public void testSlowSubscriber() throws InterruptedException {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ScheduleSession session = ws.openSession();
+		Collector slow = new Collector(0);
+		session.subscribe(slow);
+		slow.subscribed.await();
+
+		int changes = 10 * Flow.defaultBufferSize();
+		for (int i = 0; i < changes / 2; i++) {
+			assertTrue(session.addCourse("CSC 216", "001"));
+			assertTrue(session.removeCourse("CSC 216", "001"));
+		}
+		assertTrue(session.getDroppedEventCount() > 0);
+
+		//the buffered events arrive once requested, and the next change after
+		//them shows a gap; keep changing until the buffer has room again
+		slow.subscription.request(Long.MAX_VALUE);
+		long last = 0;
+		boolean gap = false;
+		boolean added = false;
+		int attempts = 0;
+		while (last <= changes && attempts < 100) {
+			ScheduleEvent event = slow.received.poll(100, TimeUnit.MILLISECONDS);
+			if (event == null) {
+				attempts++;
+				added = !added;
+				if (added) {
+					assertTrue(session.addCourse("CSC 216", "001"));
+				} else {
+					assertTrue(session.removeCourse("CSC 216", "001"));
+				}
+				continue;
+			}
+			gap |= event.getVersion() > last + 1;
+			last = event.getVersion();
+		}
+		assertTrue(last > changes);
+		assertTrue(gap);
+	}
+
+	/**
+	 * Tests that a reload rebuilds every open session and sends each its own
+	 * changes, and that a closed session gives back its seats and is no
+	 * longer rebuilt.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for an event
+	 */
+	@Test
+	public void testReloadAndClose() throws InterruptedException {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ScheduleSession first = ws.openSession();
+		ScheduleSession second = ws.openSession();
+		assertEquals(2, ws.getOpenSessionCount());
+		Collector collector = new Collector(Long.MAX_VALUE);
+		first.subscribe(collector);
+		assertTrue(first.addCourse("CSC 216", "001"));
+		assertTrue(first.addCourse("CSC 116", "001"));
+		assertTrue(second.addCourse("CSC 116", "001"));
+
+		//drop CSC 116 001 and retitle CSC 216 001
+		List<Course> courses = new ArrayList<Course>();
+		for (String[] row : ws.getCourseCatalog()) {
+			Course course = ws.getCourseFromCatalog(row[0], row[1]);
+			if (row[0].equals("CSC 216") && row[1].equals("001")) {
+				course = new Course("CSC 216", "Software Development", "001", 3, "sesmith5", "TH", 1330, 1445);
+			}
+			if (!(row[0].equals("CSC 116") && row[1].equals("001"))) {
+				courses.add(course);
+			}
+		}
+		CatalogDiff own = ws.loadCatalog(courses, null);
+		assertTrue(own.getDroppedFromSchedule().isEmpty());
+
+		assertEquals(1, first.getScheduleSize());
+		assertEquals("Software Development", first.getCourses().get(0).getTitle());
+		assertSame(ws.getCourseFromCatalog("CSC 216", "001"), first.getCourses().get(0));
+		assertEquals(0, second.getScheduleSize());
+		assertEquals(0, ws.getEnrolledCount("CSC 116", "001"));
+
+		collector.next();
+		collector.next();
+		ScheduleEvent event = collector.next();
+		assertEquals(ScheduleEvent.Type.CATALOG_RELOADED, event.getType());
+		assertEquals(1, event.getDiff().getDroppedFromSchedule().size());
+		assertEquals(1, event.getDiff().getUpdatedInSchedule().size());
+		assertEquals(first.getVersion(), event.getVersion());
+
+		first.close();
+		assertTrue(first.isClosed());
+		assertEquals(1, ws.getOpenSessionCount());
+		assertEquals(0, first.getScheduleSize());
+		assertEquals(0, ws.getEnrolledCount("CSC 216", "001"));
+		Exception e = assertThrows(IllegalArgumentException.class, () -> first.addCourse("CSC 226", "001"));
+		assertEquals("The session is closed.", e.getMessage());
+		assertEquals(ScheduleEvent.Type.SCHEDULE_RESET, collector.next().getType());
+		assertTrue(collector.completed.await(10, TimeUnit.SECONDS));
+
+		//a closed session is left alone by later reloads
+		long version = first.getVersion();
+		ws.loadCatalog(courses, null);
+		assertEquals(version, first.getVersion());
+		first.close();
+	}
+
+	/**
+	 * Tests that a reload moving a scheduled section onto another scheduled
+	 * course drops the moved one and gives back its seat, while a section
+	 * moved to a free time is updated.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for an event
+	 */
+	@Test
+	public void testReloadDropsConflicts() throws InterruptedException {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ScheduleSession session = ws.openSession();
+		assertTrue(session.addCourse("CSC 216", "001"));
+		assertTrue(session.addCourse("CSC 116", "003"));
+		assertTrue(session.addCourse("CSC 226", "001"));
+		Collector collector = new Collector(Long.MAX_VALUE);
+		session.subscribe(collector);
+
+		//CSC 116 003 moves onto CSC 216 001, and CSC 226 001 moves to a free time
+		List<Course> courses = new ArrayList<Course>();
+		for (String[] row : ws.getCourseCatalog()) {
+			Course course = ws.getCourseFromCatalog(row[0], row[1]);
+			if (row[0].equals("CSC 116") && row[1].equals("003")) {
+				course = new Course("CSC 116", "Intro to Programming - Java", "003", 3, "tbdimitr", "TH", 1400, 1500);
+			} else if (row[0].equals("CSC 226") && row[1].equals("001")) {
+				course = new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes",
+						"MWF", 1035, 1125);
+			}
+			courses.add(course);
+		}
+		ws.loadCatalog(courses, null);
+
+		assertEquals(2, session.getScheduleSize());
+		assertEquals("CSC 216", session.getCourses().get(0).getName());
+		assertEquals(1035, session.getCourses().get(1).getStartTime());
+		assertEquals(0, ws.getEnrolledCount("CSC 116", "003"));
+		ScheduleEvent event = collector.next();
+		assertEquals(ScheduleEvent.Type.CATALOG_RELOADED, event.getType());
+		assertEquals(1, event.getDiff().getDroppedFromSchedule().size());
+		assertEquals("CSC 116", event.getDiff().getDroppedFromSchedule().get(0).getName());
+		assertEquals(1, event.getDiff().getUpdatedInSchedule().size());
+		session.close();
+	}
+
+	/**
+	 * Tests that a reload removing a full section clears its waitlist and
+	 * seat count and tells each session that was waiting for it.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for an event
+	 */
+	@Test
+	public void testReloadDropsWaitlists() throws InterruptedException {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		List<Course> courses = new ArrayList<Course>();
+		for (String[] row : ws.getCourseCatalog()) {
+			courses.add(ws.getCourseFromCatalog(row[0], row[1]));
+		}
+		List<Course> withSmall = new ArrayList<Course>(courses);
+		Course small = new Course("CSC 216", "Software Development Fundamentals", "099", 3, "ixdoming", "MW", 1330,
+				1445);
+		small.setCapacity(1);
+		withSmall.add(small);
+		ws.loadCatalog(withSmall, null);
+
+		ScheduleSession holder = ws.openSession();
+		ScheduleSession waiter = ws.openSession();
+		assertTrue(holder.joinWaitlist("CSC 216", "099"));
+		assertTrue(waiter.joinWaitlist("CSC 216", "099"));
+		assertEquals(1, ws.getWaitlistLength("CSC 216", "099"));
+		Collector collector = new Collector(Long.MAX_VALUE);
+		waiter.subscribe(collector);
+
+		ws.loadCatalog(courses, null);
+		assertEquals(ScheduleEvent.Type.CATALOG_RELOADED, collector.next().getType());
+		ScheduleEvent event = collector.next();
+		assertEquals(ScheduleEvent.Type.WAITLIST_DROPPED, event.getType());
+		assertEquals("099", event.getCourse().getSection());
+		assertEquals(0, ws.getWaitlistLength("CSC 216", "099"));
+		assertEquals(0, ws.getEnrolledCount("CSC 216", "099"));
+		assertEquals(0, holder.getScheduleSize());
+		assertEquals(0, waiter.getScheduleSize());
+		assertFalse(waiter.leaveWaitlist("CSC 216", "099"));
+
+		//bringing the section back starts it empty
+		ws.loadCatalog(withSmall, null);
+		assertTrue(waiter.addCourse("CSC 216", "099"));
+		assertEquals(1, ws.getEnrolledCount("CSC 216", "099"));
+		holder.close();
+		waiter.close();
+	}
+
+	/**
+	 * Subscriber that queues the events it receives.
+	 */
+	private static class Collector implements Flow.Subscriber<ScheduleEvent> {
+
+		/** events received */
+		private final LinkedBlockingQueue<ScheduleEvent> received = new LinkedBlockingQueue<ScheduleEvent>();
+		/** released once the subscription arrives */
+		private final CountDownLatch subscribed = new CountDownLatch(1);
+		/** events to request when subscribed */
+		private final long initialRequest;
+		/** subscription to the session */
+		private volatile Flow.Subscription subscription;
+		/** released once the session is closed */
+		private final CountDownLatch completed = new CountDownLatch(1);
+
+		/**
+		 * Creates a collector.
+		 * 
+		 * @param initialRequest events to request when subscribed
+		 */
+		Collector(long initialRequest) {
+			this.initialRequest = initialRequest;
+		}
+
+		/**
+		 * Keeps the subscription and makes the initial request.
+		 * 
+		 * @param subscription subscription to the session
+		 */
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if (this.initialRequest > 0) {
+				subscription.request(this.initialRequest);
+			}
+			this.subscribed.countDown();
+		}
+
+		/**
+		 * Queues the event.
+		 * 
+		 * @param item event received
+		 */
+		@Override
+		public void onNext(ScheduleEvent item) {
+			this.received.add(item);
+		}
+
+		/**
+		 * Fails the test.
+		 * 
+		 * @param throwable failure of the subscription
+		 */
+		@Override
+		public void onError(Throwable throwable) {
+			fail(throwable);
+		}
+
+		/**
+		 * Notes that the session was closed.
+		 */
+		@Override
+		public void onComplete() {
+			this.completed.countDown();
+		}
+
+		/**
+		 * Waits for the next event.
+		 * 
+		 * @return the event
+		 * @throws InterruptedException if interrupted while waiting
+		 */
+		ScheduleEvent next() throws InterruptedException {
+			ScheduleEvent event = this.received.poll(10, TimeUnit.SECONDS);
+			assertNotNull(event);
+			return event;
+		}
+	}
+
+	/**
+	 * Runs threads that change private sessions and one session shared by all
+	 * of them at the same time, while a reader checks every snapshot of the
+	 * shared session. No schedule may ever hold two sections of a course or
+	 * two conflicting courses, and the shared session must end with exactly
+	 * the courses added to it and not removed.
+	 * 
+	 * @throws Exception if the catalog cannot be written or a thread fails
+	 */
+	@Test
+	public void testConcurrentSessions() throws Exception {
+		String file = dir.resolve("catalog.txt").toString();
+		ArrayList<Course> courses = SyntheticCatalog.generate(NAMES * 1000);
+		CourseRecordIO.writeCourseRecords(file, courses);
+		WolfScheduler ws = new WolfScheduler(file);
+		ScheduleSession shared = ws.openSession();
+		AtomicInteger sharedSize = new AtomicInteger();
+		AtomicBoolean done = new AtomicBoolean();
+		CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int t = 0; t < THREADS; t++) {
+				long seed = t;
+				futures.add(pool.submit(() -> {
+					Random random = new Random(seed);
+					List<ScheduleSession> sessions = new ArrayList<ScheduleSession>();
+					for (int i = 0; i < SESSIONS_PER_THREAD; i++) {
+						sessions.add(ws.openSession());
+					}
+					start.await();
+					for (int i = 0; i < OPERATIONS; i++) {
+						boolean useShared = random.nextInt(4) == 0;
+						ScheduleSession session = useShared ? shared
+								: sessions.get(random.nextInt(SESSIONS_PER_THREAD));
+						Course course = courses.get(random.nextInt(NAMES) * 1000 + random.nextInt(SECTIONS));
+						if (random.nextBoolean()) {
+							try {
+								if (session.addCourse(course.getName(), course.getSection()) && useShared) {
+									sharedSize.incrementAndGet();
+								}
+							} catch (IllegalArgumentException e) {
+								//already enrolled or a conflict
+							}
+						} else if (session.removeCourse(course.getName(), course.getSection()) && useShared) {
+							sharedSize.decrementAndGet();
+						}
+						if (!useShared) {
+							checkSchedule(session.getCourses());
+						}
+					}
+					for (ScheduleSession session : sessions) {
+						checkSchedule(session.getCourses());
+					}
+					return null;
+				}));
+			}
+			Future<?> reader = pool.submit(() -> {
+				start.await();
+				while (!done.get()) {
+					checkSchedule(shared.getCourses());
+				}
+				return null;
+			});
+
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			done.set(true);
+			reader.get();
+		} finally {
+			pool.shutdown();
+			assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+		}
+
+		checkSchedule(shared.getCourses());
+		assertEquals(sharedSize.get(), shared.getCourses().size());
+	}
+
+	/**
+	 * Fails if the schedule holds two sections of a course or two courses
+	 * whose meeting times conflict.
+	 * 
+	 * @param schedule schedule to check
+	 */
+	private static void checkSchedule(List<Course> schedule) {
+		for (int i = 0; i < schedule.size(); i++) {
+			for (int j = i + 1; j < schedule.size(); j++) {
+				assertNotEquals(schedule.get(i).getName(), schedule.get(j).getName());
+				assertFalse(schedule.get(i).conflictsWith(schedule.get(j)),
+						"Conflicting courses " + schedule.get(i) + " and " + schedule.get(j));
+			}
+		}
+	}
+}
@@ -0,0 +1,402 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests SeatTracker and seat limits on schedule sessions.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class SeatTrackerTest {
+
+	/** Threads used by the stress tests */
+	private static final int THREADS = 8;
+	/** Sessions opened by each stress test thread */
+	private static final int SESSIONS_PER_THREAD = 100;
+	/** Seats in the popular section */
+	private static final int POPULAR_SEATS = 50;
+
+	/** Directory for the test catalogs */
+	@TempDir
+	Path dir;
+
+	/**
+	 * Tests taking and giving back seats directly.
+	 */
+	@Test
+	public void testEnrollAndDrop() {
+		SeatTracker seats = new SeatTracker();
+		Course limited = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW",
+				1330, 1445);
+		limited.setCapacity(2);
+		Course unlimited = new Course("CSC 226", "Discrete Mathematics", "001", 3, "tmbarnes", "A");
+
+		assertTrue(seats.tryEnroll(limited));
+		assertTrue(seats.tryEnroll(limited));
+		assertFalse(seats.tryEnroll(limited));
+		assertEquals(2, seats.getEnrolled("CSC 216", "001"));
+		seats.drop(limited);
+		assertEquals(1, seats.getEnrolled("CSC 216", "001"));
+		assertTrue(seats.tryEnroll(limited));
+
+		for (int i = 0; i < 2000; i++) {
+			assertTrue(seats.tryEnroll(unlimited));
+		}
+		assertEquals(2000, seats.getEnrolled("CSC 226", "001"));
+
+		//dropping a section nobody is in, or too often, never goes below zero
+		Course other = new Course("CSC 316", "Data Structures", "001", 3, "jtking", "A");
+		seats.drop(other);
+		assertEquals(0, seats.getEnrolled("CSC 316", "001"));
+		assertEquals(0, seats.getEnrolled(null, null));
+	}
+
+	/**
+	 * Tests that sessions take seats when adding and give them back when
+	 * removing, resetting, or losing the section in a catalog reload.
+	 * 
+	 * @throws IOException if the test catalog cannot be written
+	 */
+	@Test
+	public void testSessionsShareSeats() throws IOException {
+		String file = writeCatalog(true);
+		WolfScheduler ws = new WolfScheduler(file);
+		ScheduleSession first = ws.openSession();
+		ScheduleSession second = ws.openSession();
+
+		assertTrue(first.addCourse("CSC 216", "002"));
+		Exception e = assertThrows(IllegalArgumentException.class, () -> second.addCourse("CSC 216", "002"));
+		assertEquals("The course is full.", e.getMessage());
+		//a rejected add holds no seat
+		assertEquals(1, ws.getEnrolledCount("CSC 216", "002"));
+
+		assertTrue(first.removeCourse("CSC 216", "002"));
+		assertTrue(second.addCourse("CSC 216", "002"));
+		second.resetSchedule();
+		assertEquals(0, ws.getEnrolledCount("CSC 216", "002"));
+
+		assertTrue(ws.addCourseToSchedule("CSC 216", "002"));
+		assertEquals(1, ws.getEnrolledCount("CSC 216", "002"));
+		CatalogDiff diff = ws.reloadCatalog(writeCatalog(false));
+		assertEquals(1, diff.getDroppedFromSchedule().size());
+		assertEquals(0, ws.getEnrolledCount("CSC 216", "002"));
+	}
+
+	/**
+	 * Has every session of every thread try to enroll in the same popular
+	 * section at once. Exactly as many enrollments as there are seats may
+	 * succeed.
+	 * 
+	 * @throws Exception if the catalog cannot be written or a thread fails
+	 */
+	@Test
+	public void testNoOversell() throws Exception {
+		WolfScheduler ws = new WolfScheduler(writeCatalog(true));
+		AtomicInteger enrolled = new AtomicInteger();
+		AtomicInteger full = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+
+		runThreads(t -> {
+			List<ScheduleSession> sessions = new ArrayList<ScheduleSession>();
+			for (int i = 0; i < SESSIONS_PER_THREAD; i++) {
+				sessions.add(ws.openSession());
+			}
+			start.await();
+			for (ScheduleSession session : sessions) {
+				try {
+					assertTrue(session.addCourse("CSC 216", "001"));
+					enrolled.incrementAndGet();
+				} catch (IllegalArgumentException e) {
+					assertEquals("The course is full.", e.getMessage());
+					full.incrementAndGet();
+				}
+			}
+		}, start);
+
+		assertEquals(POPULAR_SEATS, enrolled.get());
+		assertEquals(THREADS * SESSIONS_PER_THREAD - POPULAR_SEATS, full.get());
+		assertEquals(POPULAR_SEATS, ws.getEnrolledCount("CSC 216", "001"));
+	}
+
+	/**
+	 * Has every thread add and drop sections at random while a monitor checks
+	 * that no limited section ever has more seats taken than it holds. At the
+	 * end each section's count must equal the sessions holding it.
+	 * 
+	 * @throws Exception if the catalog cannot be written or a thread fails
+	 */
+	@Test
+	public void testChurnKeepsCounts() throws Exception {
+		WolfScheduler ws = new WolfScheduler(writeCatalog(true));
+		String[][] sections = {{"CSC 216", "001"}, {"CSC 216", "002"}, {"CSC 226", "001"}, {"CSC 316", "001"}};
+		List<ScheduleSession> all = new ArrayList<ScheduleSession>();
+		for (int i = 0; i < THREADS * SESSIONS_PER_THREAD; i++) {
+			all.add(ws.openSession());
+		}
+		AtomicBoolean done = new AtomicBoolean();
+		CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService monitorPool = Executors.newSingleThreadExecutor();
+		Future<?> monitor = monitorPool.submit(() -> {
+			start.await();
+			while (!done.get()) {
+				for (String[] section : sections) {
+					Course course = ws.getCourseFromCatalog(section[0], section[1]);
+					int taken = ws.getEnrolledCount(section[0], section[1]);
+					assertTrue(course.getCapacity() == Course.UNLIMITED_CAPACITY || taken <= course.getCapacity());
+				}
+			}
+			return null;
+		});
+		try {
+			runThreads(t -> {
+				Random random = new Random(t);
+				List<ScheduleSession> mine = all.subList(t * SESSIONS_PER_THREAD, (t + 1) * SESSIONS_PER_THREAD);
+				start.await();
+				for (int i = 0; i < 20000; i++) {
+					ScheduleSession session = mine.get(random.nextInt(mine.size()));
+					String[] section = sections[random.nextInt(sections.length)];
+					if (random.nextBoolean()) {
+						try {
+							session.addCourse(section[0], section[1]);
+						} catch (IllegalArgumentException e) {
+							//full, already enrolled, or a conflict
+						}
+					} else {
+						session.removeCourse(section[0], section[1]);
+					}
+				}
+			}, start);
+		} finally {
+			done.set(true);
+			monitor.get();
+			monitorPool.shutdown();
+		}
+
+		for (String[] section : sections) {
+			int holding = 0;
+			for (ScheduleSession session : all) {
+				for (Course course : session.getCourses()) {
+					if (course.getName().equals(section[0]) && course.getSection().equals(section[1])) {
+						holding++;
+					}
+				}
+			}
+			assertEquals(holding, ws.getEnrolledCount(section[0], section[1]), section[0] + " " + section[1]);
+		}
+	}
+
+	/**
+	 * Tests that a dropped seat goes to the first waiting session that can
+	 * still take the course, skipping sessions that have since taken another
+	 * section of it or a conflicting course.
+	 * 
+	 * @throws IOException if the test catalog cannot be written
+	 */
+	@Test
+	public void testWaitlistPromotesInOrder() throws IOException {
+		WolfScheduler ws = new WolfScheduler(writeCatalog(true));
+		ScheduleSession holder = ws.openSession();
+		ScheduleSession first = ws.openSession();
+		ScheduleSession second = ws.openSession();
+		ScheduleSession third = ws.openSession();
+		ScheduleSession fourth = ws.openSession();
+
+		//an open seat is taken right away
+		assertTrue(holder.joinWaitlist("CSC 216", "002"));
+		assertEquals(1, holder.getCourses().size());
+		assertFalse(holder.joinWaitlist("CSC 216", "999"));
+
+		assertTrue(first.joinWaitlist("CSC 216", "002"));
+		assertTrue(second.joinWaitlist("CSC 216", "002"));
+		assertTrue(third.joinWaitlist("CSC 216", "002"));
+		assertTrue(fourth.joinWaitlist("CSC 216", "002"));
+		assertEquals(4, ws.getWaitlistLength("CSC 216", "002"));
+		Exception e = assertThrows(IllegalArgumentException.class, () -> first.joinWaitlist("CSC 216", "002"));
+		assertEquals("You are already on the waitlist for CSC 216", e.getMessage());
+		//newcomers cannot jump the queue
+		e = assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule("CSC 216", "002"));
+		assertEquals("The course is full.", e.getMessage());
+		assertEquals(0, first.getCourses().size());
+
+		//the head of the queue gets the seat
+		assertTrue(holder.removeCourse("CSC 216", "002"));
+		assertEquals("002", first.getCourses().get(0).getSection());
+		assertEquals(1, ws.getEnrolledCount("CSC 216", "002"));
+		assertEquals(3, ws.getWaitlistLength("CSC 216", "002"));
+
+		//second took another section and third a conflicting course, so both are skipped
+		assertTrue(second.addCourse("CSC 216", "001"));
+		assertTrue(third.addCourse("CSC 230", "001"));
+		assertTrue(first.removeCourse("CSC 216", "002"));
+		assertEquals(1, second.getCourses().size());
+		assertEquals(1, third.getCourses().size());
+		assertEquals("002", fourth.getCourses().get(0).getSection());
+		assertEquals(1, ws.getEnrolledCount("CSC 216", "002"));
+		assertEquals(0, ws.getWaitlistLength("CSC 216", "002"));
+
+		//with nobody waiting the seat is freed
+		assertTrue(first.joinWaitlist("CSC 216", "002"));
+		assertTrue(first.leaveWaitlist("CSC 216", "002"));
+		assertFalse(first.leaveWaitlist("CSC 216", "002"));
+		fourth.resetSchedule();
+		assertEquals(0, first.getCourses().size());
+		assertEquals(0, ws.getEnrolledCount("CSC 216", "002"));
+		assertTrue(ws.joinWaitlist("CSC 216", "002"));
+		assertEquals(1, ws.getScheduledCourses().length);
+		assertFalse(ws.leaveWaitlist("CSC 216", "002"));
+	}
+
+	/**
+	 * Fills the popular section, puts every other session on its waitlist,
+	 * and has every thread drop the section from its sessions whenever they
+	 * hold it, so drops and promotions race. A monitor checks that the
+	 * section is never oversold, and every session must hold the section
+	 * exactly once before the waitlist empties.
+	 * 
+	 * @throws Exception if the catalog cannot be written or a thread fails
+	 */
+	@Test
+	public void testConcurrentPromotion() throws Exception {
+		WolfScheduler ws = new WolfScheduler(writeCatalog(true));
+		int total = THREADS * SESSIONS_PER_THREAD;
+		List<ScheduleSession> all = new ArrayList<ScheduleSession>();
+		for (int i = 0; i < total; i++) {
+			ScheduleSession session = ws.openSession();
+			assertTrue(session.joinWaitlist("CSC 216", "001"));
+			all.add(session);
+		}
+		assertEquals(POPULAR_SEATS, ws.getEnrolledCount("CSC 216", "001"));
+		assertEquals(total - POPULAR_SEATS, ws.getWaitlistLength("CSC 216", "001"));
+
+		AtomicInteger removed = new AtomicInteger();
+		AtomicBoolean done = new AtomicBoolean();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService monitorPool = Executors.newSingleThreadExecutor();
+		Future<?> monitor = monitorPool.submit(() -> {
+			start.await();
+			while (!done.get()) {
+				assertTrue(ws.getEnrolledCount("CSC 216", "001") <= POPULAR_SEATS);
+			}
+			return null;
+		});
+		try {
+			runThreads(t -> {
+				List<ScheduleSession> mine = all.subList(t * SESSIONS_PER_THREAD, (t + 1) * SESSIONS_PER_THREAD);
+				boolean[] dropped = new boolean[mine.size()];
+				start.await();
+				while (removed.get() < total) {
+					for (int i = 0; i < mine.size(); i++) {
+						if (mine.get(i).removeCourse("CSC 216", "001")) {
+							//a session is only ever promoted once
+							assertFalse(dropped[i]);
+							dropped[i] = true;
+							removed.incrementAndGet();
+						}
+					}
+					Thread.yield();
+				}
+			}, start);
+		} finally {
+			done.set(true);
+			monitor.get();
+			monitorPool.shutdown();
+		}
+
+		assertEquals(total, removed.get());
+		assertEquals(0, ws.getEnrolledCount("CSC 216", "001"));
+		assertEquals(0, ws.getWaitlistLength("CSC 216", "001"));
+	}
+
+	/**
+	 * Task run by each stress test thread.
+	 */
+	private interface ThreadTask {
+
+		/**
+		 * Runs the thread's work.
+		 * 
+		 * @param thread index of the thread
+		 * @throws Exception if the work fails
+		 */
+		void run(int thread) throws Exception;
+	}
+
+	/**
+	 * Runs the task on THREADS threads, releases the start latch once every
+	 * thread is submitted, and waits for all of them.
+	 * 
+	 * @param task  work for each thread
+	 * @param start latch the threads wait on
+	 * @throws Exception if a thread fails
+	 */
+	private static void runThreads(ThreadTask task, CountDownLatch start) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int t = 0; t < THREADS; t++) {
+				int thread = t;
+				futures.add(pool.submit(() -> {
+					task.run(thread);
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdown();
+			assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+		}
+	}
+
+	/**
+	 * Writes a small catalog with a popular limited section, a one seat
+	 * section, and unlimited sections, one of which overlaps the one seat
+	 * section.
+	 * 
+	 * @param withSmallSection true to include the one seat section
+	 * @return name of the catalog file
+	 * @throws IOException if the file cannot be written
+	 */
+	private String writeCatalog(boolean withSmallSection) throws IOException {
+		List<Course> courses = new ArrayList<Course>();
+		Course popular = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH",
+				1330, 1445);
+		popular.setCapacity(POPULAR_SEATS);
+		courses.add(popular);
+		if (withSmallSection) {
+			Course small = new Course("CSC 216", "Software Development Fundamentals", "002", 3, "ixdoming", "MW",
+					1330, 1445);
+			small.setCapacity(1);
+			courses.add(small);
+		}
+		courses.add(new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes",
+				"MWF", 935, 1025));
+		courses.add(new Course("CSC 316", "Data Structures and Algorithms", "001", 3, "jtking", "A"));
+		courses.add(new Course("CSC 230", "C and Software Tools", "001", 3, "dbsturgi", "MW", 1400, 1515));
+		String file = dir.resolve(withSmallSection ? "catalog.txt" : "catalog_reduced.txt").toString();
+		CourseRecordIO.writeCourseRecords(file, courses);
+		return file;
+	}
+}
@@ -0,0 +1,49 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Generates large catalogs of valid, unique courses for the benchmarks.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class SyntheticCatalog {
+
+	/** Department prefixes used for generated course names */
+	private static final String[] PREFIXES = {"CSC", "MA", "E", "ECE", "PY", "ST", "HI", "ENG", "BIO", "CH"};
+	/** Instructor ids used for generated courses */
+	private static final String[] INSTRUCTORS = {"sesmith5", "jdyoung2", "spbalik", "tbdimitr", "jtking",
+			"ixdoming", "jctetter", "tmbarnes", "dbsturgi"};
+	/** Meeting days used for generated courses */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "M", "T", "W", "H", "F", "A"};
+	/** Start times used for generated courses */
+	private static final int[] STARTS = {830, 910, 1040, 1120, 1330, 1500, 1630};
+
+	/**
+	 * Returns a list of the given number of unique courses. Names and sections
+	 * are spread so that every name has up to 1000 sections.
+	 * 
+	 * @param count number of courses to create
+	 * @return list of generated courses
+	 */
+	public static ArrayList<Course> generate(int count) {
+		ArrayList<Course> courses = new ArrayList<Course>(count);
+		for (int i = 0; i < count; i++) {
+			int nameIndex = i / 1000;
+			String name = PREFIXES[nameIndex % PREFIXES.length] + " " + (100 + nameIndex / PREFIXES.length % 900);
+			String section = String.format("%03d", i % 1000);
+			String days = DAYS[i % DAYS.length];
+			String title = "Generated Course " + nameIndex;
+			String instructor = INSTRUCTORS[i % INSTRUCTORS.length];
+			if ("A".equals(days)) {
+				courses.add(new Course(name, title, section, 3, instructor, days));
+			} else {
+				int start = STARTS[i % STARTS.length];
+				courses.add(new Course(name, title, section, 3, instructor, days, start, start + 115));
+			}
+		}
+		return courses;
+	}
+}
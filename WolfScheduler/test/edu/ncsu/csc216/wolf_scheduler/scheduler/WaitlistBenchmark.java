@@ -0,0 +1,142 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Measures how long a drop takes when it promotes the head of the section's
+ * waitlist, compared with a drop from a section nobody is waiting for. Every
+ * section is filled and given a waitlist, then each thread drops the seats of
+ * its own sections one session at a time, in enrollment order, checking that
+ * each freed seat went to the next session in line. Prints the median, 99th
+ * percentile, and worst drop time for 1, 4, and 8 threads. Run with main; not
+ * a unit test.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class WaitlistBenchmark {
+
+	/** Sections in the catalog */
+	private static final int SECTIONS = 400;
+	/** Seats in each section */
+	private static final int SEATS = 20;
+	/** Sessions waiting for each section */
+	private static final int WAITING = 100;
+	/** Thread counts to measure */
+	private static final int[] THREADS = {1, 4, 8};
+
+	/**
+	 * Runs the benchmark and prints drop latencies.
+	 * 
+	 * @param args command line arguments not used
+	 * @throws Exception if the catalog cannot be written or a thread fails
+	 */
+	public static void main(String[] args) throws Exception {
+		Path file = Files.createTempFile("catalog", ".txt");
+		try {
+			ArrayList<Course> courses = SyntheticCatalog.generate(SECTIONS);
+			for (Course course : courses) {
+				course.setCapacity(SEATS);
+			}
+			CourseRecordIO.writeCourseRecords(file.toString(), courses);
+			//warm up once before measuring
+			run(file.toString(), courses, THREADS[THREADS.length - 1], WAITING);
+			for (int threads : THREADS) {
+				System.out.printf("%d threads: promoting drop %s; plain drop %s%n", threads,
+						run(file.toString(), courses, threads, WAITING), run(file.toString(), courses, threads, 0));
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Fills every section and its waitlist, then times every drop across the
+	 * given number of threads.
+	 * 
+	 * @param file    catalog file
+	 * @param courses sections in the catalog
+	 * @param threads threads dropping at once
+	 * @param waiting sessions waiting for each section
+	 * @return median, 99th percentile, and worst drop time
+	 * @throws Exception if a thread fails
+	 */
+	private static String run(String file, List<Course> courses, int threads, int waiting) throws Exception {
+		WolfScheduler ws = new WolfScheduler(file);
+		List<ScheduleSession[]> lines = new ArrayList<ScheduleSession[]>();
+		for (Course course : courses) {
+			ScheduleSession[] line = new ScheduleSession[SEATS + waiting];
+			for (int i = 0; i < line.length; i++) {
+				line[i] = ws.openSession();
+				line[i].joinWaitlist(course.getName(), course.getSection());
+			}
+			lines.add(line);
+		}
+
+		long[][] times = new long[threads][];
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				futures.add(pool.submit(() -> {
+					times[thread] = dropAll(courses, lines, thread, threads);
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		long[] all = new long[0];
+		for (long[] part : times) {
+			int length = all.length;
+			all = Arrays.copyOf(all, length + part.length);
+			System.arraycopy(part, 0, all, length, part.length);
+		}
+		Arrays.sort(all);
+		return String.format("p50 %.1f us, p99 %.1f us, max %.1f us", all[all.length / 2] / 1e3,
+				all[(int) (all.length * 0.99)] / 1e3, all[all.length - 1] / 1e3);
+	}
+
+	/**
+	 * Drops every seat of the thread's sections in enrollment order and
+	 * returns the time each drop took.
+	 * 
+	 * @param courses sections in the catalog
+	 * @param lines   sessions of each section, enrolled first and then waiting
+	 * @param thread  index of this thread
+	 * @param threads number of threads
+	 * @return nanoseconds taken by each drop
+	 */
+	private static long[] dropAll(List<Course> courses, List<ScheduleSession[]> lines, int thread, int threads) {
+		long[] times = new long[(courses.size() / threads + 1) * lines.get(0).length];
+		int count = 0;
+		for (int s = thread; s < courses.size(); s += threads) {
+			Course course = courses.get(s);
+			ScheduleSession[] line = lines.get(s);
+			for (int i = 0; i < line.length; i++) {
+				long start = System.nanoTime();
+				boolean removed = line[i].removeCourse(course.getName(), course.getSection());
+				times[count++] = System.nanoTime() - start;
+				int promoted = i + SEATS;
+				if (!removed || promoted < line.length && line[promoted].getCourses().isEmpty()) {
+					throw new IllegalStateException("Seat did not go to the next session in line.");
+				}
+			}
+		}
+		return Arrays.copyOf(times, count);
+	}
+}
@@ -10,9 +10,15 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Scanner;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseSnapshotIO;
 
 /**
  * Tests the WolfScheduler class.
@@ -78,6 +84,218 @@ public class WolfSchedulerTest {
 		assertEquals(13, ws2.getCourseCatalog().length);		
 	}
 	
+	/**
+	 * Tests WolfScheduler.fromSnapshotOrFile().
+	 */
+	@Test
+	public void testFromSnapshotOrFile() {
+		String snapshot = CourseSnapshotIO.snapshotFileName(validTestFile);
+		try {
+			Files.deleteIfExists(Path.of(snapshot));
+			
+			//first load reads the text file and writes the snapshot
+			WolfScheduler ws1 = WolfScheduler.fromSnapshotOrFile(validTestFile);
+			assertTrue(Files.exists(Path.of(snapshot)));
+			
+			//second load comes from the snapshot and sees the same catalog
+			WolfScheduler ws2 = WolfScheduler.fromSnapshotOrFile(validTestFile);
+			assertArrayEquals(ws1.getCourseCatalog(), ws2.getCourseCatalog());
+			assertTrue(ws2.addCourseToSchedule(NAME, SECTION));
+			
+			Files.deleteIfExists(Path.of(snapshot));
+		} catch (IOException e) {
+			fail("Unable to remove snapshot");
+		}
+		
+		assertThrows(IllegalArgumentException.class, () -> WolfScheduler.fromSnapshotOrFile("test-files/missing.txt"));
+	}
+	
+	/**
+	 * Tests WolfScheduler.fromMappedCatalog().
+	 */
+	@Test
+	public void testFromMappedCatalog() {
+		String mapped = "test-files/course_records.mapped";
+		try {
+			WolfScheduler heap = new WolfScheduler(validTestFile);
+			MappedCourseCatalog.write(mapped, CourseRecordIO.readCourseRecords(validTestFile));
+			
+			//the mapped catalog answers the same lookups as the text file
+			WolfScheduler ws = WolfScheduler.fromMappedCatalog(mapped);
+			assertArrayEquals(heap.getCourseCatalog(), ws.getCourseCatalog());
+			assertEquals(heap.getCourseFromCatalog(NAME, SECTION), ws.getCourseFromCatalog(NAME, SECTION));
+			assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+			assertFalse(ws.addCourseToSchedule("CSC 999", "001"));
+			assertEquals(1, ws.getScheduledCourses().length);
+			assertThrows(IllegalArgumentException.class, () -> ws.watchCatalog(d -> { }, e -> { }));
+			
+			Files.deleteIfExists(Path.of(mapped));
+		} catch (IOException e) {
+			fail("Unable to write mapped catalog");
+		}
+		
+		assertThrows(IllegalArgumentException.class, () -> WolfScheduler.fromMappedCatalog(validTestFile));
+		assertThrows(IllegalArgumentException.class, () -> WolfScheduler.fromMappedCatalog("test-files/missing.mapped"));
+	}
+	
+	/**
+	 * Tests WolfScheduler.reloadCatalog().
+	 */
+	@Test
+	public void testReloadCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
+		
+		//reloading the same file changes nothing
+		CatalogDiff diff = ws.reloadCatalog(validTestFile);
+		assertTrue(diff.isEmpty());
+		assertEquals(2, ws.getScheduledCourses().length);
+		
+		//every section disappears when no record in the file is valid
+		int catalogSize = ws.getCourseCatalog().length;
+		diff = ws.reloadCatalog(invalidTestFile);
+		assertEquals(catalogSize, diff.getRemoved().size());
+		assertEquals(2, diff.getDroppedFromSchedule().size());
+		assertEquals(0, ws.getScheduledCourses().length);
+		assertEquals(0, ws.getCourseCatalog().length);
+		
+		assertThrows(IllegalArgumentException.class, () -> ws.reloadCatalog("test-files/missing.txt"));
+	}
+	
+	/**
+	 * Tests installing a catalog read by the caller into an empty scheduler.
+	 * 
+	 * @throws IOException if the test file cannot be read
+	 */
+	@Test
+	public void testLoadCatalog() throws IOException {
+		WolfScheduler ws = new WolfScheduler();
+		assertEquals(0, ws.getCatalogSize());
+		assertFalse(ws.addCourseToSchedule(NAME, SECTION));
+		assertThrows(IllegalArgumentException.class, () -> ws.watchCatalog(d -> { }, e -> { }));
+		
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+		//the first of two courses with the same name and section is kept
+		courses.add(courses.get(0));
+		CatalogDiff diff = ws.loadCatalog(courses, validTestFile);
+		assertEquals(courses.size() - 1, diff.getAdded().size());
+		assertEquals(courses.size() - 1, ws.getCatalogSize());
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		assertThrows(IllegalArgumentException.class, () -> ws.loadCatalog(null, null));
+		assertEquals(1, ws.getScheduleSize());
+	}
+	
+	/**
+	 * Tests that searches read the current catalog and find rows for
+	 * getCatalogCell.
+	 */
+	@Test
+	public void testSearchCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		int[] rows = ws.searchCatalog(new CatalogQuery("CSC 216"));
+		assertEquals(3, rows.length);
+		for (int row : rows) {
+			assertEquals("CSC 216", ws.getCatalogCell(row, 0));
+		}
+		assertEquals(ws.getCatalogSize(), ws.searchCatalog(new CatalogQuery(null)).length);
+		assertThrows(IllegalArgumentException.class, () -> ws.searchCatalog(null));
+		
+		//the indexes are rebuilt for a new catalog
+		ws.loadCatalog(new ArrayList<Course>(), null);
+		assertEquals(0, ws.searchCatalog(new CatalogQuery("CSC 216")).length);
+	}
+	
+	/**
+	 * Tests that a reload is published after the schedule is rebuilt.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for an event
+	 */
+	@Test
+	public void testReloadEvent() throws InterruptedException {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		LinkedBlockingQueue<ScheduleEvent> events = new LinkedBlockingQueue<ScheduleEvent>();
+		ws.subscribe(new Flow.Subscriber<ScheduleEvent>() {
+			
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+			
+			@Override
+			public void onNext(ScheduleEvent item) {
+				events.add(item);
+			}
+			
+			@Override
+			public void onError(Throwable throwable) {
+				//not expected
+			}
+			
+			@Override
+			public void onComplete() {
+				//not expected
+			}
+		});
+		
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		ws.reloadCatalog(invalidTestFile);
+		assertEquals(ScheduleEvent.Type.COURSE_ADDED, events.poll(10, TimeUnit.SECONDS).getType());
+		ScheduleEvent reload = events.poll(10, TimeUnit.SECONDS);
+		assertEquals(ScheduleEvent.Type.CATALOG_RELOADED, reload.getType());
+		assertEquals(1, reload.getDiff().getDroppedFromSchedule().size());
+		assertEquals(ws.getScheduleVersion(), reload.getVersion());
+		assertEquals("CATALOG_RELOADED @2", reload.toString());
+	}
+	
+	/**
+	 * Tests that the catalog and schedule tables are reused until their
+	 * version changes, and that sizes and cells are read without them.
+	 */
+	@Test
+	public void testTableVersions() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		long catalogVersion = ws.getCatalogVersion();
+		String[][] catalog = ws.getCourseCatalog();
+		assertSame(catalog, ws.getCourseCatalog());
+		assertEquals(catalog.length, ws.getCatalogSize());
+		for (int i = 0; i < catalog.length; i++) {
+			for (int j = 0; j < 3; j++) {
+				assertEquals(catalog[i][j], ws.getCatalogCell(i, j));
+			}
+		}
+		assertThrows(IllegalArgumentException.class, () -> ws.getCatalogCell(catalog.length, 0));
+		assertThrows(IllegalArgumentException.class, () -> ws.getCatalogCell(0, 3));
+		assertThrows(IllegalArgumentException.class, () -> ws.getCatalogCell(0, -1));
+		assertThrows(IllegalArgumentException.class, () -> ws.getCatalogCell(-1, 0));
+		
+		long scheduleVersion = ws.getScheduleVersion();
+		String[][] schedule = ws.getFullScheduledCourses();
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		assertTrue(ws.getScheduleVersion() > scheduleVersion);
+		assertEquals(1, ws.getScheduleSize());
+		assertEquals("TH 1:30PM-2:45PM", ws.getScheduledCell(0, 5));
+		assertThrows(IllegalArgumentException.class, () -> ws.getScheduledCell(1, 0));
+		assertThrows(IllegalArgumentException.class, () -> ws.getScheduledCell(0, 6));
+		assertNotSame(schedule, ws.getFullScheduledCourses());
+		schedule = ws.getFullScheduledCourses();
+		assertSame(schedule, ws.getFullScheduledCourses());
+		String[][] shortSchedule = ws.getScheduledCourses();
+		assertSame(shortSchedule, ws.getScheduledCourses());
+		
+		//a rejected add changes nothing
+		scheduleVersion = ws.getScheduleVersion();
+		assertFalse(ws.addCourseToSchedule("CSC 492", "001"));
+		assertEquals(scheduleVersion, ws.getScheduleVersion());
+		assertSame(schedule, ws.getFullScheduledCourses());
+		
+		//a reload replaces the catalog table even when nothing changed
+		ws.reloadCatalog(validTestFile);
+		assertTrue(ws.getCatalogVersion() > catalogVersion);
+		assertNotSame(catalog, ws.getCourseCatalog());
+		assertArrayEquals(catalog, ws.getCourseCatalog());
+	}
+	
 	/**
 	 * Test WolfScheduler.getCourseFromCatalog().
 	 */
@@ -93,6 +311,25 @@ public class WolfSchedulerTest {
 		assertEquals(c, ws.getCourseFromCatalog("CSC 216", "001"));
 	}
 	
+	/**
+	 * Test the WolfScheduler catalog queries.
+	 */
+	@Test
+	public void testCatalogQueries() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		//CSC 116-002 by jtking is a duplicate, so only CSC 316 remains
+		assertEquals(1, ws.getCoursesByInstructor("jtking").size());
+		assertEquals("CSC 316", ws.getCoursesByInstructor("jtking").get(0).getName());
+		assertEquals(0, ws.getCoursesByInstructor("nobody").size());
+		
+		assertEquals(ws.getCourseCatalog().length, ws.getCoursesByDepartment("CSC").size());
+		assertEquals(0, ws.getCoursesByDepartment("MA").size());
+		
+		assertEquals(1, ws.getCoursesByMeetingDay('F').size());
+		assertEquals("CSC 226", ws.getCoursesByMeetingDay('F').get(0).getName());
+	}
+	
 	/**
 	 * Test WolfScheduler.addCourse().
 	 */
@@ -128,6 +365,29 @@ public class WolfSchedulerTest {
 		}
 	}
 	
+	/**
+	 * Test that WolfScheduler.addCourseToSchedule() rejects time conflicts.
+	 */
+	@Test
+	public void testAddCourseConflict() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		//CSC 216-002 meets MW 1:30PM-2:45PM
+		assertTrue(ws.addCourseToSchedule("CSC 216", "002"));
+		
+		//CSC 230-001 meets MW 11:45AM-1:00PM, so it does not conflict
+		assertTrue(ws.addCourseToSchedule("CSC 230", "001"));
+		
+		//CSC 116-002 meets MW 11:20AM-1:10PM and overlaps CSC 230
+		Exception e = assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule("CSC 116", "002"));
+		assertEquals("The course cannot be added due to a conflict.", e.getMessage());
+		assertEquals(2, ws.getScheduledCourses().length);
+		
+		//CSC 116-003 meets TH, so it can still be added
+		assertTrue(ws.addCourseToSchedule("CSC 116", "003"));
+		assertEquals(3, ws.getScheduledCourses().length);
+	}
+	
 	/**
 	 * Test WolfScheduler.removeCourse().
 	 */
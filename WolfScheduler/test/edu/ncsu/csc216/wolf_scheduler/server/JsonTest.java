@@ -0,0 +1,47 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests Json.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class JsonTest {
+
+	/**
+	 * Tests escaping strings.
+	 */
+	@Test
+	public void testString() {
+		assertEquals("\"plain\"", Json.string(new StringBuilder(), "plain").toString());
+		assertEquals("\"a \\\"b\\\" \\\\ c\\n\\t\\u0001\"", Json.string(new StringBuilder(), "a \"b\" \\ c\n\t\u0001")
+				.toString());
+		assertEquals("null", Json.string(new StringBuilder(), null).toString());
+	}
+
+	/**
+	 * Tests writing fields and courses with commas only between them.
+	 */
+	@Test
+	public void testFields() {
+		StringBuilder out = new StringBuilder("{");
+		Json.field(out, "a", 1);
+		Json.field(out, "b", true);
+		Json.name(out, "c").append('[');
+		Json.comma(out).append(2);
+		Json.comma(out).append(3);
+		out.append("]}");
+		assertEquals("{\"a\":1,\"b\":true,\"c\":[2,3]}", out.toString());
+
+		Course course = new Course("CSC 316", "Data Structures and Algorithms", "001", 3, "jtking", "A");
+		assertEquals("{\"name\":\"CSC 316\",\"section\":\"001\",\"title\":\"Data Structures and Algorithms\","
+				+ "\"credits\":3,\"instructor\":\"jtking\",\"meeting\":\"Arranged\",\"capacity\":0}",
+				Json.courseFields(new StringBuilder("{"), course).append('}').toString());
+		assertEquals("{\"error\":\"Bad.\"}", Json.error("Bad."));
+	}
+}
@@ -0,0 +1,211 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SyntheticCatalog;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Benchmark of SchedulerServer under load on this machine. Starts a server
+ * over a generated catalog, then has each of several clients open a session
+ * and repeat a registration pass: search the catalog, add two sections, read the
+ * schedule, set the title, export, and remove the sections again. Prints the
+ * p50 and p99 latency of each kind of request and the requests per second for
+ * 8, 32, and 128 clients. Clients and server share the machine, so the
+ * numbers are a floor on what the server alone can do. Run with main; not a
+ * unit test.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class SchedulerServerBenchmark {
+
+	/** Courses in the catalog */
+	private static final int COURSES = 20_000;
+	/** Registration passes each client makes */
+	private static final int PASSES = 20;
+	/** Client counts to measure */
+	private static final int[] CLIENTS = {8, 32, 128};
+	/** Kinds of request, in the order a pass sends them */
+	private static final String[] KINDS = {"search", "add", "schedule", "title", "export", "remove"};
+
+	/**
+	 * Runs the benchmark and prints latencies and throughput.
+	 * 
+	 * @param args command line arguments not used
+	 * @throws Exception if the server cannot start or a request fails
+	 */
+	public static void main(String[] args) throws Exception {
+		//this program owns the process, so it picks the socket option as main does
+		SchedulerServer.preferNoDelay();
+		WolfScheduler scheduler = new WolfScheduler();
+		List<Course> courses = SyntheticCatalog.generate(COURSES);
+		scheduler.loadCatalog(courses, null);
+		SchedulerServer server = new SchedulerServer(scheduler, 0);
+		server.start();
+		System.out.println(COURSES + " courses, " + (server.usesVirtualThreads() ? "virtual" : "platform")
+				+ " request threads");
+		try {
+			//warm up once before measuring
+			run(server.getPort(), courses, CLIENTS[0]);
+			for (int clients : CLIENTS) {
+				long start = System.nanoTime();
+				long[][] times = run(server.getPort(), courses, clients);
+				double seconds = (System.nanoTime() - start) / 1e9;
+				int requests = 0;
+				StringBuilder line = new StringBuilder();
+				for (int k = 0; k < KINDS.length; k++) {
+					Arrays.sort(times[k]);
+					requests += times[k].length;
+					line.append(String.format(" %s %.2f/%.2f", KINDS[k], times[k][times[k].length / 2] / 1e6,
+							times[k][(int) (times[k].length * 0.99)] / 1e6));
+				}
+				System.out.printf("%3d clients: %.0f req/s; p50/p99 ms:%s%n", clients, requests / seconds, line);
+			}
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	/**
+	 * Runs every client to completion and returns the latency of every
+	 * request by kind.
+	 * 
+	 * @param port    server port
+	 * @param courses courses in the catalog
+	 * @param clients number of clients at once
+	 * @return nanoseconds taken by each request, by kind
+	 * @throws Exception if a request fails
+	 */
+	private static long[][] run(int port, List<Course> courses, int clients) throws Exception {
+		ExecutorService io = Executors.newFixedThreadPool(4);
+		HttpClient client = HttpClient.newBuilder().executor(io).build();
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+		try {
+			List<Future<long[][]>> futures = new ArrayList<Future<long[][]>>();
+			for (int c = 0; c < clients; c++) {
+				int seed = c;
+				futures.add(pool.submit(() -> registrations(client, port, courses, seed)));
+			}
+			long[][] all = new long[KINDS.length][0];
+			for (Future<long[][]> future : futures) {
+				long[][] times = future.get();
+				for (int k = 0; k < KINDS.length; k++) {
+					int length = all[k].length;
+					all[k] = Arrays.copyOf(all[k], length + times[k].length);
+					System.arraycopy(times[k], 0, all[k], length, times[k].length);
+				}
+			}
+			return all;
+		} finally {
+			pool.shutdown();
+			io.shutdown();
+		}
+	}
+
+	/**
+	 * Makes one client's registration passes in its own session.
+	 * 
+	 * @param client  HTTP client
+	 * @param port    server port
+	 * @param courses courses in the catalog
+	 * @param seed    index of the client, choosing its courses
+	 * @return nanoseconds taken by each request, by kind
+	 * @throws Exception if a request fails
+	 */
+	private static long[][] registrations(HttpClient client, int port, List<Course> courses, int seed)
+			throws Exception {
+		String base = "http://localhost:" + port;
+		String created = send(client, "POST", base + "/sessions", "", 201, null);
+		int start = created.indexOf("\"session\":\"") + 11;
+		String session = base + "/sessions/" + created.substring(start, created.indexOf('"', start));
+
+		long[][] times = new long[KINDS.length][PASSES];
+		for (int p = 0; p < PASSES; p++) {
+			//two sections of different courses that never meet at the same time
+			Course first = courses.get((seed * PASSES + p) * 2000 % courses.size());
+			Course second = courses.get(((seed * PASSES + p) * 2000 + 1001) % courses.size());
+			String prefix = first.getName().substring(0, first.getName().indexOf(' '));
+			times[0][p] = time(client, "GET", base + "/catalog?name=" + prefix + "&days=MWF&limit=20", null, 200);
+			long add = time(client, "POST", session + "/courses", form(first), 200);
+			add += time(client, "POST", session + "/courses", form(second), -1);
+			times[1][p] = add / 2;
+			times[2][p] = time(client, "GET", session, null, 200);
+			times[3][p] = time(client, "PUT", session + "/title", "title=Plan+" + p, 200);
+			times[4][p] = time(client, "GET", session + "/export", null, 200);
+			times[5][p] = time(client, "POST", session + "/reset", "", 200);
+		}
+		send(client, "DELETE", session, null, 200, null);
+		return times;
+	}
+
+	/**
+	 * Returns the form naming a course.
+	 * 
+	 * @param course course to name
+	 * @return form body with the name and section
+	 */
+	private static String form(Course course) {
+		return "name=" + course.getName().replace(' ', '+') + "&section=" + course.getSection();
+	}
+
+	/**
+	 * Sends a request and returns how long it took.
+	 * 
+	 * @param client   HTTP client
+	 * @param method   HTTP method
+	 * @param url      URL of the request
+	 * @param form     form body, or null for none
+	 * @param expected expected status, or -1 for any
+	 * @return nanoseconds taken
+	 * @throws Exception if the request fails or has the wrong status
+	 */
+	private static long time(HttpClient client, String method, String url, String form, int expected)
+			throws Exception {
+		long[] taken = new long[1];
+		send(client, method, url, form, expected, taken);
+		return taken[0];
+	}
+
+	/**
+	 * Sends a request and checks its status.
+	 * 
+	 * @param client   HTTP client
+	 * @param method   HTTP method
+	 * @param url      URL of the request
+	 * @param form     form body, or null for none
+	 * @param expected expected status, or -1 for any
+	 * @param taken    holder for the nanoseconds taken, or null
+	 * @return the response body
+	 * @throws Exception if the request fails or has the wrong status
+	 */
+	private static String send(HttpClient client, String method, String url, String form, int expected,
+			long[] taken) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url));
+		if (form == null) {
+			request.method(method, HttpRequest.BodyPublishers.noBody());
+		} else {
+			request.header("Content-Type", "application/x-www-form-urlencoded");
+			request.method(method, HttpRequest.BodyPublishers.ofString(form));
+		}
+		long start = System.nanoTime();
+		HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+		if (taken != null) {
+			taken[0] = System.nanoTime() - start;
+		}
+		if (expected != -1 && response.statusCode() != expected) {
+			throw new IllegalStateException(method + " " + url + " returned " + response.statusCode() + ": "
+					+ response.body());
+		}
+		return response.body();
+	}
+}
@@ -0,0 +1,309 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CatalogQuery;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Tests SchedulerServer over real HTTP requests to a server on a free port.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class SchedulerServerTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/** Scheduler being served */
+	private WolfScheduler scheduler;
+	/** Server under test */
+	private SchedulerServer server;
+	/** Client sending the requests */
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	/**
+	 * Starts a server over the valid catalog.
+	 * 
+	 * @throws IOException if the server cannot bind a port
+	 */
+	@BeforeEach
+	public void setUp() throws IOException {
+		this.scheduler = new WolfScheduler(validTestFile);
+		this.server = new SchedulerServer(this.scheduler, 0);
+		this.server.start();
+	}
+
+	/**
+	 * Stops the server.
+	 */
+	@AfterEach
+	public void tearDown() {
+		this.server.stop(0);
+	}
+
+	/**
+	 * Tests searching the catalog and paging through the results.
+	 * 
+	 * @throws Exception if a request fails
+	 */
+	@Test
+	public void testCatalog() throws Exception {
+		HttpResponse<String> response = send("GET", "/catalog?name=CSC+216", null);
+		assertEquals(200, response.statusCode());
+		assertEquals("application/json; charset=utf-8", response.headers().firstValue("Content-Type").get());
+		assertTrue(response.body().startsWith("{\"version\":0,\"total\":3,\"offset\":0,\"courses\":[{\"name\":\"CSC 216\""));
+		assertTrue(response.body().contains("\"meeting\":\"TH 1:30PM-2:45PM\",\"capacity\":0,\"enrolled\":0,"
+				+ "\"waitlist\":0}"));
+
+		response = send("GET", "/catalog?name=csc&days=MW&from=0800&to=1200&offset=1&limit=1", null);
+		assertEquals(200, response.statusCode());
+		assertTrue(response.body().contains("\"total\":2,\"offset\":1,\"courses\":[{\"name\":\"CSC 316\","
+				+ "\"section\":\"001\""));
+		assertEquals(1, count(response.body(), "\"section\""));
+
+		assertEquals(400, send("GET", "/catalog?days=XYZ", null).statusCode());
+		assertEquals("{\"error\":\"Invalid from.\"}", send("GET", "/catalog?from=noon", null).body());
+		assertEquals(400, send("GET", "/catalog?limit=100000", null).statusCode());
+		assertEquals(405, send("POST", "/catalog", "").statusCode());
+		assertEquals(404, send("GET", "/catalog/more", null).statusCode());
+	}
+
+	/**
+	 * Tests a session from opening to closing.
+	 * 
+	 * @throws Exception if a request fails
+	 */
+	@Test
+	public void testSession() throws Exception {
+		HttpResponse<String> response = send("POST", "/sessions", "");
+		assertEquals(201, response.statusCode());
+		String id = field(response.body(), "session");
+		assertEquals(1, this.server.getSessionCount());
+		String path = "/sessions/" + id;
+
+		response = send("POST", path + "/courses", "name=CSC+216&section=001");
+		assertEquals(200, response.statusCode());
+		assertTrue(response.body().contains("\"courses\":[{\"name\":\"CSC 216\",\"section\":\"001\","));
+		assertEquals(1, this.scheduler.getEnrolledCount("CSC 216", "001"));
+
+		//already scheduled, conflicting, and unknown courses
+		response = send("POST", path + "/courses", "name=CSC+216&section=002");
+		assertEquals(409, response.statusCode());
+		assertEquals("{\"error\":\"You are already enrolled in CSC 216\"}", response.body());
+		assertEquals(404, send("POST", path + "/courses", "name=CSC+999&section=001").statusCode());
+		assertEquals("{\"error\":\"Missing section.\"}", send("POST", path + "/courses", "name=CSC+316").body());
+
+		response = send("PUT", path + "/title", "title=Fall+%22Plan%22");
+		assertEquals(200, response.statusCode());
+		assertEquals("Fall \"Plan\"", field(response.body(), "title"));
+		assertEquals(400, send("POST", path + "/title", "").statusCode());
+
+		response = send("GET", path + "/export", null);
+		assertTrue(response.body().startsWith("{\"title\":\"Fall \\\"Plan\\\"\",\"courses\":[{\"name\":\"CSC 216\""));
+		assertTrue(response.body().contains("\"instructor\":\"sesmith5\""));
+
+		assertEquals(404, send("DELETE", path + "/courses?name=CSC+316&section=001", null).statusCode());
+		response = send("DELETE", path + "/courses?name=CSC+216&section=001", null);
+		assertEquals(200, response.statusCode());
+		assertTrue(response.body().endsWith("\"courses\":[]}"));
+		assertEquals(0, this.scheduler.getEnrolledCount("CSC 216", "001"));
+
+		send("POST", path + "/courses", "name=CSC+116&section=001");
+		response = send("POST", path + "/reset", "");
+		assertTrue(response.body().endsWith("\"courses\":[]}"));
+
+		//closing the session gives back its seats
+		send("POST", path + "/courses", "name=CSC+316&section=001");
+		assertEquals(200, send("DELETE", path, null).statusCode());
+		assertEquals(0, this.server.getSessionCount());
+		assertEquals(0, this.scheduler.getEnrolledCount("CSC 316", "001"));
+		assertEquals(404, send("GET", path, null).statusCode());
+	}
+
+	/**
+	 * Tests that no more than the session limit can be open at once, and that
+	 * deleting a session frees its slot.
+	 * 
+	 * @throws Exception if a request fails
+	 */
+	@Test
+	public void testSessionLimit() throws Exception {
+		this.server.stop(0);
+		this.server = new SchedulerServer(this.scheduler, 0, 2, 60_000);
+		this.server.start();
+
+		String first = field(send("POST", "/sessions", "").body(), "session");
+		assertEquals(201, send("POST", "/sessions", "").statusCode());
+		HttpResponse<String> response = send("POST", "/sessions", "");
+		assertEquals(503, response.statusCode());
+		assertEquals("{\"error\":\"Too many open sessions.\"}", response.body());
+		assertEquals(2, this.server.getSessionCount());
+
+		assertEquals(200, send("DELETE", "/sessions/" + first, null).statusCode());
+		//deleting again frees no second slot
+		assertEquals(404, send("DELETE", "/sessions/" + first, null).statusCode());
+		assertEquals(201, send("POST", "/sessions", "").statusCode());
+		assertEquals(503, send("POST", "/sessions", "").statusCode());
+		assertThrows(IllegalArgumentException.class, () -> new SchedulerServer(this.scheduler, 0, 0, 1000));
+	}
+
+	/**
+	 * Tests that a session unused for the idle timeout is closed and gives
+	 * back its seats, while a session in use stays open.
+	 * 
+	 * @throws Exception if a request fails
+	 */
+	@Test
+	public void testIdleSessions() throws Exception {
+		this.server.stop(0);
+		this.server = new SchedulerServer(this.scheduler, 0, 1, 300);
+		this.server.start();
+
+		String idle = field(send("POST", "/sessions", "").body(), "session");
+		assertEquals(200, send("POST", "/sessions/" + idle + "/courses", "name=CSC+216&section=001").statusCode());
+		assertEquals(1, this.scheduler.getEnrolledCount("CSC 216", "001"));
+		assertEquals(0, this.server.closeIdleSessions());
+
+		//past the timeout the slot is free again, swept or not
+		Thread.sleep(400);
+		assertEquals(201, send("POST", "/sessions", "").statusCode());
+		assertEquals(1, this.server.getSessionCount());
+		assertEquals(0, this.scheduler.getEnrolledCount("CSC 216", "001"));
+		assertEquals(404, send("GET", "/sessions/" + idle, null).statusCode());
+
+		//requests keep a session open
+		assertEquals(503, send("POST", "/sessions", "").statusCode());
+		Thread.sleep(400);
+		String active = field(send("POST", "/sessions", "").body(), "session");
+		for (int i = 0; i < 5; i++) {
+			Thread.sleep(100);
+			assertEquals(200, send("GET", "/sessions/" + active, null).statusCode());
+		}
+		assertEquals(0, this.server.closeIdleSessions());
+		Thread.sleep(400);
+		assertEquals(0, this.server.getSessionCount());
+	}
+
+	/**
+	 * Tests requests that do not match an endpoint.
+	 * 
+	 * @throws Exception if a request fails
+	 */
+	@Test
+	public void testInvalidRequests() throws Exception {
+		assertEquals(404, send("GET", "/sessions/unknown", null).statusCode());
+		assertEquals(405, send("GET", "/sessions", null).statusCode());
+		assertEquals(404, send("POST", "/sessionsX", "").statusCode());
+		String id = field(send("POST", "/sessions", "").body(), "session");
+		assertEquals(405, send("GET", "/sessions/" + id + "/reset", null).statusCode());
+		assertEquals(404, send("GET", "/sessions/" + id + "/other", null).statusCode());
+		assertEquals(404, send("GET", "/sessions/" + id + "/export/more", null).statusCode());
+		assertEquals(404, send("GET", "/", null).statusCode());
+
+		//virtual threads are only used where the JDK has them
+		assertEquals(Runtime.version().feature() >= 21, this.server.usesVirtualThreads());
+	}
+
+	/**
+	 * Tests that an unexpected failure in a handler is answered with a 500
+	 * JSON error and leaves the server running.
+	 * 
+	 * @throws Exception if a request fails
+	 */
+	@Test
+	public void testInternalError() throws Exception {
+		this.server.stop(0);
+		WolfScheduler failing = new WolfScheduler(validTestFile) {
+			@Override
+			public int[] searchCatalog(CatalogQuery query) {
+				throw new IllegalStateException("Index is broken.");
+			}
+		};
+		this.server = new SchedulerServer(failing, 0);
+		this.server.start();
+
+		HttpResponse<String> response = send("GET", "/catalog?name=CSC", null);
+		assertEquals(500, response.statusCode());
+		assertEquals("{\"error\":\"Internal server error.\"}", response.body());
+		assertEquals("application/json; charset=utf-8", response.headers().firstValue("Content-Type").get());
+		assertEquals(201, send("POST", "/sessions", "").statusCode());
+	}
+
+	/**
+	 * Tests decoding parameters.
+	 */
+	@Test
+	public void testParse() {
+		Map<String, String> params = new HashMap<String, String>();
+		SchedulerServer.parse("name=CSC+216&&section=001&flag&title=a%26b", params);
+		assertEquals("CSC 216", params.get("name"));
+		assertEquals("001", params.get("section"));
+		assertEquals("", params.get("flag"));
+		assertEquals("a&b", params.get("title"));
+		assertThrows(IllegalArgumentException.class, () -> SchedulerServer.parse("name=%zz", params));
+	}
+
+	/**
+	 * Sends a request to the server.
+	 * 
+	 * @param method HTTP method
+	 * @param path   path and query
+	 * @param form   form body, or null for none
+	 * @return the response
+	 * @throws Exception if the request fails
+	 */
+	private HttpResponse<String> send(String method, String path, String form) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + this.server.getPort()
+				+ path));
+		if (form == null) {
+			request.method(method, HttpRequest.BodyPublishers.noBody());
+		} else {
+			request.header("Content-Type", "application/x-www-form-urlencoded");
+			request.method(method, HttpRequest.BodyPublishers.ofString(form));
+		}
+		return this.client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	/**
+	 * Returns the value of a string field in a JSON object.
+	 * 
+	 * @param json JSON text
+	 * @param name field name
+	 * @return the field's unescaped value
+	 */
+	private static String field(String json, String name) {
+		int start = json.indexOf("\"" + name + "\":\"") + name.length() + 4;
+		StringBuilder value = new StringBuilder();
+		for (int i = start; json.charAt(i) != '"'; i++) {
+			if (json.charAt(i) == '\\') {
+				i++;
+			}
+			value.append(json.charAt(i));
+		}
+		return value.toString();
+	}
+
+	/**
+	 * Returns the number of times some text appears.
+	 * 
+	 * @param text text to search
+	 * @param part text to count
+	 * @return number of appearances
+	 */
+	private static int count(String text, String part) {
+		return text.split(java.util.regex.Pattern.quote(part), -1).length - 1;
+	}
+}
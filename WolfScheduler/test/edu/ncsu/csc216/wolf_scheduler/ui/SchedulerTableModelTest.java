@@ -0,0 +1,229 @@
+package edu.ncsu.csc216.wolf_scheduler.ui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.event.TableModelEvent;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.CatalogQuery;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Tests SchedulerTableModel.
+ * 
+ * @author Jay Shah (jsshah)
+ */
+public class SchedulerTableModelTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/**
+	 * Tests that the catalog is read cell by cell and only redrawn when it is
+	 * reloaded.
+	 */
+	@Test
+	public void testCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		SchedulerTableModel model = new SchedulerTableModel(ws, SchedulerTableModel.View.CATALOG);
+		List<TableModelEvent> events = listen(model);
+
+		assertEquals(3, model.getColumnCount());
+		assertEquals("Title", model.getColumnName(2));
+		String[][] catalog = ws.getCourseCatalog();
+		assertEquals(catalog.length, model.getRowCount());
+		assertEquals(catalog[4][2], model.getValueAt(4, 2));
+		assertNull(model.getValueAt(-1, 0));
+
+		//adding to the schedule leaves the catalog alone
+		assertTrue(ws.addCourseToSchedule("CSC 216", "001"));
+		model.refresh();
+		assertEquals(0, events.size());
+
+		ws.reloadCatalog(validTestFile);
+		model.refresh();
+		assertEquals(1, events.size());
+		//a reload redraws every row
+		assertEquals(Integer.MAX_VALUE, events.get(0).getLastRow());
+	}
+
+	/**
+	 * Tests that a search narrows the catalog to its rows until it is cleared
+	 * or the catalog is reloaded.
+	 */
+	@Test
+	public void testFilter() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		SchedulerTableModel model = new SchedulerTableModel(ws, SchedulerTableModel.View.CATALOG);
+		List<TableModelEvent> events = listen(model);
+		int size = model.getRowCount();
+
+		int[] rows = ws.searchCatalog(new CatalogQuery("CSC 216"));
+		model.setFilter(rows);
+		assertTrue(model.isFiltered());
+		assertEquals(1, events.size());
+		assertEquals(rows.length, model.getRowCount());
+		assertEquals("CSC 216", model.getValueAt(rows.length - 1, 0));
+		assertEquals(ws.getCatalogCell(rows[1], 1), model.getValueAt(1, 1));
+		assertNull(model.getValueAt(rows.length, 0));
+
+		model.setFilter(null);
+		assertFalse(model.isFiltered());
+		assertEquals(size, model.getRowCount());
+
+		//a reload drops the rows of the old catalog
+		model.setFilter(rows);
+		ws.reloadCatalog(validTestFile);
+		model.refresh();
+		assertFalse(model.isFiltered());
+		assertEquals(size, model.getRowCount());
+	}
+
+	/**
+	 * Tests that a loading catalog is shown in batches and replaced by the
+	 * scheduler's catalog when the load ends.
+	 */
+	@Test
+	public void testLoading() {
+		WolfScheduler ws = new WolfScheduler();
+		SchedulerTableModel model = new SchedulerTableModel(ws, SchedulerTableModel.View.CATALOG);
+		List<TableModelEvent> events = listen(model);
+		assertEquals(0, model.getRowCount());
+
+		List<Course> courses = new WolfScheduler(validTestFile).getCoursesByDepartment("CSC");
+		model.appendLoading(courses.subList(0, 2));
+		model.appendLoading(courses.subList(2, 5));
+		model.appendLoading(courses.subList(5, 5));
+		assertEquals(2, events.size());
+		assertEvent(events.get(1), TableModelEvent.INSERT, 2, 4);
+		assertEquals(5, model.getRowCount());
+		assertEquals(courses.get(3).getTitle(), model.getValueAt(3, 2));
+		assertNull(model.getValueAt(5, 0));
+
+		//the catalog is not redrawn while loading
+		model.refresh();
+		assertEquals(2, events.size());
+
+		//a cancelled load shows the old, empty catalog again
+		model.endLoading();
+		assertEquals(0, model.getRowCount());
+		assertEquals(3, events.size());
+
+		model.appendLoading(courses);
+		ws.loadCatalog(courses, null);
+		model.endLoading();
+		assertEquals(courses.size(), model.getRowCount());
+		assertEquals(courses.get(0).getName(), model.getValueAt(0, 0));
+	}
+
+	/**
+	 * Tests that adding, removing, and resetting fire events for the changed
+	 * rows only.
+	 */
+	@Test
+	public void testSchedule() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		SchedulerTableModel model = new SchedulerTableModel(ws, SchedulerTableModel.View.SCHEDULE);
+		SchedulerTableModel full = new SchedulerTableModel(ws, SchedulerTableModel.View.FULL_SCHEDULE);
+		List<TableModelEvent> events = listen(model);
+		assertEquals(0, model.getRowCount());
+		assertEquals(6, full.getColumnCount());
+
+		assertTrue(ws.addCourseToSchedule("CSC 216", "001"));
+		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
+		assertTrue(ws.addCourseToSchedule("CSC 116", "002"));
+		model.refresh();
+		assertEvent(events.get(0), TableModelEvent.INSERT, 0, 2);
+		assertEquals(3, model.getRowCount());
+		assertEquals("CSC 226", model.getValueAt(1, 0));
+		assertNull(model.getValueAt(3, 0));
+
+		//nothing changed, nothing fired
+		model.refresh();
+		assertEquals(1, events.size());
+
+		assertTrue(ws.removeCourseFromSchedule("CSC 226", "001"));
+		model.refresh();
+		assertEvent(events.get(1), TableModelEvent.DELETE, 1, 1);
+		assertEquals(2, model.getRowCount());
+		assertEquals("CSC 116", model.getValueAt(1, 0));
+
+		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
+		model.refresh();
+		assertEvent(events.get(2), TableModelEvent.INSERT, 2, 2);
+
+		ws.resetSchedule();
+		model.refresh();
+		assertEvent(events.get(3), TableModelEvent.DELETE, 0, 2);
+		assertEquals(0, model.getRowCount());
+
+		full.refresh();
+		assertEquals(0, full.getRowCount());
+	}
+
+	/**
+	 * Tests that a listener reading the model during a delete sees the rows
+	 * left after the delete, and during the following insert the new rows.
+	 */
+	@Test
+	public void testScheduleEventsSeeTheirRows() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		SchedulerTableModel model = new SchedulerTableModel(ws, SchedulerTableModel.View.SCHEDULE);
+		assertTrue(ws.addCourseToSchedule("CSC 216", "001"));
+		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
+		assertTrue(ws.addCourseToSchedule("CSC 116", "002"));
+		model.refresh();
+
+		List<TableModelEvent> events = new ArrayList<TableModelEvent>();
+		List<List<Object>> seen = new ArrayList<List<Object>>();
+		model.addTableModelListener(e -> {
+			events.add(e);
+			List<Object> names = new ArrayList<Object>();
+			for (int row = 0; row < model.getRowCount(); row++) {
+				names.add(model.getValueAt(row, 0));
+			}
+			seen.add(names);
+		});
+
+		assertTrue(ws.removeCourseFromSchedule("CSC 226", "001"));
+		assertTrue(ws.removeCourseFromSchedule("CSC 116", "002"));
+		assertTrue(ws.addCourseToSchedule("CSC 316", "001"));
+		model.refresh();
+		assertEquals(2, events.size());
+		assertEvent(events.get(0), TableModelEvent.DELETE, 1, 2);
+		assertEquals(List.of("CSC 216"), seen.get(0));
+		assertEvent(events.get(1), TableModelEvent.INSERT, 1, 1);
+		assertEquals(List.of("CSC 216", "CSC 316"), seen.get(1));
+	}
+
+	/**
+	 * Asserts the type and rows of an event.
+	 * 
+	 * @param event event to check
+	 * @param type  expected type
+	 * @param first expected first row
+	 * @param last  expected last row
+	 */
+	private static void assertEvent(TableModelEvent event, int type, int first, int last) {
+		assertEquals(type, event.getType());
+		assertEquals(first, event.getFirstRow());
+		assertEquals(last, event.getLastRow());
+	}
+
+	/**
+	 * Records every event the model fires.
+	 * 
+	 * @param model model to listen to
+	 * @return list the events are added to
+	 */
+	private static List<TableModelEvent> listen(SchedulerTableModel model) {
+		List<TableModelEvent> events = new ArrayList<TableModelEvent>();
+		model.addTableModelListener(events::add);
+		return events;
+	}
+}